@@ -9,6 +9,7 @@ import com.github.chevyself.starbox.bukkit.annotations.Command;
 import com.github.chevyself.starbox.bukkit.context.CommandContext;
 import com.github.chevyself.starbox.bukkit.providers.type.BukkitArgumentProvider;
 import com.github.chevyself.starbox.bukkit.result.BukkitResult;
+import com.github.chevyself.starbox.bukkit.result.FutureResult;
 import com.github.chevyself.starbox.bukkit.result.Result;
 import com.github.chevyself.starbox.context.StarboxCommandContext;
 import com.github.chevyself.starbox.exceptions.ArgumentProviderException;
@@ -16,14 +17,17 @@ import com.github.chevyself.starbox.exceptions.MissingArgumentException;
 import com.github.chevyself.starbox.flags.CommandLineParser;
 import com.github.chevyself.starbox.flags.Option;
 import com.github.chevyself.starbox.messages.StarboxMessagesProvider;
+import com.github.chevyself.starbox.providers.CachedProvider;
 import com.github.chevyself.starbox.providers.registry.ProvidersRegistry;
 import com.github.chevyself.starbox.providers.type.StarboxContextualProvider;
+import com.github.chevyself.starbox.util.Throwables;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletionStage;
 import lombok.Getter;
 import lombok.NonNull;
 import org.bukkit.command.CommandSender;
@@ -58,6 +62,7 @@ public class AnnotatedCommand extends StarboxBukkitCommand
    *     about asynchronization check <a
    *     href="https://bukkit.fandom.com/wiki/Scheduler_Programming">Bukkit wiki</a>
    * @param cooldown the manager that handles the cooldown in this command
+   * @param rateLimiter the limiter for the rate of executions of this command
    * @param method the method to execute as the command see more in {@link #getMethod()}
    * @param object the instance of the object used to invoke the method see more in {@link
    *     #getObject()}
@@ -77,11 +82,22 @@ public class AnnotatedCommand extends StarboxBukkitCommand
       @NonNull List<Middleware<CommandContext>> middlewares,
       boolean async,
       CooldownManager cooldown,
+      RateLimiter rateLimiter,
       @NonNull Method method,
       @NonNull Object object,
       @NonNull List<Argument<?>> arguments,
       @NonNull List<StarboxBukkitCommand> children) {
-    super(manager, name, aliases, description, usageMessage, options, middlewares, async, cooldown);
+    super(
+        manager,
+        name,
+        aliases,
+        description,
+        usageMessage,
+        options,
+        middlewares,
+        async,
+        cooldown,
+        rateLimiter);
     if (permission != null && !permission.isEmpty()) {
       this.setPermission(permission);
     }
@@ -91,6 +107,62 @@ public class AnnotatedCommand extends StarboxBukkitCommand
     this.children = children;
   }
 
+  /**
+   * Create the command.
+   *
+   * @param manager the manager that parsed the command
+   * @param name the name of the command
+   * @param aliases other names that the command can be executed with
+   * @param permission the permission required to run this command
+   * @param description a short description of the command
+   * @param usageMessage a helpful message to know how the command is properly executed
+   * @param options the flags that apply in this command
+   * @param middlewares the middlewares to run before and after this command is executed
+   * @param async Whether the command should {{@link #execute(CommandContext)}} async. To know more
+   *     about asynchronization check <a
+   *     href="https://bukkit.fandom.com/wiki/Scheduler_Programming">Bukkit wiki</a>
+   * @param cooldown the manager that handles the cooldown in this command
+   * @param method the method to execute as the command see more in {@link #getMethod()}
+   * @param object the instance of the object used to invoke the method see more in {@link
+   *     #getObject()}
+   * @param arguments the list of arguments that are used to {@link
+   *     #getObjects(StarboxCommandContext)} and invoke the {@link #getMethod()}
+   * @param children the list of children commands which can be used with this parent prefix. Learn
+   *     more in {@link Parent}
+   */
+  public AnnotatedCommand(
+      @NonNull CommandManager manager,
+      @NonNull String name,
+      @NonNull List<String> aliases,
+      String permission,
+      @NonNull String description,
+      @NonNull String usageMessage,
+      @NonNull List<Option> options,
+      @NonNull List<Middleware<CommandContext>> middlewares,
+      boolean async,
+      CooldownManager cooldown,
+      @NonNull Method method,
+      @NonNull Object object,
+      @NonNull List<Argument<?>> arguments,
+      @NonNull List<StarboxBukkitCommand> children) {
+    this(
+        manager,
+        name,
+        aliases,
+        permission,
+        description,
+        usageMessage,
+        options,
+        middlewares,
+        async,
+        cooldown,
+        null,
+        method,
+        object,
+        arguments,
+        children);
+  }
+
   /**
    * Tab complete suggestions using reflection.
    *
@@ -118,6 +190,9 @@ public class AnnotatedCommand extends StarboxBukkitCommand
         List<StarboxContextualProvider<?, CommandContext>> providers =
             this.getProvidersRegistry().getProviders(argument.getClazz());
         for (StarboxContextualProvider<?, CommandContext> provider : providers) {
+          if (provider instanceof CachedProvider) {
+            provider = ((CachedProvider<?, CommandContext>) provider).getProvider();
+          }
           if (provider instanceof BukkitArgumentProvider) {
             return StringUtil.copyPartialMatches(
                 strings[strings.length - 1],
@@ -156,6 +231,31 @@ public class AnnotatedCommand extends StarboxBukkitCommand
     return false;
   }
 
+  /**
+   * Get the result for a {@link CompletionStage} returned by the method of the command, the
+   * exception that completes the stage is sent as an error.
+   *
+   * @param stage the returned stage
+   * @param context the context of the execution
+   * @return the result
+   */
+  @NonNull
+  private static FutureResult toResult(
+      @NonNull CompletionStage<?> stage, @NonNull CommandContext context) {
+    return new FutureResult(
+        stage.handle(
+            (value, fail) -> {
+              if (fail != null) {
+                fail.printStackTrace();
+                return Result.of(
+                    Throwables.getMessage(fail)
+                        .map(message -> "&c" + message)
+                        .orElseGet(() -> context.getMessagesProvider().failed(context)));
+              }
+              return value instanceof BukkitResult ? (BukkitResult) value : null;
+            }));
+  }
+
   @Override
   public BukkitResult execute(@NonNull CommandContext context) {
     CommandSender sender = context.getSender();
@@ -163,6 +263,8 @@ public class AnnotatedCommand extends StarboxBukkitCommand
       Object object = this.method.invoke(this.getObject(), this.getObjects(context));
       if (object instanceof BukkitResult) {
         return (BukkitResult) object;
+      } else if (object instanceof CompletionStage) {
+        return AnnotatedCommand.toResult((CompletionStage<?>) object, context);
       } else {
         return null;
       }
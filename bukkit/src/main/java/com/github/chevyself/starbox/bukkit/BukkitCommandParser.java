@@ -4,12 +4,14 @@ import com.github.chevyself.starbox.Middleware;
 import com.github.chevyself.starbox.StarboxCommandManager;
 import com.github.chevyself.starbox.arguments.Argument;
 import com.github.chevyself.starbox.bukkit.annotations.Command;
+import com.github.chevyself.starbox.bukkit.annotations.Cooldown;
 import com.github.chevyself.starbox.bukkit.context.CommandContext;
 import com.github.chevyself.starbox.bukkit.result.BukkitResult;
 import com.github.chevyself.starbox.bukkit.result.Result;
 import com.github.chevyself.starbox.exceptions.CommandRegistrationException;
 import com.github.chevyself.starbox.flags.Option;
 import com.github.chevyself.starbox.parsers.CommandParser;
+import com.github.chevyself.starbox.result.StarboxFutureResult;
 import com.github.chevyself.starbox.util.ClassFinder;
 import com.github.chevyself.starbox.util.Strings;
 import java.lang.reflect.Method;
@@ -64,7 +66,8 @@ public class BukkitCommandParser
             Option.of(command.options()),
             this.getMiddlewares(command),
             command.async(),
-            CooldownManager.of(command.cooldown()).orElse(null)) {
+            this.getCooldown(command.cooldown()),
+            RateLimiter.of(command.rateLimit()).orElse(null)) {
           @Override
           public BukkitResult execute(@NonNull CommandContext context) {
             return Result.of(commandManager.getMessagesProvider().commandHelp(this, context));
@@ -92,6 +95,22 @@ public class BukkitCommandParser
         };
   }
 
+  private CooldownManager getCooldown(@NonNull Cooldown cooldown) {
+    if (cooldown.group().isEmpty()) {
+      return CooldownManager.of(cooldown).orElse(null);
+    }
+    return commandManager
+        .getCooldownGroups()
+        .computeIfAbsent(
+            cooldown.group(),
+            group ->
+                CooldownManager.of(cooldown)
+                    .orElseThrow(
+                        () ->
+                            new CommandRegistrationException(
+                                "The cooldown group " + group + " is not registered")));
+  }
+
   @NonNull
   private List<Middleware<CommandContext>> getMiddlewares(@NonNull Command command) {
     return StarboxCommandManager.getMiddlewares(
@@ -104,8 +123,14 @@ public class BukkitCommandParser
   @Override
   public void checkReturnType(@NonNull Method method) {
     if (!BukkitResult.class.isAssignableFrom(method.getReturnType())
-        && !method.getReturnType().equals(Void.TYPE)) {
-      throw new CommandRegistrationException(method + " must return void or " + BukkitResult.class);
+        && !method.getReturnType().equals(Void.TYPE)
+        && !StarboxFutureResult.returnsFuture(method, BukkitResult.class)) {
+      throw new CommandRegistrationException(
+          method
+              + " must return void, "
+              + BukkitResult.class
+              + " or a CompletionStage of "
+              + BukkitResult.class);
     }
   }
 
@@ -129,7 +154,8 @@ public class BukkitCommandParser
         Option.of(command.options()),
         this.getMiddlewares(command),
         command.async(),
-        CooldownManager.of(command.cooldown()).orElse(null),
+        this.getCooldown(command.cooldown()),
+        RateLimiter.of(command.rateLimit()).orElse(null),
         method,
         object,
         arguments,
@@ -6,8 +6,10 @@ import com.github.chevyself.starbox.bukkit.annotations.Command;
 import com.github.chevyself.starbox.bukkit.context.CommandContext;
 import com.github.chevyself.starbox.bukkit.messages.BukkitMessagesProvider;
 import com.github.chevyself.starbox.bukkit.messages.MessagesProvider;
+import com.github.chevyself.starbox.bukkit.middleware.BulkheadMiddleware;
 import com.github.chevyself.starbox.bukkit.middleware.CooldownMiddleware;
 import com.github.chevyself.starbox.bukkit.middleware.PermissionMiddleware;
+import com.github.chevyself.starbox.bukkit.middleware.RateLimitMiddleware;
 import com.github.chevyself.starbox.bukkit.middleware.ResultHandlingMiddleware;
 import com.github.chevyself.starbox.bukkit.providers.registry.BukkitProvidersRegistry;
 import com.github.chevyself.starbox.bukkit.topic.PluginHelpTopic;
@@ -16,9 +18,16 @@ import com.github.chevyself.starbox.bukkit.utils.BukkitUtils;
 import com.github.chevyself.starbox.exceptions.CommandRegistrationException;
 import com.github.chevyself.starbox.providers.registry.ProvidersRegistry;
 import com.github.chevyself.starbox.providers.type.StarboxContextualProvider;
+import com.github.chevyself.starbox.scheduling.PriorityExecutor;
+import com.github.chevyself.starbox.scheduling.PriorityResolver;
+import com.github.chevyself.starbox.util.VirtualThreads;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import lombok.Getter;
 import lombok.NonNull;
 import org.bukkit.Bukkit;
@@ -77,7 +86,24 @@ public class CommandManager implements StarboxCommandManager<CommandContext, Sta
   @NonNull @Getter private final MessagesProvider messagesProvider;
   @NonNull @Getter private final List<Middleware<CommandContext>> globalMiddlewares;
   @NonNull @Getter private final List<Middleware<CommandContext>> middlewares;
+
+  @NonNull @Getter
+  private final Map<String, CooldownManager> cooldownGroups = new ConcurrentHashMap<>();
+
   @NonNull @Getter private final BukkitCommandParser parser;
+  @NonNull @Getter private Executor executor;
+  /**
+   * Resolves the priority of async executions when the executor is a {@link PriorityExecutor}. It
+   * may be used to give a higher priority to the commands of some senders.
+   */
+  @NonNull @Getter
+  private final PriorityResolver<CommandContext> priorityResolver = new PriorityResolver<>();
+
+  /**
+   * The executor that runs tasks in the main thread of the server. Commands that are not async run
+   * in it once their {@link com.github.chevyself.starbox.AsyncMiddleware} complete.
+   */
+  @NonNull @Getter private final Executor mainThreadExecutor;
 
   /**
    * Create an instance.
@@ -99,6 +125,32 @@ public class CommandManager implements StarboxCommandManager<CommandContext, Sta
     this.globalMiddlewares = new ArrayList<>();
     this.middlewares = new ArrayList<>();
     this.parser = new BukkitCommandParser(this);
+    this.executor = task -> Bukkit.getScheduler().runTaskAsynchronously(plugin, task);
+    this.mainThreadExecutor =
+        task -> {
+          if (Bukkit.isPrimaryThread()) {
+            task.run();
+          } else {
+            Bukkit.getScheduler().runTask(plugin, task);
+          }
+        };
+  }
+
+  /**
+   * Set the executor used to run async commands. By default, async commands are run using the
+   * Bukkit scheduler, an executor with virtual threads can be created with {@link
+   * VirtualThreads#newExecutor()}
+   *
+   * <p>When the server is saturated a {@link PriorityExecutor} runs the commands with a higher
+   * priority first, see {@link #getPriorityResolver()}
+   *
+   * @param executor the new executor
+   * @return this same instance
+   */
+  @NonNull
+  public CommandManager setExecutor(@NonNull Executor executor) {
+    this.executor = executor;
+    return this;
   }
 
   /**
@@ -139,8 +191,10 @@ public class CommandManager implements StarboxCommandManager<CommandContext, Sta
    * <p>The default middlewares are:
    *
    * <ul>
+   *   <li>{@link RateLimitMiddleware}
    *   <li>{@link CooldownMiddleware}
    *   <li>{@link PermissionMiddleware}
+   *   <li>{@link BulkheadMiddleware}
    *   <li>{@link ResultHandlingMiddleware}
    * </ul>
    *
@@ -149,7 +203,11 @@ public class CommandManager implements StarboxCommandManager<CommandContext, Sta
   @NonNull
   public CommandManager addDefaultMiddlewares() {
     this.addGlobalMiddlewares(
-        new CooldownMiddleware(), new PermissionMiddleware(), new ResultHandlingMiddleware());
+        new RateLimitMiddleware(),
+        new CooldownMiddleware(),
+        new PermissionMiddleware(),
+        new BulkheadMiddleware(),
+        new ResultHandlingMiddleware(this.plugin));
     return this;
   }
 
@@ -220,4 +278,23 @@ public class CommandManager implements StarboxCommandManager<CommandContext, Sta
     this.middlewares.add(middleware);
     return this;
   }
+
+  /**
+   * Add a cooldown group to this manager. Commands that use the name of the group in their
+   * annotation will share the given cooldown manager.
+   *
+   * @param name the name of the group
+   * @param cooldown the cooldown manager of the group
+   * @return this same instance
+   */
+  @NonNull
+  public CommandManager addCooldownGroup(@NonNull String name, @NonNull CooldownManager cooldown) {
+    this.cooldownGroups.put(name, cooldown);
+    return this;
+  }
+
+  @Override
+  public @NonNull Optional<CooldownManager> getCooldownGroup(@NonNull String name) {
+    return Optional.ofNullable(this.cooldownGroups.get(name));
+  }
 }
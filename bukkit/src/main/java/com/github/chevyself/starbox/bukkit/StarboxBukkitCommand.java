@@ -1,19 +1,23 @@
 package com.github.chevyself.starbox.bukkit;
 
 import com.github.chevyself.starbox.Middleware;
+import com.github.chevyself.starbox.MiddlewareChain;
 import com.github.chevyself.starbox.StarboxCommand;
 import com.github.chevyself.starbox.arguments.Argument;
 import com.github.chevyself.starbox.bukkit.context.CommandContext;
 import com.github.chevyself.starbox.bukkit.result.BukkitResult;
+import com.github.chevyself.starbox.bukkit.result.FutureResult;
+import com.github.chevyself.starbox.bukkit.result.Result;
 import com.github.chevyself.starbox.flags.CommandLineParser;
 import com.github.chevyself.starbox.flags.Option;
+import com.github.chevyself.starbox.util.Throwables;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
 import lombok.Getter;
 import lombok.NonNull;
-import org.bukkit.Bukkit;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandSender;
 import org.bukkit.plugin.Plugin;
@@ -42,8 +46,9 @@ public abstract class StarboxBukkitCommand extends Command
   @NonNull @Getter protected final CommandManager manager;
   @NonNull @Getter protected final List<Option> options;
   @NonNull @Getter protected final List<Middleware<CommandContext>> middlewares;
-  protected final boolean async;
+  @Getter protected final boolean async;
   private final CooldownManager cooldown;
+  private final RateLimiter rateLimiter;
 
   /**
    * Create the command.
@@ -57,6 +62,7 @@ public abstract class StarboxBukkitCommand extends Command
    *     about asynchronization check <a
    *     href="https://bukkit.fandom.com/wiki/Scheduler_Programming">Bukkit wiki</a>
    * @param cooldown the manager that handles the cooldown in this command
+   * @param rateLimiter the limiter for the rate of executions of this command
    */
   public StarboxBukkitCommand(
       @NonNull CommandManager manager,
@@ -64,13 +70,38 @@ public abstract class StarboxBukkitCommand extends Command
       @NonNull List<Option> options,
       @NonNull List<Middleware<CommandContext>> middlewares,
       boolean async,
-      CooldownManager cooldown) {
+      CooldownManager cooldown,
+      RateLimiter rateLimiter) {
     super(name);
     this.middlewares = middlewares;
     this.async = async;
     this.manager = manager;
     this.options = options;
     this.cooldown = cooldown;
+    this.rateLimiter = rateLimiter;
+  }
+
+  /**
+   * Create the command.
+   *
+   * @param manager where the command will be registered used to get the {@link
+   *     CommandManager#getMessagesProvider()} and {@link CommandManager#getProvidersRegistry()}
+   * @param name the name of the command
+   * @param options the flags that apply in this command
+   * @param middlewares the middlewares to run before and after this command is executed
+   * @param async Whether the command should {{@link #execute(CommandContext)}} async. To know more
+   *     about asynchronization check <a
+   *     href="https://bukkit.fandom.com/wiki/Scheduler_Programming">Bukkit wiki</a>
+   * @param cooldown the manager that handles the cooldown in this command
+   */
+  public StarboxBukkitCommand(
+      @NonNull CommandManager manager,
+      @NonNull String name,
+      @NonNull List<Option> options,
+      @NonNull List<Middleware<CommandContext>> middlewares,
+      boolean async,
+      CooldownManager cooldown) {
+    this(manager, name, options, middlewares, async, cooldown, null);
   }
 
   /**
@@ -89,6 +120,7 @@ public abstract class StarboxBukkitCommand extends Command
    *     about asynchronization check <a
    *     href="https://bukkit.fandom.com/wiki/Scheduler_Programming">Bukkit wiki</a>
    * @param cooldown the manager that handles the cooldown in this command
+   * @param rateLimiter the limiter for the rate of executions of this command
    */
   public StarboxBukkitCommand(
       @NonNull CommandManager manager,
@@ -99,13 +131,55 @@ public abstract class StarboxBukkitCommand extends Command
       @NonNull List<Option> options,
       @NonNull List<Middleware<CommandContext>> middlewares,
       boolean async,
-      CooldownManager cooldown) {
+      CooldownManager cooldown,
+      RateLimiter rateLimiter) {
     super(name, description, usageMessage, aliases);
     this.middlewares = middlewares;
     this.async = async;
     this.manager = manager;
     this.options = options;
     this.cooldown = cooldown;
+    this.rateLimiter = rateLimiter;
+  }
+
+  /**
+   * Create the command.
+   *
+   * @param manager where the command will be registered used to get the {@link
+   *     CommandManager#getMessagesProvider()} and {@link CommandManager#getProvidersRegistry()}
+   * @param name the name of the command
+   * @param aliases the aliases which also allow to execute the command
+   * @param description a simple description of the command
+   * @param usageMessage a message describing how the message should execute. You can learn more
+   *     about usage messages in {@link Argument}
+   * @param options the flags that apply in this command
+   * @param middlewares the middlewares to run before and after this command is executed
+   * @param async Whether the command should {{@link #execute(CommandContext)}} async. To know more
+   *     about asynchronization check <a
+   *     href="https://bukkit.fandom.com/wiki/Scheduler_Programming">Bukkit wiki</a>
+   * @param cooldown the manager that handles the cooldown in this command
+   */
+  public StarboxBukkitCommand(
+      @NonNull CommandManager manager,
+      @NonNull String name,
+      @NonNull List<String> aliases,
+      @NonNull String description,
+      @NonNull String usageMessage,
+      @NonNull List<Option> options,
+      @NonNull List<Middleware<CommandContext>> middlewares,
+      boolean async,
+      CooldownManager cooldown) {
+    this(
+        manager,
+        name,
+        aliases,
+        description,
+        usageMessage,
+        options,
+        middlewares,
+        async,
+        cooldown,
+        null);
   }
 
   /**
@@ -116,46 +190,108 @@ public abstract class StarboxBukkitCommand extends Command
    * {@link CommandSender} if it is not null with {@link CommandSender#sendMessage(String)} and
    * {@link BukkitResult} components
    *
+   * <p>If a {@link com.github.chevyself.starbox.AsyncMiddleware} has to wait, the command runs once
+   * it completes in the main thread or, if the command is async, in {@link
+   * CommandManager#getExecutor()}
+   *
    * @param sender the executor of the command
    * @param parser the command line parser used in the command execution
    */
   public void run(@NonNull CommandSender sender, @NonNull CommandLineParser parser) {
-    CommandContext context =
-        new CommandContext(
-            parser,
-            this,
-            sender,
-            this.manager.getProvidersRegistry(),
-            this.manager.getMessagesProvider());
-    BukkitResult result =
-        this.getMiddlewares().stream()
-            .map(middleware -> middleware.next(context))
-            .filter(Optional::isPresent)
-            .map(Optional::get)
-            .findFirst()
-            .map(
-                starboxResult -> {
-                  // Here maybe thrown an error because the wrong result was provided
-                  return starboxResult instanceof BukkitResult
-                      ? (BukkitResult) starboxResult
-                      : null;
-                })
-            .orElseGet(() -> this.execute(context));
-    this.getMiddlewares().forEach(middleware -> middleware.next(context, result));
+    this.run(this.createContext(sender, parser));
+  }
+
+  @NonNull
+  private CommandContext createContext(
+      @NonNull CommandSender sender, @NonNull CommandLineParser parser) {
+    return new CommandContext(
+        parser,
+        this,
+        sender,
+        this.manager.getProvidersRegistry(),
+        this.manager.getMessagesProvider());
   }
 
   /**
-   * Checks if the command should be running async if so it will create the task with {@link
-   * org.bukkit.scheduler.BukkitScheduler#runTaskAsynchronously(Plugin, Runnable)}. This uses the
-   * {@link CommandManager} plugin
+   * Run the command in the given context, see {@link #run(CommandSender, CommandLineParser)}.
+   *
+   * @param context the context of the execution
+   */
+  public void run(@NonNull CommandContext context) {
+    if (MiddlewareChain.isAsync(this.getMiddlewares())) {
+      FutureResult result =
+          new FutureResult(
+              MiddlewareChain.execute(
+                      this.getMiddlewares(),
+                      context,
+                      starboxResult ->
+                          starboxResult instanceof BukkitResult
+                              ? (BukkitResult) starboxResult
+                              : null,
+                      () -> this.execute(context),
+                      this.async
+                          ? this.manager.getExecutor()
+                          : this.manager.getMainThreadExecutor())
+                  .exceptionally(
+                      fail -> {
+                        fail.printStackTrace();
+                        return Result.of(
+                            Throwables.getMessage(fail)
+                                .map(message -> "&c" + message)
+                                .orElseGet(() -> context.getMessagesProvider().failed(context)));
+                      }));
+      Middleware.finish(this.getMiddlewares(), context, result);
+      return;
+    }
+    BukkitResult result;
+    try {
+      result =
+          this.getMiddlewares().stream()
+              .map(middleware -> middleware.next(context))
+              .filter(Optional::isPresent)
+              .map(Optional::get)
+              .findFirst()
+              .map(
+                  starboxResult -> {
+                    // Here maybe thrown an error because the wrong result was provided
+                    return starboxResult instanceof BukkitResult
+                        ? (BukkitResult) starboxResult
+                        : null;
+                  })
+              .orElseGet(() -> this.execute(context));
+    } catch (RuntimeException e) {
+      Middleware.complete(this.getMiddlewares(), context);
+      throw e;
+    }
+    Middleware.finish(this.getMiddlewares(), context, result);
+  }
+
+  /**
+   * Checks if the command should be running async if so it will give the task to {@link
+   * CommandManager#getExecutor()} which by default uses {@link
+   * org.bukkit.scheduler.BukkitScheduler#runTaskAsynchronously(Plugin, Runnable)} with the {@link
+   * CommandManager} plugin
+   *
+   * <p>If the executor is a {@link com.github.chevyself.starbox.scheduling.PriorityExecutor} the
+   * execution is queued with the priority given by {@link CommandManager#getPriorityResolver()}. If
+   * the executor rejects the execution the sender is told that the server is busy
    *
    * @param sender the executor of the command
    * @param parser the command line parsed in the command execution
    */
   public void runCheckSync(@NonNull CommandSender sender, @NonNull CommandLineParser parser) {
     if (this.async) {
-      Bukkit.getScheduler()
-          .runTaskAsynchronously(this.manager.getPlugin(), () -> this.run(sender, parser));
+      CommandContext context = this.createContext(sender, parser);
+      try {
+        this.manager
+            .getPriorityResolver()
+            .execute(this.manager.getExecutor(), context, () -> this.run(context));
+      } catch (RejectedExecutionException e) {
+        Middleware.next(
+            this.getMiddlewares(),
+            context,
+            Result.of(this.manager.getMessagesProvider().busy(context)));
+      }
     } else {
       this.run(sender, parser);
     }
@@ -225,4 +361,9 @@ public abstract class StarboxBukkitCommand extends Command
   public @NonNull Optional<CooldownManager> getCooldownManager() {
     return Optional.ofNullable(cooldown);
   }
+
+  @Override
+  public @NonNull Optional<RateLimiter> getRateLimiter() {
+    return Optional.ofNullable(rateLimiter);
+  }
 }
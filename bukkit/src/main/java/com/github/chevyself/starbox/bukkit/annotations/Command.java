@@ -1,6 +1,7 @@
 package com.github.chevyself.starbox.bukkit.annotations;
 
 import com.github.chevyself.starbox.Middleware;
+import com.github.chevyself.starbox.annotations.RateLimit;
 import com.github.chevyself.starbox.bukkit.AnnotatedCommand;
 import com.github.chevyself.starbox.bukkit.CommandManager;
 import com.github.chevyself.starbox.bukkit.context.CommandContext;
@@ -89,4 +90,12 @@ public @interface Command {
    */
   @NonNull
   Cooldown cooldown() default @Cooldown;
+
+  /**
+   * Get the rate in which the command can be executed.
+   *
+   * @return the annotation
+   */
+  @NonNull
+  RateLimit rateLimit() default @RateLimit;
 }
@@ -22,4 +22,14 @@ public @interface Cooldown {
    */
   @NonNull
   TimeAmount time() default @TimeAmount;
+
+  /**
+   * Get the name of the cooldown group of the command. Commands in the same group share their
+   * cooldown, if the group is not registered in the manager it will be created using the time of
+   * the first command that references it.
+   *
+   * @return the name of the group or an empty string if the command does not have a group
+   */
+  @NonNull
+  String group() default "";
 }
@@ -70,6 +70,23 @@ public class BukkitMessagesProvider implements MessagesProvider {
         + TimeUtil.toString(timeLeft);
   }
 
+  @Override
+  public @NonNull String rateLimited(@NonNull CommandContext context, @NonNull Duration timeLeft) {
+    return BukkitMessagesProvider.ERROR_PREFIX
+        + "&c&oYou are running this command too fast, try again in &4&o"
+        + TimeUtil.toString(timeLeft);
+  }
+
+  @Override
+  public @NonNull String busy(@NonNull CommandContext context) {
+    return BukkitMessagesProvider.ERROR_PREFIX + "&c&oThe server is busy, try again later";
+  }
+
+  @Override
+  public @NonNull String failed(@NonNull CommandContext context) {
+    return BukkitMessagesProvider.ERROR_PREFIX + "&c&oThe command failed, try again later";
+  }
+
   @Override
   public @NonNull String commandHelp(
       @NonNull StarboxCommand<CommandContext, ?> command, CommandContext context) {
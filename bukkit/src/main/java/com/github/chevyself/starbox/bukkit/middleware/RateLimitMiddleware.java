@@ -0,0 +1,29 @@
+package com.github.chevyself.starbox.bukkit.middleware;
+
+import com.github.chevyself.starbox.bukkit.RateLimiter;
+import com.github.chevyself.starbox.bukkit.context.CommandContext;
+import com.github.chevyself.starbox.bukkit.result.BukkitResult;
+import com.github.chevyself.starbox.bukkit.result.Result;
+import java.util.Optional;
+import lombok.NonNull;
+
+/**
+ * Middleware to check the rate limit of commands. This should be the first middleware so rejected
+ * executions do not go through any other check.
+ */
+public class RateLimitMiddleware implements BukkitMiddleware {
+
+  @Override
+  public @NonNull Optional<BukkitResult> next(@NonNull CommandContext context) {
+    Optional<RateLimiter> optional = context.getCommand().getRateLimiter();
+    if (optional.isPresent()) {
+      RateLimiter limiter = optional.get();
+      if (!limiter.tryAcquire(context)) {
+        return Optional.of(
+            Result.of(
+                context.getMessagesProvider().rateLimited(context, limiter.getTimeLeft(context))));
+      }
+    }
+    return Optional.empty();
+  }
+}
@@ -4,19 +4,119 @@ import com.github.chevyself.starbox.Middleware;
 import com.github.chevyself.starbox.bukkit.context.CommandContext;
 import com.github.chevyself.starbox.bukkit.result.BukkitResult;
 import com.github.chevyself.starbox.bukkit.utils.BukkitUtils;
+import com.github.chevyself.starbox.bukkit.utils.Components;
+import com.github.chevyself.starbox.result.LinePager;
+import com.github.chevyself.starbox.result.StarboxPagedResult;
 import com.github.chevyself.starbox.result.StarboxResult;
+import java.util.Iterator;
+import lombok.Getter;
 import lombok.NonNull;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitRunnable;
 
 /**
  * This middleware sends the components of the {@link BukkitResult} to the {@link
  * org.bukkit.command.CommandSender}.
+ *
+ * <p>The lines of a {@link StarboxPagedResult} are sent in chunks of {@link #getLinesPerTick()}
+ * lines each tick, if the middleware was created with a plugin to schedule them, or all at once
+ * otherwise. Either way only the line being sent is kept in memory.
  */
 public class ResultHandlingMiddleware implements Middleware<CommandContext> {
 
+  private final Plugin plugin;
+  /** The maximum amount of lines of a {@link StarboxPagedResult} sent in a tick. */
+  @Getter private int linesPerTick = 10;
+
+  /**
+   * Create the middleware.
+   *
+   * @param plugin the plugin used to schedule the lines of paged results across ticks
+   */
+  public ResultHandlingMiddleware(@NonNull Plugin plugin) {
+    this.plugin = plugin;
+  }
+
+  /** Create the middleware. The lines of paged results are sent at once. */
+  public ResultHandlingMiddleware() {
+    this.plugin = null;
+  }
+
+  private static void send(@NonNull CommandSender sender, @NonNull CharSequence line) {
+    BukkitUtils.send(sender, Components.getComponent(line.toString()));
+  }
+
+  /**
+   * Set the maximum amount of lines of a {@link StarboxPagedResult} sent in a tick.
+   *
+   * @param linesPerTick the new maximum amount of lines
+   * @return this same instance
+   */
+  @NonNull
+  public ResultHandlingMiddleware setLinesPerTick(int linesPerTick) {
+    this.linesPerTick = Math.max(1, linesPerTick);
+    return this;
+  }
+
   @Override
   public void next(@NonNull CommandContext context, StarboxResult result) {
-    if (result instanceof BukkitResult) {
+    if (result instanceof BukkitResult && result instanceof StarboxPagedResult) {
+      this.send(context.getSender(), ((StarboxPagedResult) result).getLines());
+    } else if (result instanceof BukkitResult) {
       BukkitUtils.send(context.getSender(), ((BukkitResult) result).getComponents());
     }
   }
+
+  private void send(
+      @NonNull CommandSender sender, @NonNull Iterator<? extends CharSequence> lines) {
+    if (this.plugin != null) {
+      new LinesTask(sender, lines, this.linesPerTick).runTaskTimer(this.plugin, 0, 1);
+      return;
+    }
+    try {
+      while (lines.hasNext()) {
+        ResultHandlingMiddleware.send(sender, lines.next());
+      }
+    } finally {
+      LinePager.closeLines(lines);
+    }
+  }
+
+  /** Sends some lines each tick until there are no more lines or the player leaves. */
+  private static final class LinesTask extends BukkitRunnable {
+
+    @NonNull private final CommandSender sender;
+    @NonNull private final Iterator<? extends CharSequence> lines;
+    private final int linesPerTick;
+
+    private LinesTask(
+        @NonNull CommandSender sender,
+        @NonNull Iterator<? extends CharSequence> lines,
+        int linesPerTick) {
+      this.sender = sender;
+      this.lines = lines;
+      this.linesPerTick = linesPerTick;
+    }
+
+    @Override
+    public void run() {
+      boolean done = true;
+      try {
+        if (this.sender instanceof Player && !((Player) this.sender).isOnline()) {
+          return;
+        }
+        for (int i = 0; i < this.linesPerTick && this.lines.hasNext(); i++) {
+          ResultHandlingMiddleware.send(this.sender, this.lines.next());
+        }
+        done = !this.lines.hasNext();
+      } finally {
+        if (done) {
+          this.cancel();
+          LinePager.closeLines(this.lines);
+        }
+      }
+    }
+  }
 }
@@ -10,21 +10,25 @@ import com.github.chevyself.starbox.bungee.context.CommandContext;
 import com.github.chevyself.starbox.bungee.messages.MessagesProvider;
 import com.github.chevyself.starbox.bungee.providers.type.BungeeArgumentProvider;
 import com.github.chevyself.starbox.bungee.result.BungeeResult;
+import com.github.chevyself.starbox.bungee.result.FutureResult;
 import com.github.chevyself.starbox.bungee.result.Result;
 import com.github.chevyself.starbox.context.StarboxCommandContext;
 import com.github.chevyself.starbox.exceptions.ArgumentProviderException;
 import com.github.chevyself.starbox.exceptions.MissingArgumentException;
 import com.github.chevyself.starbox.flags.CommandLineParser;
 import com.github.chevyself.starbox.flags.Option;
+import com.github.chevyself.starbox.providers.CachedProvider;
 import com.github.chevyself.starbox.providers.registry.ProvidersRegistry;
 import com.github.chevyself.starbox.providers.type.StarboxContextualProvider;
 import com.github.chevyself.starbox.util.Strings;
+import com.github.chevyself.starbox.util.Throwables;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletionStage;
 import lombok.Getter;
 import lombok.NonNull;
 import net.md_5.bungee.api.CommandSender;
@@ -115,6 +119,9 @@ public class AnnotatedCommand extends BungeeCommand
         List<StarboxContextualProvider<?, CommandContext>> providers =
             this.getProvidersRegistry().getProviders(argument.getClazz());
         for (StarboxContextualProvider<?, CommandContext> provider : providers) {
+          if (provider instanceof CachedProvider) {
+            provider = ((CachedProvider<?, CommandContext>) provider).getProvider();
+          }
           if (provider instanceof BungeeArgumentProvider) {
             return Strings.copyPartials(
                 strings[strings.length - 1],
@@ -134,6 +141,31 @@ public class AnnotatedCommand extends BungeeCommand
     return this.arguments;
   }
 
+  /**
+   * Get the result for a {@link CompletionStage} returned by the method of the command, the
+   * exception that completes the stage is sent as an error.
+   *
+   * @param stage the returned stage
+   * @param context the context of the execution
+   * @return the result
+   */
+  @NonNull
+  private static FutureResult toResult(
+      @NonNull CompletionStage<?> stage, @NonNull CommandContext context) {
+    return new FutureResult(
+        stage.handle(
+            (value, fail) -> {
+              if (fail != null) {
+                fail.printStackTrace();
+                return Result.of(
+                    Throwables.getMessage(fail)
+                        .map(message -> "&c" + message)
+                        .orElseGet(() -> context.getMessagesProvider().failed(context)));
+              }
+              return value instanceof BungeeResult ? (BungeeResult) value : null;
+            }));
+  }
+
   @Override
   public BungeeResult execute(@NonNull CommandContext context) {
     CommandSender sender = context.getSender();
@@ -147,6 +179,8 @@ public class AnnotatedCommand extends BungeeCommand
       Object invoke = this.method.invoke(this.object, this.getObjects(context));
       if (invoke instanceof BungeeResult) {
         return (BungeeResult) invoke;
+      } else if (invoke instanceof CompletionStage) {
+        return AnnotatedCommand.toResult((CompletionStage<?>) invoke, context);
       }
       return null;
     } catch (final IllegalAccessException e) {
@@ -1,21 +1,25 @@
 package com.github.chevyself.starbox.bungee;
 
 import com.github.chevyself.starbox.Middleware;
+import com.github.chevyself.starbox.MiddlewareChain;
 import com.github.chevyself.starbox.StarboxCommand;
 import com.github.chevyself.starbox.annotations.Parent;
 import com.github.chevyself.starbox.bungee.context.CommandContext;
 import com.github.chevyself.starbox.bungee.result.BungeeResult;
+import com.github.chevyself.starbox.bungee.result.FutureResult;
+import com.github.chevyself.starbox.bungee.result.Result;
 import com.github.chevyself.starbox.flags.CommandLineParser;
 import com.github.chevyself.starbox.flags.Option;
 import com.github.chevyself.starbox.util.Strings;
+import com.github.chevyself.starbox.util.Throwables;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
 import lombok.Getter;
 import lombok.NonNull;
 import net.md_5.bungee.api.CommandSender;
-import net.md_5.bungee.api.ProxyServer;
 import net.md_5.bungee.api.chat.BaseComponent;
 import net.md_5.bungee.api.plugin.Command;
 import net.md_5.bungee.api.plugin.Plugin;
@@ -43,9 +47,10 @@ public abstract class BungeeCommand extends Command
   @NonNull @Getter protected final CommandManager manager;
   @NonNull @Getter protected final List<Option> options;
   @NonNull @Getter protected final List<Middleware<CommandContext>> middlewares;
-  protected final boolean async;
+  @Getter protected final boolean async;
   @NonNull @Getter private final List<BungeeCommand> children;
   private final CooldownManager cooldown;
+  private final RateLimiter rateLimiter;
 
   /**
    * Create the command.
@@ -61,6 +66,7 @@ public abstract class BungeeCommand extends Command
    *     about asynchronization check <a
    *     href="https://bukkit.fandom.com/wiki/Scheduler_Programming">Bukkit wiki</a>
    * @param cooldown the manager that handles the cooldown in this command
+   * @param rateLimiter the limiter for the rate of executions of this command
    */
   public BungeeCommand(
       String name,
@@ -69,7 +75,8 @@ public abstract class BungeeCommand extends Command
       @NonNull List<Option> options,
       @NonNull List<Middleware<CommandContext>> middlewares,
       boolean async,
-      CooldownManager cooldown) {
+      CooldownManager cooldown,
+      RateLimiter rateLimiter) {
     super(name);
     this.children = children;
     this.manager = manager;
@@ -77,6 +84,33 @@ public abstract class BungeeCommand extends Command
     this.middlewares = middlewares;
     this.async = async;
     this.cooldown = cooldown;
+    this.rateLimiter = rateLimiter;
+  }
+
+  /**
+   * Create the command.
+   *
+   * @param name the name of the command
+   * @param children the list of children commands which can be used with this parent prefix. Learn
+   *     more in {@link Parent}
+   * @param manager where the command will be registered used to get the {@link
+   *     CommandManager#getMessagesProvider()} and {@link CommandManager#getProvidersRegistry()}
+   * @param options the flags that apply in this command
+   * @param middlewares the middlewares to run before and after this command is executed
+   * @param async Whether the command should {{@link #execute(CommandContext)}} async. To know more
+   *     about asynchronization check <a
+   *     href="https://bukkit.fandom.com/wiki/Scheduler_Programming">Bukkit wiki</a>
+   * @param cooldown the manager that handles the cooldown in this command
+   */
+  public BungeeCommand(
+      String name,
+      @NonNull List<BungeeCommand> children,
+      @NonNull CommandManager manager,
+      @NonNull List<Option> options,
+      @NonNull List<Middleware<CommandContext>> middlewares,
+      boolean async,
+      CooldownManager cooldown) {
+    this(name, children, manager, options, middlewares, async, cooldown, null);
   }
 
   /**
@@ -95,6 +129,7 @@ public abstract class BungeeCommand extends Command
    *     about asynchronization check <a
    *     href="https://bukkit.fandom.com/wiki/Scheduler_Programming">Bukkit wiki</a>
    * @param cooldown the manager that handles the cooldown in this command
+   * @param rateLimiter the limiter for the rate of executions of this command
    * @param aliases the aliases which also allow to execute the command
    */
   public BungeeCommand(
@@ -106,6 +141,7 @@ public abstract class BungeeCommand extends Command
       @NonNull List<Middleware<CommandContext>> middlewares,
       boolean async,
       CooldownManager cooldown,
+      RateLimiter rateLimiter,
       String... aliases) {
     super(name, permission, aliases);
     this.children = children;
@@ -114,21 +150,66 @@ public abstract class BungeeCommand extends Command
     this.middlewares = middlewares;
     this.async = async;
     this.cooldown = cooldown;
+    this.rateLimiter = rateLimiter;
   }
 
   /**
-   * Checks if the command should be running async if so it will create the task with {@link
-   * net.md_5.bungee.api.scheduler.TaskScheduler#runAsync(Plugin, Runnable)} these uses the {@link
+   * Create the command.
+   *
+   * @param name the name of the command
+   * @param permission the permission that the sender requires to execute the command {@link
+   *     CommandSender#hasPermission(String)}
+   * @param children the list of children commands which can be used with this parent prefix. Learn
+   *     more in {@link Parent}
+   * @param manager where the command will be registered used to get the {@link
+   *     CommandManager#getMessagesProvider()} and {@link CommandManager#getProvidersRegistry()}
+   * @param options the flags that apply in this command
+   * @param middlewares the middlewares to run before and after this command is executed
+   * @param async Whether the command should {{@link #execute(CommandContext)}} async. To know more
+   *     about asynchronization check <a
+   *     href="https://bukkit.fandom.com/wiki/Scheduler_Programming">Bukkit wiki</a>
+   * @param cooldown the manager that handles the cooldown in this command
+   * @param aliases the aliases which also allow to execute the command
+   */
+  public BungeeCommand(
+      String name,
+      String permission,
+      @NonNull List<BungeeCommand> children,
+      @NonNull CommandManager manager,
+      @NonNull List<Option> options,
+      @NonNull List<Middleware<CommandContext>> middlewares,
+      boolean async,
+      CooldownManager cooldown,
+      String... aliases) {
+    this(name, permission, children, manager, options, middlewares, async, cooldown, null, aliases);
+  }
+
+  /**
+   * Checks if the command should be running async if so it will give the task to {@link
+   * CommandManager#getExecutor()} which by default uses {@link
+   * net.md_5.bungee.api.scheduler.TaskScheduler#runAsync(Plugin, Runnable)} with the {@link
    * CommandManager} plugin
    *
+   * <p>If the executor is a {@link com.github.chevyself.starbox.scheduling.PriorityExecutor} the
+   * execution is queued with the priority given by {@link CommandManager#getPriorityResolver()}. If
+   * the executor rejects the execution the sender is told that the server is busy
+   *
    * @param sender the executor of the command
    * @param parser the arguments used in the command execution
    */
   public void runCheckSync(@NonNull CommandSender sender, @NonNull CommandLineParser parser) {
     if (this.async) {
-      ProxyServer.getInstance()
-          .getScheduler()
-          .runAsync(this.manager.getPlugin(), () -> this.run(sender, parser));
+      CommandContext context = this.createContext(sender, parser);
+      try {
+        this.manager
+            .getPriorityResolver()
+            .execute(this.manager.getExecutor(), context, () -> this.run(context));
+      } catch (RejectedExecutionException e) {
+        Middleware.next(
+            this.getMiddlewares(),
+            context,
+            Result.of(this.manager.getMessagesProvider().busy(context)));
+      }
     } else {
       this.run(sender, parser);
     }
@@ -142,32 +223,77 @@ public abstract class BungeeCommand extends Command
    * {@link CommandSender} if it is not null with {@link CommandSender#sendMessage(BaseComponent)}
    * and {@link BungeeResult} components
    *
+   * <p>If a {@link com.github.chevyself.starbox.AsyncMiddleware} has to wait, the command runs in
+   * the thread that completed it as the proxy does not have a main thread
+   *
    * @param sender the executor of the command
    * @param parser the arguments used in the command execution
    */
   public void run(@NonNull CommandSender sender, @NonNull CommandLineParser parser) {
-    CommandContext context =
-        new CommandContext(
-            parser,
-            this,
-            sender,
-            this.manager.getProvidersRegistry(),
-            this.manager.getMessagesProvider());
-    BungeeResult result =
-        this.getMiddlewares().stream()
-            .map(middleware -> middleware.next(context))
-            .filter(Optional::isPresent)
-            .map(Optional::get)
-            .findFirst()
-            .map(
-                starboxResult -> {
-                  // Here maybe thrown an error because the wrong result was provided
-                  return starboxResult instanceof BungeeResult
-                      ? (BungeeResult) starboxResult
-                      : null;
-                })
-            .orElseGet(() -> this.execute(context));
-    this.getMiddlewares().forEach(middleware -> middleware.next(context, result));
+    this.run(this.createContext(sender, parser));
+  }
+
+  @NonNull
+  private CommandContext createContext(
+      @NonNull CommandSender sender, @NonNull CommandLineParser parser) {
+    return new CommandContext(
+        parser,
+        this,
+        sender,
+        this.manager.getProvidersRegistry(),
+        this.manager.getMessagesProvider());
+  }
+
+  /**
+   * Run the command in the given context, see {@link #run(CommandSender, CommandLineParser)}.
+   *
+   * @param context the context of the execution
+   */
+  public void run(@NonNull CommandContext context) {
+    if (MiddlewareChain.isAsync(this.getMiddlewares())) {
+      FutureResult result =
+          new FutureResult(
+              MiddlewareChain.execute(
+                      this.getMiddlewares(),
+                      context,
+                      starboxResult ->
+                          starboxResult instanceof BungeeResult
+                              ? (BungeeResult) starboxResult
+                              : null,
+                      () -> this.execute(context),
+                      Runnable::run)
+                  .exceptionally(
+                      fail -> {
+                        fail.printStackTrace();
+                        return Result.of(
+                            Throwables.getMessage(fail)
+                                .map(message -> "&c" + message)
+                                .orElseGet(() -> context.getMessagesProvider().failed(context)));
+                      }));
+      Middleware.finish(this.getMiddlewares(), context, result);
+      return;
+    }
+    BungeeResult result;
+    try {
+      result =
+          this.getMiddlewares().stream()
+              .map(middleware -> middleware.next(context))
+              .filter(Optional::isPresent)
+              .map(Optional::get)
+              .findFirst()
+              .map(
+                  starboxResult -> {
+                    // Here maybe thrown an error because the wrong result was provided
+                    return starboxResult instanceof BungeeResult
+                        ? (BungeeResult) starboxResult
+                        : null;
+                  })
+              .orElseGet(() -> this.execute(context));
+    } catch (RuntimeException e) {
+      Middleware.complete(this.getMiddlewares(), context);
+      throw e;
+    }
+    Middleware.finish(this.getMiddlewares(), context, result);
   }
 
   /**
@@ -223,6 +349,11 @@ public abstract class BungeeCommand extends Command
     return Optional.ofNullable(cooldown);
   }
 
+  @Override
+  public @NonNull Optional<RateLimiter> getRateLimiter() {
+    return Optional.ofNullable(rateLimiter);
+  }
+
   @Override
   public Iterable<String> onTabComplete(CommandSender sender, String[] strings) {
     if (this.getPermission() != null && !sender.hasPermission(this.getPermission())) {
@@ -3,12 +3,14 @@ package com.github.chevyself.starbox.bungee;
 import com.github.chevyself.starbox.Middleware;
 import com.github.chevyself.starbox.StarboxCommandManager;
 import com.github.chevyself.starbox.bungee.annotations.Command;
+import com.github.chevyself.starbox.bungee.annotations.Cooldown;
 import com.github.chevyself.starbox.bungee.context.CommandContext;
 import com.github.chevyself.starbox.bungee.result.BungeeResult;
 import com.github.chevyself.starbox.bungee.result.Result;
 import com.github.chevyself.starbox.exceptions.CommandRegistrationException;
 import com.github.chevyself.starbox.flags.Option;
 import com.github.chevyself.starbox.parsers.CommandParser;
+import com.github.chevyself.starbox.result.StarboxFutureResult;
 import com.github.chevyself.starbox.util.ClassFinder;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
@@ -48,7 +50,8 @@ public class BungeeCommandParser implements CommandParser<Command, CommandContex
             Option.of(command.options()),
             this.getMiddlewares(command),
             command.async(),
-            CooldownManager.of(command.cooldown()).orElse(null),
+            this.getCooldown(command.cooldown()),
+            RateLimiter.of(command.rateLimit()).orElse(null),
             Arrays.copyOfRange(command.aliases(), 1, command.aliases().length)) {
           @Override
           public BungeeResult execute(@NonNull CommandContext context) {
@@ -65,6 +68,22 @@ public class BungeeCommandParser implements CommandParser<Command, CommandContex
         .setClassLoaderSupplier(() -> commandManager.getPlugin().getClass().getClassLoader());
   }
 
+  private CooldownManager getCooldown(@NonNull Cooldown cooldown) {
+    if (cooldown.group().isEmpty()) {
+      return CooldownManager.of(cooldown).orElse(null);
+    }
+    return commandManager
+        .getCooldownGroups()
+        .computeIfAbsent(
+            cooldown.group(),
+            group ->
+                CooldownManager.of(cooldown)
+                    .orElseThrow(
+                        () ->
+                            new CommandRegistrationException(
+                                "The cooldown group " + group + " is not registered")));
+  }
+
   @NonNull
   private List<Middleware<CommandContext>> getMiddlewares(@NonNull Command command) {
     return StarboxCommandManager.getMiddlewares(
@@ -77,8 +96,14 @@ public class BungeeCommandParser implements CommandParser<Command, CommandContex
   @Override
   public void checkReturnType(@NonNull Method method) {
     if (!BungeeResult.class.isAssignableFrom(method.getReturnType())
-        && !method.getReturnType().equals(Void.TYPE)) {
-      throw new CommandRegistrationException(method + " must return void or " + BungeeResult.class);
+        && !method.getReturnType().equals(Void.TYPE)
+        && !StarboxFutureResult.returnsFuture(method, BungeeResult.class)) {
+      throw new CommandRegistrationException(
+          method
+              + " must return void, "
+              + BungeeResult.class
+              + " or a CompletionStage of "
+              + BungeeResult.class);
     }
   }
 
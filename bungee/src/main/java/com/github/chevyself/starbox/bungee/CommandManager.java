@@ -6,15 +6,24 @@ import com.github.chevyself.starbox.bungee.annotations.Command;
 import com.github.chevyself.starbox.bungee.context.CommandContext;
 import com.github.chevyself.starbox.bungee.messages.BungeeMessagesProvider;
 import com.github.chevyself.starbox.bungee.messages.MessagesProvider;
+import com.github.chevyself.starbox.bungee.middleware.BulkheadMiddleware;
 import com.github.chevyself.starbox.bungee.middleware.CooldownMiddleware;
 import com.github.chevyself.starbox.bungee.middleware.PermissionMiddleware;
+import com.github.chevyself.starbox.bungee.middleware.RateLimitMiddleware;
 import com.github.chevyself.starbox.bungee.middleware.ResultHandlingMiddleware;
 import com.github.chevyself.starbox.bungee.providers.registry.BungeeProvidersRegistry;
 import com.github.chevyself.starbox.providers.registry.ProvidersRegistry;
 import com.github.chevyself.starbox.providers.type.StarboxContextualProvider;
+import com.github.chevyself.starbox.scheduling.PriorityExecutor;
+import com.github.chevyself.starbox.scheduling.PriorityResolver;
+import com.github.chevyself.starbox.util.VirtualThreads;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import lombok.Getter;
 import lombok.NonNull;
 import net.md_5.bungee.api.plugin.Plugin;
@@ -53,8 +62,19 @@ public class CommandManager implements StarboxCommandManager<CommandContext, Bun
   private final List<Middleware<CommandContext>> globalMiddlewares = new ArrayList<>();
 
   @NonNull @Getter private final List<Middleware<CommandContext>> middlewares = new ArrayList<>();
+
+  @NonNull @Getter
+  private final Map<String, CooldownManager> cooldownGroups = new ConcurrentHashMap<>();
+
   @NonNull @Getter private final BungeeCommandParser parser = new BungeeCommandParser(this);
   @NonNull @Getter private final List<BungeeCommand> commands = new ArrayList<>();
+  @NonNull @Getter private Executor executor;
+  /**
+   * Resolves the priority of async executions when the executor is a {@link PriorityExecutor}. It
+   * may be used to give a higher priority to the commands of some senders.
+   */
+  @NonNull @Getter
+  private final PriorityResolver<CommandContext> priorityResolver = new PriorityResolver<>();
 
   /**
    * Create an instance.
@@ -73,6 +93,24 @@ public class CommandManager implements StarboxCommandManager<CommandContext, Bun
     this.manager = plugin.getProxy().getPluginManager();
     this.messagesProvider = messagesProvider;
     this.providersRegistry = providersRegistry;
+    this.executor = task -> plugin.getProxy().getScheduler().runAsync(plugin, task);
+  }
+
+  /**
+   * Set the executor used to run async commands. By default, async commands are run using the
+   * Bungee scheduler, an executor with virtual threads can be created with {@link
+   * VirtualThreads#newExecutor()}
+   *
+   * <p>When the server is saturated a {@link PriorityExecutor} runs the commands with a higher
+   * priority first, see {@link #getPriorityResolver()}
+   *
+   * @param executor the new executor
+   * @return this same instance
+   */
+  @NonNull
+  public CommandManager setExecutor(@NonNull Executor executor) {
+    this.executor = executor;
+    return this;
   }
 
   @Override
@@ -93,8 +131,10 @@ public class CommandManager implements StarboxCommandManager<CommandContext, Bun
    * <p>The default middlewares are:
    *
    * <ul>
+   *   <li>{@link RateLimitMiddleware}
    *   <li>{@link CooldownMiddleware}
    *   <li>{@link PermissionMiddleware}
+   *   <li>{@link BulkheadMiddleware}
    *   <li>{@link ResultHandlingMiddleware}
    * </ul>
    *
@@ -103,7 +143,11 @@ public class CommandManager implements StarboxCommandManager<CommandContext, Bun
   @NonNull
   public CommandManager addDefaultMiddlewares() {
     this.addGlobalMiddlewares(
-        new CooldownMiddleware(), new PermissionMiddleware(), new ResultHandlingMiddleware());
+        new RateLimitMiddleware(),
+        new CooldownMiddleware(),
+        new PermissionMiddleware(),
+        new BulkheadMiddleware(),
+        new ResultHandlingMiddleware(this.plugin));
     return this;
   }
 
@@ -169,4 +213,23 @@ public class CommandManager implements StarboxCommandManager<CommandContext, Bun
     this.middlewares.add(middleware);
     return this;
   }
+
+  /**
+   * Add a cooldown group to this manager. Commands that use the name of the group in their
+   * annotation will share the given cooldown manager.
+   *
+   * @param name the name of the group
+   * @param cooldown the cooldown manager of the group
+   * @return this same instance
+   */
+  @NonNull
+  public CommandManager addCooldownGroup(@NonNull String name, @NonNull CooldownManager cooldown) {
+    this.cooldownGroups.put(name, cooldown);
+    return this;
+  }
+
+  @Override
+  public @NonNull Optional<CooldownManager> getCooldownGroup(@NonNull String name) {
+    return Optional.ofNullable(this.cooldownGroups.get(name));
+  }
 }
@@ -5,10 +5,10 @@ import com.github.chevyself.starbox.bungee.annotations.Cooldown;
 import com.github.chevyself.starbox.bungee.context.CommandContext;
 import com.github.chevyself.starbox.time.TimeUtil;
 import java.time.Duration;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import lombok.NonNull;
 import net.md_5.bungee.api.CommandSender;
 import net.md_5.bungee.api.connection.ProxiedPlayer;
@@ -16,7 +16,7 @@ import net.md_5.bungee.api.connection.ProxiedPlayer;
 /** Implementation for the 'Bungee' module. */
 public class CooldownManager implements StarboxCooldownManager<CommandContext> {
 
-  @NonNull private final Map<UUID, Long> map = new HashMap<>();
+  @NonNull private final Map<UUID, Long> map = new ConcurrentHashMap<>();
 
   @NonNull private final String permission;
   @NonNull private final Duration duration;
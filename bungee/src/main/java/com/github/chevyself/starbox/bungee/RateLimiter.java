@@ -0,0 +1,68 @@
+package com.github.chevyself.starbox.bungee;
+
+import com.github.chevyself.starbox.annotations.RateLimit;
+import com.github.chevyself.starbox.bungee.context.CommandContext;
+import com.github.chevyself.starbox.ratelimit.AbstractRateLimiter;
+import com.github.chevyself.starbox.ratelimit.RateLimitScope;
+import com.github.chevyself.starbox.time.TimeUtil;
+import java.time.Duration;
+import java.util.Optional;
+import lombok.NonNull;
+import net.md_5.bungee.api.CommandSender;
+import net.md_5.bungee.api.connection.ProxiedPlayer;
+import net.md_5.bungee.api.connection.Server;
+
+/**
+ * Implementation of {@link com.github.chevyself.starbox.StarboxRateLimiter} for the 'Bungee'
+ * module. Players are keyed by their {@link java.util.UUID} and {@link RateLimitScope#GUILD} shares
+ * the executions of the players connected to the same server.
+ */
+public class RateLimiter extends AbstractRateLimiter<CommandContext> {
+
+  /**
+   * Create the limiter.
+   *
+   * @param capacity the amount of executions that can be made in a burst
+   * @param refill the time that it takes to get a new execution
+   * @param scope the scope in which the executions are shared
+   */
+  public RateLimiter(int capacity, @NonNull Duration refill, @NonNull RateLimitScope scope) {
+    super(capacity, refill, scope);
+  }
+
+  /**
+   * Create a limiter based on the annotation.
+   *
+   * @param annotation the annotation to provide the settings of the limiter
+   * @return if the capacity is lower than 1 an empty optional will be returned else a new limiter
+   *     will be created
+   */
+  @NonNull
+  public static Optional<RateLimiter> of(@NonNull RateLimit annotation) {
+    return Optional.ofNullable(
+        annotation.capacity() < 1
+            ? null
+            : new RateLimiter(
+                annotation.capacity(),
+                TimeUtil.durationOf(annotation.refill()),
+                annotation.scope()));
+  }
+
+  @Override
+  protected @NonNull Object getSenderKey(@NonNull CommandContext context) {
+    CommandSender sender = context.getSender();
+    return sender instanceof ProxiedPlayer ? ((ProxiedPlayer) sender).getUniqueId() : sender;
+  }
+
+  @Override
+  protected @NonNull Object getGuildKey(@NonNull CommandContext context) {
+    CommandSender sender = context.getSender();
+    if (sender instanceof ProxiedPlayer) {
+      Server server = ((ProxiedPlayer) sender).getServer();
+      if (server != null) {
+        return server.getInfo();
+      }
+    }
+    return this.getSenderKey(context);
+  }
+}
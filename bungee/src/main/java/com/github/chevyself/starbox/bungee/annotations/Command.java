@@ -1,6 +1,7 @@
 package com.github.chevyself.starbox.bungee.annotations;
 
 import com.github.chevyself.starbox.Middleware;
+import com.github.chevyself.starbox.annotations.RateLimit;
 import com.github.chevyself.starbox.bungee.AnnotatedCommand;
 import com.github.chevyself.starbox.bungee.CommandManager;
 import com.github.chevyself.starbox.bungee.context.CommandContext;
@@ -78,4 +79,12 @@ public @interface Command {
    */
   @NonNull
   Cooldown cooldown() default @Cooldown;
+
+  /**
+   * Get the rate in which the command can be executed.
+   *
+   * @return the annotation
+   */
+  @NonNull
+  RateLimit rateLimit() default @RateLimit;
 }
@@ -66,6 +66,24 @@ public class BungeeMessagesProvider implements MessagesProvider {
         TimeUtil.toString(timeLeft));
   }
 
+  @Override
+  public @NonNull String rateLimited(@NonNull CommandContext context, @NonNull Duration timeLeft) {
+    return Strings.format(
+        BungeeMessagesProvider.errorPrefix
+            + "&c&oYou are running this command too fast, try again in &4&o{0}",
+        TimeUtil.toString(timeLeft));
+  }
+
+  @Override
+  public @NonNull String busy(@NonNull CommandContext context) {
+    return BungeeMessagesProvider.errorPrefix + "&c&oThe proxy is busy, try again later";
+  }
+
+  @Override
+  public @NonNull String failed(@NonNull CommandContext context) {
+    return BungeeMessagesProvider.errorPrefix + "&c&oThe command failed, try again later";
+  }
+
   @Override
   public @NonNull String commandHelp(
       @NonNull StarboxCommand<CommandContext, ?> command, CommandContext context) {
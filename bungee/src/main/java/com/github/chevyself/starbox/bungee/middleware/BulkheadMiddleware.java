@@ -0,0 +1,25 @@
+package com.github.chevyself.starbox.bungee.middleware;
+
+import com.github.chevyself.starbox.bulkhead.AbstractBulkheadMiddleware;
+import com.github.chevyself.starbox.bungee.context.CommandContext;
+import com.github.chevyself.starbox.bungee.result.Result;
+import lombok.NonNull;
+
+/**
+ * Middleware to limit how many executions of a command run at the same time. It should run after
+ * the middlewares that may stop a command, so stopped executions do not take a permit. Only async
+ * commands wait for a permit, others are rejected right away so the thread of the proxy is never
+ * blocked.
+ */
+public class BulkheadMiddleware extends AbstractBulkheadMiddleware<CommandContext> {
+
+  @Override
+  protected @NonNull Result busy(@NonNull CommandContext context) {
+    return Result.of(context.getMessagesProvider().busy(context));
+  }
+
+  @Override
+  protected boolean mayWait(@NonNull CommandContext context) {
+    return context.getCommand().isAsync();
+  }
+}
@@ -3,22 +3,155 @@ package com.github.chevyself.starbox.bungee.middleware;
 import com.github.chevyself.starbox.Middleware;
 import com.github.chevyself.starbox.bungee.context.CommandContext;
 import com.github.chevyself.starbox.bungee.result.BungeeResult;
+import com.github.chevyself.starbox.bungee.utils.Components;
+import com.github.chevyself.starbox.result.LinePager;
+import com.github.chevyself.starbox.result.StarboxPagedResult;
 import com.github.chevyself.starbox.result.StarboxResult;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import lombok.Getter;
 import lombok.NonNull;
+import net.md_5.bungee.api.CommandSender;
 import net.md_5.bungee.api.chat.BaseComponent;
+import net.md_5.bungee.api.connection.ProxiedPlayer;
+import net.md_5.bungee.api.plugin.Plugin;
+import net.md_5.bungee.api.scheduler.ScheduledTask;
 
 /**
  * This middleware sends the components of the {@link BungeeResult} to the {@link
  * net.md_5.bungee.api.CommandSender}.
+ *
+ * <p>The lines of a {@link StarboxPagedResult} are sent in chunks of {@link #getLinesPerChunk()}
+ * lines every 50 milliseconds, if the middleware was created with a plugin to schedule them, or all
+ * at once otherwise. Either way only the line being sent is kept in memory.
  */
 public class ResultHandlingMiddleware implements Middleware<CommandContext> {
 
+  private static final long PERIOD = 50;
+
+  private final Plugin plugin;
+  /** The maximum amount of lines of a {@link StarboxPagedResult} sent at once. */
+  @Getter private int linesPerChunk = 10;
+
+  /**
+   * Create the middleware.
+   *
+   * @param plugin the plugin used to schedule the chunks of lines of paged results
+   */
+  public ResultHandlingMiddleware(@NonNull Plugin plugin) {
+    this.plugin = plugin;
+  }
+
+  /** Create the middleware. The lines of paged results are sent at once. */
+  public ResultHandlingMiddleware() {
+    this.plugin = null;
+  }
+
+  private static void send(@NonNull CommandSender sender, @NonNull CharSequence line) {
+    sender.sendMessage(Components.getComponent(line.toString()));
+  }
+
+  /**
+   * Set the maximum amount of lines of a {@link StarboxPagedResult} sent at once.
+   *
+   * @param linesPerChunk the new maximum amount of lines
+   * @return this same instance
+   */
+  @NonNull
+  public ResultHandlingMiddleware setLinesPerChunk(int linesPerChunk) {
+    this.linesPerChunk = Math.max(1, linesPerChunk);
+    return this;
+  }
+
   @Override
   public void next(@NonNull CommandContext context, StarboxResult result) {
-    if (result instanceof BungeeResult && !((BungeeResult) result).getComponents().isEmpty()) {
+    if (result instanceof BungeeResult && result instanceof StarboxPagedResult) {
+      this.send(context.getSender(), ((StarboxPagedResult) result).getLines());
+    } else if (result instanceof BungeeResult
+        && !((BungeeResult) result).getComponents().isEmpty()) {
       context
           .getSender()
           .sendMessage(((BungeeResult) result).getComponents().toArray(new BaseComponent[0]));
     }
   }
+
+  private void send(
+      @NonNull CommandSender sender, @NonNull Iterator<? extends CharSequence> lines) {
+    if (this.plugin == null) {
+      try {
+        while (lines.hasNext()) {
+          ResultHandlingMiddleware.send(sender, lines.next());
+        }
+      } finally {
+        LinePager.closeLines(lines);
+      }
+      return;
+    }
+    LinesTask task = new LinesTask(sender, lines, this.linesPerChunk);
+    if (task.sendChunk()) {
+      task.task =
+          this.plugin
+              .getProxy()
+              .getScheduler()
+              .schedule(
+                  this.plugin,
+                  task,
+                  ResultHandlingMiddleware.PERIOD,
+                  ResultHandlingMiddleware.PERIOD,
+                  TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /**
+   * Sends a chunk of lines each time it runs until there are no more lines or the player leaves.
+   * The first chunk is sent before the task is scheduled.
+   */
+  private static final class LinesTask implements Runnable {
+
+    @NonNull private final CommandSender sender;
+    @NonNull private final Iterator<? extends CharSequence> lines;
+    private final int linesPerChunk;
+    private volatile ScheduledTask task;
+    private volatile boolean finished;
+
+    private LinesTask(
+        @NonNull CommandSender sender,
+        @NonNull Iterator<? extends CharSequence> lines,
+        int linesPerChunk) {
+      this.sender = sender;
+      this.lines = lines;
+      this.linesPerChunk = linesPerChunk;
+    }
+
+    /**
+     * Send the next chunk of lines.
+     *
+     * @return whether there are lines left to send
+     */
+    private boolean sendChunk() {
+      boolean done = true;
+      try {
+        if (this.sender instanceof ProxiedPlayer && !((ProxiedPlayer) this.sender).isConnected()) {
+          return false;
+        }
+        for (int i = 0; i < this.linesPerChunk && this.lines.hasNext(); i++) {
+          ResultHandlingMiddleware.send(this.sender, this.lines.next());
+        }
+        done = !this.lines.hasNext();
+        return !done;
+      } finally {
+        if (done) {
+          this.finished = true;
+          LinePager.closeLines(this.lines);
+        }
+      }
+    }
+
+    @Override
+    public void run() {
+      if ((this.finished || !this.sendChunk()) && this.task != null) {
+        this.task.cancel();
+      }
+    }
+  }
 }
@@ -0,0 +1,44 @@
+package com.github.chevyself.starbox.bungee.result;
+
+import com.github.chevyself.starbox.result.StarboxFutureResult;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+import lombok.Getter;
+import lombok.NonNull;
+import net.md_5.bungee.api.chat.BaseComponent;
+
+/**
+ * This is the implementation of {@link StarboxFutureResult} for the 'Bungee' module. It is created
+ * when the method of a command returns a {@link CompletionStage} of {@link BungeeResult}.
+ */
+public class FutureResult implements BungeeResult, StarboxFutureResult<BungeeResult> {
+
+  /** The stage that completes with the result of the command. */
+  @NonNull @Getter private final CompletionStage<? extends BungeeResult> future;
+
+  /**
+   * Create the result.
+   *
+   * @param future the stage that completes with the result of the command
+   */
+  public FutureResult(@NonNull CompletionStage<? extends BungeeResult> future) {
+    this.future = future;
+  }
+
+  /**
+   * The components are given by the result that the stage completes with.
+   *
+   * @return an empty list
+   */
+  @Override
+  public @NonNull List<BaseComponent> getComponents() {
+    return Collections.emptyList();
+  }
+
+  @Override
+  public @NonNull Optional<String> getMessage() {
+    return Optional.empty();
+  }
+}
@@ -0,0 +1,60 @@
+package com.github.chevyself.starbox.bungee.result;
+
+import com.github.chevyself.starbox.bungee.middleware.ResultHandlingMiddleware;
+import com.github.chevyself.starbox.bungee.utils.Components;
+import com.github.chevyself.starbox.result.StarboxPagedResult;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import lombok.Getter;
+import lombok.NonNull;
+import net.md_5.bungee.api.chat.BaseComponent;
+
+/**
+ * This is the implementation of {@link StarboxPagedResult} for the 'Bungee' module. Each line is
+ * parsed using {@link Components#getComponent(String)} when it is sent, the {@link
+ * ResultHandlingMiddleware} sends a few lines at a time so long outputs do not flood the chat.
+ *
+ * <p>As the lines are sent by the scheduler of the proxy they should be cheap to produce.
+ */
+public class PagedResult implements BungeeResult, StarboxPagedResult {
+
+  @NonNull private final Iterable<? extends CharSequence> lines;
+  @Getter private boolean cooldown;
+
+  /**
+   * Create the result.
+   *
+   * @param lines the lines to send, they are iterated once when the result is sent
+   */
+  public PagedResult(@NonNull Iterable<? extends CharSequence> lines) {
+    this.lines = lines;
+  }
+
+  @Override
+  public @NonNull Iterator<? extends CharSequence> getLines() {
+    return this.lines.iterator();
+  }
+
+  /**
+   * The components of a paged result are created while its lines are sent.
+   *
+   * @return an empty list
+   */
+  @Override
+  public @NonNull List<BaseComponent> getComponents() {
+    return Collections.emptyList();
+  }
+
+  @Override
+  public @NonNull Optional<String> getMessage() {
+    return Optional.empty();
+  }
+
+  @Override
+  public @NonNull PagedResult setCooldown(boolean apply) {
+    this.cooldown = apply;
+    return this;
+  }
+}
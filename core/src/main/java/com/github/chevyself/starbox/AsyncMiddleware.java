@@ -0,0 +1,54 @@
+package com.github.chevyself.starbox;
+
+import com.github.chevyself.starbox.context.StarboxCommandContext;
+import com.github.chevyself.starbox.result.StarboxResult;
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+import lombok.NonNull;
+
+/**
+ * A {@link Middleware} whose check before the command needs I/O, such as loading permissions or a
+ * ban list from a database. Instead of blocking the thread that dispatches the command it returns a
+ * {@link CompletionStage}:
+ *
+ * <pre>{@code
+ * public class BanMiddleware implements AsyncMiddleware<CommandContext> {
+ *   @Override
+ *   public CompletionStage<Optional<Result>> nextAsync(CommandContext context) {
+ *     return bans.isBanned(context.getSender())
+ *         .thenApply(banned -> banned ? Optional.of(BANNED) : Optional.empty());
+ *   }
+ * }
+ * }</pre>
+ *
+ * <p>Commands run their middlewares with {@link MiddlewareChain}: the chain only goes asynchronous
+ * if one of these stages is not completed yet and, in that case, the command runs in the thread
+ * that each platform requires, for instance the main thread in Bukkit.
+ *
+ * @param <T> the context of the command
+ */
+public interface AsyncMiddleware<T extends StarboxCommandContext> extends Middleware<T> {
+
+  /**
+   * Runs the middleware before the command.
+   *
+   * @param context the context that is going to run the command
+   * @return the stage that completes with the result that stops the command from running or empty
+   *     to let it run
+   */
+  @NonNull
+  CompletionStage<? extends Optional<? extends StarboxResult>> nextAsync(@NonNull T context);
+
+  /**
+   * Runs the middleware before the command blocking the thread until the stage of {@link
+   * #nextAsync(StarboxCommandContext)} completes. This is only used when the middleware does not
+   * run in a {@link MiddlewareChain}.
+   *
+   * @param context the context that is going to run the command
+   * @return if the middleware returns a {@link StarboxResult} will not run the command
+   */
+  @Override
+  default @NonNull Optional<? extends StarboxResult> next(@NonNull T context) {
+    return this.nextAsync(context).toCompletableFuture().join();
+  }
+}
@@ -1,8 +1,12 @@
 package com.github.chevyself.starbox;
 
 import com.github.chevyself.starbox.context.StarboxCommandContext;
+import com.github.chevyself.starbox.result.StarboxFutureResult;
 import com.github.chevyself.starbox.result.StarboxResult;
+import java.util.Collection;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import lombok.NonNull;
 
 /**
@@ -17,6 +21,78 @@ import lombok.NonNull;
  */
 public interface Middleware<T extends StarboxCommandContext> {
 
+  /**
+   * Run the middlewares after a command. If the result is a {@link StarboxFutureResult} they run
+   * once its stage completes, with the result that it completed with, in the thread that completed
+   * it.
+   *
+   * @param middlewares the middlewares to run
+   * @param context the context that ran the command
+   * @param result the result returned by the command
+   * @param <T> the context of the command
+   * @return the stage that completes once the middlewares ran
+   */
+  @NonNull
+  static <T extends StarboxCommandContext> CompletionStage<Void> next(
+      @NonNull Collection<? extends Middleware<T>> middlewares,
+      @NonNull T context,
+      StarboxResult result) {
+    if (result instanceof StarboxFutureResult) {
+      return ((StarboxFutureResult<?>) result)
+          .getFuture()
+          .thenAccept(
+              completed -> {
+                for (Middleware<T> middleware : middlewares) {
+                  middleware.next(context, completed);
+                }
+              });
+    }
+    for (Middleware<T> middleware : middlewares) {
+      middleware.next(context, result);
+    }
+    return CompletableFuture.completedFuture(null);
+  }
+
+  /**
+   * Run the middlewares after a command, see {@link #next(Collection, StarboxCommandContext,
+   * StarboxResult)}, and then {@link #complete(Collection, StarboxCommandContext)} the execution.
+   * The execution is completed even if the middlewares or the stage of the result fail.
+   *
+   * @param middlewares the middlewares to run
+   * @param context the context that ran the command
+   * @param result the result returned by the command or by the middleware that stopped it
+   * @param <T> the context of the command
+   * @return the stage that completes once the middlewares ran and the execution was completed
+   */
+  @NonNull
+  static <T extends StarboxCommandContext> CompletionStage<Void> finish(
+      @NonNull Collection<? extends Middleware<T>> middlewares,
+      @NonNull T context,
+      StarboxResult result) {
+    CompletionStage<Void> stage;
+    try {
+      stage = Middleware.next(middlewares, context, result);
+    } catch (RuntimeException | Error e) {
+      Middleware.complete(middlewares, context);
+      throw e;
+    }
+    return stage.whenComplete((nothing, fail) -> Middleware.complete(middlewares, context));
+  }
+
+  /**
+   * Tell the middlewares that an execution is over, see {@link #complete(StarboxCommandContext)}.
+   *
+   * @param middlewares the middlewares of the command
+   * @param context the context of the execution
+   * @param <T> the context of the command
+   */
+  static <T extends StarboxCommandContext> void complete(
+      @NonNull Collection<? extends Middleware<T>> middlewares, @NonNull T context) {
+    for (Middleware<T> middleware : middlewares) {
+      middleware.complete(context);
+    }
+  }
+
   /**
    * Runs the middleware before the command.
    *
@@ -35,4 +111,14 @@ public interface Middleware<T extends StarboxCommandContext> {
    * @param result result returned by the command
    */
   default void next(@NonNull T context, StarboxResult result) {}
+
+  /**
+   * Runs once the execution is over. Unlike the middlewares after the command, this also runs when
+   * the execution was stopped by a middleware or the command threw an exception, so it is where
+   * resources taken before the command must be given back. For a {@link StarboxFutureResult} it
+   * runs once its stage completes.
+   *
+   * @param context the context of the execution
+   */
+  default void complete(@NonNull T context) {}
 }
@@ -0,0 +1,154 @@
+package com.github.chevyself.starbox;
+
+import com.github.chevyself.starbox.context.StarboxCommandContext;
+import com.github.chevyself.starbox.result.StarboxFutureResult;
+import com.github.chevyself.starbox.result.StarboxResult;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import lombok.NonNull;
+
+/**
+ * Static utilities to run the middlewares of a command when some of them are {@link
+ * AsyncMiddleware}. Synchronous middlewares run inline, one after the other, and the chain stops at
+ * the first one that gives a result. An asynchronous middleware whose stage is already completed,
+ * for instance because its value was cached, is handled inline as well: the chain only waits when a
+ * stage is still running and, once it completes, continues in the thread that completed it.
+ *
+ * <p>Commands without {@link AsyncMiddleware} do not use this, see {@link #isAsync(Collection)}.
+ */
+public final class MiddlewareChain {
+
+  private MiddlewareChain() {}
+
+  /**
+   * Check whether there are asynchronous middlewares in a collection.
+   *
+   * @param middlewares the middlewares to check
+   * @return true if any of the middlewares is an {@link AsyncMiddleware}
+   */
+  public static boolean isAsync(@NonNull Collection<? extends Middleware<?>> middlewares) {
+    for (Middleware<?> middleware : middlewares) {
+      if (middleware instanceof AsyncMiddleware) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Run the middlewares before a command.
+   *
+   * @param middlewares the middlewares to run
+   * @param context the context that is going to run the command
+   * @param <T> the context of the command
+   * @return the stage that completes with the first result given by a middleware or empty if the
+   *     command may run. It is already completed if no middleware had to wait, and it fails if a
+   *     middleware threw an exception
+   */
+  @NonNull
+  public static <T extends StarboxCommandContext> CompletableFuture<Optional<StarboxResult>> next(
+      @NonNull Collection<? extends Middleware<T>> middlewares, @NonNull T context) {
+    try {
+      return MiddlewareChain.next(middlewares.iterator(), context);
+    } catch (RuntimeException e) {
+      CompletableFuture<Optional<StarboxResult>> failed = new CompletableFuture<>();
+      failed.completeExceptionally(e);
+      return failed;
+    }
+  }
+
+  @NonNull
+  private static <T extends StarboxCommandContext> CompletableFuture<Optional<StarboxResult>> next(
+      @NonNull Iterator<? extends Middleware<T>> iterator, @NonNull T context) {
+    while (iterator.hasNext()) {
+      Middleware<T> middleware = iterator.next();
+      Optional<? extends StarboxResult> result;
+      if (middleware instanceof AsyncMiddleware) {
+        CompletableFuture<? extends Optional<? extends StarboxResult>> stage =
+            ((AsyncMiddleware<T>) middleware).nextAsync(context).toCompletableFuture();
+        if (!stage.isDone() || stage.isCompletedExceptionally()) {
+          return stage.thenCompose(
+              completed ->
+                  completed.isPresent()
+                      ? CompletableFuture.completedFuture(Optional.of(completed.get()))
+                      : MiddlewareChain.next(iterator, context));
+        }
+        result = stage.join();
+      } else {
+        result = middleware.next(context);
+      }
+      if (result.isPresent()) {
+        return CompletableFuture.completedFuture(Optional.of(result.get()));
+      }
+    }
+    return CompletableFuture.completedFuture(Optional.empty());
+  }
+
+  /**
+   * Run a command once the middlewares that run before it completed. If the stage is already
+   * completed the command runs in the current thread, else it runs in the given executor.
+   *
+   * <p>If the command returns a {@link StarboxFutureResult}, the returned stage completes with the
+   * result of its stage.
+   *
+   * @param before the stage returned by {@link #next(Collection, StarboxCommandContext)}
+   * @param cast converts a {@link StarboxResult} to the result of the platform, it may return null
+   *     if the result is not of the platform
+   * @param command runs the command
+   * @param resume the executor to run the command in, such as the main thread of the server
+   * @param <R> the type of result of the platform
+   * @return the stage that completes with the result given by a middleware or by the command
+   */
+  @NonNull
+  public static <R extends StarboxResult> CompletableFuture<R> proceed(
+      @NonNull CompletableFuture<Optional<StarboxResult>> before,
+      @NonNull Function<StarboxResult, R> cast,
+      @NonNull Supplier<? extends R> command,
+      @NonNull Executor resume) {
+    Function<Optional<StarboxResult>, CompletableFuture<R>> proceed =
+        rejected -> {
+          if (rejected.isPresent()) {
+            return CompletableFuture.completedFuture(cast.apply(rejected.get()));
+          }
+          R result = command.get();
+          if (result instanceof StarboxFutureResult) {
+            return ((StarboxFutureResult<?>) result)
+                .getFuture()
+                .toCompletableFuture()
+                .thenApply(cast);
+          }
+          return CompletableFuture.completedFuture(result);
+        };
+    return before.isDone() ? before.thenCompose(proceed) : before.thenComposeAsync(proceed, resume);
+  }
+
+  /**
+   * Run the middlewares before a command and then the command, see {@link #next(Collection,
+   * StarboxCommandContext)} and {@link #proceed(CompletableFuture, Function, Supplier, Executor)}.
+   *
+   * @param middlewares the middlewares to run
+   * @param context the context that is going to run the command
+   * @param cast converts a {@link StarboxResult} to the result of the platform
+   * @param command runs the command
+   * @param resume the executor to run the command in if a middleware had to wait
+   * @param <T> the context of the command
+   * @param <R> the type of result of the platform
+   * @return the stage that completes with the result given by a middleware or by the command
+   */
+  @NonNull
+  public static <T extends StarboxCommandContext, R extends StarboxResult>
+      CompletableFuture<R> execute(
+          @NonNull Collection<? extends Middleware<T>> middlewares,
+          @NonNull T context,
+          @NonNull Function<StarboxResult, R> cast,
+          @NonNull Supplier<? extends R> command,
+          @NonNull Executor resume) {
+    return MiddlewareChain.proceed(
+        MiddlewareChain.next(middlewares, context), cast, command, resume);
+  }
+}
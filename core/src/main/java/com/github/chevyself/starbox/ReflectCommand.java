@@ -9,12 +9,20 @@ import com.github.chevyself.starbox.exceptions.MissingArgumentException;
 import com.github.chevyself.starbox.messages.StarboxMessagesProvider;
 import com.github.chevyself.starbox.providers.registry.ProvidersRegistry;
 import com.github.chevyself.starbox.providers.type.StarboxArgumentProvider;
+import com.github.chevyself.starbox.providers.type.StarboxAsyncArgumentProvider;
 import com.github.chevyself.starbox.result.StarboxResult;
 import com.github.chevyself.starbox.util.Pair;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import lombok.NonNull;
 
 /**
@@ -60,6 +68,9 @@ public interface ReflectCommand<C extends StarboxCommandContext, T extends Starb
    * Get the objects that should be used in the parameters to invoke {@link #getMethod()}. For each
    * {@link StarboxCommandContext#getStrings()} it will try to get one object.
    *
+   * <p>If the registry has any {@link StarboxAsyncArgumentProvider} the objects are obtained using
+   * {@link #getObjectsInParallel(StarboxCommandContext)}.
+   *
    * @param context the context to get the parameters {@link StarboxCommandContext#getStrings()}
    * @return the objects to use as parameters in the {@link #getMethod()}
    * @throws ArgumentProviderException if the argument could not be provided, see {@link
@@ -71,6 +82,9 @@ public interface ReflectCommand<C extends StarboxCommandContext, T extends Starb
   @NonNull
   default Object[] getObjects(C context)
       throws MissingArgumentException, ArgumentProviderException {
+    if (this.getProvidersRegistry().isAsync()) {
+      return this.getObjectsInParallel(context);
+    }
     Object[] objects = new Object[this.getArguments().size()];
     int lastIndex = 0;
     for (int i = 0; i < this.getArguments().size(); i++) {
@@ -84,6 +98,116 @@ public interface ReflectCommand<C extends StarboxCommandContext, T extends Starb
     return objects;
   }
 
+  /**
+   * Get the objects that should be used in the parameters to invoke {@link #getMethod()} starting
+   * the lookups of the arguments given by a {@link StarboxAsyncArgumentProvider} at once. The
+   * arguments given by other providers are obtained one after another while the lookups run, then
+   * the lookups are waited for together.
+   *
+   * <p>If an argument fails or the lookups take longer than {@link
+   * ProvidersRegistry#getLookupTimeout()} the lookups that did not complete are cancelled.
+   *
+   * @param context the context to get the parameters {@link StarboxCommandContext#getStrings()}
+   * @return the objects to use as parameters in the {@link #getMethod()}
+   * @throws ArgumentProviderException if an argument could not be provided or the lookups timed out
+   * @throws MissingArgumentException if the command is missing an argument
+   */
+  @NonNull
+  default Object[] getObjectsInParallel(C context)
+      throws MissingArgumentException, ArgumentProviderException {
+    ProvidersRegistry<C> registry = this.getProvidersRegistry();
+    List<Argument<?>> arguments = this.getArguments();
+    Object[] objects = new Object[arguments.size()];
+    CompletableFuture<?>[] lookups = new CompletableFuture<?>[arguments.size()];
+    List<CompletableFuture<?>> started = new ArrayList<>();
+    boolean done = false;
+    try {
+      int lastIndex = 0;
+      for (int i = 0; i < arguments.size(); i++) {
+        Argument<?> argument = arguments.get(i);
+        StarboxAsyncArgumentProvider<?, C> provider =
+            argument instanceof SingleArgument
+                ? registry.getAsyncProvider(argument.getClazz()).orElse(null)
+                : null;
+        if (provider == null) {
+          Pair<Object, Integer> pair =
+              argument.process(registry, this.getMessagesProvider(), context, lastIndex);
+          objects[i] = pair.getA();
+          lastIndex += pair.getB();
+          continue;
+        }
+        SingleArgument<?> single = (SingleArgument<?>) argument;
+        Pair<String, Integer> pair = ReflectCommand.getArgument(single, context, lastIndex);
+        lastIndex += pair.getB();
+        if (pair.getA() != null) {
+          lookups[i] = provider.fromStringAsync(pair.getA(), context).toCompletableFuture();
+          started.add(lookups[i]);
+        } else if (single.isRequired()) {
+          throw new MissingArgumentException(
+              this.getMessagesProvider()
+                  .missingArgument(
+                      single.getName(), single.getDescription(), single.getPosition(), context));
+        }
+      }
+      if (!started.isEmpty()) {
+        ReflectCommand.await(started, registry.getLookupTimeout());
+        for (int i = 0; i < lookups.length; i++) {
+          if (lookups[i] != null) {
+            objects[i] = lookups[i].join();
+          }
+        }
+      }
+      done = true;
+    } finally {
+      if (!done) {
+        for (CompletableFuture<?> lookup : started) {
+          lookup.cancel(true);
+        }
+      }
+    }
+    return objects;
+  }
+
+  /**
+   * Wait for the lookups of {@link StarboxAsyncArgumentProvider} to complete. This returns as soon
+   * as one of them fails.
+   *
+   * @param lookups the lookups to wait for
+   * @param timeout the maximum time to wait
+   * @throws ArgumentProviderException if a lookup failed, the wait was interrupted or timed out
+   */
+  static void await(@NonNull List<CompletableFuture<?>> lookups, @NonNull Duration timeout)
+      throws ArgumentProviderException {
+    CompletableFuture<Object> failed = new CompletableFuture<>();
+    for (CompletableFuture<?> lookup : lookups) {
+      lookup.whenComplete(
+          (object, fail) -> {
+            if (fail != null) {
+              failed.completeExceptionally(fail);
+            }
+          });
+    }
+    try {
+      CompletableFuture.anyOf(
+              CompletableFuture.allOf(lookups.toArray(new CompletableFuture<?>[0])), failed)
+          .get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ArgumentProviderException("Interrupted while getting the arguments", e);
+    } catch (TimeoutException e) {
+      throw new ArgumentProviderException("The arguments took too long to be provided", e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      while (cause instanceof CompletionException && cause.getCause() != null) {
+        cause = cause.getCause();
+      }
+      if (cause instanceof ArgumentProviderException) {
+        throw (ArgumentProviderException) cause;
+      }
+      throw new ArgumentProviderException(cause == null ? e : cause);
+    }
+  }
+
   /**
    * Get the argument of certain position. A basic loop checking if the {@link SingleArgument}
    * position matches the queried position. Ignore the extra arguments as those don't have positions
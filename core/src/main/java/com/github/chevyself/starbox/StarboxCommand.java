@@ -131,6 +131,16 @@ public interface StarboxCommand<C extends StarboxCommandContext, T extends Starb
   @NonNull
   Optional<? extends StarboxCooldownManager<C>> getCooldownManager();
 
+  /**
+   * Get the limiter for the rate of executions of this command.
+   *
+   * @return the limiter
+   */
+  @NonNull
+  default Optional<? extends StarboxRateLimiter<C>> getRateLimiter() {
+    return Optional.empty();
+  }
+
   /**
    * Get the Middlewares that will run before the command.
    *
@@ -8,6 +8,8 @@ import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import lombok.NonNull;
 
@@ -223,6 +225,27 @@ public interface StarboxCommandManager<
   @NonNull
   Collection<? extends Middleware<C>> getMiddlewares();
 
+  /**
+   * Get the cooldown groups of this manager. Commands that reference the same group in their
+   * annotation share a single {@link StarboxCooldownManager}, so running any of them applies the
+   * cooldown to all of them.
+   *
+   * @return the map of cooldown managers by the name of their group
+   */
+  @NonNull
+  Map<String, ? extends StarboxCooldownManager<C>> getCooldownGroups();
+
+  /**
+   * Get a cooldown group by its name.
+   *
+   * @param name the name of the group
+   * @return a {@link Optional} instance wrapping the nullable cooldown manager of the group
+   */
+  @NonNull
+  default Optional<? extends StarboxCooldownManager<C>> getCooldownGroup(@NonNull String name) {
+    return Optional.ofNullable(this.getCooldownGroups().get(name));
+  }
+
   /**
    * Add a global {@link Middleware} to this manager.
    *
@@ -0,0 +1,33 @@
+package com.github.chevyself.starbox;
+
+import com.github.chevyself.starbox.context.StarboxCommandContext;
+import java.time.Duration;
+import lombok.NonNull;
+
+/**
+ * Limits the rate in which commands can be executed.
+ *
+ * <p>Unlike {@link StarboxCooldownManager} which makes the sender wait after each execution, a
+ * limiter allows bursts of executions and then keeps a steady rate.
+ *
+ * @param <C> the context that executes the command
+ */
+public interface StarboxRateLimiter<C extends StarboxCommandContext> {
+
+  /**
+   * Try to take an execution for the context.
+   *
+   * @param context the context that is running the command
+   * @return true if the context is allowed to run the command
+   */
+  boolean tryAcquire(@NonNull C context);
+
+  /**
+   * Get the amount of time that the context has to wait until it can run the command again.
+   *
+   * @param context the context that is running the command
+   * @return the amount of time
+   */
+  @NonNull
+  Duration getTimeLeft(@NonNull C context);
+}
@@ -0,0 +1,64 @@
+package com.github.chevyself.starbox.annotations;
+
+import com.github.chevyself.starbox.bulkhead.AbstractBulkheadMiddleware;
+import com.github.chevyself.starbox.bulkhead.CommandBulkhead;
+import com.github.chevyself.starbox.time.annotations.TimeAmount;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import lombok.NonNull;
+
+/**
+ * Limits how many executions of a command may run at the same time using a {@link CommandBulkhead}.
+ * This is placed in the method of the command and requires the bulkhead middleware of the platform,
+ * see {@link AbstractBulkheadMiddleware}.
+ *
+ * <pre>{@code
+ * @Bulkhead(permits = 4, queue = 8, maxWait = @TimeAmount("2s"), group = "database")
+ * @Command(aliases = "stats", async = true)
+ * public Result stats(Player player) {
+ *   ...
+ * }
+ * }</pre>
+ *
+ * <p>In the example above at most four executions of the commands in the group "database" run at
+ * once, up to eight more wait at most two seconds for one of them to finish and any other execution
+ * is told that the server is busy.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Bulkhead {
+
+  /**
+   * Get the amount of executions that may run at the same time.
+   *
+   * @return the amount of permits
+   */
+  int permits();
+
+  /**
+   * Get the amount of executions that may wait for a permit when all of them are taken. Waiting
+   * blocks the thread of the execution, so platforms only let asynchronous commands wait.
+   *
+   * @return the size of the queue
+   */
+  int queue() default 0;
+
+  /**
+   * Get the maximum time that an execution waits for a permit.
+   *
+   * @return the maximum time to wait
+   */
+  @NonNull
+  TimeAmount maxWait() default @TimeAmount("5s");
+
+  /**
+   * Get the name of the group of commands that share the permits. If it is empty the command has
+   * its own permits.
+   *
+   * @return the name of the group
+   */
+  @NonNull
+  String group() default "";
+}
@@ -0,0 +1,34 @@
+package com.github.chevyself.starbox.annotations;
+
+import com.github.chevyself.starbox.scheduling.CommandPriority;
+import com.github.chevyself.starbox.scheduling.PriorityExecutor;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import lombok.NonNull;
+
+/**
+ * Sets the {@link CommandPriority} of a command. This is placed in the method of the command and
+ * only has effect when its executions are queued in a {@link PriorityExecutor}.
+ *
+ * <pre>{@code
+ * @Priority(CommandPriority.HIGH)
+ * @Command(aliases = "kick", async = true)
+ * public Result kick(Player player) {
+ *   ...
+ * }
+ * }</pre>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Priority {
+
+  /**
+   * Get the priority of the command.
+   *
+   * @return the priority
+   */
+  @NonNull
+  CommandPriority value();
+}
@@ -0,0 +1,53 @@
+package com.github.chevyself.starbox.annotations;
+
+import com.github.chevyself.starbox.StarboxRateLimiter;
+import com.github.chevyself.starbox.ratelimit.RateLimitScope;
+import com.github.chevyself.starbox.ratelimit.TokenBucket;
+import com.github.chevyself.starbox.time.annotations.TimeAmount;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import lombok.NonNull;
+
+/**
+ * Configures the {@link StarboxRateLimiter} of a command. This is used inside the command
+ * annotation of each platform.
+ *
+ * <pre>{@code
+ * @Command(aliases = "roll", rateLimit = @RateLimit(capacity = 5, refill = @TimeAmount("2s")))
+ * public Result roll() {
+ *   ...
+ * }
+ * }</pre>
+ *
+ * <p>In the example above a sender may execute the command up to five times in a burst and then
+ * will get a new execution every two seconds.
+ *
+ * @see TokenBucket
+ */
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimit {
+
+  /**
+   * Get the amount of executions that can be made in a burst. If this is lower than 1 the command
+   * will not be rate limited.
+   *
+   * @return the capacity of the buckets
+   */
+  int capacity() default 0;
+
+  /**
+   * Get the time that it takes to get a new execution.
+   *
+   * @return the time to refill a single token
+   */
+  @NonNull
+  TimeAmount refill() default @TimeAmount;
+
+  /**
+   * Get the scope in which the executions are shared.
+   *
+   * @return the scope of the buckets
+   */
+  @NonNull
+  RateLimitScope scope() default RateLimitScope.SENDER;
+}
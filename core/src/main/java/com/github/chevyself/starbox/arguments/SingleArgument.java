@@ -75,6 +75,17 @@ public class SingleArgument<O> implements Argument<O>, Mappable {
     return this.suggestions;
   }
 
+  /**
+   * Check whether the argument was given suggestions when it was created. Unlike {@link
+   * #getSuggestions(StarboxCommandContext)} this does not require a context, so it can be used
+   * before the command is executed.
+   *
+   * @return true if the argument has suggestions
+   */
+  public boolean hasSuggestions() {
+    return !this.suggestions.isEmpty();
+  }
+
   @Override
   public String toString() {
     return new StringJoiner(", ", SingleArgument.class.getSimpleName() + "[", "]")
@@ -0,0 +1,148 @@
+package com.github.chevyself.starbox.bulkhead;
+
+import com.github.chevyself.starbox.Middleware;
+import com.github.chevyself.starbox.ReflectCommand;
+import com.github.chevyself.starbox.StarboxCommand;
+import com.github.chevyself.starbox.annotations.Bulkhead;
+import com.github.chevyself.starbox.context.StarboxCommandContext;
+import com.github.chevyself.starbox.result.StarboxResult;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.NonNull;
+
+/**
+ * Base implementation of the middleware that applies the {@link CommandBulkhead} of commands. The
+ * bulkhead of a command is given by its {@link Bulkhead} annotation or by {@link
+ * #setBulkhead(StarboxCommand, CommandBulkhead)}. Platforms only have to provide the result for the
+ * executions that are rejected.
+ *
+ * <p>A permit is taken before the command runs and given back once the execution is {@link
+ * #complete(StarboxCommandContext) complete}, which for asynchronous results is when their stage
+ * completes. Executions are completed even if a middleware stops them or the command throws an
+ * exception, so the permit is never lost.
+ *
+ * @param <C> the context that executes the command
+ */
+public abstract class AbstractBulkheadMiddleware<C extends StarboxCommandContext>
+    implements Middleware<C> {
+
+  @NonNull private static final CommandBulkhead NONE = new CommandBulkhead(1);
+
+  @NonNull
+  private final Map<StarboxCommand<?, ?>, CommandBulkhead> bulkheads = new ConcurrentHashMap<>();
+
+  @NonNull private final Map<String, CommandBulkhead> groups = new ConcurrentHashMap<>();
+  @NonNull private final Map<C, CommandBulkhead> acquired = new ConcurrentHashMap<>();
+
+  /**
+   * Get the result for an execution that was rejected because the bulkhead of the command is full.
+   *
+   * @param context the context that was rejected
+   * @return the result telling that the server is busy
+   */
+  @NonNull
+  protected abstract StarboxResult busy(@NonNull C context);
+
+  /**
+   * Whether an execution may block its thread waiting for a permit. By default, every execution may
+   * wait.
+   *
+   * @param context the context that is running the command
+   * @return true if the execution may wait
+   */
+  protected boolean mayWait(@NonNull C context) {
+    return true;
+  }
+
+  /**
+   * Get the bulkhead of a command.
+   *
+   * @param command the command to get the bulkhead from
+   * @return a {@link Optional} wrapping the bulkhead or empty if the command is not limited
+   */
+  @NonNull
+  public Optional<CommandBulkhead> getBulkhead(@NonNull StarboxCommand<?, ?> command) {
+    CommandBulkhead bulkhead = this.bulkheads.get(command);
+    if (bulkhead == null) {
+      bulkhead = this.bulkheads.computeIfAbsent(command, this::load);
+    }
+    return bulkhead == AbstractBulkheadMiddleware.NONE ? Optional.empty() : Optional.of(bulkhead);
+  }
+
+  @NonNull
+  private CommandBulkhead load(@NonNull StarboxCommand<?, ?> command) {
+    Bulkhead annotation =
+        command instanceof ReflectCommand
+            ? ((ReflectCommand<?, ?>) command).getMethod().getAnnotation(Bulkhead.class)
+            : null;
+    if (annotation == null) {
+      return AbstractBulkheadMiddleware.NONE;
+    } else if (annotation.group().isEmpty()) {
+      return CommandBulkhead.of(annotation);
+    }
+    return this.groups.computeIfAbsent(annotation.group(), name -> CommandBulkhead.of(annotation));
+  }
+
+  /**
+   * Set the bulkhead of a command, replacing the one of its annotation.
+   *
+   * @param command the command to limit
+   * @param bulkhead the bulkhead of the command
+   * @return this same instance
+   */
+  @NonNull
+  public AbstractBulkheadMiddleware<C> setBulkhead(
+      @NonNull StarboxCommand<?, ?> command, @NonNull CommandBulkhead bulkhead) {
+    this.bulkheads.put(command, bulkhead);
+    return this;
+  }
+
+  /**
+   * Set the bulkhead of a group of commands. This must be done before the commands of the group are
+   * executed, else they keep using the bulkhead of their annotation.
+   *
+   * @param name the name of the group
+   * @param bulkhead the bulkhead shared by the commands of the group
+   * @return this same instance
+   */
+  @NonNull
+  public AbstractBulkheadMiddleware<C> setGroup(
+      @NonNull String name, @NonNull CommandBulkhead bulkhead) {
+    this.groups.put(name, bulkhead);
+    return this;
+  }
+
+  /**
+   * Get the bulkhead of a group of commands.
+   *
+   * @param name the name of the group
+   * @return a {@link Optional} wrapping the bulkhead or empty if no command of the group has been
+   *     executed nor has it been set
+   */
+  @NonNull
+  public Optional<CommandBulkhead> getGroup(@NonNull String name) {
+    return Optional.ofNullable(this.groups.get(name));
+  }
+
+  @Override
+  public @NonNull Optional<? extends StarboxResult> next(@NonNull C context) {
+    Optional<CommandBulkhead> optional = this.getBulkhead(context.getCommand());
+    if (optional.isPresent()) {
+      CommandBulkhead bulkhead = optional.get();
+      if (!bulkhead.acquire(this.mayWait(context))) {
+        return Optional.of(this.busy(context));
+      }
+      this.acquired.put(context, bulkhead);
+    }
+    return Optional.empty();
+  }
+
+  @Override
+  public void complete(@NonNull C context) {
+    CommandBulkhead bulkhead = this.acquired.remove(context);
+    if (bulkhead != null) {
+      bulkhead.release();
+    }
+  }
+}
@@ -0,0 +1,142 @@
+package com.github.chevyself.starbox.bulkhead;
+
+import com.github.chevyself.starbox.annotations.Bulkhead;
+import com.github.chevyself.starbox.time.TimeUtil;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * Limits how many executions of a command, or of a group of commands, run at the same time. Each
+ * execution takes a permit before running and gives it back once its result is completed, so a
+ * heavy command cannot take every thread of the executor or every connection of a pool.
+ *
+ * <p>When all the permits are taken an execution may wait in a bounded queue for a permit, else it
+ * is rejected. The amount of executions running, waiting and rejected can be checked at any time.
+ */
+public class CommandBulkhead {
+
+  /** The amount of executions that may run at the same time. */
+  @Getter private final int permits;
+  /** The amount of executions that may wait for a permit. */
+  @Getter private final int queue;
+  /** The maximum time that an execution waits for a permit. */
+  @NonNull @Getter private final Duration maxWait;
+
+  @NonNull private final Semaphore semaphore;
+  @NonNull private final AtomicInteger waiting = new AtomicInteger();
+  @NonNull private final LongAdder rejected = new LongAdder();
+
+  /**
+   * Create the bulkhead.
+   *
+   * @param permits the amount of executions that may run at the same time
+   * @param queue the amount of executions that may wait for a permit
+   * @param maxWait the maximum time that an execution waits for a permit
+   * @throws IllegalArgumentException if there are no permits, the queue is negative or the wait is
+   *     negative
+   */
+  public CommandBulkhead(int permits, int queue, @NonNull Duration maxWait) {
+    if (permits < 1 || queue < 0 || maxWait.isNegative()) {
+      throw new IllegalArgumentException(
+          "Bulkheads require permits and cannot have a negative queue or wait");
+    }
+    this.permits = permits;
+    this.queue = queue;
+    this.maxWait = maxWait;
+    this.semaphore = new Semaphore(permits, true);
+  }
+
+  /**
+   * Create a bulkhead without a queue.
+   *
+   * @param permits the amount of executions that may run at the same time
+   */
+  public CommandBulkhead(int permits) {
+    this(permits, 0, Duration.ZERO);
+  }
+
+  /**
+   * Create a bulkhead based on the annotation.
+   *
+   * @param annotation the annotation to provide the settings of the bulkhead
+   * @return the new bulkhead
+   */
+  @NonNull
+  public static CommandBulkhead of(@NonNull Bulkhead annotation) {
+    return new CommandBulkhead(
+        annotation.permits(), annotation.queue(), TimeUtil.durationOf(annotation.maxWait()));
+  }
+
+  /**
+   * Try to take a permit without waiting. This does not count as a rejection if there is none.
+   *
+   * @return true if a permit was taken
+   */
+  public boolean tryAcquire() {
+    return this.semaphore.tryAcquire();
+  }
+
+  /**
+   * Take a permit. If there is none and the execution may wait it joins the queue, unless it is
+   * full, until a permit is given back or the wait is over.
+   *
+   * @param mayWait whether the execution may block its thread waiting for a permit
+   * @return true if a permit was taken, false if the execution was rejected
+   */
+  public boolean acquire(boolean mayWait) {
+    if (this.semaphore.tryAcquire()) {
+      return true;
+    }
+    if (mayWait && this.queue > 0) {
+      try {
+        if (this.waiting.incrementAndGet() <= this.queue
+            && this.semaphore.tryAcquire(this.maxWait.toNanos(), TimeUnit.NANOSECONDS)) {
+          return true;
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } finally {
+        this.waiting.decrementAndGet();
+      }
+    }
+    this.rejected.increment();
+    return false;
+  }
+
+  /** Give back a permit taken with {@link #tryAcquire()} or {@link #acquire(boolean)}. */
+  public void release() {
+    this.semaphore.release();
+  }
+
+  /**
+   * Get the amount of executions that are holding a permit.
+   *
+   * @return the amount of executions running
+   */
+  public int getInFlight() {
+    return this.permits - this.semaphore.availablePermits();
+  }
+
+  /**
+   * Get the amount of executions that are waiting for a permit.
+   *
+   * @return the amount of executions in the queue
+   */
+  public int getQueued() {
+    return Math.min(this.waiting.get(), this.queue);
+  }
+
+  /**
+   * Get the amount of executions that were rejected because there were no permits.
+   *
+   * @return the amount of rejected executions
+   */
+  public long getRejected() {
+    return this.rejected.sum();
+  }
+}
@@ -0,0 +1,5 @@
+/**
+ * This package contains the bulkheads used to limit how many executions of a command run at the
+ * same time.
+ */
+package com.github.chevyself.starbox.bulkhead;
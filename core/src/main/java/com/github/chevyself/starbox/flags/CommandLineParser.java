@@ -140,6 +140,26 @@ public final class CommandLineParser {
     return CommandLineParser.parse(options, true, strings);
   }
 
+  /**
+   * Create a parser from arguments that are already separated, such as the options of a slash
+   * command. The arguments are not joined and matched again, so no flags are parsed from them.
+   *
+   * @param options the list of options of the command
+   * @param arguments the arguments of the command
+   * @return the parser with the arguments
+   */
+  @NonNull
+  public static CommandLineParser of(
+      @NonNull Collection<? extends Option> options, @NonNull List<String> arguments) {
+    return new CommandLineParser(
+        arguments.toArray(new String[0]),
+        options,
+        new ArrayList<>(),
+        new ArrayList<>(arguments),
+        null,
+        true);
+  }
+
   private static String getValue(String value, @NonNull Option option) {
     Optional<String> defValue = option.getValue();
     if (option.isValuable() && value == null && defValue.isPresent()) {
@@ -235,6 +255,9 @@ public final class CommandLineParser {
    */
   @NonNull
   public String getArgumentsString() {
+    if (this.argumentsString == null && this.parsed) {
+      this.argumentsString = CommandLineParser.buildArgumentsString(this.arguments);
+    }
     return Objects.requireNonNull(this.argumentsString, "The arguments are not parsed yet");
   }
 
@@ -87,6 +87,36 @@ public interface StarboxMessagesProvider<T extends StarboxCommandContext> {
   @NonNull
   String cooldown(@NonNull T context, @NonNull Duration timeLeft);
 
+  /**
+   * Get the message sent when the user has exceeded the rate limit of a command.
+   *
+   * @param context the context of the command
+   * @param timeLeft the time left until the user may execute the command again
+   * @return the built string
+   */
+  @NonNull
+  String rateLimited(@NonNull T context, @NonNull Duration timeLeft);
+
+  /**
+   * Get the message sent when a command could not be executed because the server is busy, for
+   * instance because the {@link com.github.chevyself.starbox.bulkhead.CommandBulkhead} of the
+   * command is full.
+   *
+   * @param context the context of the command
+   * @return the message to tell that the command was not executed
+   */
+  @NonNull
+  String busy(@NonNull T context);
+
+  /**
+   * Get the message sent when a command failed with an exception that does not have a message.
+   *
+   * @param context the context of the command
+   * @return the message to tell that the command failed
+   */
+  @NonNull
+  String failed(@NonNull T context);
+
   /**
    * Generates the help message for a command.
    *
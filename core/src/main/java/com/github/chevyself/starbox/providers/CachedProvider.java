@@ -0,0 +1,400 @@
+package com.github.chevyself.starbox.providers;
+
+import com.github.chevyself.starbox.context.StarboxCommandContext;
+import com.github.chevyself.starbox.exceptions.ArgumentProviderException;
+import com.github.chevyself.starbox.providers.type.StarboxArgumentProvider;
+import com.github.chevyself.starbox.providers.type.StarboxAsyncArgumentProvider;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * Caches the objects given by a {@link StarboxArgumentProvider} whose lookups are expensive, such
+ * as searching a player by name or querying a database. Objects are cached by the input string and
+ * a discriminator taken from the context, so providers whose result depends on the context, for
+ * instance on the channel in which the command is executed, do not share objects between contexts:
+ *
+ * <pre>{@code
+ * registry.addProvider(
+ *     CachedProvider.of(
+ *         new MemberProvider(messages),
+ *         1000,
+ *         Duration.ofMinutes(5),
+ *         context -> context.getChannel().orElse(null)));
+ * }</pre>
+ *
+ * <p>The cache is bounded: once it is full the least recently used object is evicted. Objects also
+ * expire after the time to live. Lookups that fail are not cached and concurrent lookups of the
+ * same key wait for the same result.
+ *
+ * <p>The cache only implements the interfaces of core, platforms that give suggestions for the
+ * arguments take them from the cached {@link #getProvider()}.
+ *
+ * <p>Objects that change before they expire can be removed with {@link #invalidate(String)}, {@link
+ * #invalidate(String, StarboxCommandContext)} and {@link #invalidateAll()}.
+ *
+ * @param <O> the type of the object to provide
+ * @param <T> the type of context that this requires to provide the object
+ */
+public class CachedProvider<O, T extends StarboxCommandContext>
+    implements StarboxArgumentProvider<O, T> {
+
+  /** The provider whose objects are cached. */
+  @NonNull @Getter protected final StarboxArgumentProvider<O, T> provider;
+  /** The maximum amount of objects in the cache. */
+  @Getter private final int maximumSize;
+  /** The time that objects are kept in the cache or zero if they do not expire. */
+  @NonNull @Getter private final Duration ttl;
+
+  @NonNull private final Function<? super T, ?> discriminator;
+  @NonNull private final Map<Key, Entry<O>> entries;
+  @NonNull private final LongAdder hits = new LongAdder();
+  @NonNull private final LongAdder misses = new LongAdder();
+
+  /**
+   * Create the cache.
+   *
+   * @param provider the provider whose objects are cached
+   * @param maximumSize the maximum amount of objects in the cache
+   * @param ttl the time that objects are kept in the cache or zero if they do not expire
+   * @param discriminator gets the part of the context that the objects depend on
+   * @throws IllegalArgumentException if the maximum size is not positive or the time to live is
+   *     negative
+   */
+  public CachedProvider(
+      @NonNull StarboxArgumentProvider<O, T> provider,
+      int maximumSize,
+      @NonNull Duration ttl,
+      @NonNull Function<? super T, ?> discriminator) {
+    if (maximumSize <= 0) {
+      throw new IllegalArgumentException("The maximum size of the cache must be positive");
+    }
+    if (ttl.isNegative()) {
+      throw new IllegalArgumentException("The time to live cannot be negative");
+    }
+    this.provider = provider;
+    this.maximumSize = maximumSize;
+    this.ttl = ttl;
+    this.discriminator = discriminator;
+    this.entries =
+        new LinkedHashMap<Key, Entry<O>>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<Key, Entry<O>> eldest) {
+            return this.size() > CachedProvider.this.maximumSize;
+          }
+        };
+  }
+
+  /**
+   * Create the cache for a provider whose objects do not depend on the context.
+   *
+   * @param provider the provider whose objects are cached
+   * @param maximumSize the maximum amount of objects in the cache
+   * @param ttl the time that objects are kept in the cache or zero if they do not expire
+   */
+  public CachedProvider(
+      @NonNull StarboxArgumentProvider<O, T> provider, int maximumSize, @NonNull Duration ttl) {
+    this(provider, maximumSize, ttl, context -> null);
+  }
+
+  /**
+   * Create the cache for a provider, if the provider is a {@link StarboxAsyncArgumentProvider} the
+   * cache is asynchronous as well.
+   *
+   * @param provider the provider whose objects are cached
+   * @param maximumSize the maximum amount of objects in the cache
+   * @param ttl the time that objects are kept in the cache or zero if they do not expire
+   * @param discriminator gets the part of the context that the objects depend on
+   * @param <O> the type of the object to provide
+   * @param <T> the type of context that this requires to provide the object
+   * @return the cache
+   */
+  @NonNull
+  public static <O, T extends StarboxCommandContext> CachedProvider<O, T> of(
+      @NonNull StarboxArgumentProvider<O, T> provider,
+      int maximumSize,
+      @NonNull Duration ttl,
+      @NonNull Function<? super T, ?> discriminator) {
+    if (provider instanceof StarboxAsyncArgumentProvider) {
+      return new Async<>(
+          (StarboxAsyncArgumentProvider<O, T>) provider, maximumSize, ttl, discriminator);
+    }
+    return new CachedProvider<>(provider, maximumSize, ttl, discriminator);
+  }
+
+  /**
+   * Create the cache for a provider whose objects do not depend on the context, see {@link
+   * #of(StarboxArgumentProvider, int, Duration, Function)}.
+   *
+   * @param provider the provider whose objects are cached
+   * @param maximumSize the maximum amount of objects in the cache
+   * @param ttl the time that objects are kept in the cache or zero if they do not expire
+   * @param <O> the type of the object to provide
+   * @param <T> the type of context that this requires to provide the object
+   * @return the cache
+   */
+  @NonNull
+  public static <O, T extends StarboxCommandContext> CachedProvider<O, T> of(
+      @NonNull StarboxArgumentProvider<O, T> provider, int maximumSize, @NonNull Duration ttl) {
+    return CachedProvider.of(provider, maximumSize, ttl, context -> null);
+  }
+
+  /**
+   * Start the lookup of an object that is not in the cache.
+   *
+   * @param string the string to get the object from
+   * @param context the context of the command execution
+   * @return the stage that completes with the object
+   */
+  @NonNull
+  protected CompletionStage<O> lookup(@NonNull String string, @NonNull T context) {
+    CompletableFuture<O> future = new CompletableFuture<>();
+    try {
+      future.complete(this.provider.fromString(string, context));
+    } catch (ArgumentProviderException | RuntimeException e) {
+      future.completeExceptionally(e);
+    }
+    return future;
+  }
+
+  /**
+   * Get the object of a string from the cache or start its lookup.
+   *
+   * @param string the string to get the object from
+   * @param context the context of the command execution
+   * @return the future that completes with the object
+   */
+  @NonNull
+  protected CompletableFuture<O> load(@NonNull String string, @NonNull T context) {
+    Key key = new Key(string, this.discriminator.apply(context));
+    long now = System.nanoTime();
+    CompletableFuture<O> future;
+    synchronized (this.entries) {
+      Entry<O> entry = this.entries.get(key);
+      if (entry != null && (this.ttl.isZero() || now - entry.expires < 0)) {
+        this.hits.increment();
+        return entry.future;
+      }
+      future = new CompletableFuture<>();
+      this.entries.put(key, new Entry<>(future, now + this.ttl.toNanos()));
+    }
+    this.misses.increment();
+    CompletionStage<O> stage;
+    try {
+      stage = this.lookup(string, context);
+    } catch (RuntimeException e) {
+      stage = future;
+      future.completeExceptionally(e);
+    }
+    stage.whenComplete(
+        (object, fail) -> {
+          if (fail == null) {
+            future.complete(object);
+          } else {
+            this.remove(key, future);
+            future.completeExceptionally(
+                fail instanceof CompletionException && fail.getCause() != null
+                    ? fail.getCause()
+                    : fail);
+          }
+        });
+    return future;
+  }
+
+  private void remove(@NonNull Key key, @NonNull CompletableFuture<O> future) {
+    synchronized (this.entries) {
+      Entry<O> entry = this.entries.get(key);
+      if (entry != null && entry.future == future) {
+        this.entries.remove(key);
+      }
+    }
+  }
+
+  /**
+   * Remove the objects of a string from the cache in every context.
+   *
+   * @param string the string of the objects to remove
+   * @return this same instance
+   */
+  @NonNull
+  public CachedProvider<O, T> invalidate(@NonNull String string) {
+    synchronized (this.entries) {
+      this.entries.keySet().removeIf(key -> key.string.equals(string));
+    }
+    return this;
+  }
+
+  /**
+   * Remove the object of a string in a context from the cache.
+   *
+   * @param string the string of the object to remove
+   * @param context the context of the object to remove
+   * @return this same instance
+   */
+  @NonNull
+  public CachedProvider<O, T> invalidate(@NonNull String string, @NonNull T context) {
+    Key key = new Key(string, this.discriminator.apply(context));
+    synchronized (this.entries) {
+      this.entries.remove(key);
+    }
+    return this;
+  }
+
+  /**
+   * Remove all the objects from the cache.
+   *
+   * @return this same instance
+   */
+  @NonNull
+  public CachedProvider<O, T> invalidateAll() {
+    synchronized (this.entries) {
+      this.entries.clear();
+    }
+    return this;
+  }
+
+  /**
+   * Get the amount of objects in the cache, including the ones that expired but were not removed
+   * yet.
+   *
+   * @return the amount of objects
+   */
+  public int size() {
+    synchronized (this.entries) {
+      return this.entries.size();
+    }
+  }
+
+  /**
+   * Get how many times an object was found in the cache.
+   *
+   * @return the amount of hits
+   */
+  public long getHits() {
+    return this.hits.sum();
+  }
+
+  /**
+   * Get how many times an object had to be looked up.
+   *
+   * @return the amount of misses
+   */
+  public long getMisses() {
+    return this.misses.sum();
+  }
+
+  @Override
+  public @NonNull O fromString(@NonNull String string, @NonNull T context)
+      throws ArgumentProviderException {
+    try {
+      return this.load(string, context).get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ArgumentProviderException("Interrupted while getting " + string, e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof ArgumentProviderException) {
+        throw (ArgumentProviderException) e.getCause();
+      }
+      throw new ArgumentProviderException(e.getCause() == null ? e : e.getCause());
+    }
+  }
+
+  @Override
+  public boolean provides(@NonNull Class<?> clazz) {
+    return this.provider.provides(clazz);
+  }
+
+  @Override
+  public @NonNull Class<O> getClazz() {
+    return this.provider.getClazz();
+  }
+
+  /**
+   * The cache of a {@link StarboxAsyncArgumentProvider}. Lookups are resolved with the other
+   * arguments of the command and cancelling the stage of a command does not cancel the lookup that
+   * other commands may be waiting for.
+   *
+   * @param <O> the type of the object to provide
+   * @param <T> the type of context that this requires to provide the object
+   */
+  public static class Async<O, T extends StarboxCommandContext> extends CachedProvider<O, T>
+      implements StarboxAsyncArgumentProvider<O, T> {
+
+    /**
+     * Create the cache.
+     *
+     * @param provider the provider whose objects are cached
+     * @param maximumSize the maximum amount of objects in the cache
+     * @param ttl the time that objects are kept in the cache or zero if they do not expire
+     * @param discriminator gets the part of the context that the objects depend on
+     */
+    public Async(
+        @NonNull StarboxAsyncArgumentProvider<O, T> provider,
+        int maximumSize,
+        @NonNull Duration ttl,
+        @NonNull Function<? super T, ?> discriminator) {
+      super(provider, maximumSize, ttl, discriminator);
+    }
+
+    @Override
+    protected @NonNull CompletionStage<O> lookup(@NonNull String string, @NonNull T context) {
+      return ((StarboxAsyncArgumentProvider<O, T>) this.provider).fromStringAsync(string, context);
+    }
+
+    @Override
+    public @NonNull CompletionStage<O> fromStringAsync(@NonNull String string, @NonNull T context) {
+      return this.load(string, context).thenApply(Function.identity());
+    }
+  }
+
+  private static final class Key {
+
+    @NonNull private final String string;
+    private final Object discriminator;
+    private final int hash;
+
+    private Key(@NonNull String string, Object discriminator) {
+      this.string = string;
+      this.discriminator = discriminator;
+      this.hash = 31 * string.hashCode() + Objects.hashCode(discriminator);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key key = (Key) o;
+      return this.string.equals(key.string)
+          && Objects.equals(this.discriminator, key.discriminator);
+    }
+
+    @Override
+    public int hashCode() {
+      return this.hash;
+    }
+  }
+
+  private static final class Entry<O> {
+
+    @NonNull private final CompletableFuture<O> future;
+    private final long expires;
+
+    private Entry(@NonNull CompletableFuture<O> future, long expires) {
+      this.future = future;
+      this.expires = expires;
+    }
+  }
+}
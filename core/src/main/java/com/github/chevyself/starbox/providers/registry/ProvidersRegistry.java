@@ -6,8 +6,10 @@ import com.github.chevyself.starbox.arguments.ExtraArgument;
 import com.github.chevyself.starbox.arguments.SingleArgument;
 import com.github.chevyself.starbox.context.StarboxCommandContext;
 import com.github.chevyself.starbox.exceptions.ArgumentProviderException;
+import com.github.chevyself.starbox.exceptions.ArgumentProviderRegistrationException;
 import com.github.chevyself.starbox.messages.StarboxMessagesProvider;
 import com.github.chevyself.starbox.providers.BooleanProvider;
+import com.github.chevyself.starbox.providers.CachedProvider;
 import com.github.chevyself.starbox.providers.DoubleProvider;
 import com.github.chevyself.starbox.providers.DurationProvider;
 import com.github.chevyself.starbox.providers.FloatProvider;
@@ -15,13 +17,19 @@ import com.github.chevyself.starbox.providers.IntegerProvider;
 import com.github.chevyself.starbox.providers.LongProvider;
 import com.github.chevyself.starbox.providers.StringProvider;
 import com.github.chevyself.starbox.providers.type.StarboxArgumentProvider;
+import com.github.chevyself.starbox.providers.type.StarboxAsyncArgumentProvider;
 import com.github.chevyself.starbox.providers.type.StarboxContextualProvider;
 import com.github.chevyself.starbox.providers.type.StarboxExtraArgumentProvider;
 import com.github.chevyself.starbox.providers.type.StarboxSimpleArgumentProvider;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.ListIterator;
+import java.util.Optional;
+import java.util.function.Function;
+import lombok.Getter;
 import lombok.NonNull;
 
 /**
@@ -37,6 +45,12 @@ public class ProvidersRegistry<T extends StarboxCommandContext> {
 
   /** The providers that must be given with a context. */
   protected final List<StarboxContextualProvider<?, T>> providers = new ArrayList<>();
+  /**
+   * The maximum time to wait for the lookups of {@link StarboxAsyncArgumentProvider} of a command.
+   */
+  @NonNull @Getter private Duration lookupTimeout = Duration.ofSeconds(5);
+  /** Whether any {@link StarboxAsyncArgumentProvider} was registered. */
+  @Getter private boolean async;
 
   /**
    * Create the registry with the default providers.
@@ -65,9 +79,120 @@ public class ProvidersRegistry<T extends StarboxCommandContext> {
   @NonNull
   public ProvidersRegistry<T> addProvider(@NonNull StarboxContextualProvider<?, T> provider) {
     this.providers.add(provider);
+    if (provider instanceof StarboxAsyncArgumentProvider) {
+      this.async = true;
+    }
+    return this;
+  }
+
+  /**
+   * Set the maximum time to wait for the lookups of {@link StarboxAsyncArgumentProvider} of a
+   * command, once it passes the lookups are cancelled and the command is not executed.
+   *
+   * @param lookupTimeout the new timeout
+   * @return this same instance of registry
+   */
+  @NonNull
+  public ProvidersRegistry<T> setLookupTimeout(@NonNull Duration lookupTimeout) {
+    this.lookupTimeout = lookupTimeout;
     return this;
   }
 
+  /**
+   * Get the provider used to get a {@link SingleArgument} if it is a {@link
+   * StarboxAsyncArgumentProvider}. This is the same provider that {@link #fromString(String, Class,
+   * StarboxCommandContext)} would use.
+   *
+   * @param clazz the queried class
+   * @return a {@link Optional} wrapping the provider or empty if the provider is not asynchronous
+   *     or there is none
+   */
+  @NonNull
+  public Optional<StarboxAsyncArgumentProvider<?, T>> getAsyncProvider(@NonNull Class<?> clazz) {
+    if (this.async) {
+      for (StarboxContextualProvider<?, T> provider : this.providers) {
+        if (provider instanceof StarboxArgumentProvider && provider.provides(clazz)) {
+          return provider instanceof StarboxAsyncArgumentProvider
+              ? Optional.of((StarboxAsyncArgumentProvider<?, T>) provider)
+              : Optional.empty();
+        }
+      }
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * Cache the objects given by the registered provider of a class, see {@link CachedProvider}. The
+   * provider is replaced by the cache, which can be obtained with {@link
+   * #getCachedProvider(Class)}.
+   *
+   * @param clazz the class of the provider to cache
+   * @param maximumSize the maximum amount of objects in the cache
+   * @param ttl the time that objects are kept in the cache or zero if they do not expire
+   * @param discriminator gets the part of the context that the objects depend on
+   * @return this same instance of registry
+   * @throws ArgumentProviderRegistrationException if there is no {@link StarboxArgumentProvider}
+   *     for the class
+   */
+  @NonNull
+  public ProvidersRegistry<T> cache(
+      @NonNull Class<?> clazz,
+      int maximumSize,
+      @NonNull Duration ttl,
+      @NonNull Function<? super T, ?> discriminator) {
+    ListIterator<StarboxContextualProvider<?, T>> iterator = this.providers.listIterator();
+    while (iterator.hasNext()) {
+      StarboxContextualProvider<?, T> provider = iterator.next();
+      if (provider instanceof StarboxArgumentProvider && provider.provides(clazz)) {
+        if (provider instanceof CachedProvider) {
+          provider = ((CachedProvider<?, T>) provider).getProvider();
+        }
+        iterator.set(
+            CachedProvider.of(
+                (StarboxArgumentProvider<?, T>) provider, maximumSize, ttl, discriminator));
+        return this;
+      }
+    }
+    throw new ArgumentProviderRegistrationException(
+        StarboxArgumentProvider.class + " was not found for " + clazz);
+  }
+
+  /**
+   * Cache the objects given by the registered provider of a class when they do not depend on the
+   * context, see {@link #cache(Class, int, Duration, Function)}.
+   *
+   * @param clazz the class of the provider to cache
+   * @param maximumSize the maximum amount of objects in the cache
+   * @param ttl the time that objects are kept in the cache or zero if they do not expire
+   * @return this same instance of registry
+   * @throws ArgumentProviderRegistrationException if there is no {@link StarboxArgumentProvider}
+   *     for the class
+   */
+  @NonNull
+  public ProvidersRegistry<T> cache(
+      @NonNull Class<?> clazz, int maximumSize, @NonNull Duration ttl) {
+    return this.cache(clazz, maximumSize, ttl, context -> null);
+  }
+
+  /**
+   * Get the cache of the provider of a class to invalidate its objects or check its hits.
+   *
+   * @param clazz the queried class
+   * @return a {@link Optional} wrapping the cache or empty if the provider is not cached or there
+   *     is none
+   */
+  @NonNull
+  public Optional<CachedProvider<?, T>> getCachedProvider(@NonNull Class<?> clazz) {
+    for (StarboxContextualProvider<?, T> provider : this.providers) {
+      if (provider instanceof StarboxArgumentProvider && provider.provides(clazz)) {
+        return provider instanceof CachedProvider
+            ? Optional.of((CachedProvider<?, T>) provider)
+            : Optional.empty();
+      }
+    }
+    return Optional.empty();
+  }
+
   /**
    * Registers many providers in the providers' registry.
    *
@@ -0,0 +1,73 @@
+package com.github.chevyself.starbox.providers.type;
+
+import com.github.chevyself.starbox.ReflectCommand;
+import com.github.chevyself.starbox.context.StarboxCommandContext;
+import com.github.chevyself.starbox.exceptions.ArgumentProviderException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import lombok.NonNull;
+
+/**
+ * A {@link StarboxArgumentProvider} that provides the object asynchronously, for instance because
+ * it has to be loaded from a database. When a command has arguments given by these providers {@link
+ * ReflectCommand#getObjects(StarboxCommandContext)} starts all their lookups at once and waits for
+ * them together, so a command with three arguments loaded from a database waits for one round trip
+ * instead of three.
+ *
+ * <pre>{@code
+ * public class ProfileProvider implements StarboxAsyncArgumentProvider<Profile, CommandContext> {
+ *
+ *   public CompletionStage<Profile> fromStringAsync(String string, CommandContext context) {
+ *     return database.findProfile(string);
+ *   }
+ * }
+ * }</pre>
+ *
+ * <p>The stage should be completed exceptionally with an {@link ArgumentProviderException} to tell
+ * the user that the input is not valid.
+ *
+ * @param <O> the type of the object to provide
+ * @param <T> the type of context that this requires to provide the object
+ */
+public interface StarboxAsyncArgumentProvider<O, T extends StarboxCommandContext>
+    extends StarboxArgumentProvider<O, T> {
+
+  /**
+   * Start getting the instance of the {@link #getClazz()} to provide. The lookup is cancelled if
+   * another argument of the command fails or the lookups take too long, see {@link
+   * com.github.chevyself.starbox.providers.registry.ProvidersRegistry#getLookupTimeout()}.
+   *
+   * @param string the string to get the object from
+   * @param context the context of the command execution
+   * @return the stage that completes with the object
+   */
+  @NonNull
+  CompletionStage<O> fromStringAsync(@NonNull String string, @NonNull T context);
+
+  /**
+   * Get the object waiting for {@link #fromStringAsync(String, StarboxCommandContext)}. This is
+   * used when the argument is not resolved with the others, for instance to get an object using
+   * {@link com.github.chevyself.starbox.providers.registry.ProvidersRegistry#get(String, Class,
+   * StarboxCommandContext)}.
+   *
+   * @param string the string to get the object from
+   * @param context the context of the command execution
+   * @return the object
+   * @throws ArgumentProviderException if the lookup failed or was interrupted
+   */
+  @Override
+  default @NonNull O fromString(@NonNull String string, @NonNull T context)
+      throws ArgumentProviderException {
+    try {
+      return this.fromStringAsync(string, context).toCompletableFuture().get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ArgumentProviderException("Interrupted while getting " + string, e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof ArgumentProviderException) {
+        throw (ArgumentProviderException) e.getCause();
+      }
+      throw new ArgumentProviderException(e.getCause() == null ? e : e.getCause());
+    }
+  }
+}
@@ -0,0 +1,130 @@
+package com.github.chevyself.starbox.ratelimit;
+
+import com.github.chevyself.starbox.StarboxRateLimiter;
+import com.github.chevyself.starbox.context.StarboxCommandContext;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * Base implementation of {@link StarboxRateLimiter} which keeps a {@link TokenBucket} for each key
+ * in the {@link RateLimitScope}. Platforms only have to provide the key of the sender and the key
+ * of the guild or server.
+ *
+ * <p>Keys must implement {@link Object#equals(Object)} and {@link Object#hashCode()} and should be
+ * objects that already exist in the context (such as the sender itself) so looking up a bucket does
+ * not allocate.
+ *
+ * <p>Buckets that are full are discarded when the amount of buckets doubles since the last clean
+ * up, as a full bucket is the same as a new one.
+ *
+ * @param <C> the context that executes the command
+ */
+public abstract class AbstractRateLimiter<C extends StarboxCommandContext>
+    implements StarboxRateLimiter<C> {
+
+  /** The key used for the {@link RateLimitScope#GLOBAL} scope. */
+  @NonNull protected static final Object GLOBAL_KEY = new Object();
+
+  @Getter private final int capacity;
+  @NonNull @Getter private final Duration refill;
+  @NonNull @Getter private final RateLimitScope scope;
+  @NonNull private final Map<Object, TokenBucket> buckets = new ConcurrentHashMap<>();
+  @NonNull private final Function<Object, TokenBucket> supplier;
+  private final long interval;
+  private volatile int threshold = 64;
+
+  /**
+   * Create the limiter.
+   *
+   * @param capacity the amount of executions that can be made in a burst
+   * @param refill the time that it takes to get a new execution
+   * @param scope the scope in which the executions are shared
+   * @throws IllegalArgumentException if the capacity is lower than 1 or the refill is not positive
+   */
+  protected AbstractRateLimiter(
+      int capacity, @NonNull Duration refill, @NonNull RateLimitScope scope) {
+    if (capacity < 1 || refill.isNegative() || refill.isZero()) {
+      throw new IllegalArgumentException("Rate limits require a capacity and a refill time");
+    }
+    this.capacity = capacity;
+    this.refill = refill;
+    this.scope = scope;
+    this.interval = refill.toNanos();
+    this.supplier = key -> new TokenBucket(capacity, this.interval, System.nanoTime());
+  }
+
+  /**
+   * Get the key that represents the sender of the context.
+   *
+   * @param context the context that is running the command
+   * @return the key of the sender
+   */
+  @NonNull
+  protected abstract Object getSenderKey(@NonNull C context);
+
+  /**
+   * Get the key that represents the guild or server in which the context is running. By default,
+   * platforms without this concept use {@link #getSenderKey(StarboxCommandContext)}
+   *
+   * @param context the context that is running the command
+   * @return the key of the guild
+   */
+  @NonNull
+  protected Object getGuildKey(@NonNull C context) {
+    return this.getSenderKey(context);
+  }
+
+  @NonNull
+  private Object getKey(@NonNull C context) {
+    switch (this.scope) {
+      case GLOBAL:
+        return AbstractRateLimiter.GLOBAL_KEY;
+      case GUILD:
+        return this.getGuildKey(context);
+      default:
+        return this.getSenderKey(context);
+    }
+  }
+
+  @NonNull
+  private TokenBucket getBucket(@NonNull C context) {
+    Object key = this.getKey(context);
+    TokenBucket bucket = this.buckets.get(key);
+    if (bucket == null) {
+      this.cleanUp();
+      bucket = this.buckets.computeIfAbsent(key, this.supplier);
+    }
+    return bucket;
+  }
+
+  private void cleanUp() {
+    int size = this.buckets.size();
+    if (size >= this.threshold) {
+      long now = System.nanoTime();
+      this.buckets.values().removeIf(bucket -> bucket.isFull(now));
+      this.threshold = Math.max(64, this.buckets.size() * 2);
+    }
+  }
+
+  @Override
+  public boolean tryAcquire(@NonNull C context) {
+    return this.getBucket(context).tryConsume(System.nanoTime());
+  }
+
+  @Override
+  public @NonNull Duration getTimeLeft(@NonNull C context) {
+    TokenBucket bucket = this.buckets.get(this.getKey(context));
+    return bucket == null
+        ? Duration.ZERO
+        : Duration.ofNanos(bucket.nanosUntilAvailable(System.nanoTime()));
+  }
+
+  /** Discard all the buckets, this will make every key start with a full bucket. */
+  public void clear() {
+    this.buckets.clear();
+  }
+}
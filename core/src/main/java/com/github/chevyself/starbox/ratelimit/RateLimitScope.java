@@ -0,0 +1,14 @@
+package com.github.chevyself.starbox.ratelimit;
+
+/** The scope in which the tokens of a rate limit are shared. */
+public enum RateLimitScope {
+  /** Each sender of the command has its own bucket. */
+  SENDER,
+  /**
+   * Each guild, in the case of Discord, or server, in the case of a proxy, has its own bucket. The
+   * platforms that do not have this concept will use a bucket for each sender instead.
+   */
+  GUILD,
+  /** The command has a single bucket shared by every sender. */
+  GLOBAL
+}
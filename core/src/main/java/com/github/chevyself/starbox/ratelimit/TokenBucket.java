@@ -0,0 +1,108 @@
+package com.github.chevyself.starbox.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * A lock-free token bucket. Instead of storing the amount of tokens and the last refill, the bucket
+ * keeps a single primitive: the theoretical instant in which the bucket would be full again. Taking
+ * a token moves that instant forward by {@link #getInterval()} and a token can be taken as long as
+ * the instant is not further than {@link #getCapacity()} tokens in the future.
+ *
+ * <p>This means that the refill is never computed with a timer and both accepting and rejecting a
+ * request are a couple of arithmetic operations and a compare and set, rejecting does not allocate
+ * anything.
+ *
+ * <p>All the times are in nanoseconds taken from {@link System#nanoTime()}
+ */
+public final class TokenBucket {
+
+  @NonNull
+  private static final AtomicLongFieldUpdater<TokenBucket> UPDATER =
+      AtomicLongFieldUpdater.newUpdater(TokenBucket.class, "full");
+
+  @Getter private final int capacity;
+  @Getter private final long interval;
+  private final long burst;
+  private volatile long full;
+
+  /**
+   * Create the bucket. It will start full.
+   *
+   * @param capacity the maximum amount of tokens that the bucket may hold
+   * @param interval the nanoseconds that it takes to refill a single token
+   * @param now the current time in nanoseconds
+   * @throws IllegalArgumentException if the capacity or the interval are lower than 1
+   */
+  public TokenBucket(int capacity, long interval, long now) {
+    if (capacity < 1 || interval < 1) {
+      throw new IllegalArgumentException("Capacity and interval must be greater than 0");
+    }
+    this.capacity = capacity;
+    this.interval = interval;
+    this.burst = interval * capacity;
+    this.full = now;
+  }
+
+  /**
+   * Create the bucket. It will start full.
+   *
+   * @param capacity the maximum amount of tokens that the bucket may hold
+   * @param refill the time that it takes to refill a single token
+   */
+  public TokenBucket(int capacity, @NonNull Duration refill) {
+    this(capacity, refill.toNanos(), System.nanoTime());
+  }
+
+  /**
+   * Try to take a token from the bucket.
+   *
+   * @param now the current time in nanoseconds
+   * @return true if a token was taken, false if the bucket is empty
+   */
+  public boolean tryConsume(long now) {
+    while (true) {
+      long current = this.full;
+      long next = (current - now < 0 ? now : current) + this.interval;
+      if (next - now > this.burst) {
+        return false;
+      }
+      if (UPDATER.compareAndSet(this, current, next)) {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Try to take a token from the bucket.
+   *
+   * @return true if a token was taken, false if the bucket is empty
+   */
+  public boolean tryConsume() {
+    return this.tryConsume(System.nanoTime());
+  }
+
+  /**
+   * Get the nanoseconds left until a token may be taken from the bucket.
+   *
+   * @param now the current time in nanoseconds
+   * @return the nanoseconds left or 0 if a token is available
+   */
+  public long nanosUntilAvailable(long now) {
+    long wait = this.full + this.interval - now - this.burst;
+    return wait > 0 ? wait : 0;
+  }
+
+  /**
+   * Check whether the bucket is full. A full bucket holds the same state as a new bucket which
+   * means that it can be discarded without changing the behaviour of the limiter.
+   *
+   * @param now the current time in nanoseconds
+   * @return true if the bucket is full
+   */
+  public boolean isFull(long now) {
+    return this.full - now <= 0;
+  }
+}
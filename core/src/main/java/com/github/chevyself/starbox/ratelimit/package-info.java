@@ -0,0 +1,4 @@
+/**
+ * This package contains the token buckets used to limit the rate in which commands are executed.
+ */
+package com.github.chevyself.starbox.ratelimit;
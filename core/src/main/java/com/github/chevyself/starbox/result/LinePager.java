@@ -0,0 +1,123 @@
+package com.github.chevyself.starbox.result;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * Joins lines into pages of a maximum length. Lines are pulled from the iterator only when the next
+ * page is requested, so only the page being built and the line being added are kept in memory no
+ * matter how many lines there are.
+ *
+ * <p>Lines are separated by a line break and are never split between pages unless a single line is
+ * longer than a page, in which case it is divided in as many pages as needed.
+ *
+ * <pre>{@code
+ * try (LinePager pager = new LinePager(lines.iterator(), 2000)) {
+ *   while (pager.hasNext()) {
+ *     send(pager.next());
+ *   }
+ * }
+ * }</pre>
+ */
+public class LinePager implements Iterator<String>, AutoCloseable {
+
+  @NonNull private final Iterator<? extends CharSequence> lines;
+  /** The maximum length of a page. */
+  @Getter private final int length;
+
+  @NonNull private final StringBuilder builder;
+  private CharSequence line;
+  private int offset;
+  private boolean closed;
+
+  /**
+   * Create the pager.
+   *
+   * @param lines the lines to divide in pages, if it is {@link AutoCloseable} it is closed with the
+   *     pager
+   * @param length the maximum length of a page
+   * @throws IllegalArgumentException if the length is not positive
+   */
+  public LinePager(@NonNull Iterator<? extends CharSequence> lines, int length) {
+    if (length <= 0) {
+      throw new IllegalArgumentException("The length of a page must be positive");
+    }
+    this.lines = lines;
+    this.length = length;
+    this.builder = new StringBuilder(Math.min(length, 1024));
+  }
+
+  /**
+   * Close the iterator of some lines if it is {@link AutoCloseable}.
+   *
+   * @param lines the iterator to close
+   * @throws IllegalStateException if the iterator could not be closed
+   */
+  public static void closeLines(@NonNull Iterator<?> lines) {
+    if (lines instanceof AutoCloseable) {
+      try {
+        ((AutoCloseable) lines).close();
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw new IllegalStateException("Could not close the lines", e);
+      }
+    }
+  }
+
+  @Override
+  public boolean hasNext() {
+    return !this.closed && (this.line != null || this.lines.hasNext());
+  }
+
+  @Override
+  public String next() {
+    if (!this.hasNext()) {
+      throw new NoSuchElementException();
+    }
+    this.builder.setLength(0);
+    while (true) {
+      if (this.line == null) {
+        if (!this.lines.hasNext()) {
+          break;
+        }
+        CharSequence next = this.lines.next();
+        this.line = next == null ? "" : next;
+        this.offset = 0;
+      }
+      int separator = this.builder.length() == 0 ? 0 : 1;
+      int remaining = this.line.length() - this.offset;
+      if (this.builder.length() + separator + remaining <= this.length) {
+        if (separator == 1) {
+          this.builder.append('\n');
+        }
+        this.builder.append(this.line, this.offset, this.line.length());
+        this.line = null;
+      } else {
+        if (this.builder.length() == 0) {
+          int end = this.offset + this.length;
+          if (this.length > 1 && Character.isHighSurrogate(this.line.charAt(end - 1))) {
+            end--;
+          }
+          this.builder.append(this.line, this.offset, end);
+          this.offset = end;
+        }
+        break;
+      }
+    }
+    return this.builder.toString();
+  }
+
+  /** Stop paging and close the lines if they are {@link AutoCloseable}. */
+  @Override
+  public void close() {
+    if (this.closed) {
+      return;
+    }
+    this.closed = true;
+    this.line = null;
+    LinePager.closeLines(this.lines);
+  }
+}
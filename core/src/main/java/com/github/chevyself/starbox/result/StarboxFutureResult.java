@@ -0,0 +1,87 @@
+package com.github.chevyself.starbox.result;
+
+import com.github.chevyself.starbox.Middleware;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+import lombok.NonNull;
+
+/**
+ * The result of a command whose method returned a {@link CompletionStage}. The command does not
+ * block a thread while it waits for I/O, the result is given once the stage completes:
+ *
+ * <pre>{@code
+ * public class AClass {
+ *     &#64;Command(aliases = "profile")
+ *     public CompletionStage<Result> profile(User user) {
+ *        return database.load(user).thenApply(profile -> new Result(profile.toString()));
+ *     }
+ * }
+ * }</pre>
+ *
+ * <p>The middlewares that run after the command, such as the ones that handle results or apply
+ * cooldown, receive the completed result in the thread that completed the stage, see {@link
+ * Middleware#next(java.util.Collection, com.github.chevyself.starbox.context.StarboxCommandContext,
+ * StarboxResult)}.
+ *
+ * @param <R> the type of result that the stage completes with
+ */
+public interface StarboxFutureResult<R extends StarboxResult> extends StarboxResult {
+
+  /**
+   * Check whether a method returns a {@link CompletionStage} of results. If the type of the values
+   * of the stage is declared it must be assignable to one of the given types or be {@link Void}, a
+   * stage of unknown values is checked once it completes.
+   *
+   * @param method the method to check
+   * @param types the types that the stage may complete with
+   * @return true if the method returns a stage of results
+   */
+  static boolean returnsFuture(@NonNull Method method, @NonNull Class<?>... types) {
+    if (!CompletionStage.class.isAssignableFrom(method.getReturnType())) {
+      return false;
+    }
+    Type generic = method.getGenericReturnType();
+    if (!(generic instanceof ParameterizedType)
+        || ((ParameterizedType) generic).getActualTypeArguments().length != 1) {
+      return true;
+    }
+    Type value = ((ParameterizedType) generic).getActualTypeArguments()[0];
+    if (value instanceof WildcardType) {
+      value = ((WildcardType) value).getUpperBounds()[0];
+    }
+    if (value instanceof ParameterizedType) {
+      value = ((ParameterizedType) value).getRawType();
+    }
+    if (!(value instanceof Class)) {
+      return true;
+    }
+    Class<?> clazz = (Class<?>) value;
+    if (clazz.equals(Object.class) || clazz.equals(Void.class)) {
+      return true;
+    }
+    for (Class<?> type : types) {
+      if (type.isAssignableFrom(clazz)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Get the stage that completes with the result of the command. Implementations should complete it
+   * with an error result rather than exceptionally, so the error is handled as any other result.
+   *
+   * @return the stage of the result, it may complete with null if there is no result
+   */
+  @NonNull
+  CompletionStage<? extends R> getFuture();
+
+  @Override
+  default @NonNull Optional<String> getMessage() {
+    return Optional.empty();
+  }
+}
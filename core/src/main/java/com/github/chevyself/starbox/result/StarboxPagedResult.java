@@ -0,0 +1,49 @@
+package com.github.chevyself.starbox.result;
+
+import java.util.Iterator;
+import java.util.Optional;
+import lombok.NonNull;
+
+/**
+ * A result whose output is a sequence of lines that may be too large to be built as a single
+ * message, such as leaderboards or logs. The lines are pulled by the result handler of each
+ * platform while it sends them, divided in pages that fit the platform:
+ *
+ * <pre>{@code
+ * public class AClass {
+ *     &#64;Command(aliases = "logs")
+ *     public PagedResult logs() {
+ *        return new PagedResult(() -> logs.stream().map(Log::toString).iterator());
+ *     }
+ * }
+ * }</pre>
+ *
+ * <p>As the lines are not joined, {@link #getMessage()} is empty.
+ */
+public interface StarboxPagedResult extends StarboxResult {
+
+  /**
+   * Get the lines of the result. The iterator should produce the lines lazily, it is iterated once
+   * by the result handler and, if it is {@link AutoCloseable}, closed when it is done.
+   *
+   * @return the iterator of the lines
+   */
+  @NonNull
+  Iterator<? extends CharSequence> getLines();
+
+  /**
+   * Get the lines of the result divided in pages.
+   *
+   * @param length the maximum length of a page
+   * @return the pager of the lines
+   */
+  @NonNull
+  default LinePager getPages(int length) {
+    return new LinePager(this.getLines(), length);
+  }
+
+  @Override
+  default @NonNull Optional<String> getMessage() {
+    return Optional.empty();
+  }
+}
@@ -0,0 +1,21 @@
+package com.github.chevyself.starbox.scheduling;
+
+/**
+ * The priority of an execution of a command. When a {@link PriorityExecutor} is busy the executions
+ * with a higher priority leave its queue first, executions with the same priority leave it in the
+ * same order in which they were queued.
+ *
+ * <p>The priority of a command is given by its {@link
+ * com.github.chevyself.starbox.annotations.Priority} annotation and may be raised for some senders
+ * using a {@link PriorityResolver}.
+ */
+public enum CommandPriority {
+  /** Executions that may wait, such as statistics or leaderboards. */
+  LOW,
+  /** The priority of commands that do not have one. */
+  NORMAL,
+  /** Executions that should not wait behind the ones of players, such as moderation. */
+  HIGH,
+  /** Executions that must run as soon as possible, such as stopping the server. */
+  CRITICAL
+}
@@ -0,0 +1,259 @@
+package com.github.chevyself.starbox.scheduling;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * An executor with a bounded queue that runs the executions with a higher {@link CommandPriority}
+ * first. When the server is saturated a moderator using a command does not have to wait behind the
+ * commands of every player.
+ *
+ * <p>To avoid starving the executions with a low priority they age while they wait: each time that
+ * an execution waits the aging time it is treated as if it had one more level of priority. With an
+ * aging of one second an execution with {@link CommandPriority#LOW} that has waited three seconds
+ * runs before an execution with {@link CommandPriority#CRITICAL} that was just queued.
+ *
+ * <p>When the queue is full the execution is rejected with a {@link RejectedExecutionException},
+ * platforms reply to it telling that the server is busy. The time that executions wait in the queue
+ * is measured for each priority, see {@link #getStatistics(CommandPriority)}.
+ *
+ * <pre>{@code
+ * manager.setExecutor(new PriorityExecutor(4, 256, Duration.ofSeconds(1)));
+ * }</pre>
+ */
+public class PriorityExecutor implements Executor, AutoCloseable {
+
+  @NonNull private static final CommandPriority[] PRIORITIES = CommandPriority.values();
+
+  /** The maximum amount of executions that may be waiting in the queue. */
+  @Getter private final int capacity;
+  /** The time that an execution has to wait to be treated as one level of priority higher. */
+  @NonNull @Getter private final Duration aging;
+
+  private final long agingNanos;
+  @NonNull private final ArrayDeque<Task>[] queues;
+  @NonNull private final Map<CommandPriority, QueueStatistics> statistics;
+  @NonNull private final ReentrantLock lock = new ReentrantLock();
+  @NonNull private final Condition notEmpty = this.lock.newCondition();
+  private int size;
+  private boolean closed;
+
+  /**
+   * Create the executor.
+   *
+   * @param threads the amount of threads that run the executions
+   * @param capacity the maximum amount of executions that may be waiting in the queue
+   * @param aging the time that an execution has to wait to be treated as one level of priority
+   *     higher
+   * @param factory the factory of the threads
+   * @throws IllegalArgumentException if the threads or the capacity are lower than 1 or the aging
+   *     is not positive
+   */
+  @SuppressWarnings("unchecked")
+  public PriorityExecutor(
+      int threads, int capacity, @NonNull Duration aging, @NonNull ThreadFactory factory) {
+    if (threads < 1 || capacity < 1 || aging.isNegative() || aging.isZero()) {
+      throw new IllegalArgumentException(
+          "Threads and capacity must be greater than 0 and aging must be positive");
+    }
+    this.capacity = capacity;
+    this.aging = aging;
+    this.agingNanos = aging.toNanos();
+    this.queues = new ArrayDeque[PriorityExecutor.PRIORITIES.length];
+    this.statistics = new EnumMap<>(CommandPriority.class);
+    for (CommandPriority priority : PriorityExecutor.PRIORITIES) {
+      this.queues[priority.ordinal()] = new ArrayDeque<>();
+      this.statistics.put(priority, new QueueStatistics());
+    }
+    for (int i = 0; i < threads; i++) {
+      factory.newThread(this::work).start();
+    }
+  }
+
+  /**
+   * Create the executor using daemon threads.
+   *
+   * @param threads the amount of threads that run the executions
+   * @param capacity the maximum amount of executions that may be waiting in the queue
+   * @param aging the time that an execution has to wait to be treated as one level of priority
+   *     higher
+   */
+  public PriorityExecutor(int threads, int capacity, @NonNull Duration aging) {
+    this(threads, capacity, aging, PriorityExecutor.daemonFactory());
+  }
+
+  @NonNull
+  private static ThreadFactory daemonFactory() {
+    AtomicInteger count = new AtomicInteger();
+    return runnable -> {
+      Thread thread = new Thread(runnable, "starbox-priority-" + count.getAndIncrement());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  /**
+   * Queue an execution with {@link CommandPriority#NORMAL}.
+   *
+   * @param command the execution
+   * @throws RejectedExecutionException if the queue is full or the executor is closed
+   */
+  @Override
+  public void execute(@NonNull Runnable command) {
+    this.execute(CommandPriority.NORMAL, command);
+  }
+
+  /**
+   * Queue an execution.
+   *
+   * @param priority the priority of the execution
+   * @param command the execution
+   * @throws RejectedExecutionException if the queue is full or the executor is closed
+   */
+  public void execute(@NonNull CommandPriority priority, @NonNull Runnable command) {
+    this.lock.lock();
+    try {
+      if (this.closed || this.size >= this.capacity) {
+        this.statistics.get(priority).rejected();
+        throw new RejectedExecutionException("The queue of the executor is full or closed");
+      }
+      this.queues[priority.ordinal()].addLast(new Task(priority, command, System.nanoTime()));
+      this.size++;
+      this.notEmpty.signal();
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Take the next execution. The head of each queue is the oldest execution of its priority, the
+   * next one is the head with the earliest time once it is moved back by its level of priority.
+   *
+   * @return the next execution
+   */
+  @NonNull
+  private Task poll() {
+    Task next = null;
+    long earliest = 0;
+    for (ArrayDeque<Task> queue : this.queues) {
+      Task task = queue.peekFirst();
+      if (task != null) {
+        long time = task.queued - task.priority.ordinal() * this.agingNanos;
+        if (next == null || time - earliest < 0) {
+          next = task;
+          earliest = time;
+        }
+      }
+    }
+    if (next == null) {
+      throw new IllegalStateException("There are no executions in the queue");
+    }
+    this.queues[next.priority.ordinal()].pollFirst();
+    this.size--;
+    return next;
+  }
+
+  private void work() {
+    while (true) {
+      Task task;
+      this.lock.lock();
+      try {
+        while (this.size == 0) {
+          if (this.closed) {
+            return;
+          }
+          this.notEmpty.await();
+        }
+        task = this.poll();
+      } catch (InterruptedException e) {
+        return;
+      } finally {
+        this.lock.unlock();
+      }
+      this.statistics.get(task.priority).started(System.nanoTime() - task.queued);
+      try {
+        task.command.run();
+      } catch (RuntimeException | Error e) {
+        Thread thread = Thread.currentThread();
+        thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+      }
+    }
+  }
+
+  /**
+   * Get the amount of executions waiting in the queue.
+   *
+   * @return the amount of executions waiting
+   */
+  public int getQueued() {
+    this.lock.lock();
+    try {
+      return this.size;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Get the amount of executions of a priority waiting in the queue.
+   *
+   * @param priority the priority of the executions
+   * @return the amount of executions waiting
+   */
+  public int getQueued(@NonNull CommandPriority priority) {
+    this.lock.lock();
+    try {
+      return this.queues[priority.ordinal()].size();
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Get the statistics of the executions of a priority. The statistics are updated while the
+   * executor runs.
+   *
+   * @param priority the priority of the executions
+   * @return the statistics of the priority
+   */
+  @NonNull
+  public QueueStatistics getStatistics(@NonNull CommandPriority priority) {
+    return this.statistics.get(priority);
+  }
+
+  /** Stop accepting executions. The executions that are already queued will still run. */
+  @Override
+  public void close() {
+    this.lock.lock();
+    try {
+      this.closed = true;
+      this.notEmpty.signalAll();
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /** An execution waiting in the queue. */
+  private static class Task {
+
+    @NonNull private final CommandPriority priority;
+    @NonNull private final Runnable command;
+    private final long queued;
+
+    private Task(@NonNull CommandPriority priority, @NonNull Runnable command, long queued) {
+      this.priority = priority;
+      this.command = command;
+      this.queued = queued;
+    }
+  }
+}
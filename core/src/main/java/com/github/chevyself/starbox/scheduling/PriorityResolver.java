@@ -0,0 +1,139 @@
+package com.github.chevyself.starbox.scheduling;
+
+import com.github.chevyself.starbox.ReflectCommand;
+import com.github.chevyself.starbox.StarboxCommand;
+import com.github.chevyself.starbox.annotations.Priority;
+import com.github.chevyself.starbox.context.StarboxCommandContext;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.function.Predicate;
+import lombok.NonNull;
+
+/**
+ * Resolves the {@link CommandPriority} of executions. The priority of a command is given by its
+ * {@link Priority} annotation or by {@link #setPriority(StarboxCommand, CommandPriority)}, and
+ * rules may raise it depending on the context, for instance for the senders with a permission:
+ *
+ * <pre>{@code
+ * manager
+ *     .getPriorityResolver()
+ *     .addRule(context -> context.getSender().hasPermission("server.staff"), CommandPriority.HIGH);
+ * }</pre>
+ *
+ * <p>The priority of an execution is the highest of the one of its command and the ones of the
+ * rules that match its context.
+ *
+ * @param <C> the context that executes the commands
+ */
+public class PriorityResolver<C extends StarboxCommandContext> {
+
+  @NonNull
+  private final Map<StarboxCommand<?, ?>, CommandPriority> priorities = new ConcurrentHashMap<>();
+
+  @NonNull private final List<Rule<C>> rules = new CopyOnWriteArrayList<>();
+
+  /**
+   * Get the priority of a command without the rules.
+   *
+   * @param command the command to get the priority from
+   * @return the priority of the command or {@link CommandPriority#NORMAL} if it does not have one
+   */
+  @NonNull
+  public CommandPriority getPriority(@NonNull StarboxCommand<?, ?> command) {
+    CommandPriority priority = this.priorities.get(command);
+    if (priority == null) {
+      priority = this.priorities.computeIfAbsent(command, PriorityResolver::load);
+    }
+    return priority;
+  }
+
+  @NonNull
+  private static CommandPriority load(@NonNull StarboxCommand<?, ?> command) {
+    Priority annotation =
+        command instanceof ReflectCommand
+            ? ((ReflectCommand<?, ?>) command).getMethod().getAnnotation(Priority.class)
+            : null;
+    return annotation == null ? CommandPriority.NORMAL : annotation.value();
+  }
+
+  /**
+   * Set the priority of a command, replacing the one of its annotation.
+   *
+   * @param command the command to set the priority to
+   * @param priority the priority of the command
+   * @return this same instance
+   */
+  @NonNull
+  public PriorityResolver<C> setPriority(
+      @NonNull StarboxCommand<?, ?> command, @NonNull CommandPriority priority) {
+    this.priorities.put(command, priority);
+    return this;
+  }
+
+  /**
+   * Add a rule that raises the priority of the executions whose context matches the predicate.
+   *
+   * @param predicate the predicate that the context has to match
+   * @param priority the minimum priority of the matching executions
+   * @return this same instance
+   */
+  @NonNull
+  public PriorityResolver<C> addRule(
+      @NonNull Predicate<? super C> predicate, @NonNull CommandPriority priority) {
+    this.rules.add(new Rule<>(predicate, priority));
+    return this;
+  }
+
+  /**
+   * Resolve the priority of an execution.
+   *
+   * @param context the context of the execution
+   * @return the priority of the execution
+   */
+  @NonNull
+  public CommandPriority resolve(@NonNull C context) {
+    CommandPriority priority = this.getPriority(context.getCommand());
+    for (Rule<C> rule : this.rules) {
+      if (rule.priority.compareTo(priority) > 0 && rule.predicate.test(context)) {
+        priority = rule.priority;
+      }
+    }
+    return priority;
+  }
+
+  /**
+   * Execute a task. If the executor is a {@link PriorityExecutor} the task is queued with the
+   * priority of the context, else it is simply given to the executor.
+   *
+   * @param executor the executor to run the task
+   * @param context the context of the execution
+   * @param task the task to run
+   * @throws java.util.concurrent.RejectedExecutionException if the executor rejects the task
+   */
+  public void execute(@NonNull Executor executor, @NonNull C context, @NonNull Runnable task) {
+    if (executor instanceof PriorityExecutor) {
+      ((PriorityExecutor) executor).execute(this.resolve(context), task);
+    } else {
+      executor.execute(task);
+    }
+  }
+
+  /**
+   * A rule that raises the priority of executions.
+   *
+   * @param <C> the context that executes the commands
+   */
+  private static class Rule<C extends StarboxCommandContext> {
+
+    @NonNull private final Predicate<? super C> predicate;
+    @NonNull private final CommandPriority priority;
+
+    private Rule(@NonNull Predicate<? super C> predicate, @NonNull CommandPriority priority) {
+      this.predicate = predicate;
+      this.priority = priority;
+    }
+  }
+}
@@ -0,0 +1,96 @@
+package com.github.chevyself.starbox.scheduling;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.NonNull;
+
+/**
+ * The statistics of the executions of a {@link CommandPriority} in a {@link PriorityExecutor}: how
+ * many executions left the queue, how long they waited in it and how many were rejected because it
+ * was full.
+ */
+public class QueueStatistics {
+
+  @NonNull private final LongAdder started = new LongAdder();
+  @NonNull private final LongAdder rejected = new LongAdder();
+  @NonNull private final LongAdder totalWait = new LongAdder();
+  @NonNull private final LongAccumulator maxWait = new LongAccumulator(Math::max, 0);
+
+  /**
+   * Combine the statistics of many executors, for instance the stripes of a dispatcher.
+   *
+   * @param statistics the statistics to combine
+   * @return new statistics with the sum of the given ones
+   */
+  @NonNull
+  public static QueueStatistics combine(@NonNull Iterable<QueueStatistics> statistics) {
+    QueueStatistics combined = new QueueStatistics();
+    for (QueueStatistics other : statistics) {
+      combined.started.add(other.started.sum());
+      combined.rejected.add(other.rejected.sum());
+      combined.totalWait.add(other.totalWait.sum());
+      combined.maxWait.accumulate(other.maxWait.get());
+    }
+    return combined;
+  }
+
+  void started(long wait) {
+    this.started.increment();
+    this.totalWait.add(wait);
+    this.maxWait.accumulate(wait);
+  }
+
+  void rejected() {
+    this.rejected.increment();
+  }
+
+  /**
+   * Get the amount of executions that left the queue to run.
+   *
+   * @return the amount of started executions
+   */
+  public long getStarted() {
+    return this.started.sum();
+  }
+
+  /**
+   * Get the amount of executions that were rejected because the queue was full.
+   *
+   * @return the amount of rejected executions
+   */
+  public long getRejected() {
+    return this.rejected.sum();
+  }
+
+  /**
+   * Get the time that all the started executions spent in the queue.
+   *
+   * @return the total time waited
+   */
+  @NonNull
+  public Duration getTotalWait() {
+    return Duration.ofNanos(this.totalWait.sum());
+  }
+
+  /**
+   * Get the average time that an execution spent in the queue.
+   *
+   * @return the average time waited or zero if no execution has started
+   */
+  @NonNull
+  public Duration getAverageWait() {
+    long started = this.started.sum();
+    return started == 0 ? Duration.ZERO : Duration.ofNanos(this.totalWait.sum() / started);
+  }
+
+  /**
+   * Get the longest time that an execution spent in the queue.
+   *
+   * @return the longest time waited
+   */
+  @NonNull
+  public Duration getMaxWait() {
+    return Duration.ofNanos(this.maxWait.get());
+  }
+}
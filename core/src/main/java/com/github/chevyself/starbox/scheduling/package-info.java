@@ -0,0 +1,5 @@
+/**
+ * This package contains the priorities of commands and the executor that runs the executions with a
+ * higher priority first when the server is busy.
+ */
+package com.github.chevyself.starbox.scheduling;
@@ -0,0 +1,441 @@
+package com.github.chevyself.starbox.util;
+
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.LongFunction;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * A concurrent map that uses primitive longs as keys, such as snowflakes. Keys are not boxed and
+ * entries are not wrapped in nodes: each stripe of the map is an open addressing table made of a
+ * long array and a value array.
+ *
+ * <p>The map is split in stripes that are guarded by a {@link StampedLock}, reads are optimistic so
+ * a {@link #get(long)} does not take the lock nor allocate unless it races with a write in the same
+ * stripe.
+ *
+ * <p>The map may be bounded using a maximum size which is split evenly between the stripes, once a
+ * stripe is full inserting a new key evicts another one using the clock algorithm: entries that
+ * have been read since the hand last passed them are given a second chance. The only write of a
+ * {@link #get(long)} is marking the entry as read, which is done without the lock: it is a best
+ * effort hint that may be lost, or set on another entry when it races with a write, which at worst
+ * gives the wrong entry a second chance.
+ *
+ * <p>Null values are not allowed.
+ *
+ * @param <V> the type of the values
+ */
+public final class ConcurrentLongMap<V> {
+
+  private static final int STRIPES = 16;
+  private static final int INITIAL_CAPACITY = 8;
+
+  @NonNull private final Stripe<V>[] stripes;
+  /** The maximum amount of entries or 0 if the map is unbounded. */
+  @Getter private final int maximumSize;
+
+  /**
+   * Create the map.
+   *
+   * @param maximumSize the maximum amount of entries or 0 if the map is unbounded
+   * @throws IllegalArgumentException if the maximum size is negative
+   */
+  @SuppressWarnings("unchecked")
+  public ConcurrentLongMap(int maximumSize) {
+    if (maximumSize < 0) {
+      throw new IllegalArgumentException("Maximum size cannot be negative");
+    }
+    this.maximumSize = maximumSize;
+    this.stripes = new Stripe[ConcurrentLongMap.STRIPES];
+    int perStripe =
+        maximumSize == 0 ? 0 : Math.max(1, -Math.floorDiv(-maximumSize, ConcurrentLongMap.STRIPES));
+    for (int i = 0; i < this.stripes.length; i++) {
+      this.stripes[i] = new Stripe<>(perStripe);
+    }
+  }
+
+  /** Create an unbounded map. */
+  public ConcurrentLongMap() {
+    this(0);
+  }
+
+  private static int hash(long key) {
+    long mixed = key * 0x9E3779B97F4A7C15L;
+    return (int) (mixed ^ (mixed >>> 32));
+  }
+
+  @NonNull
+  private Stripe<V> stripe(int hash) {
+    return this.stripes[hash >>> 28];
+  }
+
+  /**
+   * Get the value of a key.
+   *
+   * @param key the key
+   * @return the value or null if the key is not in the map
+   */
+  public V get(long key) {
+    int hash = ConcurrentLongMap.hash(key);
+    return this.stripe(hash).get(key, hash);
+  }
+
+  /**
+   * Check whether the map has a key.
+   *
+   * @param key the key
+   * @return true if the key is in the map
+   */
+  public boolean containsKey(long key) {
+    return this.get(key) != null;
+  }
+
+  /**
+   * Put a value in the map.
+   *
+   * @param key the key
+   * @param value the value
+   * @return the previous value or null if there was none
+   */
+  public V put(long key, @NonNull V value) {
+    int hash = ConcurrentLongMap.hash(key);
+    return this.stripe(hash).put(key, hash, value, false);
+  }
+
+  /**
+   * Put a value in the map only if the key is not in the map already.
+   *
+   * @param key the key
+   * @param value the value
+   * @return the value that was already in the map or null if the given value was put
+   */
+  public V putIfAbsent(long key, @NonNull V value) {
+    int hash = ConcurrentLongMap.hash(key);
+    return this.stripe(hash).put(key, hash, value, true);
+  }
+
+  /**
+   * Get the value of a key or compute it if the key is not in the map. The function is called while
+   * the stripe of the key is locked, so it should be short and must not use this map.
+   *
+   * @param key the key
+   * @param function the function to compute the value
+   * @return the current value of the key, or the computed one
+   */
+  public V computeIfAbsent(long key, @NonNull LongFunction<? extends V> function) {
+    int hash = ConcurrentLongMap.hash(key);
+    Stripe<V> stripe = this.stripe(hash);
+    V value = stripe.get(key, hash);
+    return value != null ? value : stripe.computeIfAbsent(key, hash, function);
+  }
+
+  /**
+   * Remove a key from the map.
+   *
+   * @param key the key
+   * @return the removed value or null if the key was not in the map
+   */
+  public V remove(long key) {
+    int hash = ConcurrentLongMap.hash(key);
+    return this.stripe(hash).remove(key, hash);
+  }
+
+  /**
+   * Get the amount of entries in the map. As other operations may be running concurrently this is
+   * an estimate.
+   *
+   * @return the amount of entries
+   */
+  public int size() {
+    int size = 0;
+    for (Stripe<V> stripe : this.stripes) {
+      size += stripe.size;
+    }
+    return size;
+  }
+
+  /**
+   * Check whether the map is empty.
+   *
+   * @return true if there are no entries in the map
+   */
+  public boolean isEmpty() {
+    return this.size() == 0;
+  }
+
+  /** Remove all the entries of the map. */
+  public void clear() {
+    for (Stripe<V> stripe : this.stripes) {
+      stripe.clear();
+    }
+  }
+
+  /**
+   * Run an action for each entry of the map. Each stripe is locked while its entries are given to
+   * the action, so the action must not use this map.
+   *
+   * @param action the action to run
+   */
+  public void forEach(@NonNull LongObjectConsumer<? super V> action) {
+    for (Stripe<V> stripe : this.stripes) {
+      stripe.forEach(action);
+    }
+  }
+
+  /**
+   * An action that receives a primitive long and an object.
+   *
+   * @param <V> the type of the object
+   */
+  @FunctionalInterface
+  public interface LongObjectConsumer<V> {
+
+    /**
+     * Run the action.
+     *
+     * @param key the primitive long
+     * @param value the object
+     */
+    void accept(long key, V value);
+  }
+
+  private static final class Table {
+
+    @NonNull private final long[] keys;
+    @NonNull private final Object[] values;
+    @NonNull private final boolean[] referenced;
+
+    private Table(int capacity) {
+      this.keys = new long[capacity];
+      this.values = new Object[capacity];
+      this.referenced = new boolean[capacity];
+    }
+  }
+
+  private static final class Stripe<V> {
+
+    @NonNull private final StampedLock lock = new StampedLock();
+    private final int maximumSize;
+    @NonNull private volatile Table table;
+    private volatile int size;
+    private int hand;
+
+    private Stripe(int maximumSize) {
+      this.maximumSize = maximumSize;
+      int capacity = ConcurrentLongMap.INITIAL_CAPACITY;
+      while (maximumSize > 0 && capacity < maximumSize * 2 && capacity < (1 << 30)) {
+        capacity <<= 1;
+      }
+      this.table = new Table(maximumSize > 0 ? capacity : ConcurrentLongMap.INITIAL_CAPACITY);
+    }
+
+    @SuppressWarnings("unchecked")
+    private V find(@NonNull Table table, long key, int hash, boolean reference) {
+      long[] keys = table.keys;
+      Object[] values = table.values;
+      int mask = keys.length - 1;
+      int slot = hash & mask;
+      for (int i = 0; i < keys.length; i++) {
+        Object value = values[slot];
+        if (value == null) {
+          return null;
+        }
+        if (keys[slot] == key) {
+          // Racy on optimistic reads, see the documentation of the class
+          if (reference && !table.referenced[slot]) {
+            table.referenced[slot] = true;
+          }
+          return (V) value;
+        }
+        slot = (slot + 1) & mask;
+      }
+      return null;
+    }
+
+    private V get(long key, int hash) {
+      long stamp = this.lock.tryOptimisticRead();
+      if (stamp != 0) {
+        V value = this.find(this.table, key, hash, this.maximumSize > 0);
+        if (this.lock.validate(stamp)) {
+          return value;
+        }
+      }
+      stamp = this.lock.readLock();
+      try {
+        return this.find(this.table, key, hash, this.maximumSize > 0);
+      } finally {
+        this.lock.unlockRead(stamp);
+      }
+    }
+
+    private V put(long key, int hash, @NonNull V value, boolean onlyIfAbsent) {
+      long stamp = this.lock.writeLock();
+      try {
+        return this.insert(key, hash, value, onlyIfAbsent);
+      } finally {
+        this.lock.unlockWrite(stamp);
+      }
+    }
+
+    private V computeIfAbsent(long key, int hash, @NonNull LongFunction<? extends V> function) {
+      long stamp = this.lock.writeLock();
+      try {
+        V current = this.find(this.table, key, hash, false);
+        if (current != null) {
+          return current;
+        }
+        V value = function.apply(key);
+        if (value != null) {
+          this.insert(key, hash, value, true);
+        }
+        return value;
+      } finally {
+        this.lock.unlockWrite(stamp);
+      }
+    }
+
+    @SuppressWarnings("unchecked")
+    private V insert(long key, int hash, @NonNull V value, boolean onlyIfAbsent) {
+      Table table = this.table;
+      int mask = table.keys.length - 1;
+      int slot = hash & mask;
+      while (table.values[slot] != null) {
+        if (table.keys[slot] == key) {
+          V previous = (V) table.values[slot];
+          if (!onlyIfAbsent) {
+            table.values[slot] = value;
+          }
+          return previous;
+        }
+        slot = (slot + 1) & mask;
+      }
+      if (this.maximumSize > 0 && this.size >= this.maximumSize) {
+        this.evict();
+      } else if ((this.size + 1) * 2 > table.keys.length) {
+        this.resize();
+      }
+      table = this.table;
+      mask = table.keys.length - 1;
+      slot = hash & mask;
+      while (table.values[slot] != null) {
+        slot = (slot + 1) & mask;
+      }
+      table.keys[slot] = key;
+      table.values[slot] = value;
+      table.referenced[slot] = false;
+      this.size++;
+      return null;
+    }
+
+    private void evict() {
+      Table table = this.table;
+      int mask = table.keys.length - 1;
+      while (true) {
+        int slot = this.hand;
+        this.hand = (slot + 1) & mask;
+        if (table.values[slot] == null) {
+          continue;
+        }
+        if (table.referenced[slot]) {
+          table.referenced[slot] = false;
+        } else {
+          this.delete(table, slot);
+          return;
+        }
+      }
+    }
+
+    private void resize() {
+      Table old = this.table;
+      Table table = new Table(old.keys.length << 1);
+      int mask = table.keys.length - 1;
+      for (int i = 0; i < old.keys.length; i++) {
+        if (old.values[i] != null) {
+          int slot = ConcurrentLongMap.hash(old.keys[i]) & mask;
+          while (table.values[slot] != null) {
+            slot = (slot + 1) & mask;
+          }
+          table.keys[slot] = old.keys[i];
+          table.values[slot] = old.values[i];
+          table.referenced[slot] = old.referenced[i];
+        }
+      }
+      this.table = table;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V remove(long key, int hash) {
+      long stamp = this.lock.writeLock();
+      try {
+        Table table = this.table;
+        int mask = table.keys.length - 1;
+        int slot = hash & mask;
+        while (table.values[slot] != null) {
+          if (table.keys[slot] == key) {
+            V previous = (V) table.values[slot];
+            this.delete(table, slot);
+            return previous;
+          }
+          slot = (slot + 1) & mask;
+        }
+        return null;
+      } finally {
+        this.lock.unlockWrite(stamp);
+      }
+    }
+
+    /**
+     * Delete the entry in a slot. The following entries of the cluster are shifted back so linear
+     * probing keeps finding them without the need of tombstones.
+     */
+    private void delete(@NonNull Table table, int slot) {
+      int mask = table.keys.length - 1;
+      int empty = slot;
+      int next = slot;
+      while (true) {
+        next = (next + 1) & mask;
+        if (table.values[next] == null) {
+          break;
+        }
+        int ideal = ConcurrentLongMap.hash(table.keys[next]) & mask;
+        // Move the entry only if its ideal slot is not between the empty slot and its position
+        if (((next - ideal) & mask) >= ((next - empty) & mask)) {
+          table.keys[empty] = table.keys[next];
+          table.values[empty] = table.values[next];
+          table.referenced[empty] = table.referenced[next];
+          empty = next;
+        }
+      }
+      table.values[empty] = null;
+      table.referenced[empty] = false;
+      this.size--;
+    }
+
+    private void clear() {
+      long stamp = this.lock.writeLock();
+      try {
+        this.table = new Table(this.table.keys.length);
+        this.size = 0;
+        this.hand = 0;
+      } finally {
+        this.lock.unlockWrite(stamp);
+      }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void forEach(@NonNull LongObjectConsumer<? super V> action) {
+      long stamp = this.lock.readLock();
+      try {
+        Table table = this.table;
+        for (int i = 0; i < table.keys.length; i++) {
+          Object value = table.values[i];
+          if (value != null) {
+            action.accept(table.keys[i], (V) value);
+          }
+        }
+      } finally {
+        this.lock.unlockRead(stamp);
+      }
+    }
+  }
+}
@@ -183,17 +183,18 @@ public final class Strings {
    * @param string the string to divide
    * @param length the length that each string must be
    * @return the list containing each string
+   * @see com.github.chevyself.starbox.result.LinePager to divide lines lazily
    */
   @NonNull
   public static List<String> divide(@NonNull String string, int length) {
-    List<String> split = new ArrayList<>();
-    while (string.length() > length) {
-      String substring = string.substring(0, length);
-      string = string.substring(length);
-      split.add(substring);
+    List<String> split = new ArrayList<>(string.length() / Math.max(1, length) + 1);
+    int start = 0;
+    while (string.length() - start > length) {
+      split.add(string.substring(start, start + length));
+      start += length;
     }
-    if (!string.isEmpty()) {
-      split.add(string);
+    if (start < string.length()) {
+      split.add(string.substring(start));
     }
     return split;
   }
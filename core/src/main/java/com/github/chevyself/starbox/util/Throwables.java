@@ -0,0 +1,43 @@
+package com.github.chevyself.starbox.util;
+
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import lombok.NonNull;
+
+/** Static utilities for {@link Throwable}. */
+public final class Throwables {
+
+  private Throwables() {}
+
+  /**
+   * Get the exception that caused a failed {@link java.util.concurrent.CompletionStage} or {@link
+   * java.util.concurrent.Future}. Stages wrap the exception that completed them in a {@link
+   * CompletionException} and futures in an {@link ExecutionException}.
+   *
+   * @param throwable the exception to unwrap
+   * @return the cause of the wrappers or the same exception if it is not wrapped
+   */
+  @NonNull
+  public static Throwable unwrap(@NonNull Throwable throwable) {
+    Throwable cause = throwable;
+    while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+        && cause.getCause() != null) {
+      cause = cause.getCause();
+    }
+    return cause;
+  }
+
+  /**
+   * Get the message of the exception that caused a failed stage or future.
+   *
+   * @see #unwrap(Throwable)
+   * @param throwable the exception to get the message from
+   * @return a {@link Optional} wrapping the message or empty if the cause has no message
+   */
+  @NonNull
+  public static Optional<String> getMessage(@NonNull Throwable throwable) {
+    String message = Throwables.unwrap(throwable).getMessage();
+    return message == null || message.isEmpty() ? Optional.empty() : Optional.of(message);
+  }
+}
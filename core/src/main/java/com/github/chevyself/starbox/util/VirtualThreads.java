@@ -0,0 +1,58 @@
+package com.github.chevyself.starbox.util;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import lombok.NonNull;
+
+/**
+ * Utility to use virtual threads when the library is running on Java 21 or newer. The library is
+ * compiled for Java 8 so the virtual thread factory is looked up using reflection.
+ *
+ * <pre>{@code
+ * manager.setExecutor(VirtualThreads.newExecutor().orElseGet(Executors::newCachedThreadPool));
+ * }</pre>
+ */
+public final class VirtualThreads {
+
+  private static final Method NEW_EXECUTOR = VirtualThreads.lookup();
+
+  private VirtualThreads() {}
+
+  private static Method lookup() {
+    try {
+      return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+    } catch (NoSuchMethodException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Check whether the running JVM supports virtual threads.
+   *
+   * @return true if virtual threads are supported
+   */
+  public static boolean isSupported() {
+    return VirtualThreads.NEW_EXECUTOR != null;
+  }
+
+  /**
+   * Create an executor that starts a new virtual thread for each task. Virtual threads are cheap to
+   * block, so commands that wait on I/O do not hold an OS thread each.
+   *
+   * @return a {@link Optional} wrapping the executor or empty if virtual threads are not supported
+   */
+  @NonNull
+  public static Optional<ExecutorService> newExecutor() {
+    if (VirtualThreads.NEW_EXECUTOR == null) {
+      return Optional.empty();
+    }
+    try {
+      return Optional.of((ExecutorService) VirtualThreads.NEW_EXECUTOR.invoke(null));
+    } catch (IllegalAccessException | InvocationTargetException e) {
+      return Optional.empty();
+    }
+  }
+}
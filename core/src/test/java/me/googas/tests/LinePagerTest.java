@@ -0,0 +1,70 @@
+package me.googas.tests;
+
+import com.github.chevyself.starbox.result.LinePager;
+import com.github.chevyself.starbox.util.Strings;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LinePagerTest {
+
+  private static List<String> pages(LinePager pager) {
+    List<String> pages = new ArrayList<>();
+    pager.forEachRemaining(pages::add);
+    return pages;
+  }
+
+  @Test
+  public void joinsLinesUntilThePageIsFull() {
+    LinePager pager = new LinePager(Arrays.asList("abc", "de", "fghi", "j").iterator(), 7);
+    Assert.assertEquals(Arrays.asList("abc\nde", "fghi\nj"), LinePagerTest.pages(pager));
+    Assert.assertFalse(pager.hasNext());
+  }
+
+  @Test
+  public void splitsLinesLongerThanAPage() {
+    LinePager pager = new LinePager(Arrays.asList("a", "0123456789", "b").iterator(), 4);
+    Assert.assertEquals(Arrays.asList("a", "0123", "4567", "89\nb"), LinePagerTest.pages(pager));
+  }
+
+  @Test
+  public void pullsLinesOnlyWhenAPageIsRequested() {
+    AtomicInteger pulled = new AtomicInteger();
+    Iterator<String> lines =
+        new Iterator<String>() {
+          @Override
+          public boolean hasNext() {
+            return true;
+          }
+
+          @Override
+          public String next() {
+            return "line " + pulled.incrementAndGet();
+          }
+        };
+    LinePager pager = new LinePager(lines, 20);
+    Assert.assertEquals("line 1\nline 2\nline 3", pager.next());
+    Assert.assertEquals(4, pulled.get());
+    Assert.assertEquals("line 4\nline 5\nline 6", pager.next());
+    pager.close();
+    Assert.assertFalse(pager.hasNext());
+  }
+
+  @Test(expected = NoSuchElementException.class)
+  public void failsWhenThereAreNoPages() {
+    new LinePager(Collections.<String>emptyIterator(), 10).next();
+  }
+
+  @Test
+  public void dividesStrings() {
+    Assert.assertEquals(Arrays.asList("abc", "def", "g"), Strings.divide("abcdefg", 3));
+    Assert.assertEquals(Arrays.asList("abc", "def"), Strings.divide("abcdef", 3));
+    Assert.assertTrue(Strings.divide("", 3).isEmpty());
+  }
+}
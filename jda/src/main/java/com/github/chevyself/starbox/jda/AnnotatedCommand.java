@@ -12,24 +12,34 @@ import com.github.chevyself.starbox.exceptions.type.StarboxRuntimeException;
 import com.github.chevyself.starbox.flags.Option;
 import com.github.chevyself.starbox.jda.annotations.Command;
 import com.github.chevyself.starbox.jda.context.CommandContext;
+import com.github.chevyself.starbox.jda.context.SlashCommandContext;
 import com.github.chevyself.starbox.jda.cooldown.CooldownManager;
+import com.github.chevyself.starbox.jda.cooldown.RateLimiter;
+import com.github.chevyself.starbox.jda.latency.CommandTimings;
+import com.github.chevyself.starbox.jda.latency.DispatchPhase;
+import com.github.chevyself.starbox.jda.result.FutureResult;
 import com.github.chevyself.starbox.jda.result.JdaResult;
 import com.github.chevyself.starbox.jda.result.JdaResultBuilder;
 import com.github.chevyself.starbox.jda.result.Result;
 import com.github.chevyself.starbox.jda.result.ResultType;
 import com.github.chevyself.starbox.messages.StarboxMessagesProvider;
 import com.github.chevyself.starbox.providers.registry.ProvidersRegistry;
+import com.github.chevyself.starbox.util.Pair;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import lombok.Getter;
 import lombok.NonNull;
 import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.entities.Message;
 import net.dv8tion.jda.api.entities.Role;
 import net.dv8tion.jda.api.entities.User;
+import net.dv8tion.jda.api.entities.channel.middleman.GuildChannel;
 import net.dv8tion.jda.api.entities.channel.middleman.MessageChannel;
 import net.dv8tion.jda.api.interactions.commands.OptionType;
 import net.dv8tion.jda.api.interactions.commands.build.OptionData;
@@ -59,6 +69,7 @@ public class AnnotatedCommand extends JdaCommand
    * @param options the flags that apply to this command
    * @param middlewares the middlewares to run before and after this command is executed
    * @param cooldown the manager that handles the cooldown in this command
+   * @param rateLimiter the limiter for the rate of executions of this command
    * @param aliases the names that the command can be executed with
    * @param method the method to execute as the command see more in {@link #getMethod()}
    * @param object the instance of the object used to invoke the method see more in {@link
@@ -73,44 +84,135 @@ public class AnnotatedCommand extends JdaCommand
       @NonNull List<Option> options,
       @NonNull List<Middleware<CommandContext>> middlewares,
       CooldownManager cooldown,
+      RateLimiter rateLimiter,
       @NonNull List<String> aliases,
       @NonNull Method method,
       @NonNull Object object,
       @NonNull List<Argument<?>> arguments) {
-    super(manager, description, map, options, middlewares, cooldown);
+    super(manager, description, map, options, middlewares, cooldown, rateLimiter);
     this.method = method;
     this.object = object;
     this.arguments = arguments;
     this.aliases = aliases;
   }
 
-  private static OptionData toOptionData(@NonNull Argument<?> argument) {
+  /**
+   * Create a command.
+   *
+   * @param manager the manager that parsed the command
+   * @param description a short description of the command
+   * @param map a map that contains custom settings of the command
+   * @param options the flags that apply to this command
+   * @param middlewares the middlewares to run before and after this command is executed
+   * @param cooldown the manager that handles the cooldown in this command
+   * @param aliases the names that the command can be executed with
+   * @param method the method to execute as the command see more in {@link #getMethod()}
+   * @param object the instance of the object used to invoke the method see more in {@link
+   *     #getObject()}
+   * @param arguments the list of arguments that are used to {@link
+   *     #getObjects(StarboxCommandContext)} and invoke the {@link #getMethod()}
+   */
+  public AnnotatedCommand(
+      @NonNull CommandManager manager,
+      @NonNull String description,
+      @NonNull Map<String, String> map,
+      @NonNull List<Option> options,
+      @NonNull List<Middleware<CommandContext>> middlewares,
+      CooldownManager cooldown,
+      @NonNull List<String> aliases,
+      @NonNull Method method,
+      @NonNull Object object,
+      @NonNull List<Argument<?>> arguments) {
+    this(
+        manager,
+        description,
+        map,
+        options,
+        middlewares,
+        cooldown,
+        null,
+        aliases,
+        method,
+        object,
+        arguments);
+  }
+
+  private OptionData toOptionData(@NonNull Argument<?> argument) {
     if (argument instanceof SingleArgument) {
-      return new OptionData(
-          AnnotatedCommand.toOptionType(argument.getClazz()),
-          ((SingleArgument<?>) argument).getName(),
-          ((SingleArgument<?>) argument).getDescription(),
-          ((SingleArgument<?>) argument).isRequired());
+      SingleArgument<?> single = (SingleArgument<?>) argument;
+      OptionType type = AnnotatedCommand.toOptionType(argument.getClazz());
+      return new OptionData(type, single.getName(), single.getDescription(), single.isRequired())
+          .setAutoComplete(
+              type.canSupportChoices()
+                  && this.manager.getAutoCompleteHandler().hasSuggestions(single));
     }
     return null;
   }
 
   @NonNull
   private static OptionType toOptionType(@NonNull Class<?> clazz) {
-    if (clazz.isAssignableFrom(Number.class)) {
+    if (clazz == long.class
+        || clazz == Long.class
+        || clazz == int.class
+        || clazz == Integer.class) {
       return OptionType.INTEGER;
+    } else if (clazz == double.class
+        || clazz == Double.class
+        || clazz == float.class
+        || clazz == Float.class) {
+      return OptionType.NUMBER;
     } else if (clazz == boolean.class || clazz == Boolean.class) {
       return OptionType.BOOLEAN;
-    } else if (clazz.isAssignableFrom(User.class) || clazz.isAssignableFrom(Member.class)) {
+    } else if (clazz.isAssignableFrom(User.class) || clazz == Member.class) {
       return OptionType.USER;
-    } else if (clazz.isAssignableFrom(MessageChannel.class)) {
+    } else if (GuildChannel.class.isAssignableFrom(clazz) || clazz == MessageChannel.class) {
       return OptionType.CHANNEL;
     } else if (clazz.isAssignableFrom(Role.class)) {
       return OptionType.ROLE;
+    } else if (clazz == Message.Attachment.class) {
+      return OptionType.ATTACHMENT;
     }
     return OptionType.STRING;
   }
 
+  /**
+   * Get the objects to invoke the method. When the command is executed using a slash command the
+   * arguments are bound directly from the options resolved by Discord, using the providers is only
+   * the fallback for the types that cannot be bound and for extra arguments.
+   *
+   * @param context the context of the execution
+   * @return the objects to invoke the method
+   * @throws MissingArgumentException if the command is missing an argument
+   * @throws ArgumentProviderException if an argument could not be provided
+   */
+  @Override
+  public @NonNull Object[] getObjects(CommandContext context)
+      throws MissingArgumentException, ArgumentProviderException {
+    if (!(context instanceof SlashCommandContext)) {
+      return ReflectCommand.super.getObjects(context);
+    }
+    SlashCommandContext slashContext = (SlashCommandContext) context;
+    Object[] objects = new Object[this.arguments.size()];
+    int lastIndex = 0;
+    for (int i = 0; i < this.arguments.size(); i++) {
+      Argument<?> argument = this.arguments.get(i);
+      if (argument instanceof SingleArgument) {
+        Object bound =
+            slashContext.getOption(((SingleArgument<?>) argument).getName(), argument.getClazz());
+        if (bound != null) {
+          objects[i] = bound;
+          continue;
+        }
+      }
+      Pair<Object, Integer> pair =
+          argument.process(
+              this.getProvidersRegistry(), this.getMessagesProvider(), context, lastIndex);
+      objects[i] = pair.getA();
+      lastIndex += pair.getB();
+    }
+    return objects;
+  }
+
   @Override
   public @NonNull ProvidersRegistry<CommandContext> getProvidersRegistry() {
     return this.manager.getProvidersRegistry();
@@ -121,35 +223,98 @@ public class AnnotatedCommand extends JdaCommand
     return this.manager.getMessagesProvider();
   }
 
+  /**
+   * Get the result from the object returned by the method of the command.
+   *
+   * @param object the returned object
+   * @return the result or null if the object is not a result
+   */
+  private static JdaResult toResult(Object object) {
+    if (object instanceof JdaResult) {
+      return (JdaResult) object;
+    } else if (object instanceof JdaResultBuilder) {
+      return ((JdaResultBuilder) object).build();
+    }
+    return null;
+  }
+
+  /**
+   * Get the result for an exception thrown by the method of the command or that completed its
+   * {@link CompletionStage}.
+   *
+   * @param e the exception
+   * @return the error result
+   */
+  @NonNull
+  private static JdaResult toResult(@NonNull Throwable e) {
+    final String message = e.getMessage();
+    if (message != null && !message.isEmpty()) {
+      if (!(e instanceof StarboxException) | !(e instanceof StarboxRuntimeException)) {
+        e.printStackTrace();
+      }
+      return Result.forType(ResultType.ERROR).setDescription(message).build();
+    } else {
+      e.printStackTrace();
+      return Result.forType(ResultType.UNKNOWN)
+          .setDescription("InvocationTargetException, e")
+          .build();
+    }
+  }
+
+  /**
+   * Get the result for a {@link CompletionStage} returned by the method of the command. If the
+   * execution is measured its timings are kept incomplete until the stage completes.
+   *
+   * @param stage the returned stage
+   * @param timings the timings of the execution or null if it is not measured
+   * @param invoke the time in which the method was invoked
+   * @return the result
+   */
+  @NonNull
+  private static FutureResult toResult(
+      @NonNull CompletionStage<?> stage, CommandTimings timings, long invoke) {
+    if (timings != null) {
+      timings.retain();
+    }
+    return new FutureResult(
+        stage.handle(
+            (object, fail) -> {
+              if (timings != null) {
+                timings.record(DispatchPhase.COMMAND, invoke);
+              }
+              if (fail == null) {
+                return AnnotatedCommand.toResult(object);
+              }
+              return AnnotatedCommand.toResult(
+                  fail instanceof CompletionException && fail.getCause() != null
+                      ? fail.getCause()
+                      : fail);
+            }));
+  }
+
   @Override
   public JdaResult run(@NonNull CommandContext context) {
+    CommandTimings timings = context.getTimings().orElse(null);
     try {
+      long start = System.nanoTime();
       Object[] objects = this.getObjects(context);
+      long invoke = System.nanoTime();
       Object object = this.method.invoke(this.object, objects);
-      JdaResult result = null;
-      if (object instanceof Result) {
-        result = (Result) object;
-      } else if (object instanceof JdaResultBuilder) {
-        result = ((JdaResultBuilder) object).build();
+      if (timings != null) {
+        timings.add(DispatchPhase.ARGUMENTS, invoke - start);
+      }
+      if (object instanceof CompletionStage) {
+        return AnnotatedCommand.toResult((CompletionStage<?>) object, timings, invoke);
       }
-      return result;
+      if (timings != null) {
+        timings.record(DispatchPhase.COMMAND, invoke);
+      }
+      return AnnotatedCommand.toResult(object);
     } catch (final IllegalAccessException e) {
       e.printStackTrace();
       return Result.forType(ResultType.UNKNOWN).setDescription("IllegalAccessException, e").build();
     } catch (final InvocationTargetException e) {
-      final String message = e.getTargetException().getMessage();
-      if (message != null && !message.isEmpty()) {
-        if (!(e.getTargetException() instanceof StarboxException)
-            | !(e.getTargetException() instanceof StarboxRuntimeException)) {
-          e.printStackTrace();
-        }
-        return Result.forType(ResultType.ERROR).setDescription(message).build();
-      } else {
-        e.printStackTrace();
-        return Result.forType(ResultType.UNKNOWN)
-            .setDescription("InvocationTargetException, e")
-            .build();
-      }
+      return AnnotatedCommand.toResult(e.getTargetException());
     } catch (MissingArgumentException e) {
       return Result.forType(ResultType.USAGE).setDescription(e.getMessage()).build();
     } catch (ArgumentProviderException e) {
@@ -161,7 +326,7 @@ public class AnnotatedCommand extends JdaCommand
   public @NonNull SlashCommandData getCommandData() {
     SlashCommandData data = super.getCommandData();
     this.arguments.stream()
-        .map(AnnotatedCommand::toOptionData)
+        .map(this::toOptionData)
         .filter(Objects::nonNull)
         .forEach(data::addOptions);
     return data;
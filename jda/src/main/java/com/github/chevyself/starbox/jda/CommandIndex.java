@@ -0,0 +1,194 @@
+package com.github.chevyself.starbox.jda;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * An immutable index of commands by their aliases. Aliases are matched ignoring case, the same as
+ * {@link JdaCommand#hasAlias(String)}.
+ *
+ * <p>The index is an open addressing table that can be probed using a region of a {@link
+ * CharSequence}, this means that the name of a command can be looked up directly in the content of
+ * a message without creating a substring. Probing the index does not allocate.
+ *
+ * <p>If two commands share an alias the first one in the collection used to create the index is the
+ * one that is found, which is the same behaviour as looping through the commands.
+ *
+ * <p>Two indexes are equal if they were created with the same instances of commands in the same
+ * order, so an index may be shared by all the guilds that have the same commands. Commands that are
+ * parsed again are new instances, so their indexes are never equal.
+ */
+public final class CommandIndex {
+
+  /** An index without commands. */
+  @NonNull
+  public static final CommandIndex EMPTY =
+      new CommandIndex(Collections.emptyList(), new String[1], new JdaCommand[1], 0);
+
+  /** The commands in the index, in the order used to create it. */
+  @NonNull @Getter private final List<JdaCommand> commands;
+
+  @NonNull private final String[] keys;
+  @NonNull private final JdaCommand[] values;
+  private final int mask;
+  /** The amount of aliases in the index. */
+  @Getter private final int size;
+
+  private CommandIndex(
+      @NonNull List<JdaCommand> commands,
+      @NonNull String[] keys,
+      @NonNull JdaCommand[] values,
+      int size) {
+    this.commands = commands;
+    this.keys = keys;
+    this.values = values;
+    this.mask = keys.length - 1;
+    this.size = size;
+  }
+
+  /**
+   * Create an index of the given commands.
+   *
+   * @param commands the commands to index
+   * @return the created index
+   */
+  @NonNull
+  public static CommandIndex of(@NonNull Collection<? extends JdaCommand> commands) {
+    int aliases = 0;
+    for (JdaCommand command : commands) {
+      aliases += command.getAliases().size();
+    }
+    if (commands.isEmpty()) {
+      return CommandIndex.EMPTY;
+    }
+    int capacity = Integer.highestOneBit(Math.max(1, aliases * 2 - 1)) << 1;
+    String[] keys = new String[capacity];
+    JdaCommand[] values = new JdaCommand[capacity];
+    int mask = capacity - 1;
+    int size = 0;
+    for (JdaCommand command : commands) {
+      for (String alias : command.getAliases()) {
+        int slot = CommandIndex.hash(alias, 0, alias.length()) & mask;
+        while (keys[slot] != null && !keys[slot].equalsIgnoreCase(alias)) {
+          slot = (slot + 1) & mask;
+        }
+        if (keys[slot] == null) {
+          keys[slot] = alias;
+          values[slot] = command;
+          size++;
+        }
+      }
+    }
+    return new CommandIndex(
+        Collections.unmodifiableList(new ArrayList<>(commands)), keys, values, size);
+  }
+
+  private static int hash(@NonNull CharSequence sequence, int start, int end) {
+    int hash = 0;
+    for (int i = start; i < end; i++) {
+      hash = 31 * hash + Character.toLowerCase(Character.toUpperCase(sequence.charAt(i)));
+    }
+    return hash ^ (hash >>> 16);
+  }
+
+  private static boolean matches(
+      @NonNull String key, @NonNull CharSequence sequence, int start, int end) {
+    if (key.length() != end - start) {
+      return false;
+    }
+    if (sequence instanceof String) {
+      return key.regionMatches(true, 0, (String) sequence, start, end - start);
+    }
+    for (int i = 0; i < key.length(); i++) {
+      char a = key.charAt(i);
+      char b = sequence.charAt(start + i);
+      if (a != b
+          && Character.toUpperCase(a) != Character.toUpperCase(b)
+          && Character.toLowerCase(a) != Character.toLowerCase(b)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Get the command that has an alias equal to a region of a sequence.
+   *
+   * @param sequence the sequence that contains the alias
+   * @param start the index of the first character of the alias, inclusive
+   * @param end the index of the last character of the alias, exclusive
+   * @return the command if found else null
+   */
+  public JdaCommand get(@NonNull CharSequence sequence, int start, int end) {
+    if (this.size == 0) {
+      return null;
+    }
+    int slot = CommandIndex.hash(sequence, start, end) & this.mask;
+    String key;
+    while ((key = this.keys[slot]) != null) {
+      if (CommandIndex.matches(key, sequence, start, end)) {
+        return this.values[slot];
+      }
+      slot = (slot + 1) & this.mask;
+    }
+    return null;
+  }
+
+  /**
+   * Get the command that has an alias.
+   *
+   * @param alias the alias of the command
+   * @return the command if found else null
+   */
+  public JdaCommand get(@NonNull String alias) {
+    return this.get(alias, 0, alias.length());
+  }
+
+  /**
+   * Create a new index with the commands of this one and more commands after them. The whole index
+   * is built again, so adding commands in batches is cheaper than adding them one by one.
+   *
+   * @param commands the commands to add
+   * @return the new index
+   */
+  @NonNull
+  public CommandIndex with(@NonNull Collection<? extends JdaCommand> commands) {
+    List<JdaCommand> list = new ArrayList<>(this.commands.size() + commands.size());
+    list.addAll(this.commands);
+    list.addAll(commands);
+    return CommandIndex.of(list);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof CommandIndex)) {
+      return false;
+    }
+    List<JdaCommand> other = ((CommandIndex) o).commands;
+    if (other.size() != this.commands.size()) {
+      return false;
+    }
+    for (int i = 0; i < other.size(); i++) {
+      if (other.get(i) != this.commands.get(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = 1;
+    for (JdaCommand command : this.commands) {
+      hash = 31 * hash + System.identityHashCode(command);
+    }
+    return hash;
+  }
+}
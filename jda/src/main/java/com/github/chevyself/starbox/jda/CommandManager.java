@@ -4,26 +4,51 @@ import com.github.chevyself.starbox.Middleware;
 import com.github.chevyself.starbox.StarboxCommandManager;
 import com.github.chevyself.starbox.jda.annotations.Command;
 import com.github.chevyself.starbox.jda.annotations.Entry;
+import com.github.chevyself.starbox.jda.autocomplete.AutoCompleteHandler;
 import com.github.chevyself.starbox.jda.context.CommandContext;
 import com.github.chevyself.starbox.jda.context.GenericCommandContext;
+import com.github.chevyself.starbox.jda.cooldown.CooldownManager;
+import com.github.chevyself.starbox.jda.dispatch.CommandDispatcher;
+import com.github.chevyself.starbox.jda.latency.LatencyListener;
 import com.github.chevyself.starbox.jda.listener.CommandListener;
 import com.github.chevyself.starbox.jda.messages.JdaMessagesProvider;
 import com.github.chevyself.starbox.jda.messages.MessagesProvider;
+import com.github.chevyself.starbox.jda.middleware.BulkheadMiddleware;
+import com.github.chevyself.starbox.jda.middleware.CooldownMiddleware;
 import com.github.chevyself.starbox.jda.middleware.PermissionMiddleware;
+import com.github.chevyself.starbox.jda.middleware.RateLimitMiddleware;
+import com.github.chevyself.starbox.jda.middleware.ResultHandlingMiddleware;
 import com.github.chevyself.starbox.jda.providers.registry.JdaProvidersRegistry;
+import com.github.chevyself.starbox.jda.providers.type.JdaSuggestionProvider;
+import com.github.chevyself.starbox.jda.toggle.CommandToggles;
 import com.github.chevyself.starbox.providers.registry.ProvidersRegistry;
 import com.github.chevyself.starbox.providers.type.StarboxContextualProvider;
+import com.github.chevyself.starbox.scheduling.PriorityResolver;
+import com.github.chevyself.starbox.util.ConcurrentLongMap;
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
 import lombok.Getter;
 import lombok.NonNull;
 import net.dv8tion.jda.api.JDA;
 import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.events.GenericEvent;
 import net.dv8tion.jda.api.events.message.MessageReceivedEvent;
+import net.dv8tion.jda.api.events.session.ReadyEvent;
+import net.dv8tion.jda.api.hooks.EventListener;
+import net.dv8tion.jda.api.interactions.commands.build.CommandData;
+import net.dv8tion.jda.api.sharding.ShardManager;
 
 /**
  * The command that are registered inside this manager makes them work in the {@link #listener} this
@@ -51,19 +76,51 @@ import net.dv8tion.jda.api.events.message.MessageReceivedEvent;
  * MessagesProvider messagesProvider = ...
  * new CommandManager(new JdaProvidersRegistry(messagesProvider), messagesProvider, () -&gt; messagesProvider, jda, new ListenerOptions(), "-");
  * }</pre>
+ *
+ * <p>Bots that use a {@link ShardManager} should create a single manager with {@link
+ * #CommandManager(ProvidersRegistry, MessagesProvider, ShardManager, ListenerOptions)} instead of
+ * one for each shard: the commands, providers and cooldowns are shared by every shard, the same
+ * listener is added to all of them and the global commands are synchronized once, as they belong to
+ * the application and not to a shard.
  */
 public class CommandManager implements StarboxCommandManager<CommandContext, JdaCommand> {
 
-  @NonNull @Getter private final List<JdaCommand> commands = new ArrayList<>();
-  @NonNull @Getter private final Map<Long, List<JdaCommand>> guildCommands = new HashMap<>();
-  @NonNull @Getter private final JDA jda;
+  @NonNull @Getter private final List<JdaCommand> commands = new CopyOnWriteArrayList<>();
+  private final JDA jda;
+  private final ShardManager shardManager;
   @NonNull @Getter private final ProvidersRegistry<CommandContext> providersRegistry;
   @NonNull @Getter private final MessagesProvider messagesProvider;
   @NonNull @Getter private final List<Middleware<CommandContext>> globalMiddlewares;
   @NonNull @Getter private final List<Middleware<CommandContext>> middlewares;
+
+  @NonNull @Getter
+  private final Map<String, CooldownManager> cooldownGroups = new ConcurrentHashMap<>();
+
   @NonNull @Getter private final JdaCommandParser parser;
   @NonNull @Getter private final CommandListener listener;
   @NonNull @Getter private final ListenerOptions listenerOptions;
+  @NonNull @Getter private final AutoCompleteHandler autoCompleteHandler;
+
+  @NonNull @Getter
+  private final List<LatencyListener> latencyListeners = new CopyOnWriteArrayList<>();
+
+  /**
+   * Resolves the priority of the executions queued in the {@link CommandDispatcher}. It may be used
+   * to give a higher priority to the commands of some members.
+   */
+  @NonNull @Getter
+  private final PriorityResolver<CommandContext> priorityResolver = new PriorityResolver<>();
+
+  @NonNull private final ConcurrentLongMap<CommandIndex> guildIndexes = new ConcurrentLongMap<>();
+
+  @NonNull
+  private final Map<CommandIndex, WeakReference<CommandIndex>> sharedIndexes = new WeakHashMap<>();
+
+  @NonNull private volatile CommandIndex index = CommandIndex.EMPTY;
+  @NonNull private final AtomicBoolean synced = new AtomicBoolean();
+  private int nextId;
+  private CommandDispatcher dispatcher;
+  private CommandToggles toggles;
 
   /**
    * Create an instance.
@@ -80,20 +137,120 @@ public class CommandManager implements StarboxCommandManager<CommandContext, Jda
       @NonNull MessagesProvider messagesProvider,
       @NonNull JDA jda,
       @NonNull ListenerOptions listenerOptions) {
+    this(providersRegistry, messagesProvider, jda, null, listenerOptions);
+    jda.addEventListener(this.listener);
+  }
+
+  /**
+   * Create an instance for every shard of a {@link ShardManager}. The listener is added to all the
+   * shards and the global commands are synchronized once the first shard is ready, or right away if
+   * a shard is already connected.
+   *
+   * @param providersRegistry the providers' registry to provide the array of {@link Object} to
+   *     invoke {@link AnnotatedCommand} using reflection or to be used in {@link
+   *     GenericCommandContext}
+   * @param messagesProvider the messages provider for important messages
+   * @param shardManager the manager of the shards to add the {@link #listener} on
+   * @param listenerOptions to change some login in the {@link #listener}
+   */
+  public CommandManager(
+      @NonNull ProvidersRegistry<CommandContext> providersRegistry,
+      @NonNull MessagesProvider messagesProvider,
+      @NonNull ShardManager shardManager,
+      @NonNull ListenerOptions listenerOptions) {
+    this(providersRegistry, messagesProvider, null, shardManager, listenerOptions);
+    ReadyListener readyListener = new ReadyListener();
+    shardManager.addEventListener(this.listener, readyListener);
+    JDA shard = this.getConnectedShard();
+    if (shard != null && this.synced.compareAndSet(false, true)) {
+      shardManager.removeEventListener(readyListener);
+      this.syncCommands(shard);
+    }
+  }
+
+  private CommandManager(
+      @NonNull ProvidersRegistry<CommandContext> providersRegistry,
+      @NonNull MessagesProvider messagesProvider,
+      JDA jda,
+      ShardManager shardManager,
+      @NonNull ListenerOptions listenerOptions) {
     this.providersRegistry = providersRegistry;
     this.messagesProvider = messagesProvider;
     this.jda = jda;
+    this.shardManager = shardManager;
     this.globalMiddlewares = new ArrayList<>();
     this.middlewares = new ArrayList<>();
     this.parser = new JdaCommandParser(this);
     this.listenerOptions = listenerOptions;
+    this.autoCompleteHandler = new AutoCompleteHandler(this);
     this.listener = new CommandListener(this, listenerOptions, messagesProvider);
-    jda.addEventListener(this.listener);
   }
 
   /**
-   * Get the command instance that matches the name and guild. This will loop through all the {@link
-   * #guildCommands} and {@link #commands} until one is {@link JdaCommand#hasAlias(String)} = true
+   * Get the instance of JDA in which this manager was created. Managers created for a {@link
+   * ShardManager} do not have a single instance, the one of the shard where a command was executed
+   * can be taken from its {@link CommandContext#getJda()}.
+   *
+   * @return the instance of JDA
+   * @throws IllegalStateException if this manager was created for a {@link ShardManager}
+   */
+  @NonNull
+  public JDA getJda() {
+    if (this.jda == null) {
+      throw new IllegalStateException("This manager was created for a ShardManager");
+    }
+    return this.jda;
+  }
+
+  /**
+   * Get the manager of the shards in which this manager was created.
+   *
+   * @return a {@link Optional} wrapping the shard manager or empty if this manager was created for
+   *     a single instance of JDA
+   */
+  @NonNull
+  public Optional<ShardManager> getShardManager() {
+    return Optional.ofNullable(this.shardManager);
+  }
+
+  /**
+   * Replace the global commands of the application with the {@link #commands} of this manager. When
+   * created for a {@link ShardManager} this is done automatically once the first shard is ready,
+   * commands registered later are added one by one. Global commands belong to the application so a
+   * single request is made using any of the connected shards.
+   *
+   * @throws IllegalStateException if no shard is connected
+   */
+  public void syncCommands() {
+    JDA jda = this.jda == null ? this.getConnectedShard() : this.jda;
+    if (jda == null) {
+      throw new IllegalStateException("There is no connected shard to synchronize the commands");
+    }
+    this.synced.set(true);
+    this.syncCommands(jda);
+  }
+
+  private void syncCommands(@NonNull JDA jda) {
+    List<CommandData> data = new ArrayList<>(this.commands.size());
+    for (JdaCommand command : this.commands) {
+      data.add(command.getCommandData());
+    }
+    jda.updateCommands().addCommands(data).queue();
+  }
+
+  private JDA getConnectedShard() {
+    for (JDA shard : this.shardManager.getShards()) {
+      if (shard.getStatus() == JDA.Status.CONNECTED) {
+        return shard;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Get the command instance that matches the name and guild. The commands of the guild are looked
+   * up first and then the {@link #commands}, matching in the same way as {@link
+   * JdaCommand#hasAlias(String)}
    *
    * @param guild the guild to find the command
    * @param name the name to match the command
@@ -104,8 +261,8 @@ public class CommandManager implements StarboxCommandManager<CommandContext, Jda
   }
 
   /**
-   * Get the command instance that matches the name. This will loop through all the {@link
-   * #commands} until one is {@link JdaCommand#hasAlias(String)} = true.
+   * Get the command instance that matches the name in the {@link #commands}, matching in the same
+   * way as {@link JdaCommand#hasAlias(String)}.
    *
    * @param name the name to match the command
    * @return the instance of the command if found else null
@@ -115,37 +272,44 @@ public class CommandManager implements StarboxCommandManager<CommandContext, Jda
   }
 
   /**
-   * Get the command instance that matches the name and guild. This will loop through all the {@link
-   * #guildCommands} and {@link #commands} until one is {@link JdaCommand#hasAlias(String)} = true
+   * Get the command instance that matches the name and guild. The commands of the guild are looked
+   * up first and then the {@link #commands}, matching in the same way as {@link
+   * JdaCommand#hasAlias(String)}
    *
    * @param guild the id of the guild to find the command
    * @param name the name to match the command
    * @return the instance of the command if found else null
    */
   public JdaCommand getCommand(long guild, @NonNull String name) {
+    return this.getCommand(guild, name, 0, name.length());
+  }
+
+  /**
+   * Get the command instance that matches a region of a sequence, such as the content of a message.
+   * This does not create a substring of the sequence nor allocates any object.
+   *
+   * @param guild the id of the guild to find the command or 0 for global commands only
+   * @param sequence the sequence that contains the name of the command
+   * @param start the index of the first character of the name, inclusive
+   * @param end the index of the last character of the name, exclusive
+   * @return the instance of the command if found else null
+   */
+  public JdaCommand getCommand(long guild, @NonNull CharSequence sequence, int start, int end) {
     if (guild > 0) {
-      List<JdaCommand> commands = this.guildCommands.get(guild);
-      if (commands != null) {
-        for (JdaCommand command : commands) {
-          if (command.hasAlias(name)) {
-            return command;
-          }
+      CommandIndex guildIndex = this.guildIndexes.get(guild);
+      if (guildIndex != null) {
+        JdaCommand command = guildIndex.get(sequence, start, end);
+        if (command != null) {
+          return command;
         }
       }
     }
-    for (JdaCommand command : this.commands) {
-      if (command.hasAlias(name)) {
-        return command;
-      }
-    }
-    return null;
+    return this.index.get(sequence, start, end);
   }
 
   @Override
   public @NonNull CommandManager register(@NonNull JdaCommand command) {
-    this.commands.add(command);
-    this.jda.upsertCommand(command.getCommandData());
-    return this;
+    return this.registerAll(Collections.singletonList(command));
   }
 
   /**
@@ -156,15 +320,75 @@ public class CommandManager implements StarboxCommandManager<CommandContext, Jda
    * @return this same instance
    */
   public @NonNull CommandManager register(@NonNull Guild guild, @NonNull JdaCommand command) {
-    long id = guild.getIdLong();
-    this.getCommands(guild).add(command);
-    guild.upsertCommand(command.getCommandData()).queue();
-    return this;
+    return this.registerAll(guild, Collections.singletonList(command));
   }
 
+  private void giveId(@NonNull JdaCommand command) {
+    synchronized (this) {
+      if (command.setId(this.nextId)) {
+        this.nextId++;
+      }
+    }
+    if (this.toggles != null) {
+      this.toggles.invalidateAll();
+    }
+  }
+
+  /**
+   * Get the commands that only run in a guild.
+   *
+   * @param guild the id of the guild
+   * @return an unmodifiable list with the commands of the guild
+   */
+  @NonNull
+  public List<JdaCommand> getGuildCommands(long guild) {
+    CommandIndex index = this.guildIndexes.get(guild);
+    return index == null ? Collections.emptyList() : index.getCommands();
+  }
+
+  /**
+   * Get the commands that only run in each guild. This creates a copy of the commands of every
+   * guild, use {@link #getGuildCommands(long)} to get the commands of a single guild.
+   *
+   * @return a map with the id of the guilds and their commands
+   * @deprecated guild commands are no longer kept in a map
+   */
+  @NonNull
+  @Deprecated
+  public Map<Long, List<JdaCommand>> getGuildCommands() {
+    Map<Long, List<JdaCommand>> map = new HashMap<>();
+    this.guildIndexes.forEach((guild, index) -> map.put(guild, index.getCommands()));
+    return map;
+  }
+
+  /**
+   * Get the amount of distinct sets of commands used by the guilds. Guilds that have the same
+   * instances of commands share a single index, see {@link #registerAll(Collection, Collection)}.
+   *
+   * @return the amount of distinct sets of commands
+   */
+  public int getSharedIndexCount() {
+    synchronized (this.sharedIndexes) {
+      return this.sharedIndexes.size();
+    }
+  }
+
+  /**
+   * Get the index equal to the given one that is already used by another guild, or keep the given
+   * one to be shared. Must be called while holding the lock of {@link #sharedIndexes}.
+   *
+   * @param index the index to share
+   * @return the shared index
+   */
   @NonNull
-  private List<JdaCommand> getCommands(@NonNull Guild guild) {
-    return this.guildCommands.computeIfAbsent(guild.getIdLong(), id -> new ArrayList<>());
+  private CommandIndex share(@NonNull CommandIndex index) {
+    WeakReference<CommandIndex> reference = this.sharedIndexes.get(index);
+    CommandIndex shared = reference == null ? null : reference.get();
+    if (shared == null) {
+      this.sharedIndexes.put(index, new WeakReference<>(index));
+      return index;
+    }
+    return shared;
   }
 
   @NonNull
@@ -193,9 +417,29 @@ public class CommandManager implements StarboxCommandManager<CommandContext, Jda
     return (CommandManager) StarboxCommandManager.super.parseAndRegisterAll(objects);
   }
 
+  /**
+   * Register a collection of commands. The index of the commands is built once for the whole
+   * collection, so commands are better registered in batches than one by one.
+   *
+   * @param commands the collection of commands to register
+   * @return this same instance
+   */
   @Override
   public @NonNull CommandManager registerAll(@NonNull Collection<? extends JdaCommand> commands) {
-    return (CommandManager) StarboxCommandManager.super.registerAll(commands);
+    commands.forEach(this::giveId);
+    this.commands.addAll(commands);
+    this.index = CommandIndex.of(this.commands);
+    for (JdaCommand command : commands) {
+      if (this.jda != null) {
+        this.jda.upsertCommand(command.getCommandData()).queue();
+      } else if (this.synced.get()) {
+        JDA shard = this.getConnectedShard();
+        if (shard != null) {
+          shard.upsertCommand(command.getCommandData()).queue();
+        }
+      }
+    }
+    return this;
   }
 
   @Override
@@ -206,6 +450,10 @@ public class CommandManager implements StarboxCommandManager<CommandContext, Jda
   /**
    * Parse and register and commands that will only run in an assigned guild.
    *
+   * <p>Each call parses new instances of the commands, so guilds registered with this method never
+   * share an index. To give the same commands to many guilds use {@link
+   * #parseAndRegister(Collection, Object)}.
+   *
    * @param guild the guild that will be allowed to use the commands
    * @param object the object to parse the commands
    * @return this same instance
@@ -214,6 +462,19 @@ public class CommandManager implements StarboxCommandManager<CommandContext, Jda
     return this.registerAll(guild, parser.parseCommands(object));
   }
 
+  /**
+   * Parse commands once and register them in many guilds, so the guilds that had the same commands
+   * share a single index, see {@link #registerAll(Collection, Collection)}.
+   *
+   * @param guilds the guilds that will be allowed to use the commands
+   * @param object the object to parse the commands
+   * @return this same instance
+   */
+  public @NonNull CommandManager parseAndRegister(
+      @NonNull Collection<? extends Guild> guilds, @NonNull Object object) {
+    return this.registerAll(guilds, parser.parseCommands(object));
+  }
+
   /**
    * Parse and register and commands that will only run in an assigned guild.
    *
@@ -235,8 +496,44 @@ public class CommandManager implements StarboxCommandManager<CommandContext, Jda
    */
   public @NonNull CommandManager registerAll(
       @NonNull Guild guild, @NonNull Collection<? extends JdaCommand> commands) {
-    for (JdaCommand command : commands) {
-      this.register(guild, command);
+    return this.registerAll(Collections.singletonList(guild), commands);
+  }
+
+  /**
+   * Register a collection of commands inside this manager that will only run in some guilds.
+   *
+   * <p>Guilds share an index when they have the same instances of commands in the same order, this
+   * is the supported way to share them: registering a single collection of commands in many guilds.
+   * The new index is built once for all the guilds that had the same commands, so commands are
+   * better registered in batches than one by one.
+   *
+   * @param guilds the guilds that will be allowed to use the commands
+   * @param commands the collection to register
+   * @return this same instance
+   */
+  public @NonNull CommandManager registerAll(
+      @NonNull Collection<? extends Guild> guilds,
+      @NonNull Collection<? extends JdaCommand> commands) {
+    commands.forEach(this::giveId);
+    synchronized (this.sharedIndexes) {
+      Map<CommandIndex, CommandIndex> built = new IdentityHashMap<>();
+      for (Guild guild : guilds) {
+        CommandIndex current = this.guildIndexes.get(guild.getIdLong());
+        if (current == null) {
+          current = CommandIndex.EMPTY;
+        }
+        CommandIndex index = built.get(current);
+        if (index == null) {
+          index = this.share(current.with(commands));
+          built.put(current, index);
+        }
+        this.guildIndexes.put(guild.getIdLong(), index);
+      }
+    }
+    for (Guild guild : guilds) {
+      for (JdaCommand command : commands) {
+        guild.upsertCommand(command.getCommandData()).queue();
+      }
     }
     return this;
   }
@@ -256,7 +553,12 @@ public class CommandManager implements StarboxCommandManager<CommandContext, Jda
   @Override
   public void close() {
     this.commands.clear();
-    jda.removeEventListener(listener);
+    this.index = CommandIndex.EMPTY;
+    if (this.jda != null) {
+      this.jda.removeEventListener(this.listener);
+    } else {
+      this.shardManager.removeEventListener(this.listener);
+    }
   }
 
   @SafeVarargs
@@ -282,6 +584,32 @@ public class CommandManager implements StarboxCommandManager<CommandContext, Jda
     return this;
   }
 
+  /**
+   * Adds the default middlewares.
+   *
+   * <p>The default middlewares are:
+   *
+   * <ul>
+   *   <li>{@link RateLimitMiddleware}
+   *   <li>{@link CooldownMiddleware}
+   *   <li>{@link PermissionMiddleware}
+   *   <li>{@link BulkheadMiddleware}
+   *   <li>{@link ResultHandlingMiddleware}
+   * </ul>
+   *
+   * @return this same instance
+   */
+  @NonNull
+  public CommandManager addDefaultMiddlewares() {
+    this.addGlobalMiddlewares(
+        new RateLimitMiddleware(),
+        new CooldownMiddleware(),
+        new PermissionMiddleware(),
+        new BulkheadMiddleware(),
+        new ResultHandlingMiddleware());
+    return this;
+  }
+
   @Override
   public @NonNull CommandManager registerAllIn(@NonNull String packageName) {
     return (CommandManager) StarboxCommandManager.super.registerAllIn(packageName);
@@ -292,4 +620,123 @@ public class CommandManager implements StarboxCommandManager<CommandContext, Jda
     this.middlewares.add(middleware);
     return this;
   }
+
+  /**
+   * Add a cooldown group to this manager. Commands that use the name of the group in their
+   * annotation will share the given cooldown manager.
+   *
+   * @param name the name of the group
+   * @param cooldown the cooldown manager of the group
+   * @return this same instance
+   */
+  @NonNull
+  public CommandManager addCooldownGroup(@NonNull String name, @NonNull CooldownManager cooldown) {
+    this.cooldownGroups.put(name, cooldown);
+    return this;
+  }
+
+  @Override
+  public @NonNull Optional<CooldownManager> getCooldownGroup(@NonNull String name) {
+    return Optional.ofNullable(this.cooldownGroups.get(name));
+  }
+
+  /**
+   * Add a provider of suggestions for slash command options. Providers must be added before
+   * registering the commands that use them, so their options are registered with auto complete.
+   *
+   * @param provider the provider to add
+   * @return this same instance
+   */
+  @NonNull
+  public CommandManager addSuggestionProvider(@NonNull JdaSuggestionProvider<?> provider) {
+    this.autoCompleteHandler.addProvider(provider);
+    return this;
+  }
+
+  /**
+   * Set the dispatcher that executes the commands outside the event thread of JDA. If the
+   * dispatcher is null commands are executed in the event thread. The dispatcher is not closed when
+   * this manager is closed.
+   *
+   * @param dispatcher the new dispatcher or null to execute in the event thread
+   * @return this same instance
+   */
+  @NonNull
+  public CommandManager setDispatcher(CommandDispatcher dispatcher) {
+    this.dispatcher = dispatcher;
+    return this;
+  }
+
+  /**
+   * Set the toggles that allow guilds to disable commands. If the toggles are null every command is
+   * enabled.
+   *
+   * @param toggles the new toggles or null to enable every command
+   * @return this same instance
+   */
+  @NonNull
+  public CommandManager setToggles(CommandToggles toggles) {
+    this.toggles = toggles;
+    return this;
+  }
+
+  /**
+   * Get the toggles that allow guilds to disable commands.
+   *
+   * @return a {@link Optional} wrapping the toggles or empty if every command is enabled
+   */
+  @NonNull
+  public Optional<CommandToggles> getToggles() {
+    return Optional.ofNullable(this.toggles);
+  }
+
+  /**
+   * Check whether a command is enabled in a guild.
+   *
+   * @param guild the id of the guild or 0 for private messages
+   * @param command the command to check
+   * @return true if there are no toggles or the command is enabled in the guild
+   */
+  public boolean isEnabled(long guild, @NonNull JdaCommand command) {
+    CommandToggles toggles = this.toggles;
+    return toggles == null || toggles.isEnabled(guild, command);
+  }
+
+  /**
+   * Add a listener of the timings of the executions. Timings are only measured while there is at
+   * least one listener.
+   *
+   * @param listener the listener to add
+   * @return this same instance
+   */
+  @NonNull
+  public CommandManager addLatencyListener(@NonNull LatencyListener listener) {
+    this.latencyListeners.add(listener);
+    return this;
+  }
+
+  /**
+   * Get the dispatcher that executes the commands outside the event thread of JDA.
+   *
+   * @return a {@link Optional} wrapping the dispatcher or empty if commands are executed in the
+   *     event thread
+   */
+  @NonNull
+  public Optional<CommandDispatcher> getDispatcher() {
+    return Optional.ofNullable(this.dispatcher);
+  }
+
+  /** Synchronizes the global commands when the first shard is ready and then removes itself. */
+  private class ReadyListener implements EventListener {
+
+    @Override
+    public void onEvent(@NonNull GenericEvent event) {
+      if (event instanceof ReadyEvent) {
+        CommandManager.this.shardManager.removeEventListener(this);
+        if (CommandManager.this.synced.compareAndSet(false, true)) {
+          CommandManager.this.syncCommands(event.getJDA());
+        }
+      }
+    }
+  }
 }
@@ -190,7 +190,7 @@ public class GenericListenerOptions implements ListenerOptions {
       } else if (this.isDeleteErrors() && result.getType().isError()) {
         return this.getErrorDeleteConsumer();
       } else if (this.isDeleteSuccess() && !result.getType().isError()) {
-        if (!context.getCommand().getMap().containsKey("excluded")) {
+        if (!context.getCommand().isExcluded()) {
           return this.getSuccessDeleteConsumer();
         }
       }
@@ -1,17 +1,32 @@
 package com.github.chevyself.starbox.jda;
 
 import com.github.chevyself.starbox.Middleware;
+import com.github.chevyself.starbox.MiddlewareChain;
 import com.github.chevyself.starbox.StarboxCommand;
 import com.github.chevyself.starbox.flags.Option;
 import com.github.chevyself.starbox.jda.annotations.Command;
 import com.github.chevyself.starbox.jda.context.CommandContext;
 import com.github.chevyself.starbox.jda.cooldown.CooldownManager;
+import com.github.chevyself.starbox.jda.cooldown.RateLimiter;
+import com.github.chevyself.starbox.jda.latency.CommandTimings;
+import com.github.chevyself.starbox.jda.latency.DispatchPhase;
+import com.github.chevyself.starbox.jda.result.FutureResult;
 import com.github.chevyself.starbox.jda.result.JdaResult;
+import com.github.chevyself.starbox.jda.result.Result;
+import com.github.chevyself.starbox.jda.result.ResultType;
+import com.github.chevyself.starbox.result.StarboxResult;
+import com.github.chevyself.starbox.util.Throwables;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import lombok.Getter;
 import lombok.NonNull;
+import net.dv8tion.jda.api.Permission;
 import net.dv8tion.jda.api.interactions.commands.build.Commands;
 import net.dv8tion.jda.api.interactions.commands.build.SlashCommandData;
 import net.dv8tion.jda.api.interactions.commands.build.SubcommandData;
@@ -33,6 +48,25 @@ public abstract class JdaCommand implements StarboxCommand<CommandContext, JdaCo
   @NonNull @Getter protected final List<Option> options;
   @NonNull @Getter protected final List<Middleware<CommandContext>> middlewares;
   protected final CooldownManager cooldown;
+  protected final RateLimiter rateLimiter;
+  /**
+   * The permissions that a member requires to execute the command. Parsed from the 'permission'
+   * entry of the {@link #map}, which may contain many permissions separated by commas.
+   */
+  @NonNull @Getter protected final Set<Permission> permissions;
+  /** The raw value of the {@link #permissions}. */
+  @Getter protected final long permissionsRaw;
+  /**
+   * Whether the result of this command is excluded from being deleted, this is true if the {@link
+   * #map} contains the 'excluded' entry.
+   */
+  @Getter protected final boolean excluded;
+  /**
+   * The dense id given by the {@link CommandManager} when the command is registered, -1 if the
+   * command has not been registered. It is given before the command is published to the threads of
+   * the listener and it is volatile, so they never miss it when checking the toggles.
+   */
+  @Getter private volatile int id = -1;
 
   /**
    * Construct the command.
@@ -43,6 +77,7 @@ public abstract class JdaCommand implements StarboxCommand<CommandContext, JdaCo
    * @param options the list of options for the command execution
    * @param middlewares the list of middlewares to execute before/after the command
    * @param cooldown the cooldown manager of the command
+   * @param rateLimiter the limiter for the rate of executions of the command
    */
   public JdaCommand(
       @NonNull CommandManager manager,
@@ -50,13 +85,63 @@ public abstract class JdaCommand implements StarboxCommand<CommandContext, JdaCo
       @NonNull Map<String, String> map,
       @NonNull List<Option> options,
       @NonNull List<Middleware<CommandContext>> middlewares,
-      CooldownManager cooldown) {
+      CooldownManager cooldown,
+      RateLimiter rateLimiter) {
     this.manager = manager;
     this.description = description;
     this.map = map;
     this.options = options;
     this.middlewares = middlewares;
     this.cooldown = cooldown;
+    this.rateLimiter = rateLimiter;
+    this.permissions = JdaCommand.parsePermissions(map.get("permission"));
+    this.permissionsRaw = Permission.getRaw(this.permissions);
+    this.excluded = map.containsKey("excluded");
+  }
+
+  /**
+   * Construct the command.
+   *
+   * @param manager the manager in which the command is going to be registered
+   * @param description a short description of the command
+   * @param map the map which contains details of the command
+   * @param options the list of options for the command execution
+   * @param middlewares the list of middlewares to execute before/after the command
+   * @param cooldown the cooldown manager of the command
+   */
+  public JdaCommand(
+      @NonNull CommandManager manager,
+      @NonNull String description,
+      @NonNull Map<String, String> map,
+      @NonNull List<Option> options,
+      @NonNull List<Middleware<CommandContext>> middlewares,
+      CooldownManager cooldown) {
+    this(manager, description, map, options, middlewares, cooldown, null);
+  }
+
+  /**
+   * Parse the permissions in the map of a command. Names that do not match a {@link Permission} are
+   * ignored.
+   *
+   * @param value the value in the map
+   * @return an unmodifiable set with the permissions
+   */
+  @NonNull
+  private static Set<Permission> parsePermissions(String value) {
+    if (value == null || value.trim().isEmpty()) {
+      return Collections.emptySet();
+    }
+    EnumSet<Permission> permissions = EnumSet.noneOf(Permission.class);
+    for (String name : value.split("[,\\s]+")) {
+      try {
+        Permission permission = Permission.valueOf(name.trim().toUpperCase(Locale.ROOT));
+        if (permission != Permission.UNKNOWN) {
+          permissions.add(permission);
+        }
+      } catch (IllegalArgumentException ignored) {
+      }
+    }
+    return Collections.unmodifiableSet(permissions);
   }
 
   /**
@@ -100,22 +185,105 @@ public abstract class JdaCommand implements StarboxCommand<CommandContext, JdaCo
         return command.execute(context.getChildren(command));
       }
     }
-    return this.getMiddlewares().stream()
-        .map(middleware -> middleware.next(context))
-        .filter(Optional::isPresent)
-        .map(Optional::get)
-        .findFirst()
-        .map(
-            starboxResult -> {
-              // Here maybe thrown an error because the wrong result was provided
-              return starboxResult instanceof JdaResult ? (JdaResult) starboxResult : null;
-            })
-        .orElseGet(
-            () -> {
-              JdaResult run = this.run(context);
-              this.getMiddlewares().forEach(middleware -> middleware.next(context, run));
-              return run;
-            });
+    long start = System.nanoTime();
+    if (MiddlewareChain.isAsync(this.getMiddlewares())) {
+      return this.executeAsync(context, start);
+    }
+    Optional<JdaResult> rejected;
+    try {
+      rejected =
+          this.getMiddlewares().stream()
+              .map(middleware -> middleware.next(context))
+              .filter(Optional::isPresent)
+              .map(Optional::get)
+              .findFirst()
+              .map(JdaCommand::toJdaResult);
+    } catch (RuntimeException e) {
+      Middleware.complete(this.getMiddlewares(), context);
+      throw e;
+    }
+    context.getTimings().ifPresent(timings -> timings.record(DispatchPhase.MIDDLEWARE, start));
+    if (rejected.isPresent()) {
+      Middleware.complete(this.getMiddlewares(), context);
+      return rejected.get();
+    }
+    return this.proceed(context);
+  }
+
+  /**
+   * Execute the command when some of its middlewares are {@link
+   * com.github.chevyself.starbox.AsyncMiddleware}. JDA does not require a thread to run commands,
+   * so the command runs in the thread that completed the last middleware that had to wait.
+   *
+   * @param context the context to execute the command
+   * @param start the time in nanoseconds at which the middlewares started
+   * @return the result that completes with the result of a middleware or the command
+   */
+  @NonNull
+  private FutureResult executeAsync(@NonNull CommandContext context, long start) {
+    context.getTimings().ifPresent(CommandTimings::retain);
+    CompletableFuture<Optional<StarboxResult>> before =
+        MiddlewareChain.next(this.getMiddlewares(), context)
+            .whenComplete(
+                (rejected, fail) -> {
+                  context
+                      .getTimings()
+                      .ifPresent(timings -> timings.record(DispatchPhase.MIDDLEWARE, start));
+                  if (fail != null || rejected.isPresent()) {
+                    // The command does not run, so the execution is over
+                    Middleware.complete(this.getMiddlewares(), context);
+                  }
+                });
+    return new FutureResult(
+        MiddlewareChain.proceed(
+                before, JdaCommand::toJdaResult, () -> this.proceed(context), Runnable::run)
+            .handle(
+                (result, fail) -> {
+                  context.getTimings().ifPresent(CommandTimings::release);
+                  if (fail != null) {
+                    fail.printStackTrace();
+                    return Result.forType(ResultType.ERROR)
+                        .setDescription(
+                            Throwables.getMessage(fail)
+                                .orElseGet(() -> context.getMessagesProvider().failed(context)))
+                        .build();
+                  }
+                  return result;
+                }));
+  }
+
+  /**
+   * Run the command once the middlewares let it and then the middlewares after it.
+   *
+   * @param context the context to execute the command
+   * @return the result of the command
+   */
+  private JdaResult proceed(@NonNull CommandContext context) {
+    JdaResult run;
+    try {
+      run = this.run(context);
+    } catch (RuntimeException e) {
+      Middleware.complete(this.getMiddlewares(), context);
+      throw e;
+    }
+    if (run instanceof FutureResult) {
+      Middleware.finish(this.getMiddlewares(), context, run)
+          .whenComplete(
+              (nothing, fail) -> {
+                if (fail != null) {
+                  fail.printStackTrace();
+                }
+                context.getTimings().ifPresent(CommandTimings::release);
+              });
+    } else {
+      Middleware.finish(this.getMiddlewares(), context, run);
+    }
+    return run;
+  }
+
+  private static JdaResult toJdaResult(@NonNull StarboxResult starboxResult) {
+    // Here maybe thrown an error because the wrong result was provided
+    return starboxResult instanceof JdaResult ? (JdaResult) starboxResult : null;
   }
 
   @Override
@@ -147,8 +315,27 @@ public abstract class JdaCommand implements StarboxCommand<CommandContext, JdaCo
     return new SubcommandData(this.getName(), this.getDescription());
   }
 
+  /**
+   * Give an id to the command if it does not have one already.
+   *
+   * @param id the id to give
+   * @return whether the id was given
+   */
+  boolean setId(int id) {
+    if (this.id >= 0) {
+      return false;
+    }
+    this.id = id;
+    return true;
+  }
+
   @Override
   public @NonNull Optional<CooldownManager> getCooldownManager() {
     return Optional.ofNullable(this.cooldown);
   }
+
+  @Override
+  public @NonNull Optional<RateLimiter> getRateLimiter() {
+    return Optional.ofNullable(this.rateLimiter);
+  }
 }
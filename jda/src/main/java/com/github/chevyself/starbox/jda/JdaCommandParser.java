@@ -3,15 +3,19 @@ package com.github.chevyself.starbox.jda;
 import com.github.chevyself.starbox.Middleware;
 import com.github.chevyself.starbox.StarboxCommandManager;
 import com.github.chevyself.starbox.arguments.Argument;
+import com.github.chevyself.starbox.exceptions.CommandRegistrationException;
 import com.github.chevyself.starbox.flags.Option;
 import com.github.chevyself.starbox.jda.annotations.Command;
 import com.github.chevyself.starbox.jda.annotations.Entry;
 import com.github.chevyself.starbox.jda.context.CommandContext;
 import com.github.chevyself.starbox.jda.cooldown.CooldownManager;
+import com.github.chevyself.starbox.jda.cooldown.RateLimiter;
 import com.github.chevyself.starbox.jda.result.JdaResult;
+import com.github.chevyself.starbox.jda.result.JdaResultBuilder;
 import com.github.chevyself.starbox.jda.result.Result;
 import com.github.chevyself.starbox.jda.result.ResultType;
 import com.github.chevyself.starbox.parsers.CommandParser;
+import com.github.chevyself.starbox.result.StarboxFutureResult;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -53,7 +57,8 @@ public class JdaCommandParser implements CommandParser<Command, CommandContext,
           this.getMap(command),
           Option.of(command.options()),
           this.getMiddlewares(command),
-          CooldownManager.of(command).orElse(null)) {
+          this.getCooldown(command),
+          RateLimiter.of(command.rateLimit()).orElse(null)) {
         @Override
         public @NonNull List<String> getAliases() {
           return aliases;
@@ -74,6 +79,22 @@ public class JdaCommandParser implements CommandParser<Command, CommandContext,
     };
   }
 
+  private CooldownManager getCooldown(@NonNull Command annotation) {
+    if (annotation.cooldownGroup().isEmpty()) {
+      return CooldownManager.of(annotation).orElse(null);
+    }
+    return commandManager
+        .getCooldownGroups()
+        .computeIfAbsent(
+            annotation.cooldownGroup(),
+            group ->
+                CooldownManager.of(annotation)
+                    .orElseThrow(
+                        () ->
+                            new CommandRegistrationException(
+                                "The cooldown group " + group + " is not registered")));
+  }
+
   @NonNull
   private List<Middleware<CommandContext>> getMiddlewares(@NonNull Command command) {
     return StarboxCommandManager.getMiddlewares(
@@ -95,8 +116,14 @@ public class JdaCommandParser implements CommandParser<Command, CommandContext,
   @Override
   public void checkReturnType(@NonNull Method method) {
     if (!JdaResult.class.isAssignableFrom(method.getReturnType())
-        && !method.getReturnType().equals(Void.TYPE)) {
-      throw new IllegalArgumentException(method + " must return void or " + JdaResult.class);
+        && !method.getReturnType().equals(Void.TYPE)
+        && !StarboxFutureResult.returnsFuture(method, JdaResult.class, JdaResultBuilder.class)) {
+      throw new IllegalArgumentException(
+          method
+              + " must return void, "
+              + JdaResult.class
+              + " or a CompletionStage of "
+              + JdaResult.class);
     }
   }
 
@@ -109,7 +136,8 @@ public class JdaCommandParser implements CommandParser<Command, CommandContext,
         this.getMap(annotation),
         Option.of(annotation.options()),
         this.getMiddlewares(annotation),
-        CooldownManager.of(annotation).orElse(null),
+        this.getCooldown(annotation),
+        RateLimiter.of(annotation.rateLimit()).orElse(null),
         Arrays.asList(annotation.aliases()),
         method,
         object,
@@ -73,6 +73,22 @@ public interface ListenerOptions {
   @NonNull
   String getPrefix(Guild guild);
 
+  /**
+   * Match the content of a message with the prefixes of a {@link Guild}. This is called for every
+   * message that the bot receives so it should not allocate, implementations that have several
+   * prefixes per guild such as {@link com.github.chevyself.starbox.jda.prefix.PrefixStore} may
+   * override it.
+   *
+   * @param guild the guild where the message was sent or null if it was not sent in one
+   * @param content the raw content of the message
+   * @return the length of the prefix that the content starts with or -1 if it does not start with a
+   *     prefix
+   */
+  default int matchPrefix(Guild guild, @NonNull String content) {
+    String prefix = this.getPrefix(guild);
+    return content.startsWith(prefix) ? prefix.length() : -1;
+  }
+
   /**
    * Handle the result from a command execution.
    *
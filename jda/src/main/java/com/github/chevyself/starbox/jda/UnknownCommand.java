@@ -9,7 +9,12 @@ import java.util.HashMap;
 import java.util.List;
 import lombok.NonNull;
 
-/** This represents a command which wasn't found in {@link CommandManager}. */
+/**
+ * This represents a command which wasn't found in {@link CommandManager}.
+ *
+ * @deprecated the listener no longer executes commands that are not found
+ */
+@Deprecated
 public class UnknownCommand extends JdaCommand {
 
   @NonNull private final String name;
@@ -0,0 +1,345 @@
+package com.github.chevyself.starbox.jda.autocomplete;
+
+import com.github.chevyself.starbox.arguments.Argument;
+import com.github.chevyself.starbox.arguments.SingleArgument;
+import com.github.chevyself.starbox.flags.CommandLineParser;
+import com.github.chevyself.starbox.jda.AnnotatedCommand;
+import com.github.chevyself.starbox.jda.CommandManager;
+import com.github.chevyself.starbox.jda.JdaCommand;
+import com.github.chevyself.starbox.jda.context.AutoCompleteContext;
+import com.github.chevyself.starbox.jda.providers.type.JdaSuggestionProvider;
+import com.github.chevyself.starbox.util.ConcurrentLongMap;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.Getter;
+import lombok.NonNull;
+import net.dv8tion.jda.api.entities.channel.Channel;
+import net.dv8tion.jda.api.events.interaction.command.CommandAutoCompleteInteractionEvent;
+import net.dv8tion.jda.api.interactions.AutoCompleteQuery;
+import net.dv8tion.jda.api.interactions.commands.Command;
+import net.dv8tion.jda.api.interactions.commands.OptionMapping;
+
+/**
+ * Answers the {@link CommandAutoCompleteInteractionEvent} of the commands in a {@link
+ * CommandManager}.
+ *
+ * <p>The suggestions of an argument come from the {@link JdaSuggestionProvider} registered for its
+ * class or, if there is none, from the suggestions given in its annotation, which are indexed the
+ * first time they are used.
+ *
+ * <p>Providers are called using the {@link #getExecutor()} and have a latency budget: if the
+ * provider does not answer in time the suggestions of the annotation are sent instead, as Discord
+ * only waits 3 seconds for a response. The index given by a provider is cached for each user and
+ * channel for a short time, so while a user types the provider is called once and the next keys are
+ * answered by filtering the cached index.
+ */
+public class AutoCompleteHandler {
+
+  @NonNull
+  private static final ScheduledExecutorService TIMEOUTS = AutoCompleteHandler.createTimeouts();
+
+  @NonNull private final CommandManager manager;
+
+  @NonNull
+  private final Map<Class<?>, JdaSuggestionProvider<?>> providers = new ConcurrentHashMap<>();
+
+  @NonNull
+  private final Map<SingleArgument<?>, SuggestionIndex> indexes = new ConcurrentHashMap<>();
+
+  @NonNull private final ConcurrentLongMap<Cached> cache;
+
+  /** The executor used to call the providers. */
+  @NonNull @Getter private Executor executor = ForkJoinPool.commonPool();
+  /** The maximum time to wait for a provider. */
+  @NonNull @Getter private Duration budget = Duration.ofMillis(2000);
+  /** The time that the index of a provider is cached for a user. */
+  @NonNull @Getter private Duration ttl = Duration.ofSeconds(5);
+
+  /**
+   * Create the handler.
+   *
+   * @param manager the manager of the commands
+   * @param maximumSize the maximum amount of users to cache the suggestions for
+   */
+  public AutoCompleteHandler(@NonNull CommandManager manager, int maximumSize) {
+    this.manager = manager;
+    this.cache = new ConcurrentLongMap<>(maximumSize);
+  }
+
+  /**
+   * Create the handler. Suggestions are cached for at most 1000 users.
+   *
+   * @param manager the manager of the commands
+   */
+  public AutoCompleteHandler(@NonNull CommandManager manager) {
+    this(manager, 1000);
+  }
+
+  @NonNull
+  private static ScheduledExecutorService createTimeouts() {
+    ScheduledThreadPoolExecutor executor =
+        new ScheduledThreadPoolExecutor(
+            1,
+            runnable -> {
+              Thread thread = new Thread(runnable, "starbox-autocomplete-timeout");
+              thread.setDaemon(true);
+              return thread;
+            });
+    executor.setRemoveOnCancelPolicy(true);
+    return executor;
+  }
+
+  /**
+   * Register a provider of suggestions.
+   *
+   * @param provider the provider to register
+   * @return this same instance
+   */
+  @NonNull
+  public AutoCompleteHandler addProvider(@NonNull JdaSuggestionProvider<?> provider) {
+    this.providers.put(provider.getClazz(), provider);
+    return this;
+  }
+
+  /**
+   * Get the provider of suggestions for a class.
+   *
+   * @param clazz the class of the argument
+   * @return a {@link Optional} wrapping the provider or empty if there is none
+   */
+  @NonNull
+  public Optional<JdaSuggestionProvider<?>> getProvider(@NonNull Class<?> clazz) {
+    return Optional.ofNullable(this.providers.get(clazz));
+  }
+
+  /**
+   * Check whether an argument has suggestions, so it should be registered with auto complete.
+   *
+   * @param argument the argument to check
+   * @return true if the argument has suggestions
+   */
+  public boolean hasSuggestions(@NonNull SingleArgument<?> argument) {
+    return argument.hasSuggestions() || this.providers.containsKey(argument.getClazz());
+  }
+
+  /**
+   * Set the executor used to call the providers.
+   *
+   * @param executor the new executor
+   * @return this same instance
+   */
+  @NonNull
+  public AutoCompleteHandler setExecutor(@NonNull Executor executor) {
+    this.executor = executor;
+    return this;
+  }
+
+  /**
+   * Set the maximum time to wait for a provider.
+   *
+   * @param budget the new budget, it should be lower than 3 seconds
+   * @return this same instance
+   */
+  @NonNull
+  public AutoCompleteHandler setBudget(@NonNull Duration budget) {
+    this.budget = budget;
+    return this;
+  }
+
+  /**
+   * Set the time that the index of a provider is cached for a user.
+   *
+   * @param ttl the new time
+   * @return this same instance
+   */
+  @NonNull
+  public AutoCompleteHandler setTtl(@NonNull Duration ttl) {
+    this.ttl = ttl;
+    return this;
+  }
+
+  /** Clear the cached suggestions, including the indexes of the annotations. */
+  public void invalidate() {
+    this.cache.clear();
+    this.indexes.clear();
+  }
+
+  /**
+   * Answer an auto complete interaction.
+   *
+   * @param event the event of the interaction
+   */
+  public void handle(@NonNull CommandAutoCompleteInteractionEvent event) {
+    JdaCommand command = this.manager.getCommand(event.getGuild(), event.getName());
+    if (command != null && event.getSubcommandName() != null) {
+      command = command.getChildren(event.getSubcommandName()).orElse(null);
+    }
+    AutoCompleteQuery query = event.getFocusedOption();
+    SingleArgument<?> argument =
+        command instanceof AnnotatedCommand
+            ? AutoCompleteHandler.getArgument((AnnotatedCommand) command, query.getName())
+            : null;
+    if (argument == null) {
+      event.replyChoices().queue();
+      return;
+    }
+    long user = event.getUser().getIdLong();
+    long now = System.nanoTime();
+    Cached cached = this.cache.get(user);
+    if (cached != null
+        && cached.argument == argument
+        && cached.location == AutoCompleteHandler.getLocation(event)
+        && cached.expires - now > 0) {
+      AutoCompleteHandler.reply(event, query, cached.index);
+      return;
+    }
+    JdaSuggestionProvider<?> provider = this.providers.get(argument.getClazz());
+    AutoCompleteContext context = this.getContext(event, command);
+    SuggestionIndex fallback =
+        this.indexes.computeIfAbsent(
+            argument, key -> SuggestionIndex.of(key.getSuggestions(context)));
+    if (provider == null) {
+      AutoCompleteHandler.reply(event, query, fallback);
+    } else {
+      this.provide(event, query, argument, provider, context, fallback);
+    }
+  }
+
+  private void provide(
+      @NonNull CommandAutoCompleteInteractionEvent event,
+      @NonNull AutoCompleteQuery query,
+      @NonNull SingleArgument<?> argument,
+      @NonNull JdaSuggestionProvider<?> provider,
+      @NonNull AutoCompleteContext context,
+      @NonNull SuggestionIndex fallback) {
+    AtomicBoolean replied = new AtomicBoolean();
+    ScheduledFuture<?> timeout =
+        AutoCompleteHandler.TIMEOUTS.schedule(
+            () -> {
+              if (replied.compareAndSet(false, true)) {
+                AutoCompleteHandler.reply(event, query, fallback);
+              }
+            },
+            this.budget.toMillis(),
+            TimeUnit.MILLISECONDS);
+    try {
+      this.executor.execute(
+          () -> {
+            SuggestionIndex index = provider.getSuggestions(context);
+            this.cache.put(
+                event.getUser().getIdLong(),
+                new Cached(
+                    argument,
+                    AutoCompleteHandler.getLocation(event),
+                    index,
+                    System.nanoTime() + this.ttl.toNanos()));
+            if (replied.compareAndSet(false, true)) {
+              timeout.cancel(false);
+              AutoCompleteHandler.reply(event, query, index);
+            }
+          });
+    } catch (RejectedExecutionException e) {
+      timeout.cancel(false);
+      if (replied.compareAndSet(false, true)) {
+        AutoCompleteHandler.reply(event, query, fallback);
+      }
+    }
+  }
+
+  /**
+   * Get where an interaction happened, so the suggestions given by providers that depend on the
+   * context are not reused in another guild or channel.
+   *
+   * @param event the event of the interaction
+   * @return the id of the channel, or of the guild if the channel is unknown
+   */
+  private static long getLocation(@NonNull CommandAutoCompleteInteractionEvent event) {
+    Channel channel = event.getChannel();
+    if (channel != null) {
+      return channel.getIdLong();
+    }
+    return event.isFromGuild() ? event.getGuild().getIdLong() : 0;
+  }
+
+  @NonNull
+  private AutoCompleteContext getContext(
+      @NonNull CommandAutoCompleteInteractionEvent event, @NonNull JdaCommand command) {
+    String[] strings =
+        event.getOptions().stream().map(OptionMapping::getAsString).toArray(String[]::new);
+    return new AutoCompleteContext(
+        event.getJDA(),
+        CommandLineParser.parse(command.getOptions(), false, strings),
+        command,
+        event.getUser(),
+        this.manager.getProvidersRegistry(),
+        this.manager.getMessagesProvider(),
+        event);
+  }
+
+  private static SingleArgument<?> getArgument(
+      @NonNull AnnotatedCommand command, @NonNull String name) {
+    for (Argument<?> argument : command.getArguments()) {
+      if (argument instanceof SingleArgument
+          && ((SingleArgument<?>) argument).getName().equals(name)) {
+        return (SingleArgument<?>) argument;
+      }
+    }
+    return null;
+  }
+
+  private static void reply(
+      @NonNull CommandAutoCompleteInteractionEvent event,
+      @NonNull AutoCompleteQuery query,
+      @NonNull SuggestionIndex index) {
+    List<String> found = index.find(query.getValue());
+    List<Command.Choice> choices = new ArrayList<>(found.size());
+    for (String suggestion : found) {
+      try {
+        switch (query.getType()) {
+          case INTEGER:
+            choices.add(new Command.Choice(suggestion, Long.parseLong(suggestion)));
+            break;
+          case NUMBER:
+            choices.add(new Command.Choice(suggestion, Double.parseDouble(suggestion)));
+            break;
+          default:
+            choices.add(new Command.Choice(suggestion, suggestion));
+        }
+      } catch (NumberFormatException e) {
+        // The suggestion cannot be used for this type of option
+      }
+    }
+    event.replyChoices(choices).queue(null, fail -> {});
+  }
+
+  private static final class Cached {
+
+    @NonNull private final SingleArgument<?> argument;
+    private final long location;
+    @NonNull private final SuggestionIndex index;
+    private final long expires;
+
+    private Cached(
+        @NonNull SingleArgument<?> argument,
+        long location,
+        @NonNull SuggestionIndex index,
+        long expires) {
+      this.argument = argument;
+      this.location = location;
+      this.index = index;
+      this.expires = expires;
+    }
+  }
+}
@@ -0,0 +1,119 @@
+package com.github.chevyself.starbox.jda.autocomplete;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import lombok.NonNull;
+
+/**
+ * An immutable index of suggestions that is searched by prefix. The suggestions are sorted ignoring
+ * case once, when the index is created, so finding the suggestions that start with what the user
+ * has typed is a binary search followed by reading the next entries.
+ *
+ * <p>Discord does not accept choices longer than {@link #MAX_LENGTH} characters, those are not
+ * indexed.
+ */
+public final class SuggestionIndex {
+
+  /** The maximum amount of choices that Discord accepts in a single response. */
+  public static final int MAX_CHOICES = 25;
+  /** The maximum length of a choice. */
+  public static final int MAX_LENGTH = 100;
+
+  /** An index without suggestions. */
+  @NonNull
+  public static final SuggestionIndex EMPTY = new SuggestionIndex(new String[0], new String[0]);
+
+  @NonNull private final String[] keys;
+  @NonNull private final String[] suggestions;
+
+  private SuggestionIndex(@NonNull String[] keys, @NonNull String[] suggestions) {
+    this.keys = keys;
+    this.suggestions = suggestions;
+  }
+
+  /**
+   * Create an index.
+   *
+   * @param suggestions the suggestions to index
+   * @return the created index
+   */
+  @NonNull
+  public static SuggestionIndex of(@NonNull Collection<String> suggestions) {
+    List<String> list = new ArrayList<>(suggestions.size());
+    for (String suggestion : suggestions) {
+      if (!suggestion.isEmpty() && suggestion.length() <= SuggestionIndex.MAX_LENGTH) {
+        list.add(suggestion);
+      }
+    }
+    if (list.isEmpty()) {
+      return SuggestionIndex.EMPTY;
+    }
+    list.sort(Comparator.comparing(suggestion -> suggestion.toLowerCase(Locale.ROOT)));
+    String[] keys = new String[list.size()];
+    for (int i = 0; i < keys.length; i++) {
+      keys[i] = list.get(i).toLowerCase(Locale.ROOT);
+    }
+    return new SuggestionIndex(keys, list.toArray(new String[0]));
+  }
+
+  /**
+   * Create an index.
+   *
+   * @param suggestions the suggestions to index
+   * @return the created index
+   */
+  @NonNull
+  public static SuggestionIndex of(@NonNull String... suggestions) {
+    return SuggestionIndex.of(Arrays.asList(suggestions));
+  }
+
+  /**
+   * Find the suggestions that start with a prefix, ignoring case.
+   *
+   * @param prefix what the user has typed
+   * @param limit the maximum amount of suggestions to find
+   * @return the suggestions in alphabetical order
+   */
+  @NonNull
+  public List<String> find(@NonNull String prefix, int limit) {
+    if (this.keys.length == 0 || limit <= 0) {
+      return Collections.emptyList();
+    }
+    String key = prefix.toLowerCase(Locale.ROOT);
+    int index = Arrays.binarySearch(this.keys, key);
+    if (index < 0) {
+      index = -index - 1;
+    }
+    List<String> found = new ArrayList<>(Math.min(limit, this.keys.length - index));
+    while (index < this.keys.length && found.size() < limit && this.keys[index].startsWith(key)) {
+      found.add(this.suggestions[index++]);
+    }
+    return found;
+  }
+
+  /**
+   * Find the suggestions that start with a prefix, ignoring case. At most {@link #MAX_CHOICES} are
+   * found.
+   *
+   * @param prefix what the user has typed
+   * @return the suggestions in alphabetical order
+   */
+  @NonNull
+  public List<String> find(@NonNull String prefix) {
+    return this.find(prefix, SuggestionIndex.MAX_CHOICES);
+  }
+
+  /**
+   * Get the amount of suggestions in the index.
+   *
+   * @return the amount of suggestions
+   */
+  public int size() {
+    return this.keys.length;
+  }
+}
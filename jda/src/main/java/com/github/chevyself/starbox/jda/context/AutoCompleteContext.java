@@ -0,0 +1,79 @@
+package com.github.chevyself.starbox.jda.context;
+
+import com.github.chevyself.starbox.flags.CommandLineParser;
+import com.github.chevyself.starbox.jda.JdaCommand;
+import com.github.chevyself.starbox.jda.messages.MessagesProvider;
+import com.github.chevyself.starbox.providers.registry.ProvidersRegistry;
+import java.util.Optional;
+import lombok.Getter;
+import lombok.NonNull;
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.User;
+import net.dv8tion.jda.api.entities.channel.middleman.MessageChannel;
+import net.dv8tion.jda.api.events.interaction.command.CommandAutoCompleteInteractionEvent;
+
+/**
+ * Represents the context of a {@link CommandAutoCompleteInteractionEvent}, the user is still typing
+ * the command so it has not been executed yet.
+ */
+public class AutoCompleteContext implements CommandContext {
+
+  @NonNull @Getter private final JDA jda;
+  @NonNull @Getter private final CommandLineParser commandLineParser;
+  @NonNull @Getter private final JdaCommand command;
+  @NonNull @Getter private final User sender;
+  @NonNull @Getter private final ProvidersRegistry<CommandContext> providersRegistry;
+  @NonNull @Getter private final MessagesProvider messagesProvider;
+  @NonNull @Getter private final CommandAutoCompleteInteractionEvent event;
+
+  /**
+   * Create the context.
+   *
+   * @param jda the jda instance of the command manager
+   * @param commandLineParser the parser of the options that have been typed
+   * @param command the command that is being typed
+   * @param sender the user that is typing the command
+   * @param providersRegistry the registry for the objects
+   * @param messagesProvider the provider for messages
+   * @param event the event of the auto complete interaction
+   */
+  public AutoCompleteContext(
+      @NonNull JDA jda,
+      @NonNull CommandLineParser commandLineParser,
+      @NonNull JdaCommand command,
+      @NonNull User sender,
+      @NonNull ProvidersRegistry<CommandContext> providersRegistry,
+      @NonNull MessagesProvider messagesProvider,
+      @NonNull CommandAutoCompleteInteractionEvent event) {
+    this.jda = jda;
+    this.commandLineParser = commandLineParser;
+    this.command = command;
+    this.sender = sender;
+    this.providersRegistry = providersRegistry;
+    this.messagesProvider = messagesProvider;
+    this.event = event;
+  }
+
+  @Override
+  public @NonNull Optional<MessageChannel> getChannel() {
+    return Optional.ofNullable(this.event.getChannel());
+  }
+
+  @Override
+  public @NonNull Optional<Message> getMessage() {
+    return Optional.empty();
+  }
+
+  @Override
+  public @NonNull AutoCompleteContext getChildren(@NonNull JdaCommand command) {
+    return new AutoCompleteContext(
+        this.jda,
+        this.commandLineParser.copyFrom(1, command.getOptions()),
+        command,
+        this.sender,
+        this.providersRegistry,
+        this.messagesProvider,
+        this.event);
+  }
+}
@@ -2,6 +2,7 @@ package com.github.chevyself.starbox.jda.context;
 
 import com.github.chevyself.starbox.context.StarboxCommandContext;
 import com.github.chevyself.starbox.jda.JdaCommand;
+import com.github.chevyself.starbox.jda.latency.CommandTimings;
 import com.github.chevyself.starbox.jda.messages.MessagesProvider;
 import com.github.chevyself.starbox.providers.registry.ProvidersRegistry;
 import java.util.Optional;
@@ -65,6 +66,17 @@ public interface CommandContext extends StarboxCommandContext {
   @NonNull
   CommandContext getChildren(@NonNull JdaCommand command);
 
+  /**
+   * Get the timings of the execution, they are only measured if the manager has a {@link
+   * com.github.chevyself.starbox.jda.latency.LatencyListener}.
+   *
+   * @return a {@link Optional} wrapping the timings or empty if they are not measured
+   */
+  @NonNull
+  default Optional<CommandTimings> getTimings() {
+    return Optional.empty();
+  }
+
   @Override
   default @NonNull ProvidersRegistry<CommandContext> getRegistry() {
     return this.getProvidersRegistry();
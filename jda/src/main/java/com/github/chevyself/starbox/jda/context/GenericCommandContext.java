@@ -3,6 +3,7 @@ package com.github.chevyself.starbox.jda.context;
 import com.github.chevyself.starbox.flags.CommandLineParser;
 import com.github.chevyself.starbox.jda.CommandManager;
 import com.github.chevyself.starbox.jda.JdaCommand;
+import com.github.chevyself.starbox.jda.latency.CommandTimings;
 import com.github.chevyself.starbox.jda.messages.MessagesProvider;
 import com.github.chevyself.starbox.providers.registry.ProvidersRegistry;
 import java.util.Optional;
@@ -26,6 +27,7 @@ public class GenericCommandContext implements CommandContext {
   @NonNull @Getter protected final MessageReceivedEvent event;
   @NonNull protected final MessageChannel channel;
   protected final Message message;
+  protected CommandTimings timings;
 
   /**
    * Create an instance.
@@ -74,18 +76,36 @@ public class GenericCommandContext implements CommandContext {
     return Optional.ofNullable(message);
   }
 
+  /**
+   * Set the timings of the execution.
+   *
+   * @param timings the timings or null if they are not measured
+   * @return this same instance
+   */
+  @NonNull
+  public GenericCommandContext setTimings(CommandTimings timings) {
+    this.timings = timings;
+    return this;
+  }
+
+  @Override
+  public @NonNull Optional<CommandTimings> getTimings() {
+    return Optional.ofNullable(this.timings);
+  }
+
   @Override
   public @NonNull GenericCommandContext getChildren(@NonNull JdaCommand child) {
     return new GenericCommandContext(
-        this.jda,
-        this.commandLineParser.copyFrom(1, child.getOptions()),
-        this.command,
-        this.sender,
-        this.providersRegistry,
-        this.messagesProvider,
-        this.event,
-        this.channel,
-        this.message);
+            this.jda,
+            this.commandLineParser.copyFrom(1, child.getOptions()),
+            this.command,
+            this.sender,
+            this.providersRegistry,
+            this.messagesProvider,
+            this.event,
+            this.channel,
+            this.message)
+        .setTimings(this.timings);
   }
 
   @Override
@@ -74,15 +74,18 @@ public class GuildCommandContext extends GenericCommandContext {
   @Override
   public @NonNull GuildCommandContext getChildren(@NonNull JdaCommand child) {
     CommandLineParser parse = CommandLineParser.parse(this.command.getOptions());
-    return new GuildCommandContext(
-        this.jda,
-        this.commandLineParser.copyFrom(1, child.getOptions()),
-        this.command,
-        this.sender,
-        this.providersRegistry,
-        this.messagesProvider,
-        this.event,
-        this.channel,
-        this.message);
+    GuildCommandContext context =
+        new GuildCommandContext(
+            this.jda,
+            this.commandLineParser.copyFrom(1, child.getOptions()),
+            this.command,
+            this.sender,
+            this.providersRegistry,
+            this.messagesProvider,
+            this.event,
+            this.channel,
+            this.message);
+    context.setTimings(this.timings);
+    return context;
   }
 }
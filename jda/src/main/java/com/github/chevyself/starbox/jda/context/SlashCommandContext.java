@@ -2,6 +2,7 @@ package com.github.chevyself.starbox.jda.context;
 
 import com.github.chevyself.starbox.flags.CommandLineParser;
 import com.github.chevyself.starbox.jda.JdaCommand;
+import com.github.chevyself.starbox.jda.latency.CommandTimings;
 import com.github.chevyself.starbox.jda.messages.MessagesProvider;
 import com.github.chevyself.starbox.providers.registry.ProvidersRegistry;
 import java.util.List;
@@ -9,8 +10,12 @@ import java.util.Optional;
 import lombok.Getter;
 import lombok.NonNull;
 import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.IMentionable;
+import net.dv8tion.jda.api.entities.Member;
 import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.Role;
 import net.dv8tion.jda.api.entities.User;
+import net.dv8tion.jda.api.entities.channel.middleman.GuildChannel;
 import net.dv8tion.jda.api.entities.channel.middleman.MessageChannel;
 import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
 import net.dv8tion.jda.api.interactions.commands.OptionMapping;
@@ -30,6 +35,7 @@ public class SlashCommandContext implements CommandContext {
   @NonNull @Getter private final SlashCommandInteractionEvent event;
   @NonNull @Getter private final List<OptionMapping> options;
   @NonNull private final MessageChannel channel;
+  private CommandTimings timings;
 
   /**
    * Create the context.
@@ -75,17 +81,94 @@ public class SlashCommandContext implements CommandContext {
     return Optional.empty();
   }
 
+  /**
+   * Get the value of an option already resolved by Discord. Users, members, roles, channels and
+   * attachments come in the payload of the interaction so there is no need to parse a string and
+   * look them up.
+   *
+   * @param name the name of the option
+   * @param clazz the class that the value must be an instance of
+   * @return the value of the option or null if the option was not given or its type cannot be bound
+   *     to the class
+   */
+  public Object getOption(@NonNull String name, @NonNull Class<?> clazz) {
+    for (OptionMapping mapping : this.options) {
+      if (mapping.getName().equals(name)) {
+        return SlashCommandContext.bind(mapping, clazz);
+      }
+    }
+    return null;
+  }
+
+  private static Object bind(@NonNull OptionMapping mapping, @NonNull Class<?> clazz) {
+    switch (mapping.getType()) {
+      case STRING:
+        return clazz == String.class ? mapping.getAsString() : null;
+      case INTEGER:
+        if (clazz == long.class || clazz == Long.class) {
+          return mapping.getAsLong();
+        } else if (clazz == int.class || clazz == Integer.class) {
+          return mapping.getAsInt();
+        }
+        return null;
+      case NUMBER:
+        if (clazz == double.class || clazz == Double.class) {
+          return mapping.getAsDouble();
+        } else if (clazz == float.class || clazz == Float.class) {
+          return (float) mapping.getAsDouble();
+        }
+        return null;
+      case BOOLEAN:
+        return clazz == boolean.class || clazz == Boolean.class ? mapping.getAsBoolean() : null;
+      case USER:
+        if (clazz == Member.class) {
+          return mapping.getAsMember();
+        }
+        return clazz.isAssignableFrom(User.class) ? mapping.getAsUser() : null;
+      case ROLE:
+        return clazz.isAssignableFrom(Role.class) ? mapping.getAsRole() : null;
+      case CHANNEL:
+        GuildChannel channel = mapping.getAsChannel();
+        return clazz.isInstance(channel) ? channel : null;
+      case MENTIONABLE:
+        IMentionable mentionable = mapping.getAsMentionable();
+        return clazz.isInstance(mentionable) ? mentionable : null;
+      case ATTACHMENT:
+        return clazz == Message.Attachment.class ? mapping.getAsAttachment() : null;
+      default:
+        return null;
+    }
+  }
+
+  /**
+   * Set the timings of the execution.
+   *
+   * @param timings the timings or null if they are not measured
+   * @return this same instance
+   */
+  @NonNull
+  public SlashCommandContext setTimings(CommandTimings timings) {
+    this.timings = timings;
+    return this;
+  }
+
+  @Override
+  public @NonNull Optional<CommandTimings> getTimings() {
+    return Optional.ofNullable(this.timings);
+  }
+
   @Override
   public @NonNull SlashCommandContext getChildren(@NonNull JdaCommand command) {
     return new SlashCommandContext(
-        this.jda,
-        this.commandLineParser.copyFrom(1, command.getOptions()),
-        this.command,
-        this.sender,
-        this.providersRegistry,
-        this.messagesProvider,
-        this.event,
-        this.options,
-        this.channel);
+            this.jda,
+            this.commandLineParser.copyFrom(1, command.getOptions()),
+            this.command,
+            this.sender,
+            this.providersRegistry,
+            this.messagesProvider,
+            this.event,
+            this.options,
+            this.channel)
+        .setTimings(this.timings);
   }
 }
@@ -5,15 +5,15 @@ import com.github.chevyself.starbox.jda.annotations.Command;
 import com.github.chevyself.starbox.jda.context.CommandContext;
 import com.github.chevyself.starbox.time.TimeUtil;
 import java.time.Duration;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import lombok.NonNull;
 
 /** This is an implementation of {@link CooldownManager} for the JDA module. */
 public class CooldownManager implements StarboxCooldownManager<CommandContext> {
 
-  @NonNull private final Map<Long, Long> map = new HashMap<>();
+  @NonNull private final Map<Long, Long> map = new ConcurrentHashMap<>();
   @NonNull private final Duration duration;
 
   /**
@@ -21,7 +21,7 @@ public class CooldownManager implements StarboxCooldownManager<CommandContext> {
    *
    * @param duration the time that the command needs to cooldown
    */
-  protected CooldownManager(@NonNull Duration duration) {
+  public CooldownManager(@NonNull Duration duration) {
     this.duration = duration;
   }
 
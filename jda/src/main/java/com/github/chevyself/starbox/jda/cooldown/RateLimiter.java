@@ -0,0 +1,64 @@
+package com.github.chevyself.starbox.jda.cooldown;
+
+import com.github.chevyself.starbox.annotations.RateLimit;
+import com.github.chevyself.starbox.jda.context.CommandContext;
+import com.github.chevyself.starbox.ratelimit.AbstractRateLimiter;
+import com.github.chevyself.starbox.ratelimit.RateLimitScope;
+import com.github.chevyself.starbox.time.TimeUtil;
+import java.time.Duration;
+import java.util.Optional;
+import lombok.NonNull;
+import net.dv8tion.jda.api.entities.channel.middleman.GuildChannel;
+import net.dv8tion.jda.api.entities.channel.middleman.MessageChannel;
+
+/**
+ * This is an implementation of {@link com.github.chevyself.starbox.StarboxRateLimiter} for the JDA
+ * module. Senders are keyed by their {@link net.dv8tion.jda.api.entities.User} and guilds by their
+ * {@link net.dv8tion.jda.api.entities.Guild}, commands executed in private channels use the sender
+ * as the guild.
+ */
+public class RateLimiter extends AbstractRateLimiter<CommandContext> {
+
+  /**
+   * Create the limiter.
+   *
+   * @param capacity the amount of executions that can be made in a burst
+   * @param refill the time that it takes to get a new execution
+   * @param scope the scope in which the executions are shared
+   */
+  public RateLimiter(int capacity, @NonNull Duration refill, @NonNull RateLimitScope scope) {
+    super(capacity, refill, scope);
+  }
+
+  /**
+   * Returns the limiter based on the annotation. If the annotation has a capacity greater than 0 a
+   * {@link Optional} will be wrapping the limiter.
+   *
+   * @param annotation the annotation to provide the settings of the limiter
+   * @return a {@link Optional} which might be wrapping the limiter
+   */
+  @NonNull
+  public static Optional<RateLimiter> of(@NonNull RateLimit annotation) {
+    return Optional.ofNullable(
+        annotation.capacity() < 1
+            ? null
+            : new RateLimiter(
+                annotation.capacity(),
+                TimeUtil.durationOf(annotation.refill()),
+                annotation.scope()));
+  }
+
+  @Override
+  protected @NonNull Object getSenderKey(@NonNull CommandContext context) {
+    return context.getSender();
+  }
+
+  @Override
+  protected @NonNull Object getGuildKey(@NonNull CommandContext context) {
+    MessageChannel channel = context.getChannel().orElse(null);
+    if (channel instanceof GuildChannel) {
+      return ((GuildChannel) channel).getGuild();
+    }
+    return this.getSenderKey(context);
+  }
+}
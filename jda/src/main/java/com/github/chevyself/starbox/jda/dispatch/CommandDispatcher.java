@@ -0,0 +1,227 @@
+package com.github.chevyself.starbox.jda.dispatch;
+
+import com.github.chevyself.starbox.scheduling.CommandPriority;
+import com.github.chevyself.starbox.scheduling.PriorityExecutor;
+import com.github.chevyself.starbox.scheduling.QueueStatistics;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * Moves the execution of commands out of the event thread of JDA. A slow command executed in the
+ * event thread stalls every other event of the shard, using a dispatcher only the commands that
+ * share a stripe with it have to wait.
+ *
+ * <p>The dispatcher is split in stripes, each stripe is a single thread with a bounded queue. The
+ * stripe of an execution is selected using a key, the listener uses the id of the guild or the id
+ * of the channel for private messages. That means that commands in the same guild are executed in
+ * the same order in which they were received while different guilds run in parallel.
+ *
+ * <p>Each stripe is a {@link PriorityExecutor}, when a stripe is busy the executions with a higher
+ * {@link CommandPriority} run first. Only executions with the same priority keep their order, and
+ * executions with a low priority age while they wait so they are not starved.
+ *
+ * <p>When the queue of a stripe is full the execution is rejected, the listener will reply with
+ * {@link com.github.chevyself.starbox.jda.messages.MessagesProvider#busy(
+ * com.github.chevyself.starbox.jda.context.CommandContext)}
+ *
+ * <pre>{@code
+ * CommandManager manager = ...
+ * manager.setDispatcher(new CommandDispatcher(4, 64));
+ * }</pre>
+ */
+public class CommandDispatcher implements AutoCloseable {
+
+  @NonNull private static final Duration AGING = Duration.ofSeconds(1);
+
+  @NonNull private final PriorityExecutor[] stripes;
+  /** The maximum amount of executions that may be waiting in each stripe. */
+  @Getter private final int queueDepth;
+
+  @NonNull private final LongAdder rejected = new LongAdder();
+  @NonNull private final LongAdder completed = new LongAdder();
+
+  /**
+   * Create the dispatcher.
+   *
+   * @param stripes the amount of stripes, which is the amount of threads
+   * @param queueDepth the maximum amount of executions that may be waiting in each stripe
+   * @param aging the time that an execution has to wait to be treated as one level of priority
+   *     higher
+   * @throws IllegalArgumentException if the stripes or the queue depth are lower than 1 or the
+   *     aging is not positive
+   */
+  public CommandDispatcher(int stripes, int queueDepth, @NonNull Duration aging) {
+    if (stripes < 1 || queueDepth < 1) {
+      throw new IllegalArgumentException("Stripes and queue depth must be greater than 0");
+    }
+    this.queueDepth = queueDepth;
+    this.stripes = new PriorityExecutor[stripes];
+    AtomicInteger count = new AtomicInteger();
+    for (int i = 0; i < stripes; i++) {
+      this.stripes[i] =
+          new PriorityExecutor(
+              1,
+              queueDepth,
+              aging,
+              runnable -> {
+                Thread thread =
+                    new Thread(runnable, "starbox-dispatcher-" + count.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+              });
+    }
+  }
+
+  /**
+   * Create the dispatcher. Executions age one level of priority for each second that they wait.
+   *
+   * @param stripes the amount of stripes, which is the amount of threads
+   * @param queueDepth the maximum amount of executions that may be waiting in each stripe
+   * @throws IllegalArgumentException if the stripes or the queue depth are lower than 1
+   */
+  public CommandDispatcher(int stripes, int queueDepth) {
+    this(stripes, queueDepth, CommandDispatcher.AGING);
+  }
+
+  /**
+   * Create the dispatcher using a stripe per available processor.
+   *
+   * @param queueDepth the maximum amount of executions that may be waiting in each stripe
+   */
+  public CommandDispatcher(int queueDepth) {
+    this(Runtime.getRuntime().availableProcessors(), queueDepth);
+  }
+
+  /**
+   * Dispatch an execution with {@link CommandPriority#NORMAL}. Executions with the same key are run
+   * in the same order in which they were dispatched.
+   *
+   * @param key the key to select the stripe
+   * @param task the execution
+   * @return true if the execution was queued, false if the stripe is full and the execution was
+   *     rejected
+   */
+  public boolean dispatch(long key, @NonNull Runnable task) {
+    return this.dispatch(key, CommandPriority.NORMAL, task);
+  }
+
+  /**
+   * Dispatch an execution. Executions with the same key and priority are run in the same order in
+   * which they were dispatched.
+   *
+   * @param key the key to select the stripe
+   * @param priority the priority of the execution
+   * @param task the execution
+   * @return true if the execution was queued, false if the stripe is full and the execution was
+   *     rejected
+   */
+  public boolean dispatch(long key, @NonNull CommandPriority priority, @NonNull Runnable task) {
+    try {
+      this.stripes[this.getStripe(key)].execute(
+          priority,
+          () -> {
+            try {
+              task.run();
+            } finally {
+              this.completed.increment();
+            }
+          });
+      return true;
+    } catch (RejectedExecutionException e) {
+      this.rejected.increment();
+      return false;
+    }
+  }
+
+  /**
+   * Get the index of the stripe that runs the executions of a key.
+   *
+   * @param key the key to select the stripe
+   * @return the index of the stripe
+   */
+  public int getStripe(long key) {
+    // Snowflakes share their low bits with the worker and increment, mix them before selecting
+    long mixed = key * 0x9E3779B97F4A7C15L;
+    return (int) ((mixed ^ (mixed >>> 32)) & Integer.MAX_VALUE) % this.stripes.length;
+  }
+
+  /**
+   * Get the amount of stripes.
+   *
+   * @return the amount of stripes
+   */
+  public int getStripes() {
+    return this.stripes.length;
+  }
+
+  /**
+   * Get the amount of executions waiting in a stripe.
+   *
+   * @param stripe the index of the stripe
+   * @return the amount of executions waiting
+   */
+  public int getQueueDepth(int stripe) {
+    return this.stripes[stripe].getQueued();
+  }
+
+  /**
+   * Get the amount of executions waiting in all the stripes.
+   *
+   * @return the amount of executions waiting
+   */
+  public int getQueuedCount() {
+    int total = 0;
+    for (PriorityExecutor stripe : this.stripes) {
+      total += stripe.getQueued();
+    }
+    return total;
+  }
+
+  /**
+   * Get the statistics of the executions of a priority in all the stripes. The statistics are a
+   * snapshot, they are not updated after this method returns.
+   *
+   * @param priority the priority of the executions
+   * @return the statistics of the priority
+   */
+  @NonNull
+  public QueueStatistics getStatistics(@NonNull CommandPriority priority) {
+    List<QueueStatistics> statistics = new ArrayList<>(this.stripes.length);
+    for (PriorityExecutor stripe : this.stripes) {
+      statistics.add(stripe.getStatistics(priority));
+    }
+    return QueueStatistics.combine(statistics);
+  }
+
+  /**
+   * Get the amount of executions that have been rejected because their stripe was full.
+   *
+   * @return the amount of rejected executions
+   */
+  public long getRejectedCount() {
+    return this.rejected.sum();
+  }
+
+  /**
+   * Get the amount of executions that have finished.
+   *
+   * @return the amount of finished executions
+   */
+  public long getCompletedCount() {
+    return this.completed.sum();
+  }
+
+  /** Stop accepting executions. The executions that are already queued will still run. */
+  @Override
+  public void close() {
+    for (PriorityExecutor stripe : this.stripes) {
+      stripe.close();
+    }
+  }
+}
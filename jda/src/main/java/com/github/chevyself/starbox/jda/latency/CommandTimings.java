@@ -0,0 +1,137 @@
+package com.github.chevyself.starbox.jda.latency;
+
+import com.github.chevyself.starbox.jda.JdaCommand;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * The time spent in each {@link DispatchPhase} of an execution of a command, measured from the
+ * moment that the event of the message or slash command was received. Timings are only created if
+ * the {@link com.github.chevyself.starbox.jda.CommandManager} has a {@link LatencyListener}.
+ *
+ * <p>An execution is complete once the command was executed and every reply that was queued was
+ * acknowledged, then the listeners are called. Each reply is tracked with {@link #beginRest()} and
+ * {@link #endRest(long)}.
+ */
+public final class CommandTimings {
+
+  @NonNull private static final DispatchPhase[] PHASES = DispatchPhase.values();
+
+  /** The command that was executed. */
+  @NonNull @Getter private final JdaCommand command;
+  /** The value of {@link System#nanoTime()} when the event was received. */
+  @Getter private final long arrival;
+
+  @NonNull private final List<LatencyListener> listeners;
+  @NonNull private final AtomicLongArray phases = new AtomicLongArray(CommandTimings.PHASES.length);
+  @NonNull private final AtomicInteger pending = new AtomicInteger(1);
+  private volatile long total = -1;
+
+  /**
+   * Create the timings.
+   *
+   * @param command the command that is executed
+   * @param arrival the value of {@link System#nanoTime()} when the event was received
+   * @param listeners the listeners to call when the execution is complete
+   */
+  public CommandTimings(
+      @NonNull JdaCommand command, long arrival, @NonNull List<LatencyListener> listeners) {
+    this.command = command;
+    this.arrival = arrival;
+    this.listeners = listeners;
+  }
+
+  /**
+   * Add the time passed since a moment to a phase.
+   *
+   * @param phase the phase that started in that moment
+   * @param start the value of {@link System#nanoTime()} when the phase started
+   */
+  public void record(@NonNull DispatchPhase phase, long start) {
+    this.add(phase, System.nanoTime() - start);
+  }
+
+  /**
+   * Add time to a phase.
+   *
+   * @param phase the phase to add the time to
+   * @param nanos the time in nanoseconds
+   */
+  public void add(@NonNull DispatchPhase phase, long nanos) {
+    this.phases.addAndGet(phase.ordinal(), nanos);
+  }
+
+  /**
+   * Get the time spent in a phase.
+   *
+   * @param phase the phase
+   * @return the time in nanoseconds
+   */
+  public long get(@NonNull DispatchPhase phase) {
+    return this.phases.get(phase.ordinal());
+  }
+
+  /**
+   * Get the time since the event was received until the execution was complete.
+   *
+   * @return the time in nanoseconds or -1 if the execution is not complete
+   */
+  public long getTotal() {
+    return this.total;
+  }
+
+  /**
+   * Start tracking a reply, the execution will not be complete until {@link #endRest(long)} is
+   * called.
+   *
+   * @return the value of {@link System#nanoTime()} that must be given to {@link #endRest(long)}
+   */
+  public long beginRest() {
+    this.pending.incrementAndGet();
+    return System.nanoTime();
+  }
+
+  /**
+   * Stop tracking a reply because it was acknowledged or failed.
+   *
+   * @param start the value returned by {@link #beginRest()}
+   */
+  public void endRest(long start) {
+    this.record(DispatchPhase.REST, start);
+    this.release();
+  }
+
+  /**
+   * Keep the execution incomplete until {@link #release()} is called once more. This is used for
+   * commands that return a {@link java.util.concurrent.CompletionStage}, which are done once the
+   * stage completes and its result is handled.
+   */
+  public void retain() {
+    this.pending.incrementAndGet();
+  }
+
+  /**
+   * Mark the execution of the command as done. This is called by the listener once the command
+   * returns, the execution is complete if there are no replies being tracked.
+   */
+  public void release() {
+    if (this.pending.decrementAndGet() == 0) {
+      this.total = System.nanoTime() - this.arrival;
+      for (LatencyListener listener : this.listeners) {
+        listener.onTimings(this);
+      }
+    }
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder("CommandTimings{command=").append(command.getName());
+    for (DispatchPhase phase : CommandTimings.PHASES) {
+      builder.append(", ").append(phase).append('=').append(this.get(phase));
+    }
+    return builder.append(", total=").append(this.total).append('}').toString();
+  }
+}
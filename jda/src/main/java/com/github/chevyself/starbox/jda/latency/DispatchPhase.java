@@ -0,0 +1,24 @@
+package com.github.chevyself.starbox.jda.latency;
+
+/** The phases in which the time to answer a command is divided, see {@link CommandTimings}. */
+public enum DispatchPhase {
+  /** Matching the prefix and finding the command in the content of the message. */
+  PREFIX_MATCH,
+  /** Splitting the arguments, parsing the options and creating the context. */
+  PARSE,
+  /**
+   * Waiting in the {@link com.github.chevyself.starbox.jda.dispatch.CommandDispatcher}, zero if the
+   * command is executed in the event thread.
+   */
+  QUEUE,
+  /** Running the middlewares before the command, such as permission and cooldown checks. */
+  MIDDLEWARE,
+  /** Providing the objects of the arguments of the command. */
+  ARGUMENTS,
+  /** Running the method of the command. */
+  COMMAND,
+  /** Creating the message of the result. */
+  RENDER,
+  /** From queueing the message of the result until Discord acknowledges it. */
+  REST
+}
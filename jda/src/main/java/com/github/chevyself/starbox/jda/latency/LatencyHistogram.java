@@ -0,0 +1,113 @@
+package com.github.chevyself.starbox.jda.latency;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.NonNull;
+
+/**
+ * A concurrent histogram of latencies in nanoseconds with a fixed memory footprint. Values are
+ * counted in buckets that grow exponentially, each power of two is divided in 16 buckets so the
+ * percentiles have an error of at most 6.25%. Recording a value does not allocate nor lock.
+ */
+public final class LatencyHistogram {
+
+  private static final int SUB_BUCKET_BITS = 4;
+  private static final int SUB_BUCKETS = 1 << LatencyHistogram.SUB_BUCKET_BITS;
+  private static final int BUCKETS =
+      LatencyHistogram.SUB_BUCKETS
+          + (63 - LatencyHistogram.SUB_BUCKET_BITS) * LatencyHistogram.SUB_BUCKETS;
+
+  @NonNull private final AtomicLongArray counts = new AtomicLongArray(LatencyHistogram.BUCKETS);
+  @NonNull private final LongAdder count = new LongAdder();
+  @NonNull private final LongAdder sum = new LongAdder();
+
+  private static int index(long value) {
+    if (value < LatencyHistogram.SUB_BUCKETS) {
+      return (int) value;
+    }
+    int exponent = 63 - Long.numberOfLeadingZeros(value);
+    int shift = exponent - LatencyHistogram.SUB_BUCKET_BITS;
+    return LatencyHistogram.SUB_BUCKETS
+        + shift * LatencyHistogram.SUB_BUCKETS
+        + (int) ((value >>> shift) - LatencyHistogram.SUB_BUCKETS);
+  }
+
+  private static long highestValue(int index) {
+    if (index < LatencyHistogram.SUB_BUCKETS) {
+      return index;
+    }
+    int shift = (index - LatencyHistogram.SUB_BUCKETS) / LatencyHistogram.SUB_BUCKETS;
+    long sub =
+        LatencyHistogram.SUB_BUCKETS
+            + (index - LatencyHistogram.SUB_BUCKETS) % LatencyHistogram.SUB_BUCKETS;
+    return ((sub + 1) << shift) - 1;
+  }
+
+  /**
+   * Record a latency.
+   *
+   * @param nanos the latency in nanoseconds, negative values are recorded as zero
+   */
+  public void record(long nanos) {
+    long value = Math.max(0, nanos);
+    this.counts.incrementAndGet(LatencyHistogram.index(value));
+    this.count.increment();
+    this.sum.add(value);
+  }
+
+  /**
+   * Get the amount of recorded latencies.
+   *
+   * @return the amount of latencies
+   */
+  public long getCount() {
+    return this.count.sum();
+  }
+
+  /**
+   * Get the mean of the recorded latencies.
+   *
+   * @return the mean in nanoseconds or 0 if there are none
+   */
+  public double getMean() {
+    long count = this.count.sum();
+    return count == 0 ? 0 : (double) this.sum.sum() / count;
+  }
+
+  /**
+   * Get the latency below which a percentage of the recorded latencies are.
+   *
+   * @param percentile the percentage, between 0 and 100
+   * @return the highest value of the bucket of the percentile in nanoseconds or 0 if there are no
+   *     latencies
+   */
+  public long getValueAtPercentile(double percentile) {
+    long total = 0;
+    long[] counts = new long[LatencyHistogram.BUCKETS];
+    for (int i = 0; i < counts.length; i++) {
+      counts[i] = this.counts.get(i);
+      total += counts[i];
+    }
+    if (total == 0) {
+      return 0;
+    }
+    long target = Math.max(1, (long) Math.ceil(Math.min(100, percentile) / 100 * total));
+    long seen = 0;
+    for (int i = 0; i < counts.length; i++) {
+      seen += counts[i];
+      if (seen >= target) {
+        return LatencyHistogram.highestValue(i);
+      }
+    }
+    return LatencyHistogram.highestValue(counts.length - 1);
+  }
+
+  /** Remove all the recorded latencies. */
+  public void reset() {
+    for (int i = 0; i < LatencyHistogram.BUCKETS; i++) {
+      this.counts.set(i, 0);
+    }
+    this.count.reset();
+    this.sum.reset();
+  }
+}
@@ -0,0 +1,21 @@
+package com.github.chevyself.starbox.jda.latency;
+
+import lombok.NonNull;
+
+/**
+ * Listens to the timings of the commands executed in a {@link
+ * com.github.chevyself.starbox.jda.CommandManager}. Listeners are called once the reply of the
+ * command is acknowledged by Discord or, if there is no reply, once the command is executed. They
+ * may be called from the threads of JDA so they should return fast.
+ *
+ * <p>The default implementation is {@link LatencyRecorder} which keeps histograms of the timings.
+ */
+public interface LatencyListener {
+
+  /**
+   * Called when the timings of an execution are complete.
+   *
+   * @param timings the timings of the execution
+   */
+  void onTimings(@NonNull CommandTimings timings);
+}
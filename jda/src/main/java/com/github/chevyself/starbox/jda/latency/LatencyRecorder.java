@@ -0,0 +1,77 @@
+package com.github.chevyself.starbox.jda.latency;
+
+import com.github.chevyself.starbox.jda.JdaCommand;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.NonNull;
+
+/**
+ * A {@link LatencyListener} that keeps a {@link LatencyHistogram} for each phase and for the total
+ * time of each command.
+ *
+ * <pre>{@code
+ * LatencyRecorder recorder = new LatencyRecorder();
+ * manager.addLatencyListener(recorder);
+ * recorder.getTotal(manager.getCommand("ping")).map(total -> total.getValueAtPercentile(99));
+ * }</pre>
+ */
+public class LatencyRecorder implements LatencyListener {
+
+  @NonNull private final Map<JdaCommand, Histograms> histograms = new ConcurrentHashMap<>();
+
+  @Override
+  public void onTimings(@NonNull CommandTimings timings) {
+    Histograms histograms =
+        this.histograms.computeIfAbsent(timings.getCommand(), command -> new Histograms());
+    for (DispatchPhase phase : DispatchPhase.values()) {
+      histograms.phases[phase.ordinal()].record(timings.get(phase));
+    }
+    histograms.total.record(timings.getTotal());
+  }
+
+  /**
+   * Get the histogram of a phase of a command.
+   *
+   * @param command the command
+   * @param phase the phase
+   * @return a {@link Optional} wrapping the histogram or empty if the command was not executed
+   */
+  @NonNull
+  public Optional<LatencyHistogram> getHistogram(
+      @NonNull JdaCommand command, @NonNull DispatchPhase phase) {
+    return Optional.ofNullable(this.histograms.get(command))
+        .map(histograms -> histograms.phases[phase.ordinal()]);
+  }
+
+  /**
+   * Get the histogram of the total time of a command, since the event was received until the reply
+   * was acknowledged.
+   *
+   * @param command the command
+   * @return a {@link Optional} wrapping the histogram or empty if the command was not executed
+   */
+  @NonNull
+  public Optional<LatencyHistogram> getTotal(@NonNull JdaCommand command) {
+    return Optional.ofNullable(this.histograms.get(command)).map(histograms -> histograms.total);
+  }
+
+  /** Remove the histograms of every command. */
+  public void reset() {
+    this.histograms.clear();
+  }
+
+  private static final class Histograms {
+
+    @NonNull
+    private final LatencyHistogram[] phases = new LatencyHistogram[DispatchPhase.values().length];
+
+    @NonNull private final LatencyHistogram total = new LatencyHistogram();
+
+    private Histograms() {
+      for (int i = 0; i < this.phases.length; i++) {
+        this.phases[i] = new LatencyHistogram();
+      }
+    }
+  }
+}
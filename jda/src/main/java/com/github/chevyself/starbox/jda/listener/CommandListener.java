@@ -4,20 +4,25 @@ import com.github.chevyself.starbox.flags.CommandLineParser;
 import com.github.chevyself.starbox.jda.CommandManager;
 import com.github.chevyself.starbox.jda.JdaCommand;
 import com.github.chevyself.starbox.jda.ListenerOptions;
-import com.github.chevyself.starbox.jda.UnknownCommand;
 import com.github.chevyself.starbox.jda.context.CommandContext;
 import com.github.chevyself.starbox.jda.context.GenericCommandContext;
 import com.github.chevyself.starbox.jda.context.GuildCommandContext;
 import com.github.chevyself.starbox.jda.context.SlashCommandContext;
+import com.github.chevyself.starbox.jda.dispatch.CommandDispatcher;
+import com.github.chevyself.starbox.jda.latency.CommandTimings;
+import com.github.chevyself.starbox.jda.latency.DispatchPhase;
+import com.github.chevyself.starbox.jda.latency.LatencyListener;
 import com.github.chevyself.starbox.jda.messages.MessagesProvider;
-import com.github.chevyself.starbox.jda.result.JdaResult;
 import com.github.chevyself.starbox.jda.result.Result;
 import com.github.chevyself.starbox.jda.result.ResultType;
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
 import lombok.Getter;
 import lombok.NonNull;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.events.GenericEvent;
+import net.dv8tion.jda.api.events.interaction.command.CommandAutoCompleteInteractionEvent;
 import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
 import net.dv8tion.jda.api.events.message.MessageReceivedEvent;
 import net.dv8tion.jda.api.hooks.EventListener;
@@ -49,21 +54,79 @@ public class CommandListener implements EventListener {
   }
 
   /**
-   * On the event of a message received.
+   * On the event of a message received. Most messages are not commands so the prefix and the name
+   * of the command are matched in the raw content without allocating, the arguments are only split
+   * and the context created when the message is a command.
    *
    * @param event the event of a message received
    */
   @SubscribeEvent
   public void onMessageReceived(@NonNull MessageReceivedEvent event) {
-    String[] strings = event.getMessage().getContentRaw().split(" +");
-    String prefix = listenerOptions.getPrefix(event.isFromGuild() ? event.getGuild() : null);
-    if (strings.length < 1 || !strings[0].startsWith(prefix)) {
+    long arrival = System.nanoTime();
+    String content = event.getMessage().getContentRaw();
+    Guild guild = event.isFromGuild() ? event.getGuild() : null;
+    int start = listenerOptions.matchPrefix(guild, content);
+    if (start < 0) {
       return;
     }
-    String name = strings[0].substring(prefix.length());
-    JdaCommand command = this.getCommand(event.isFromGuild() ? event.getGuild() : null, name);
-    GenericCommandContext context = this.getCommandContext(event, strings, command);
-    command.execute(context);
+    int end = CommandListener.nextSpace(content, start);
+    if (end == start) {
+      return;
+    }
+    long id = guild == null ? 0 : guild.getIdLong();
+    JdaCommand command = this.manager.getCommand(id, content, start, end);
+    if (command == null || !this.manager.isEnabled(id, command)) {
+      return;
+    }
+    CommandTimings timings = this.getTimings(command, arrival);
+    long parse = System.nanoTime();
+    if (timings != null) {
+      timings.add(DispatchPhase.PREFIX_MATCH, parse - arrival);
+    }
+    GenericCommandContext context =
+        this.getCommandContext(event, CommandListener.split(content, end), command)
+            .setTimings(timings);
+    if (timings != null) {
+      timings.record(DispatchPhase.PARSE, parse);
+    }
+    this.execute(
+        guild == null ? event.getChannel().getIdLong() : guild.getIdLong(),
+        command,
+        context,
+        timings);
+  }
+
+  private CommandTimings getTimings(@NonNull JdaCommand command, long arrival) {
+    List<LatencyListener> listeners = this.manager.getLatencyListeners();
+    return listeners.isEmpty() ? null : new CommandTimings(command, arrival, listeners);
+  }
+
+  private static int nextSpace(@NonNull String content, int from) {
+    int index = content.indexOf(' ', from);
+    return index == -1 ? content.length() : index;
+  }
+
+  /**
+   * Split the arguments of a command by spaces, consecutive spaces are treated as one.
+   *
+   * @param content the content of the message
+   * @param from the index where the arguments start
+   * @return the arguments
+   */
+  @NonNull
+  private static String[] split(@NonNull String content, int from) {
+    List<String> strings = new ArrayList<>();
+    int length = content.length();
+    while (from < length) {
+      if (content.charAt(from) == ' ') {
+        from++;
+        continue;
+      }
+      int end = CommandListener.nextSpace(content, from);
+      strings.add(content.substring(from, end));
+      from = end;
+    }
+    return strings.toArray(new String[0]);
   }
 
   /**
@@ -73,50 +136,140 @@ public class CommandListener implements EventListener {
    */
   @SubscribeEvent
   public void onSlashCommand(SlashCommandInteractionEvent event) {
+    long arrival = System.nanoTime();
     String name = event.getName();
-    String[] strings =
-        event.getOptions().stream().map(OptionMapping::getAsString).toArray(String[]::new);
-    JdaCommand command = this.getCommand(event.isFromGuild() ? event.getGuild() : null, name);
-    CommandLineParser parser = CommandLineParser.parse(command.getOptions(), false, strings);
-    CommandContext context =
-        new SlashCommandContext(
-            event.getJDA(),
-            parser,
-            command,
-            event.getUser(),
-            this.manager.getProvidersRegistry(),
-            this.messagesProvider,
-            event,
-            event.getOptions(),
-            event.getChannel());
-    command.execute(context);
+    JdaCommand command = this.manager.getCommand(event.getGuild(), name);
+    if (command == null) {
+      return;
+    }
+    if (event.isFromGuild() && !this.manager.isEnabled(event.getGuild().getIdLong(), command)) {
+      SlashCommandContext context = this.getCommandContext(event, command);
+      this.reject(command, context, this.messagesProvider.disabled(context), null);
+      return;
+    }
+    CommandTimings timings = this.getTimings(command, arrival);
+    long parse = System.nanoTime();
+    if (timings != null) {
+      timings.add(DispatchPhase.PREFIX_MATCH, parse - arrival);
+    }
+    SlashCommandContext context = this.getCommandContext(event, command).setTimings(timings);
+    if (timings != null) {
+      timings.record(DispatchPhase.PARSE, parse);
+    }
+    this.execute(
+        event.isFromGuild() ? event.getGuild().getIdLong() : event.getChannel().getIdLong(),
+        command,
+        context,
+        timings);
   }
 
+  /**
+   * Get the parser of the options of a slash command. Options are already separated so they are
+   * only joined and matched when the command has flags that may be in them.
+   *
+   * @param command the command that is executed
+   * @param mappings the options of the slash command
+   * @return the parser of the options
+   */
   @NonNull
-  private JdaCommand getCommand(Guild guild, @NonNull String name) {
-    JdaCommand command = this.manager.getCommand(guild, name);
-    return command == null ? new UnknownCommand(this.manager, name) : command;
+  private static CommandLineParser getParser(
+      @NonNull JdaCommand command, @NonNull List<OptionMapping> mappings) {
+    List<String> strings = new ArrayList<>(mappings.size());
+    for (OptionMapping mapping : mappings) {
+      strings.add(mapping.getAsString());
+    }
+    if (command.getOptions().isEmpty()) {
+      return CommandLineParser.of(command.getOptions(), strings);
+    }
+    return CommandLineParser.parse(command.getOptions(), false, strings.toArray(new String[0]));
   }
 
   /**
-   * Get the result of a command execution.
+   * Suggest the values of an option while a slash command is typed.
    *
-   * @param command the command
-   * @param commandName the name of the command
-   * @param context the context of the command
-   * @return the result of the command execution
+   * @param event the event of the auto complete interaction
    */
-  @Deprecated
-  private JdaResult getResult(
+  @SubscribeEvent
+  public void onAutoComplete(@NonNull CommandAutoCompleteInteractionEvent event) {
+    this.manager.getAutoCompleteHandler().handle(event);
+  }
+
+  /**
+   * Execute the command. If the manager has a {@link CommandDispatcher} the command is dispatched
+   * using the key and the priority given by {@link CommandManager#getPriorityResolver()}, else it
+   * is executed in the current thread. Slash commands are deferred before they are dispatched, as
+   * they may wait in the queue longer than the time that Discord gives to acknowledge them.
+   *
+   * @param key the key to keep the order of the executions
+   * @param command the command to execute
+   * @param context the context of the execution
+   * @param timings the timings of the execution or null if they are not measured
+   */
+  private void execute(
+      long key,
       @NonNull JdaCommand command,
-      @Deprecated @NonNull String commandName,
-      CommandContext context) {
-    if (!(command instanceof UnknownCommand)) {
-      return command.execute(context);
-    } else {
-      return Result.forType(ResultType.ERROR)
-          .setDescription(this.messagesProvider.commandNotFound(commandName, context))
-          .build();
+      @NonNull CommandContext context,
+      CommandTimings timings) {
+    Optional<CommandDispatcher> dispatcher = this.manager.getDispatcher();
+    if (!dispatcher.isPresent()) {
+      CommandListener.execute(command, context, timings);
+      return;
+    }
+    if (context instanceof SlashCommandContext) {
+      ((SlashCommandContext) context).getEvent().deferReply(true).queue();
+    }
+    long queued = System.nanoTime();
+    boolean dispatched =
+        dispatcher
+            .get()
+            .dispatch(
+                key,
+                this.manager.getPriorityResolver().resolve(context),
+                () -> {
+                  if (timings != null) {
+                    timings.record(DispatchPhase.QUEUE, queued);
+                  }
+                  CommandListener.execute(command, context, timings);
+                });
+    if (!dispatched) {
+      this.reject(command, context, this.messagesProvider.busy(context), timings);
+    }
+  }
+
+  private static void execute(
+      @NonNull JdaCommand command, @NonNull CommandContext context, CommandTimings timings) {
+    try {
+      command.execute(context);
+    } finally {
+      if (timings != null) {
+        timings.release();
+      }
+    }
+  }
+
+  /**
+   * Reply to an execution that was rejected, because the {@link CommandDispatcher} is busy or the
+   * command is disabled. The result is given to the middlewares of the command, so it is handled
+   * the same way as any other result.
+   *
+   * @param command the command that was rejected
+   * @param context the context of the execution
+   * @param message the message of the result
+   * @param timings the timings of the execution or null if they are not measured
+   */
+  private void reject(
+      @NonNull JdaCommand command,
+      @NonNull CommandContext context,
+      @NonNull String message,
+      CommandTimings timings) {
+    if (context instanceof SlashCommandContext
+        && !((SlashCommandContext) context).getEvent().isAcknowledged()) {
+      ((SlashCommandContext) context).getEvent().deferReply(true).queue();
+    }
+    Result result = Result.forType(ResultType.ERROR).setDescription(message).build();
+    command.getMiddlewares().forEach(middleware -> middleware.next(context, result));
+    if (timings != null) {
+      timings.release();
     }
   }
 
@@ -125,17 +278,16 @@ public class CommandListener implements EventListener {
    *
    * @param event the event where the command was executed from
    * @param strings the strings representing the arguments of the command
-   * @param commandName the name of the command
+   * @param command the command that is executed
    * @return the context of the command
    */
   @NonNull
   private GenericCommandContext getCommandContext(
       @NonNull MessageReceivedEvent event, @NonNull String[] strings, @NonNull JdaCommand command) {
-    strings = Arrays.copyOfRange(strings, 1, strings.length);
     CommandLineParser parser = CommandLineParser.parse(command.getOptions(), strings);
     if (event.isFromGuild()) {
       return new GuildCommandContext(
-          manager.getJda(),
+          event.getJDA(),
           parser,
           command,
           event.getAuthor(),
@@ -146,7 +298,7 @@ public class CommandListener implements EventListener {
           event.getMessage());
     } else {
       return new GenericCommandContext(
-          manager.getJda(),
+          event.getJDA(),
           parser,
           command,
           event.getAuthor(),
@@ -158,12 +310,36 @@ public class CommandListener implements EventListener {
     }
   }
 
+  /**
+   * Get the context where the slash command was executed.
+   *
+   * @param event the event where the command was executed from
+   * @param command the command that is executed
+   * @return the context of the command
+   */
+  @NonNull
+  private SlashCommandContext getCommandContext(
+      @NonNull SlashCommandInteractionEvent event, @NonNull JdaCommand command) {
+    return new SlashCommandContext(
+        event.getJDA(),
+        CommandListener.getParser(command, event.getOptions()),
+        command,
+        event.getUser(),
+        this.manager.getProvidersRegistry(),
+        this.messagesProvider,
+        event,
+        event.getOptions(),
+        event.getChannel());
+  }
+
   @Override
   public void onEvent(@NonNull @NotNull final GenericEvent genericEvent) {
     if (genericEvent instanceof MessageReceivedEvent) {
       this.onMessageReceived((MessageReceivedEvent) genericEvent);
     } else if (genericEvent instanceof SlashCommandInteractionEvent) {
       this.onSlashCommand((SlashCommandInteractionEvent) genericEvent);
+    } else if (genericEvent instanceof CommandAutoCompleteInteractionEvent) {
+      this.onAutoComplete((CommandAutoCompleteInteractionEvent) genericEvent);
     }
   }
 }
@@ -90,6 +90,26 @@ public class JdaMessagesProvider implements MessagesProvider {
     return "You are on cooldown! please wait " + TimeUtil.toString(timeLeft);
   }
 
+  @Override
+  public @NonNull String rateLimited(@NonNull CommandContext context, @NonNull Duration timeLeft) {
+    return "You are running this command too fast! please wait " + TimeUtil.toString(timeLeft);
+  }
+
+  @Override
+  public @NonNull String busy(@NonNull CommandContext context) {
+    return "There are too many commands waiting to be executed! please try again later";
+  }
+
+  @Override
+  public @NonNull String failed(@NonNull CommandContext context) {
+    return "Something went wrong while executing the command! please try again later";
+  }
+
+  @Override
+  public @NonNull String disabled(@NonNull CommandContext context) {
+    return "This command is disabled in this guild";
+  }
+
   @Override
   public @NonNull String commandHelp(
       @NonNull StarboxCommand<CommandContext, ?> command, CommandContext context) {
@@ -126,4 +126,27 @@ public interface MessagesProvider extends StarboxMessagesProvider<CommandContext
    * @return the message to tell that the execution is wrong
    */
   String noMessage(@NonNull CommandContext context);
+
+  /**
+   * Get the message sent when a command could not be executed because the {@link
+   * com.github.chevyself.starbox.jda.dispatch.CommandDispatcher} or the bulkhead of the command is
+   * busy.
+   *
+   * @param context the context of the command
+   * @return the message to tell that the command was not executed
+   */
+  @Override
+  @NonNull
+  String busy(@NonNull CommandContext context);
+
+  /**
+   * Get the message sent when a slash command could not be executed because it was disabled in the
+   * guild using {@link com.github.chevyself.starbox.jda.toggle.CommandToggles}. Disabled commands
+   * executed from messages are ignored.
+   *
+   * @param context the context of the command
+   * @return the message to tell that the command is disabled
+   */
+  @NonNull
+  String disabled(@NonNull CommandContext context);
 }
@@ -0,0 +1,30 @@
+package com.github.chevyself.starbox.jda.middleware;
+
+import com.github.chevyself.starbox.bulkhead.AbstractBulkheadMiddleware;
+import com.github.chevyself.starbox.jda.context.CommandContext;
+import com.github.chevyself.starbox.jda.result.Result;
+import com.github.chevyself.starbox.jda.result.ResultType;
+import lombok.NonNull;
+
+/**
+ * Middleware to limit how many executions of a command run at the same time.
+ *
+ * <p>Executions never wait for a permit: they run in the event thread of JDA or in a stripe of the
+ * {@link com.github.chevyself.starbox.jda.dispatch.CommandDispatcher}, and blocking them would
+ * stall the executions of other guilds. When the bulkhead is full the busy result is given right
+ * away.
+ */
+public class BulkheadMiddleware extends AbstractBulkheadMiddleware<CommandContext> {
+
+  @Override
+  protected @NonNull Result busy(@NonNull CommandContext context) {
+    return Result.forType(ResultType.ERROR)
+        .setDescription(context.getMessagesProvider().busy(context))
+        .build();
+  }
+
+  @Override
+  protected boolean mayWait(@NonNull CommandContext context) {
+    return false;
+  }
+}
@@ -0,0 +1,201 @@
+package com.github.chevyself.starbox.jda.middleware;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongFunction;
+import lombok.Getter;
+import lombok.NonNull;
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.channel.middleman.MessageChannel;
+import net.dv8tion.jda.api.sharding.ShardManager;
+
+/**
+ * Deletes messages after a delay in bulk. Scheduling each deletion with {@link
+ * net.dv8tion.jda.api.requests.RestAction#queueAfter(long, TimeUnit)} keeps a scheduled task per
+ * message, this scheduler keeps the ids in a timing wheel instead and, each tick, deletes the due
+ * messages of a channel together using {@link MessageChannel#purgeMessagesById(long...)}, which
+ * uses the bulk delete endpoint when it is possible.
+ *
+ * <p>Only the ids of the channel and the message are kept and the channel is looked up when the
+ * messages are due, so deletions survive reconnects in which the cached entities are replaced. If
+ * the channel cannot be found, for instance because the bot is reconnecting, the deletion is tried
+ * again in the next ticks before being dropped.
+ *
+ * <pre>{@code
+ * new ResultHandlingMiddleware().setDeletionScheduler(new DeletionScheduler(jda));
+ * }</pre>
+ */
+public class DeletionScheduler implements AutoCloseable {
+
+  private static final int WHEEL_SIZE = 512;
+  private static final int MAX_ATTEMPTS = 10;
+
+  @NonNull private final LongFunction<MessageChannel> channels;
+  @NonNull private final List<Entry>[] wheel;
+  /** The duration of a tick, deletions are done at most this late. */
+  @NonNull @Getter private final Duration tick;
+
+  @NonNull private final ScheduledExecutorService executor;
+  @NonNull private final ScheduledFuture<?> task;
+  private long current;
+  private int pending;
+
+  /**
+   * Create the scheduler.
+   *
+   * @param channels the function to get a channel using its id, it may return null if the channel
+   *     cannot be found
+   * @param tick the duration of a tick
+   */
+  @SuppressWarnings("unchecked")
+  public DeletionScheduler(@NonNull LongFunction<MessageChannel> channels, @NonNull Duration tick) {
+    this.channels = channels;
+    this.tick = tick;
+    this.wheel = new List[DeletionScheduler.WHEEL_SIZE];
+    for (int i = 0; i < this.wheel.length; i++) {
+      this.wheel[i] = new ArrayList<>();
+    }
+    this.executor =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "starbox-deletion-scheduler");
+              thread.setDaemon(true);
+              return thread;
+            });
+    long millis = Math.max(1, tick.toMillis());
+    this.task =
+        this.executor.scheduleAtFixedRate(this::advance, millis, millis, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Create the scheduler with a tick of a second.
+   *
+   * @param jda the instance used to look up the channels
+   */
+  public DeletionScheduler(@NonNull JDA jda) {
+    this(id -> jda.getChannelById(MessageChannel.class, id), Duration.ofSeconds(1));
+  }
+
+  /**
+   * Create the scheduler with a tick of a second for all the shards of a {@link ShardManager}.
+   *
+   * @param shardManager the manager used to look up the channels in every shard
+   */
+  public DeletionScheduler(@NonNull ShardManager shardManager) {
+    this(id -> shardManager.getChannelById(MessageChannel.class, id), Duration.ofSeconds(1));
+  }
+
+  /**
+   * Schedule the deletion of a message.
+   *
+   * @param channel the id of the channel of the message
+   * @param message the id of the message
+   * @param delay the time to wait before deleting the message
+   */
+  public void schedule(long channel, long message, @NonNull Duration delay) {
+    long ticks = Math.max(1, -Math.floorDiv(-delay.toMillis(), Math.max(1, this.tick.toMillis())));
+    synchronized (this) {
+      this.add(new Entry(channel, message, this.current + ticks, 0));
+    }
+  }
+
+  /**
+   * Schedule the deletion of a message.
+   *
+   * @param message the message to delete
+   * @param delay the time to wait before deleting the message
+   */
+  public void schedule(@NonNull Message message, @NonNull Duration delay) {
+    this.schedule(message.getChannel().getIdLong(), message.getIdLong(), delay);
+  }
+
+  /**
+   * Get the amount of messages waiting to be deleted.
+   *
+   * @return the amount of messages
+   */
+  public synchronized int getPendingCount() {
+    return this.pending;
+  }
+
+  private void add(@NonNull Entry entry) {
+    this.wheel[(int) (entry.deadline & (DeletionScheduler.WHEEL_SIZE - 1))].add(entry);
+    this.pending++;
+  }
+
+  private void advance() {
+    Map<Long, List<Entry>> due = new HashMap<>();
+    synchronized (this) {
+      long tick = ++this.current;
+      List<Entry> bucket = this.wheel[(int) (tick & (DeletionScheduler.WHEEL_SIZE - 1))];
+      for (int i = bucket.size() - 1; i >= 0; i--) {
+        Entry entry = bucket.get(i);
+        if (entry.deadline <= tick) {
+          bucket.set(i, bucket.get(bucket.size() - 1));
+          bucket.remove(bucket.size() - 1);
+          this.pending--;
+          due.computeIfAbsent(entry.channel, key -> new ArrayList<>()).add(entry);
+        }
+      }
+    }
+    due.forEach(this::delete);
+  }
+
+  private void delete(long id, @NonNull List<Entry> entries) {
+    MessageChannel channel;
+    try {
+      channel = this.channels.apply(id);
+    } catch (RuntimeException e) {
+      channel = null;
+    }
+    if (channel == null) {
+      synchronized (this) {
+        for (Entry entry : entries) {
+          if (entry.attempts + 1 < DeletionScheduler.MAX_ATTEMPTS) {
+            this.add(new Entry(entry.channel, entry.message, this.current + 1, entry.attempts + 1));
+          }
+        }
+      }
+      return;
+    }
+    long[] messages = new long[entries.size()];
+    for (int i = 0; i < messages.length; i++) {
+      messages[i] = entries.get(i).message;
+    }
+    try {
+      channel.purgeMessagesById(messages).forEach(future -> future.exceptionally(fail -> null));
+    } catch (RuntimeException e) {
+      // Missing permissions are thrown before queueing, an exception would stop the wheel
+    }
+  }
+
+  /** Stop deleting messages. The messages that are waiting are not deleted. */
+  @Override
+  public void close() {
+    this.task.cancel(false);
+    this.executor.shutdown();
+  }
+
+  private static final class Entry {
+
+    private final long channel;
+    private final long message;
+    private final long deadline;
+    private final int attempts;
+
+    private Entry(long channel, long message, long deadline, int attempts) {
+      this.channel = channel;
+      this.message = message;
+      this.deadline = deadline;
+      this.attempts = attempts;
+    }
+  }
+}
@@ -0,0 +1,138 @@
+package com.github.chevyself.starbox.jda.middleware;
+
+import com.github.chevyself.starbox.jda.context.CommandContext;
+import com.github.chevyself.starbox.jda.messages.MessagesProvider;
+import com.github.chevyself.starbox.jda.result.ResultType;
+import com.github.chevyself.starbox.util.ConcurrentLongMap;
+import java.util.Collections;
+import java.util.Optional;
+import lombok.NonNull;
+import net.dv8tion.jda.api.entities.EmbedType;
+import net.dv8tion.jda.api.entities.MessageEmbed;
+import net.dv8tion.jda.api.entities.channel.middleman.GuildChannel;
+import net.dv8tion.jda.api.entities.channel.middleman.MessageChannel;
+
+/**
+ * Caches the parts of the embeds of results that do not change between executions: the title, the
+ * thumbnail and the footer. Those are taken from the {@link MessagesProvider} once for each {@link
+ * ResultType} and guild and then only the description and the color are filled when a result is
+ * rendered, the embed is created directly instead of using an {@link
+ * net.dv8tion.jda.api.EmbedBuilder}.
+ *
+ * <p>This should only be used if the title, thumbnail and footer of the messages provider depend
+ * only on the guild. If they change, for instance because the language of a guild was changed, use
+ * {@link #invalidate(long)}.
+ *
+ * <pre>{@code
+ * new ResultHandlingMiddleware().setTemplateCache(new EmbedTemplateCache(1000));
+ * }</pre>
+ */
+public class EmbedTemplateCache {
+
+  private static final ResultType[] TYPES = ResultType.values();
+
+  @NonNull private final ConcurrentLongMap<Template[]> templates;
+
+  /**
+   * Create the cache.
+   *
+   * @param maximumSize the maximum amount of guilds to cache or 0 if it is unbounded
+   */
+  public EmbedTemplateCache(int maximumSize) {
+    this.templates = new ConcurrentLongMap<>(maximumSize);
+  }
+
+  private static long getGuild(@NonNull CommandContext context) {
+    Optional<MessageChannel> channel = context.getChannel();
+    if (channel.isPresent() && channel.get() instanceof GuildChannel) {
+      return ((GuildChannel) channel.get()).getGuild().getIdLong();
+    }
+    return 0;
+  }
+
+  /**
+   * Render the embed of a result.
+   *
+   * @param type the type of the result
+   * @param context the context of the command that gave the result
+   * @param color the rgb color of the embed
+   * @param description the message of the result
+   * @return the embed
+   * @throws IllegalArgumentException if the description is longer than {@link
+   *     MessageEmbed#DESCRIPTION_MAX_LENGTH}
+   */
+  @NonNull
+  public MessageEmbed render(
+      @NonNull ResultType type,
+      @NonNull CommandContext context,
+      int color,
+      @NonNull String description) {
+    if (description.length() > MessageEmbed.DESCRIPTION_MAX_LENGTH) {
+      throw new IllegalArgumentException(
+          "Description cannot be longer than "
+              + MessageEmbed.DESCRIPTION_MAX_LENGTH
+              + " characters");
+    }
+    Template[] templates =
+        this.templates.computeIfAbsent(
+            EmbedTemplateCache.getGuild(context),
+            guild -> new Template[EmbedTemplateCache.TYPES.length]);
+    Template template = templates[type.ordinal()];
+    if (template == null) {
+      template = new Template(type, context);
+      templates[type.ordinal()] = template;
+    }
+    return new MessageEmbed(
+        null,
+        template.title,
+        description.isEmpty() ? null : description,
+        EmbedType.RICH,
+        null,
+        color & 0xFFFFFF,
+        template.thumbnail,
+        null,
+        null,
+        null,
+        template.footer,
+        null,
+        Collections.emptyList());
+  }
+
+  /**
+   * Remove the templates of a guild, they will be taken again from the messages provider the next
+   * time a result is rendered.
+   *
+   * @param guild the id of the guild or 0 for private messages
+   */
+  public void invalidate(long guild) {
+    this.templates.remove(guild);
+  }
+
+  /** Remove the templates of every guild. */
+  public void clear() {
+    this.templates.clear();
+  }
+
+  /**
+   * The parts of an embed that do not change between results. Templates are immutable so they may
+   * be shared between threads, two threads creating the template of the same type at once just
+   * create the same template twice.
+   */
+  private static final class Template {
+
+    private final String title;
+    private final MessageEmbed.Thumbnail thumbnail;
+    private final MessageEmbed.Footer footer;
+
+    private Template(@NonNull ResultType type, @NonNull CommandContext context) {
+      MessagesProvider messagesProvider = context.getMessagesProvider();
+      String title = type.getTitle(messagesProvider, context);
+      String thumbnail = messagesProvider.thumbnailUrl(context);
+      String footer = messagesProvider.footer(context);
+      this.title = title == null || title.isEmpty() ? null : title;
+      this.thumbnail =
+          thumbnail.isEmpty() ? null : new MessageEmbed.Thumbnail(thumbnail, null, 0, 0);
+      this.footer = new MessageEmbed.Footer(footer, null, null);
+    }
+  }
+}
@@ -0,0 +1,250 @@
+package com.github.chevyself.starbox.jda.middleware;
+
+import com.github.chevyself.starbox.util.ConcurrentLongMap;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import lombok.Getter;
+import lombok.NonNull;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.MessageEmbed;
+import net.dv8tion.jda.api.entities.channel.middleman.MessageChannel;
+import net.dv8tion.jda.api.utils.messages.MessageCreateBuilder;
+import net.dv8tion.jda.api.utils.messages.MessageCreateData;
+
+/**
+ * Merges the messages sent to the same channel in a short window into a single message, so many
+ * commands executed in the same channel at once do not hit the rate limit of the channel.
+ *
+ * <p>The first message sent to a channel opens a batch which is sent once the {@link #getWindow()}
+ * has passed, so a message is never delayed more than that. The following messages are added to the
+ * batch while the merged message stays inside the limits of Discord: {@link
+ * Message#MAX_CONTENT_LENGTH} characters of content, {@link Message#MAX_EMBED_COUNT} embeds and
+ * {@link MessageEmbed#EMBED_MAX_LENGTH_BOT} characters in all the embeds. A message that does not
+ * fit sends the batch and opens a new one.
+ *
+ * <p>Messages with files, components or text to speech are not merged, they send the batch of the
+ * channel and then are sent alone so the order of the messages is kept.
+ *
+ * <p>Each message keeps its own consumers, when the merged message is sent they all receive it.
+ * This means that a consumer that deletes or edits its message would act on the replies of other
+ * commands too: messages with such consumers must be sent without the coalescer, as {@link
+ * ResultHandlingMiddleware} does.
+ *
+ * <pre>{@code
+ * new ResultHandlingMiddleware().setCoalescer(new MessageCoalescer(Duration.ofMillis(250)));
+ * }</pre>
+ */
+public class MessageCoalescer {
+
+  @NonNull private static final ScheduledExecutorService FLUSHES = MessageCoalescer.createFlushes();
+
+  @NonNull private final ConcurrentLongMap<Batch> batches = new ConcurrentLongMap<>();
+  /** The maximum time that a message waits to be merged with others. */
+  @NonNull @Getter private final Duration window;
+
+  /**
+   * Create the coalescer.
+   *
+   * @param window the maximum time that a message waits to be merged with others
+   */
+  public MessageCoalescer(@NonNull Duration window) {
+    this.window = window;
+  }
+
+  @NonNull
+  private static ScheduledExecutorService createFlushes() {
+    ScheduledThreadPoolExecutor executor =
+        new ScheduledThreadPoolExecutor(
+            1,
+            runnable -> {
+              Thread thread = new Thread(runnable, "starbox-message-coalescer");
+              thread.setDaemon(true);
+              return thread;
+            });
+    executor.setRemoveOnCancelPolicy(true);
+    return executor;
+  }
+
+  private static boolean isMergeable(@NonNull MessageCreateData data) {
+    return data.getFiles().isEmpty() && data.getComponents().isEmpty() && !data.isTTS();
+  }
+
+  /**
+   * Send a message to a channel.
+   *
+   * @param channel the channel to send the message to
+   * @param data the message to send
+   * @param success the consumer of the sent message, may be null
+   * @param failure the consumer of the error if the message could not be sent, may be null
+   */
+  public void send(
+      @NonNull MessageChannel channel,
+      @NonNull MessageCreateData data,
+      Consumer<Message> success,
+      Consumer<Throwable> failure) {
+    long id = channel.getIdLong();
+    if (!MessageCoalescer.isMergeable(data)) {
+      this.flush(id);
+      channel.sendMessage(data).queue(success, failure);
+      return;
+    }
+    Pending pending = new Pending(data, success, failure);
+    while (true) {
+      Batch batch = this.batches.computeIfAbsent(id, key -> new Batch(channel));
+      synchronized (batch) {
+        if (batch.closed) {
+          continue;
+        }
+        if (!batch.pending.isEmpty() && !batch.fits(data)) {
+          this.close(id, batch);
+          continue;
+        }
+        batch.add(pending);
+        if (batch.pending.size() == 1) {
+          MessageCoalescer.FLUSHES.schedule(
+              () -> this.flush(id, batch), this.window.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        return;
+      }
+    }
+  }
+
+  /**
+   * Send the batch of a channel now.
+   *
+   * @param channel the id of the channel
+   */
+  public void flush(long channel) {
+    Batch batch = this.batches.get(channel);
+    if (batch != null) {
+      this.flush(channel, batch);
+    }
+  }
+
+  /**
+   * Get the amount of channels that have messages waiting to be sent.
+   *
+   * @return the amount of channels
+   */
+  public int getPendingChannels() {
+    return this.batches.size();
+  }
+
+  private void flush(long id, @NonNull Batch batch) {
+    synchronized (batch) {
+      if (!batch.closed) {
+        this.close(id, batch);
+      }
+    }
+  }
+
+  /** Must be called while holding the lock of the batch. */
+  private void close(long id, @NonNull Batch batch) {
+    batch.closed = true;
+    this.batches.remove(id);
+    batch.send();
+  }
+
+  private static final class Pending {
+
+    @NonNull private final MessageCreateData data;
+    private final Consumer<Message> success;
+    private final Consumer<Throwable> failure;
+
+    private Pending(
+        @NonNull MessageCreateData data, Consumer<Message> success, Consumer<Throwable> failure) {
+      this.data = data;
+      this.success = success;
+      this.failure = failure;
+    }
+  }
+
+  private static final class Batch {
+
+    @NonNull private final MessageChannel channel;
+    @NonNull private final List<Pending> pending = new ArrayList<>();
+    private int contentLength;
+    private int embeds;
+    private int embedsLength;
+    private boolean closed;
+
+    private Batch(@NonNull MessageChannel channel) {
+      this.channel = channel;
+    }
+
+    private static int embedsLength(@NonNull MessageCreateData data) {
+      int length = 0;
+      for (MessageEmbed embed : data.getEmbeds()) {
+        length += embed.getLength();
+      }
+      return length;
+    }
+
+    private static int contentLength(@NonNull String content, boolean first) {
+      if (content.isEmpty()) {
+        return 0;
+      }
+      return first ? content.length() : content.length() + 1;
+    }
+
+    private boolean fits(@NonNull MessageCreateData data) {
+      return this.contentLength + Batch.contentLength(data.getContent(), this.contentLength == 0)
+              <= Message.MAX_CONTENT_LENGTH
+          && this.embeds + data.getEmbeds().size() <= Message.MAX_EMBED_COUNT
+          && this.embedsLength + Batch.embedsLength(data) <= MessageEmbed.EMBED_MAX_LENGTH_BOT;
+    }
+
+    private void add(@NonNull Pending pending) {
+      this.pending.add(pending);
+      this.contentLength += Batch.contentLength(pending.data.getContent(), this.contentLength == 0);
+      this.embeds += pending.data.getEmbeds().size();
+      this.embedsLength += Batch.embedsLength(pending.data);
+    }
+
+    private void send() {
+      if (this.pending.isEmpty()) {
+        return;
+      }
+      List<Pending> pending = new ArrayList<>(this.pending);
+      MessageCreateData data;
+      if (pending.size() == 1) {
+        data = pending.get(0).data;
+      } else {
+        StringBuilder content = new StringBuilder();
+        List<MessageEmbed> embeds = new ArrayList<>(this.embeds);
+        for (Pending message : pending) {
+          if (!message.data.getContent().isEmpty()) {
+            if (content.length() > 0) {
+              content.append('\n');
+            }
+            content.append(message.data.getContent());
+          }
+          embeds.addAll(message.data.getEmbeds());
+        }
+        data = new MessageCreateBuilder().setContent(content.toString()).setEmbeds(embeds).build();
+      }
+      this.channel
+          .sendMessage(data)
+          .queue(
+              message -> {
+                for (Pending sent : pending) {
+                  if (sent.success != null) {
+                    sent.success.accept(message);
+                  }
+                }
+              },
+              fail -> {
+                for (Pending sent : pending) {
+                  if (sent.failure != null) {
+                    sent.failure.accept(fail);
+                  }
+                }
+              });
+    }
+  }
+}
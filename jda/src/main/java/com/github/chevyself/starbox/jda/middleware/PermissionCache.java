@@ -0,0 +1,129 @@
+package com.github.chevyself.starbox.jda.middleware;
+
+import com.github.chevyself.starbox.util.ConcurrentLongMap;
+import lombok.NonNull;
+import net.dv8tion.jda.api.Permission;
+import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.events.GenericEvent;
+import net.dv8tion.jda.api.events.guild.GuildLeaveEvent;
+import net.dv8tion.jda.api.events.guild.member.GuildMemberRemoveEvent;
+import net.dv8tion.jda.api.events.guild.member.GuildMemberRoleAddEvent;
+import net.dv8tion.jda.api.events.guild.member.GuildMemberRoleRemoveEvent;
+import net.dv8tion.jda.api.events.guild.update.GuildUpdateOwnerEvent;
+import net.dv8tion.jda.api.events.role.RoleDeleteEvent;
+import net.dv8tion.jda.api.events.role.update.RoleUpdatePermissionsEvent;
+import net.dv8tion.jda.api.hooks.EventListener;
+
+/**
+ * Caches the permissions of the members of each guild, so the {@link PermissionMiddleware} does not
+ * compute them from the roles of the member in each execution. The permissions of a member are kept
+ * as their raw value, so checking the permissions of a command is a single mask.
+ *
+ * <p>This must be added as a listener to JDA, as the permissions of a member are removed from the
+ * cache when the member gets or loses a role and the permissions of a whole guild when a role is
+ * updated or deleted or the owner changes:
+ *
+ * <pre>{@code
+ * PermissionCache cache = new PermissionCache();
+ * jda.addEventListener(cache);
+ * manager.addGlobalMiddleware(new PermissionMiddleware(cache));
+ * }</pre>
+ */
+public class PermissionCache implements EventListener {
+
+  @NonNull private final ConcurrentLongMap<ConcurrentLongMap<Long>> guilds;
+  private final int maximumMembers;
+
+  /**
+   * Create the cache.
+   *
+   * @param maximumGuilds the maximum amount of guilds to keep in the cache or 0 if it is unbounded
+   * @param maximumMembers the maximum amount of members to keep for each guild or 0 if it is
+   *     unbounded
+   */
+  public PermissionCache(int maximumGuilds, int maximumMembers) {
+    this.guilds = new ConcurrentLongMap<>(maximumGuilds);
+    this.maximumMembers = maximumMembers;
+  }
+
+  /** Create the cache. At most 1000 members of 1000 guilds are cached. */
+  public PermissionCache() {
+    this(1000, 1000);
+  }
+
+  /**
+   * Get the raw value of the permissions of a member in the guild. The permissions are computed
+   * while the member is locked in the cache, so an invalidation can't be overwritten by permissions
+   * computed before it.
+   *
+   * @param member the member to get the permissions from
+   * @return the raw value of the permissions, see {@link Permission#getRaw(java.util.Collection)}
+   */
+  public long getPermissions(@NonNull Member member) {
+    ConcurrentLongMap<Long> members =
+        this.guilds.computeIfAbsent(
+            member.getGuild().getIdLong(), guild -> new ConcurrentLongMap<>(this.maximumMembers));
+    return members.computeIfAbsent(
+        member.getIdLong(), id -> Permission.getRaw(member.getPermissions()));
+  }
+
+  /**
+   * Check whether a member has some permissions in the guild.
+   *
+   * @param member the member to check
+   * @param permissions the raw value of the permissions
+   * @return true if the member has all the permissions
+   */
+  public boolean hasPermissions(@NonNull Member member, long permissions) {
+    return (this.getPermissions(member) & permissions) == permissions;
+  }
+
+  /**
+   * Remove the permissions of a member from the cache.
+   *
+   * @param guild the id of the guild
+   * @param member the id of the member
+   */
+  public void invalidate(long guild, long member) {
+    ConcurrentLongMap<Long> members = this.guilds.get(guild);
+    if (members != null) {
+      members.remove(member);
+    }
+  }
+
+  /**
+   * Remove the permissions of every member of a guild from the cache.
+   *
+   * @param guild the id of the guild
+   */
+  public void invalidate(long guild) {
+    this.guilds.remove(guild);
+  }
+
+  /** Remove every permission from the cache. */
+  public void clear() {
+    this.guilds.clear();
+  }
+
+  @Override
+  public void onEvent(@NonNull GenericEvent event) {
+    if (event instanceof GuildMemberRoleAddEvent) {
+      GuildMemberRoleAddEvent roleEvent = (GuildMemberRoleAddEvent) event;
+      this.invalidate(roleEvent.getGuild().getIdLong(), roleEvent.getMember().getIdLong());
+    } else if (event instanceof GuildMemberRoleRemoveEvent) {
+      GuildMemberRoleRemoveEvent roleEvent = (GuildMemberRoleRemoveEvent) event;
+      this.invalidate(roleEvent.getGuild().getIdLong(), roleEvent.getMember().getIdLong());
+    } else if (event instanceof GuildMemberRemoveEvent) {
+      GuildMemberRemoveEvent removeEvent = (GuildMemberRemoveEvent) event;
+      this.invalidate(removeEvent.getGuild().getIdLong(), removeEvent.getUser().getIdLong());
+    } else if (event instanceof RoleUpdatePermissionsEvent) {
+      this.invalidate(((RoleUpdatePermissionsEvent) event).getGuild().getIdLong());
+    } else if (event instanceof RoleDeleteEvent) {
+      this.invalidate(((RoleDeleteEvent) event).getGuild().getIdLong());
+    } else if (event instanceof GuildUpdateOwnerEvent) {
+      this.invalidate(((GuildUpdateOwnerEvent) event).getGuild().getIdLong());
+    } else if (event instanceof GuildLeaveEvent) {
+      this.invalidate(((GuildLeaveEvent) event).getGuild().getIdLong());
+    }
+  }
+}
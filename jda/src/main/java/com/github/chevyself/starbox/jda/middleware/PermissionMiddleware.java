@@ -1,10 +1,11 @@
 package com.github.chevyself.starbox.jda.middleware;
 
+import com.github.chevyself.starbox.jda.JdaCommand;
 import com.github.chevyself.starbox.jda.annotations.Command;
 import com.github.chevyself.starbox.jda.context.CommandContext;
+import com.github.chevyself.starbox.jda.context.SlashCommandContext;
 import com.github.chevyself.starbox.jda.result.Result;
 import com.github.chevyself.starbox.jda.result.ResultType;
-import java.util.Map;
 import java.util.Optional;
 import lombok.NonNull;
 import net.dv8tion.jda.api.Permission;
@@ -16,45 +17,66 @@ import net.dv8tion.jda.api.entities.Member;
  * <p>To use this middleware you must enter in the {@link Command} map the entry with the key
  * 'permission' and as a value it must be the name of a valid permission in {@link Permission} if
  * the command is executed outside a {@link net.dv8tion.jda.api.entities.Guild} an error message
- * will be displayed as it will not run
+ * will be displayed as it will not run. The entry is parsed once when the command is created, see
+ * {@link JdaCommand#getPermissions()}.
+ *
+ * <p>The permissions of the members may be cached using a {@link PermissionCache}.
  */
 public class PermissionMiddleware implements JdaMiddleware {
 
-  @NonNull private static final String key = "permission";
+  private final PermissionCache cache;
+
+  /**
+   * Create the middleware.
+   *
+   * @param cache the cache of the permissions of the members or null to compute them in each
+   *     execution
+   */
+  public PermissionMiddleware(PermissionCache cache) {
+    this.cache = cache;
+  }
+
+  /** Create the middleware without caching the permissions of the members. */
+  public PermissionMiddleware() {
+    this(null);
+  }
+
+  private static Member getMember(@NonNull CommandContext context) {
+    if (context instanceof SlashCommandContext) {
+      return ((SlashCommandContext) context).getEvent().getMember();
+    }
+    return context
+        .getMessage()
+        .map(message -> message.isFromGuild() ? message.getMember() : null)
+        .orElse(null);
+  }
 
   @Override
   public @NonNull Optional<Result> next(@NonNull CommandContext context) {
-    Permission permission = this.getPermission(context);
-    Optional<Member> optional =
-        context.getMessage().map(message -> message.isFromGuild() ? message.getMember() : null);
+    JdaCommand command = context.getCommand();
+    if (command.getPermissions().isEmpty()) {
+      return Optional.empty();
+    }
+    Member member = PermissionMiddleware.getMember(context);
     Result result = null;
-    if (permission != Permission.UNKNOWN) {
-      if (optional.isPresent()) {
-        if (!optional.get().hasPermission(permission)) {
-          result =
-              Result.forType(ResultType.PERMISSION)
-                  .setDescription(context.getMessagesProvider().notAllowed(context))
-                  .build();
-        }
-      } else {
-        result =
-            Result.forType(ResultType.ERROR)
-                .setDescription(context.getMessagesProvider().guildOnly(context))
-                .build();
-      }
+    if (member == null) {
+      result =
+          Result.forType(ResultType.ERROR)
+              .setDescription(context.getMessagesProvider().guildOnly(context))
+              .build();
+    } else if (!this.hasPermissions(member, command)) {
+      result =
+          Result.forType(ResultType.PERMISSION)
+              .setDescription(context.getMessagesProvider().notAllowed(context))
+              .build();
     }
     return Optional.ofNullable(result);
   }
 
-  @NonNull
-  private Permission getPermission(@NonNull CommandContext context) {
-    Map<String, String> map = context.getCommand().getMap();
-    if (map.containsKey(PermissionMiddleware.key)) {
-      try {
-        return Permission.valueOf(map.get(PermissionMiddleware.key).toUpperCase());
-      } catch (IllegalArgumentException ignored) {
-      }
+  private boolean hasPermissions(@NonNull Member member, @NonNull JdaCommand command) {
+    if (this.cache != null) {
+      return this.cache.hasPermissions(member, command.getPermissionsRaw());
     }
-    return Permission.UNKNOWN;
+    return member.hasPermission(command.getPermissions());
   }
 }
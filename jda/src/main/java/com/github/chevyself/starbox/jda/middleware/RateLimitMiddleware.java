@@ -0,0 +1,35 @@
+package com.github.chevyself.starbox.jda.middleware;
+
+import com.github.chevyself.starbox.jda.context.CommandContext;
+import com.github.chevyself.starbox.jda.cooldown.RateLimiter;
+import com.github.chevyself.starbox.jda.result.Result;
+import com.github.chevyself.starbox.jda.result.ResultType;
+import java.util.Optional;
+import lombok.NonNull;
+
+/**
+ * Middleware to check the rate limit of commands. This should be the first middleware so rejected
+ * executions do not go through any other check. The limit of a command is set with {@link
+ * com.github.chevyself.starbox.jda.annotations.Command#rateLimit()}, the middleware is added by
+ * {@link com.github.chevyself.starbox.jda.CommandManager#addDefaultMiddlewares()}.
+ */
+public class RateLimitMiddleware implements JdaMiddleware {
+
+  @Override
+  public @NonNull Optional<Result> next(@NonNull CommandContext context) {
+    Optional<RateLimiter> optional = context.getCommand().getRateLimiter();
+    if (optional.isPresent()) {
+      RateLimiter limiter = optional.get();
+      if (!limiter.tryAcquire(context)) {
+        return Optional.of(
+            Result.forType(ResultType.ERROR)
+                .setDescription(
+                    context
+                        .getMessagesProvider()
+                        .rateLimited(context, limiter.getTimeLeft(context)))
+                .build());
+      }
+    }
+    return Optional.empty();
+  }
+}
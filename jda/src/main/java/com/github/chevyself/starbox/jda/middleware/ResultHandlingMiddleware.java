@@ -5,10 +5,14 @@ import com.github.chevyself.starbox.jda.ListenerOptions;
 import com.github.chevyself.starbox.jda.context.CommandContext;
 import com.github.chevyself.starbox.jda.context.GenericCommandContext;
 import com.github.chevyself.starbox.jda.context.SlashCommandContext;
+import com.github.chevyself.starbox.jda.latency.CommandTimings;
+import com.github.chevyself.starbox.jda.latency.DispatchPhase;
 import com.github.chevyself.starbox.jda.messages.MessagesProvider;
 import com.github.chevyself.starbox.jda.result.JdaResult;
+import com.github.chevyself.starbox.jda.result.PagedResult;
 import com.github.chevyself.starbox.jda.result.Result;
 import com.github.chevyself.starbox.jda.result.ResultType;
+import com.github.chevyself.starbox.result.LinePager;
 import com.github.chevyself.starbox.result.StarboxResult;
 import java.awt.Color;
 import java.time.Duration;
@@ -17,15 +21,19 @@ import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import lombok.Data;
 import lombok.Getter;
 import lombok.NonNull;
 import net.dv8tion.jda.api.EmbedBuilder;
 import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.MessageEmbed;
 import net.dv8tion.jda.api.entities.channel.ChannelType;
 import net.dv8tion.jda.api.entities.channel.middleman.MessageChannel;
 import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
 import net.dv8tion.jda.api.events.message.MessageReceivedEvent;
+import net.dv8tion.jda.api.interactions.InteractionHook;
+import net.dv8tion.jda.api.requests.RestAction;
 import net.dv8tion.jda.api.utils.messages.MessageCreateBuilder;
 import net.dv8tion.jda.api.utils.messages.MessageCreateData;
 
@@ -91,6 +99,26 @@ public class ResultHandlingMiddleware implements Middleware<CommandContext> {
    * {@link net.dv8tion.jda.api.entities.User} that execute the command
    */
   private boolean sendErrors = false;
+  /**
+   * Merges the results sent to the same channel in a short window, if null each result is sent as
+   * its own message. Results of slash commands are not merged as they reply to the interaction.
+   */
+  private MessageCoalescer coalescer;
+  /**
+   * Deletes the messages in bulk, if null each message is deleted with its own request using {@link
+   * net.dv8tion.jda.api.requests.RestAction#queueAfter(long, TimeUnit)}
+   */
+  private DeletionScheduler deletionScheduler;
+  /**
+   * Caches the title, thumbnail and footer of embeds, if null they are taken from the {@link
+   * MessagesProvider} for each result.
+   */
+  private EmbedTemplateCache templateCache;
+  /**
+   * The maximum amount of messages sent for a {@link PagedResult}, the lines that do not fit in
+   * them are not sent.
+   */
+  private int maxPages = 10;
 
   /**
    * Set the prefix to differentiate commands.
@@ -104,6 +132,57 @@ public class ResultHandlingMiddleware implements Middleware<CommandContext> {
     return this;
   }
 
+  /**
+   * Set the coalescer to merge the results sent to the same channel in a short window. Results that
+   * have their own consumer, such as a {@link Result#getSuccess()} or the consumer that deletes
+   * them after a while, are not merged: the consumer would act on the replies of other commands
+   * too.
+   *
+   * @param coalescer the new coalescer or null to send each result as its own message
+   * @return this same instance
+   */
+  @NonNull
+  public ResultHandlingMiddleware setCoalescer(MessageCoalescer coalescer) {
+    this.coalescer = coalescer;
+    return this;
+  }
+
+  /**
+   * Set the scheduler to delete the messages of commands and results in bulk.
+   *
+   * @param deletionScheduler the new scheduler or null to delete each message with its own request
+   * @return this same instance
+   */
+  @NonNull
+  public ResultHandlingMiddleware setDeletionScheduler(DeletionScheduler deletionScheduler) {
+    this.deletionScheduler = deletionScheduler;
+    return this;
+  }
+
+  /**
+   * Set the cache of the parts of embeds that do not change between results.
+   *
+   * @param templateCache the new cache or null to build each embed from the messages provider
+   * @return this same instance
+   */
+  @NonNull
+  public ResultHandlingMiddleware setTemplateCache(EmbedTemplateCache templateCache) {
+    this.templateCache = templateCache;
+    return this;
+  }
+
+  /**
+   * Set the maximum amount of messages sent for a {@link PagedResult}.
+   *
+   * @param maxPages the new maximum amount of messages
+   * @return this same instance
+   */
+  @NonNull
+  public ResultHandlingMiddleware setMaxPages(int maxPages) {
+    this.maxPages = maxPages;
+    return this;
+  }
+
   @NonNull
   private Color getColor(@NonNull ResultType type) {
     if (type.isError()) {
@@ -143,6 +222,9 @@ public class ResultHandlingMiddleware implements Middleware<CommandContext> {
    * @see #toDeleteErrors
    */
   public Consumer<Message> getErrorDeleteConsumer() {
+    if (this.deletionScheduler != null) {
+      return msg -> this.deletionScheduler.schedule(msg, this.getToDeleteErrors());
+    }
     return msg ->
         msg.delete().queueAfter(this.getToDeleteErrors().toMillis(), TimeUnit.MILLISECONDS);
   }
@@ -157,6 +239,9 @@ public class ResultHandlingMiddleware implements Middleware<CommandContext> {
    * @see #toDeleteSuccess
    */
   public Consumer<Message> getSuccessDeleteConsumer() {
+    if (this.deletionScheduler != null) {
+      return msg -> this.deletionScheduler.schedule(msg, this.getToDeleteSuccess());
+    }
     return msg ->
         msg.delete().queueAfter(this.getToDeleteSuccess().toMillis(), TimeUnit.MILLISECONDS);
   }
@@ -166,56 +251,77 @@ public class ResultHandlingMiddleware implements Middleware<CommandContext> {
       @NonNull String commandName,
       @NonNull List<String> strings) {
     if (this.isDeleteCommands() && event.getChannelType() != ChannelType.PRIVATE) {
-      event.getMessage().delete().queue();
+      if (this.deletionScheduler != null) {
+        this.deletionScheduler.schedule(event.getMessage(), Duration.ZERO);
+      } else {
+        event.getMessage().delete().queue();
+      }
     }
   }
 
   private MessageCreateData processResult(Result result, @NonNull CommandContext context) {
-    if (result != null && !result.getDiscordMessage().isPresent()) {
-      MessageCreateBuilder builder = new MessageCreateBuilder();
-      MessagesProvider messagesProvider = context.getMessagesProvider();
+    if (result == null) {
+      return null;
+    } else if (result.getDiscordMessage().isPresent()) {
+      return result.getDiscordMessage().get();
+    }
+    return result
+        .getMessage()
+        .map(description -> this.render(result.getType(), description, context))
+        .orElse(null);
+  }
+
+  @NonNull
+  private MessageCreateData render(
+      @NonNull ResultType type, @NonNull String description, @NonNull CommandContext context) {
+    if (this.isEmbedMessages() && this.templateCache != null) {
+      return MessageCreateData.fromEmbeds(
+          this.templateCache.render(type, context, this.getColor(type).getRGB(), description));
+    }
+    MessageCreateBuilder builder = new MessageCreateBuilder();
+    MessagesProvider messagesProvider = context.getMessagesProvider();
+    if (this.isEmbedMessages()) {
       String thumbnail = messagesProvider.thumbnailUrl(context);
-      Optional<String> optionalMessage = result.getMessage();
-      if (this.isEmbedMessages()) {
-        if (optionalMessage.isPresent()) {
-          EmbedBuilder embedBuilder =
-              new EmbedBuilder()
-                  .setTitle(result.getType().getTitle(messagesProvider, context))
-                  .setDescription(optionalMessage.get())
-                  .setThumbnail(thumbnail.isEmpty() ? null : thumbnail)
-                  .setFooter(messagesProvider.footer(context))
-                  .setColor(this.getColor(result.getType()));
-          return builder.setEmbeds(embedBuilder.build()).build();
-        } else {
-          return null;
-        }
-      } else {
-        return optionalMessage
-            .map(
-                s ->
-                    builder
-                        .setContent(
-                            messagesProvider.response(
-                                result.getType().getTitle(messagesProvider, context), s, context))
-                        .build())
-            .orElse(null);
-      }
-    } else if (result != null) {
-      return result.getDiscordMessage().orElse(null);
+      EmbedBuilder embedBuilder =
+          new EmbedBuilder()
+              .setTitle(type.getTitle(messagesProvider, context))
+              .setDescription(description)
+              .setThumbnail(thumbnail.isEmpty() ? null : thumbnail)
+              .setFooter(messagesProvider.footer(context))
+              .setColor(this.getColor(type));
+      return builder.setEmbeds(embedBuilder.build()).build();
     }
-    return null;
+    return builder
+        .setContent(
+            messagesProvider.response(
+                type.getTitle(messagesProvider, context), description, context))
+        .build();
   }
 
-  private Consumer<Message> processConsumer(Result result, @NonNull CommandContext context) {
-    if (result != null) {
-      if (result.getSuccess() != null) {
-        return result.getSuccess();
-      } else if (this.isDeleteErrors() && result.getType().isError()) {
-        return this.getErrorDeleteConsumer();
-      } else if (this.isDeleteSuccess() && !result.getType().isError()) {
-        if (!context.getCommand().getMap().containsKey("excluded")) {
-          return this.getSuccessDeleteConsumer();
-        }
+  /**
+   * Get the maximum length of a page of a {@link PagedResult}, which is the length of the
+   * description of an embed or, if results are not embedded, the length of the content left by
+   * {@link MessagesProvider#response(String, String, CommandContext)}.
+   */
+  private int getPageLength(@NonNull ResultType type, @NonNull CommandContext context) {
+    if (this.isEmbedMessages()) {
+      return MessageEmbed.DESCRIPTION_MAX_LENGTH;
+    }
+    MessagesProvider messagesProvider = context.getMessagesProvider();
+    String response =
+        messagesProvider.response(type.getTitle(messagesProvider, context), "", context);
+    return Math.max(1, Message.MAX_CONTENT_LENGTH - response.length());
+  }
+
+  private Consumer<Message> processConsumer(
+      @NonNull ResultType type, Consumer<Message> success, @NonNull CommandContext context) {
+    if (success != null) {
+      return success;
+    } else if (this.isDeleteErrors() && type.isError()) {
+      return this.getErrorDeleteConsumer();
+    } else if (this.isDeleteSuccess() && !type.isError()) {
+      if (!context.getCommand().isExcluded()) {
+        return this.getSuccessDeleteConsumer();
       }
     }
     return null;
@@ -243,35 +349,175 @@ public class ResultHandlingMiddleware implements Middleware<CommandContext> {
   }
 
   private void handle(JdaResult jdaResult, @NonNull CommandContext context) {
+    if (jdaResult instanceof PagedResult) {
+      this.handle((PagedResult) jdaResult, context);
+      return;
+    }
     if (!(jdaResult instanceof Result))
       throw new IllegalArgumentException(
           jdaResult + " is a result instance which cannot be handled by this options");
     Result result = (Result) jdaResult;
+    CommandTimings timings = context.getTimings().orElse(null);
+    long render = System.nanoTime();
     MessageCreateData response = this.processResult(result, context);
-    Consumer<Message> consumer = this.processConsumer(result, context);
+    Consumer<Message> consumer =
+        this.processConsumer(result.getType(), result.getSuccess(), context);
+    if (timings != null) {
+      timings.record(DispatchPhase.RENDER, render);
+    }
     Optional<MessageChannel> optionalChannel = context.getChannel();
     if (context instanceof SlashCommandContext) {
       SlashCommandInteractionEvent slashEvent = ((SlashCommandContext) context).getEvent();
       if (response != null) {
-        if (consumer != null) {
-          slashEvent
-              .getHook()
-              .sendMessage(response)
-              .queue(consumer, fail -> this.handle(fail, context));
-        } else {
-          slashEvent
-              .getHook()
-              .sendMessage(response)
-              .queue(null, fail -> this.handle(fail, context));
-        }
+        long rest = timings == null ? 0 : timings.beginRest();
+        slashEvent
+            .getHook()
+            .sendMessage(response)
+            .queue(
+                ResultHandlingMiddleware.acknowledged(consumer, timings, rest),
+                this.failed(context, timings, rest));
       }
     } else {
       if (!optionalChannel.isPresent() || response == null) return;
       MessageChannel channel = optionalChannel.get();
-      if (consumer != null) {
-        channel.sendMessage(response).queue(consumer, fail -> this.handle(fail, context));
+      long rest = timings == null ? 0 : timings.beginRest();
+      Consumer<Message> success = ResultHandlingMiddleware.acknowledged(consumer, timings, rest);
+      Consumer<Throwable> failure = this.failed(context, timings, rest);
+      if (this.coalescer != null && consumer == null) {
+        this.coalescer.send(channel, response, success, failure);
       } else {
-        channel.sendMessage(response).queue(null, fail -> this.handle(fail, context));
+        channel.sendMessage(response).queue(success, failure);
+      }
+    }
+  }
+
+  private void handle(@NonNull PagedResult result, @NonNull CommandContext context) {
+    Function<MessageCreateData, RestAction<Message>> sender;
+    if (context instanceof SlashCommandContext) {
+      InteractionHook hook = ((SlashCommandContext) context).getEvent().getHook();
+      sender = hook::sendMessage;
+    } else if (context.getChannel().isPresent()) {
+      sender = context.getChannel().get()::sendMessage;
+    } else {
+      return;
+    }
+    CommandTimings timings = context.getTimings().orElse(null);
+    long render = System.nanoTime();
+    LinePager pager = result.getPages(this.getPageLength(result.getType(), context));
+    Pages pages =
+        new Pages(
+            result.getType(),
+            context,
+            pager,
+            sender,
+            this.processConsumer(result.getType(), null, context),
+            timings);
+    if (timings != null) {
+      timings.record(DispatchPhase.RENDER, render);
+    }
+    pages.next();
+  }
+
+  /**
+   * Wrap the consumer of a reply to stop tracking it in the timings of the execution.
+   *
+   * @param consumer the consumer of the reply, may be null
+   * @param timings the timings of the execution or null if they are not measured
+   * @param rest the value returned by {@link CommandTimings#beginRest()}
+   * @return the consumer to queue the reply with, may be null
+   */
+  private static Consumer<Message> acknowledged(
+      Consumer<Message> consumer, CommandTimings timings, long rest) {
+    if (timings == null) {
+      return consumer;
+    }
+    return message -> {
+      timings.endRest(rest);
+      if (consumer != null) {
+        consumer.accept(message);
+      }
+    };
+  }
+
+  @NonNull
+  private Consumer<Throwable> failed(
+      @NonNull CommandContext context, CommandTimings timings, long rest) {
+    return fail -> {
+      if (timings != null) {
+        timings.endRest(rest);
+      }
+      this.handle(fail, context);
+    };
+  }
+
+  /**
+   * Sends the pages of a {@link PagedResult}, each page is built and sent once the previous one was
+   * sent, so pages are sent in order and only one is kept in memory.
+   */
+  private final class Pages {
+
+    @NonNull private final ResultType type;
+    @NonNull private final CommandContext context;
+    @NonNull private final LinePager pager;
+    @NonNull private final Function<MessageCreateData, RestAction<Message>> sender;
+    private final Consumer<Message> consumer;
+    private final CommandTimings timings;
+    private final long rest;
+    private int sent;
+
+    private Pages(
+        @NonNull ResultType type,
+        @NonNull CommandContext context,
+        @NonNull LinePager pager,
+        @NonNull Function<MessageCreateData, RestAction<Message>> sender,
+        Consumer<Message> consumer,
+        CommandTimings timings) {
+      this.type = type;
+      this.context = context;
+      this.pager = pager;
+      this.sender = sender;
+      this.consumer = consumer;
+      this.timings = timings;
+      this.rest = timings == null ? 0 : timings.beginRest();
+    }
+
+    private void next() {
+      MessageCreateData data;
+      try {
+        if (this.sent >= ResultHandlingMiddleware.this.maxPages || !this.pager.hasNext()) {
+          this.done();
+          return;
+        }
+        data = ResultHandlingMiddleware.this.render(this.type, this.pager.next(), this.context);
+      } catch (RuntimeException e) {
+        this.failed(e);
+        return;
+      }
+      this.sent++;
+      this.sender
+          .apply(data)
+          .queue(
+              message -> {
+                if (this.consumer != null) {
+                  this.consumer.accept(message);
+                }
+                this.next();
+              },
+              this::failed);
+    }
+
+    private void done() {
+      if (this.timings != null) {
+        this.timings.endRest(this.rest);
+      }
+      this.pager.close();
+    }
+
+    private void failed(@NonNull Throwable fail) {
+      try {
+        this.done();
+      } finally {
+        ResultHandlingMiddleware.this.handle(fail, this.context);
       }
     }
   }
@@ -0,0 +1,98 @@
+package com.github.chevyself.starbox.jda.prefix;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * A {@link PrefixBackend} that keeps the prefixes in a properties file. Each line of the file is
+ * the id of a guild and its prefixes separated by spaces:
+ *
+ * <pre>{@code
+ * 123456789012345678=! ?
+ * }</pre>
+ *
+ * <p>The file is read once when the backend is created and written again each time that the
+ * prefixes of a guild change. The file is first written to a temporary file which then replaces the
+ * old one, so it is never left half written.
+ */
+public class FilePrefixBackend implements PrefixBackend {
+
+  @NonNull @Getter private final Path path;
+  @NonNull private final Map<Long, List<String>> prefixes = new ConcurrentHashMap<>();
+
+  /**
+   * Create the backend.
+   *
+   * @param path the path of the file, it will be created the first time prefixes are saved
+   * @throws UncheckedIOException if the file exists but could not be read
+   */
+  public FilePrefixBackend(@NonNull Path path) {
+    this.path = path;
+    if (Files.exists(path)) {
+      Properties properties = new Properties();
+      try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+        properties.load(reader);
+      } catch (IOException e) {
+        throw new UncheckedIOException("Could not read prefixes from " + path, e);
+      }
+      for (String key : properties.stringPropertyNames()) {
+        this.prefixes.put(
+            Long.parseLong(key),
+            Collections.unmodifiableList(
+                Arrays.asList(properties.getProperty(key).trim().split(" +"))));
+      }
+    }
+  }
+
+  @Override
+  public List<String> load(long guild) {
+    return this.prefixes.get(guild);
+  }
+
+  @Override
+  public void save(long guild, @NonNull List<String> prefixes) {
+    this.prefixes.put(guild, prefixes);
+    this.write();
+  }
+
+  @Override
+  public void delete(long guild) {
+    if (this.prefixes.remove(guild) != null) {
+      this.write();
+    }
+  }
+
+  private synchronized void write() {
+    Properties properties = new Properties();
+    this.prefixes.forEach(
+        (guild, prefixes) ->
+            properties.setProperty(String.valueOf(guild), String.join(" ", prefixes)));
+    try {
+      Path parent = this.path.toAbsolutePath().getParent();
+      if (parent != null) {
+        Files.createDirectories(parent);
+      }
+      Path temporary = this.path.resolveSibling(this.path.getFileName() + ".tmp");
+      try (Writer writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+        properties.store(writer, "Prefixes of guilds");
+      }
+      Files.move(temporary, this.path, StandardCopyOption.REPLACE_EXISTING);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not write prefixes to " + this.path, e);
+    }
+  }
+}
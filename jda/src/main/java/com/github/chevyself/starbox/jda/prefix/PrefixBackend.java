@@ -0,0 +1,37 @@
+package com.github.chevyself.starbox.jda.prefix;
+
+import java.util.List;
+import lombok.NonNull;
+
+/**
+ * The storage where the prefixes of guilds are persisted, such as a file or a database. The {@link
+ * PrefixStore} caches the prefixes so the backend is only used when a guild is not in the cache and
+ * when the prefixes of a guild change.
+ *
+ * <p>The default implementation is {@link FilePrefixBackend}
+ */
+public interface PrefixBackend {
+
+  /**
+   * Load the prefixes of a guild.
+   *
+   * @param guild the id of the guild
+   * @return the prefixes of the guild or null if the guild does not have custom prefixes
+   */
+  List<String> load(long guild);
+
+  /**
+   * Save the prefixes of a guild.
+   *
+   * @param guild the id of the guild
+   * @param prefixes the prefixes of the guild
+   */
+  void save(long guild, @NonNull List<String> prefixes);
+
+  /**
+   * Delete the prefixes of a guild, the guild will use the default prefixes.
+   *
+   * @param guild the id of the guild
+   */
+  void delete(long guild);
+}
@@ -0,0 +1,206 @@
+package com.github.chevyself.starbox.jda.prefix;
+
+import com.github.chevyself.starbox.jda.ListenerOptions;
+import com.github.chevyself.starbox.util.ConcurrentLongMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import lombok.Getter;
+import lombok.NonNull;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.User;
+
+/**
+ * Stores the prefixes of each guild. The prefixes are kept in a bounded cache keyed by the id of
+ * the guild and are written through to a {@link PrefixBackend} when they change, so the backend is
+ * only used when a guild is not cached. Guilds without custom prefixes use the default ones and are
+ * cached as well.
+ *
+ * <p>This is a {@link ListenerOptions} so it can be given directly to the {@link
+ * com.github.chevyself.starbox.jda.CommandManager}, each guild may have several prefixes and the
+ * bot may also be mentioned instead of using one, see {@link #setMention(long)}.
+ *
+ * <pre>{@code
+ * PrefixStore prefixes =
+ *     new PrefixStore(new FilePrefixBackend(Paths.get("prefixes.properties")), 10_000, "-");
+ * prefixes.setMention(jda.getSelfUser());
+ * new CommandManager(registry, messagesProvider, jda, prefixes);
+ * }</pre>
+ */
+public class PrefixStore implements ListenerOptions {
+
+  @NonNull @Getter private final PrefixBackend backend;
+  @NonNull private final ConcurrentLongMap<Entry> cache;
+  @NonNull private final List<String> defaults;
+  @NonNull private volatile List<String> mentions = Collections.emptyList();
+  @NonNull private volatile Entry defaultEntry;
+
+  /**
+   * Create the store.
+   *
+   * @param backend the backend where the prefixes are persisted
+   * @param maximumSize the maximum amount of guilds to keep in the cache or 0 if it is unbounded
+   * @param defaults the prefixes of guilds without custom prefixes and of private messages
+   */
+  public PrefixStore(@NonNull PrefixBackend backend, int maximumSize, @NonNull String... defaults) {
+    this.backend = backend;
+    this.cache = new ConcurrentLongMap<>(maximumSize);
+    this.defaults = Collections.unmodifiableList(new ArrayList<>(Arrays.asList(defaults)));
+    this.defaultEntry = this.entry(this.defaults);
+  }
+
+  @NonNull
+  private Entry entry(@NonNull List<String> prefixes) {
+    List<String> all = new ArrayList<>(prefixes);
+    all.addAll(this.mentions);
+    return new Entry(prefixes, PrefixTrie.of(all));
+  }
+
+  @NonNull
+  private Entry getEntry(long guild) {
+    if (guild <= 0) {
+      return this.defaultEntry;
+    }
+    Entry entry = this.cache.get(guild);
+    if (entry == null) {
+      List<String> prefixes = this.backend.load(guild);
+      entry = prefixes == null ? this.defaultEntry : this.entry(prefixes);
+      Entry current = this.cache.putIfAbsent(guild, entry);
+      if (current != null) {
+        entry = current;
+      }
+    }
+    return entry;
+  }
+
+  /**
+   * Allow the bot to be mentioned instead of using a prefix. This clears the cache.
+   *
+   * @param user the id of the bot or 0 to not allow mentions
+   */
+  public void setMention(long user) {
+    this.mentions =
+        user <= 0
+            ? Collections.emptyList()
+            : Arrays.asList(
+                "<@" + user + ">", "<@!" + user + ">", "<@" + user + "> ", "<@!" + user + "> ");
+    this.defaultEntry = this.entry(this.defaults);
+    this.cache.clear();
+  }
+
+  /**
+   * Allow the bot to be mentioned instead of using a prefix. This clears the cache.
+   *
+   * @param user the user of the bot
+   */
+  public void setMention(@NonNull User user) {
+    this.setMention(user.getIdLong());
+  }
+
+  /**
+   * Get the prefixes of a guild.
+   *
+   * @param guild the id of the guild or 0 for private messages
+   * @return the prefixes of the guild
+   */
+  @NonNull
+  public List<String> getPrefixes(long guild) {
+    return this.getEntry(guild).prefixes;
+  }
+
+  /**
+   * Get the trie to match the prefixes of a guild, this includes the mentions of the bot.
+   *
+   * @param guild the id of the guild or 0 for private messages
+   * @return the trie of the guild
+   */
+  @NonNull
+  public PrefixTrie getTrie(long guild) {
+    return this.getEntry(guild).trie;
+  }
+
+  /**
+   * Set the prefixes of a guild. The prefixes are saved in the backend.
+   *
+   * @param guild the id of the guild
+   * @param prefixes the new prefixes of the guild
+   * @throws IllegalArgumentException if there are no prefixes or a prefix is empty or contains
+   *     spaces
+   */
+  public void setPrefixes(long guild, @NonNull Collection<String> prefixes) {
+    if (prefixes.isEmpty()) {
+      throw new IllegalArgumentException("There must be at least one prefix");
+    }
+    for (String prefix : prefixes) {
+      if (prefix.isEmpty() || prefix.indexOf(' ') != -1) {
+        throw new IllegalArgumentException("'" + prefix + "' is not a valid prefix");
+      }
+    }
+    List<String> list = Collections.unmodifiableList(new ArrayList<>(prefixes));
+    this.backend.save(guild, list);
+    this.cache.put(guild, this.entry(list));
+  }
+
+  /**
+   * Set the prefixes of a guild. The prefixes are saved in the backend.
+   *
+   * @param guild the id of the guild
+   * @param prefixes the new prefixes of the guild
+   */
+  public void setPrefixes(long guild, @NonNull String... prefixes) {
+    this.setPrefixes(guild, Arrays.asList(prefixes));
+  }
+
+  /**
+   * Make a guild use the default prefixes. The prefixes are deleted from the backend.
+   *
+   * @param guild the id of the guild
+   */
+  public void resetPrefixes(long guild) {
+    this.backend.delete(guild);
+    this.cache.put(guild, this.defaultEntry);
+  }
+
+  /**
+   * Remove a guild from the cache, the next time its prefixes are needed they will be loaded from
+   * the backend. Use this if the backend was changed by something other than this store.
+   *
+   * @param guild the id of the guild
+   */
+  public void invalidate(long guild) {
+    this.cache.remove(guild);
+  }
+
+  /**
+   * Get the amount of guilds in the cache.
+   *
+   * @return the amount of guilds cached
+   */
+  public int getCachedCount() {
+    return this.cache.size();
+  }
+
+  @Override
+  public @NonNull String getPrefix(Guild guild) {
+    List<String> prefixes = this.getPrefixes(guild == null ? 0 : guild.getIdLong());
+    return prefixes.isEmpty() ? "" : prefixes.get(0);
+  }
+
+  @Override
+  public int matchPrefix(Guild guild, @NonNull String content) {
+    return this.getTrie(guild == null ? 0 : guild.getIdLong()).match(content);
+  }
+
+  private static final class Entry {
+
+    @NonNull private final List<String> prefixes;
+    @NonNull private final PrefixTrie trie;
+
+    private Entry(@NonNull List<String> prefixes, @NonNull PrefixTrie trie) {
+      this.prefixes = prefixes;
+      this.trie = trie;
+    }
+  }
+}
@@ -0,0 +1,131 @@
+package com.github.chevyself.starbox.jda.prefix;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * An immutable trie of prefixes. A guild may have several prefixes and the bot may also be
+ * mentioned instead of using one, the trie checks all of them walking the content of the message
+ * once and without allocating.
+ *
+ * <p>When more than one prefix matches, the longest one is used. This means that with the prefixes
+ * {@code !} and {@code !!} the message {@code !!help} is the command {@code help}.
+ */
+public final class PrefixTrie {
+
+  /** A trie that does not match any content. */
+  @NonNull public static final PrefixTrie EMPTY = new PrefixTrie(Collections.emptyList());
+
+  /** The prefixes in this trie. */
+  @NonNull @Getter private final List<String> prefixes;
+
+  @NonNull private final Node root;
+
+  private PrefixTrie(@NonNull List<String> prefixes) {
+    this.prefixes = prefixes;
+    Builder root = new Builder();
+    for (String prefix : prefixes) {
+      Builder node = root;
+      for (int i = 0; i < prefix.length(); i++) {
+        node = node.children.computeIfAbsent(prefix.charAt(i), c -> new Builder());
+      }
+      node.terminal = true;
+    }
+    this.root = root.build();
+  }
+
+  /**
+   * Create a trie.
+   *
+   * @param prefixes the prefixes, empty prefixes are ignored
+   * @return the created trie
+   */
+  @NonNull
+  public static PrefixTrie of(@NonNull Collection<String> prefixes) {
+    List<String> list = new ArrayList<>(prefixes.size());
+    for (String prefix : prefixes) {
+      if (!prefix.isEmpty() && !list.contains(prefix)) {
+        list.add(prefix);
+      }
+    }
+    return list.isEmpty() ? PrefixTrie.EMPTY : new PrefixTrie(Collections.unmodifiableList(list));
+  }
+
+  /**
+   * Create a trie.
+   *
+   * @param prefixes the prefixes, empty prefixes are ignored
+   * @return the created trie
+   */
+  @NonNull
+  public static PrefixTrie of(@NonNull String... prefixes) {
+    return PrefixTrie.of(Arrays.asList(prefixes));
+  }
+
+  /**
+   * Match the content of a message with the prefixes of this trie.
+   *
+   * @param content the content of the message
+   * @return the length of the longest prefix that the content starts with or -1 if it does not
+   *     start with any prefix
+   */
+  public int match(@NonNull CharSequence content) {
+    int matched = -1;
+    Node node = this.root;
+    int length = content.length();
+    for (int i = 0; i < length; i++) {
+      node = node.child(content.charAt(i));
+      if (node == null) {
+        break;
+      }
+      if (node.terminal) {
+        matched = i + 1;
+      }
+    }
+    return matched;
+  }
+
+  private static final class Node {
+
+    @NonNull private final char[] labels;
+    @NonNull private final Node[] children;
+    private final boolean terminal;
+
+    private Node(@NonNull char[] labels, @NonNull Node[] children, boolean terminal) {
+      this.labels = labels;
+      this.children = children;
+      this.terminal = terminal;
+    }
+
+    private Node child(char c) {
+      int index = Arrays.binarySearch(this.labels, c);
+      return index < 0 ? null : this.children[index];
+    }
+  }
+
+  private static final class Builder {
+
+    @NonNull private final TreeMap<Character, Builder> children = new TreeMap<>();
+    private boolean terminal;
+
+    @NonNull
+    private Node build() {
+      char[] labels = new char[this.children.size()];
+      Node[] nodes = new Node[this.children.size()];
+      int i = 0;
+      for (Map.Entry<Character, Builder> entry : this.children.entrySet()) {
+        labels[i] = entry.getKey();
+        nodes[i] = entry.getValue().build();
+        i++;
+      }
+      return new Node(labels, nodes, this.terminal);
+    }
+  }
+}
@@ -7,35 +7,56 @@ import com.github.chevyself.starbox.jda.context.GuildCommandContext;
 import com.github.chevyself.starbox.jda.messages.MessagesProvider;
 import com.github.chevyself.starbox.jda.providers.type.JdaArgumentProvider;
 import com.github.chevyself.starbox.jda.providers.type.JdaExtraArgumentProvider;
+import java.util.List;
 import lombok.NonNull;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.Member;
-import net.dv8tion.jda.api.entities.User;
-import net.dv8tion.jda.api.entities.channel.concrete.TextChannel;
 
 /** Provides the {@link StarboxCommandManager} with a {@link Member}. */
 public class MemberProvider
     implements JdaArgumentProvider<Member>, JdaExtraArgumentProvider<Member> {
 
   private final MessagesProvider messagesProvider;
+  private final NameIndex names;
 
   /**
    * Create an instance.
    *
    * @param messagesProvider to send the error message in case that the long could not be parsed
+   * @param names the index to find members by name or null to scan the members of the guild
    */
-  public MemberProvider(MessagesProvider messagesProvider) {
+  public MemberProvider(MessagesProvider messagesProvider, NameIndex names) {
     this.messagesProvider = messagesProvider;
+    this.names = names;
+  }
+
+  /**
+   * Create an instance that finds members by name scanning the members of the guild.
+   *
+   * @param messagesProvider to send the error message in case that the long could not be parsed
+   */
+  public MemberProvider(MessagesProvider messagesProvider) {
+    this(messagesProvider, null);
   }
 
   @NonNull
   @Override
   public Member fromString(@NonNull String string, @NonNull CommandContext context)
       throws ArgumentProviderException {
-    TextChannel channel = context.getProvidersRegistry().get(TextChannel.class, context);
-    Guild guild = channel.getGuild();
-    Member member =
-        guild.getMember(context.getProvidersRegistry().get(string, User.class, context));
+    Guild guild = UserProvider.getGuild(context);
+    if (guild == null) {
+      throw new ArgumentProviderException(context.getMessagesProvider().guildOnly(context));
+    }
+    Member member;
+    long id = UserProvider.parseSnowflake(string);
+    if (id >= 0) {
+      member = guild.getMemberById(id);
+    } else if (this.names != null) {
+      member = this.names.getMember(guild, string);
+    } else {
+      List<Member> members = guild.getMembersByName(string, true);
+      member = members.isEmpty() ? null : members.get(0);
+    }
     if (member != null) {
       return member;
     }
@@ -0,0 +1,314 @@
+package com.github.chevyself.starbox.jda.providers;
+
+import com.github.chevyself.starbox.util.ConcurrentLongMap;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.NonNull;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.entities.Role;
+import net.dv8tion.jda.api.entities.User;
+import net.dv8tion.jda.api.events.GenericEvent;
+import net.dv8tion.jda.api.events.guild.GuildLeaveEvent;
+import net.dv8tion.jda.api.events.guild.member.GuildMemberJoinEvent;
+import net.dv8tion.jda.api.events.guild.member.GuildMemberRemoveEvent;
+import net.dv8tion.jda.api.events.guild.member.update.GuildMemberUpdateNicknameEvent;
+import net.dv8tion.jda.api.events.role.RoleCreateEvent;
+import net.dv8tion.jda.api.events.role.RoleDeleteEvent;
+import net.dv8tion.jda.api.events.role.update.RoleUpdateNameEvent;
+import net.dv8tion.jda.api.events.user.update.UserUpdateNameEvent;
+import net.dv8tion.jda.api.hooks.EventListener;
+
+/**
+ * Indexes the names of the members and roles of each guild, so the {@link UserProvider}, {@link
+ * MemberProvider} and {@link RoleProvider} find them by name without scanning the cache of JDA.
+ * Names are matched ignoring case and members are indexed both by their name and their nickname.
+ *
+ * <p>A guild is indexed from the cache of JDA the first time a name is looked up in it, then the
+ * index is kept up to date with the events of JDA, so this must be added as a listener:
+ *
+ * <pre>{@code
+ * NameIndex names = new NameIndex(1000);
+ * jda.addEventListener(names);
+ * new JdaProvidersRegistry(messagesProvider, names);
+ * }</pre>
+ */
+public class NameIndex implements EventListener {
+
+  @NonNull private static final long[] NONE = new long[0];
+
+  @NonNull private final ConcurrentLongMap<Names> guilds;
+
+  /**
+   * Create the index.
+   *
+   * @param maximumSize the maximum amount of guilds to index or 0 if it is unbounded
+   */
+  public NameIndex(int maximumSize) {
+    this.guilds = new ConcurrentLongMap<>(maximumSize);
+  }
+
+  @NonNull
+  private static String fold(@NonNull String name) {
+    return name.toUpperCase(Locale.ROOT).toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * Get the names of a guild, indexing it if it is not indexed yet. The names are published before
+   * they are filled, so the events received while a guild is being indexed are not lost: they wait
+   * for the lock of the names and are applied after the cache of JDA is read.
+   *
+   * @param guild the guild to get the names from
+   * @return the names of the guild, which are not ready while another thread is indexing it
+   */
+  @NonNull
+  private Names getNames(@NonNull Guild guild) {
+    Names names = this.guilds.get(guild.getIdLong());
+    if (names == null) {
+      Names created = new Names();
+      names = this.guilds.putIfAbsent(guild.getIdLong(), created);
+      if (names == null) {
+        names = created;
+        synchronized (created) {
+          for (Member member : guild.getMemberCache()) {
+            created.put(member);
+          }
+          for (Role role : guild.getRoleCache()) {
+            created.put(role);
+          }
+          created.ready = true;
+        }
+      }
+    }
+    return names;
+  }
+
+  /**
+   * Find a member of a guild by its name or nickname, ignoring case. While the guild is being
+   * indexed by another thread the members are found scanning the cache of JDA by their name.
+   *
+   * @param guild the guild of the member
+   * @param name the name of the member
+   * @return the member if found else null
+   */
+  public Member getMember(@NonNull Guild guild, @NonNull String name) {
+    Names names = this.getNames(guild);
+    if (!names.ready) {
+      List<Member> members = guild.getMembersByName(name, true);
+      return members.isEmpty() ? null : members.get(0);
+    }
+    for (long id : names.members.getOrDefault(NameIndex.fold(name), NameIndex.NONE)) {
+      Member member = guild.getMemberById(id);
+      if (member != null) {
+        return member;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Find a user that is member of a guild by its name or nickname, ignoring case.
+   *
+   * @param guild the guild of the user
+   * @param name the name of the user
+   * @return the user if found else null
+   */
+  public User getUser(@NonNull Guild guild, @NonNull String name) {
+    Member member = this.getMember(guild, name);
+    return member == null ? null : member.getUser();
+  }
+
+  /**
+   * Find a role of a guild by its name, ignoring case. While the guild is being indexed by another
+   * thread the roles are found scanning the cache of JDA.
+   *
+   * @param guild the guild of the role
+   * @param name the name of the role
+   * @return the role if found else null
+   */
+  public Role getRole(@NonNull Guild guild, @NonNull String name) {
+    Names names = this.getNames(guild);
+    if (!names.ready) {
+      List<Role> roles = guild.getRolesByName(name, true);
+      return roles.isEmpty() ? null : roles.get(0);
+    }
+    for (long id : names.roles.getOrDefault(NameIndex.fold(name), NameIndex.NONE)) {
+      Role role = guild.getRoleById(id);
+      if (role != null) {
+        return role;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Remove a guild from the index, it will be indexed again the next time a name is looked up.
+   *
+   * @param guild the id of the guild
+   */
+  public void invalidate(long guild) {
+    this.guilds.remove(guild);
+  }
+
+  /**
+   * Get the amount of guilds that are indexed.
+   *
+   * @return the amount of guilds
+   */
+  public int getIndexedCount() {
+    return this.guilds.size();
+  }
+
+  private void update(@NonNull Guild guild, @NonNull Member member) {
+    Names names = this.guilds.get(guild.getIdLong());
+    if (names != null) {
+      synchronized (names) {
+        names.put(member);
+      }
+    }
+  }
+
+  @Override
+  public void onEvent(@NonNull GenericEvent event) {
+    if (event instanceof GuildMemberJoinEvent) {
+      GuildMemberJoinEvent joinEvent = (GuildMemberJoinEvent) event;
+      this.update(joinEvent.getGuild(), joinEvent.getMember());
+    } else if (event instanceof GuildMemberUpdateNicknameEvent) {
+      GuildMemberUpdateNicknameEvent nicknameEvent = (GuildMemberUpdateNicknameEvent) event;
+      this.update(nicknameEvent.getGuild(), nicknameEvent.getMember());
+    } else if (event instanceof UserUpdateNameEvent) {
+      User user = ((UserUpdateNameEvent) event).getUser();
+      for (Guild guild : user.getMutualGuilds()) {
+        Member member = guild.getMember(user);
+        if (member != null) {
+          this.update(guild, member);
+        }
+      }
+    } else if (event instanceof GuildMemberRemoveEvent) {
+      GuildMemberRemoveEvent removeEvent = (GuildMemberRemoveEvent) event;
+      Names names = this.guilds.get(removeEvent.getGuild().getIdLong());
+      if (names != null) {
+        synchronized (names) {
+          names.removeMember(removeEvent.getUser().getIdLong());
+        }
+      }
+    } else if (event instanceof RoleCreateEvent) {
+      this.update(((RoleCreateEvent) event).getRole());
+    } else if (event instanceof RoleUpdateNameEvent) {
+      this.update(((RoleUpdateNameEvent) event).getRole());
+    } else if (event instanceof RoleDeleteEvent) {
+      Role role = ((RoleDeleteEvent) event).getRole();
+      Names names = this.guilds.get(role.getGuild().getIdLong());
+      if (names != null) {
+        synchronized (names) {
+          names.removeRole(role.getIdLong());
+        }
+      }
+    } else if (event instanceof GuildLeaveEvent) {
+      this.invalidate(((GuildLeaveEvent) event).getGuild().getIdLong());
+    }
+  }
+
+  private void update(@NonNull Role role) {
+    Names names = this.guilds.get(role.getGuild().getIdLong());
+    if (names != null) {
+      synchronized (names) {
+        names.put(role);
+      }
+    }
+  }
+
+  /**
+   * The names of a guild. The maps are read without locking, the arrays of ids in them are never
+   * modified but replaced, and the changes are done while holding the lock of the instance.
+   */
+  private static final class Names {
+
+    /** Whether the names were filled from the cache of JDA and may be read. */
+    private volatile boolean ready;
+
+    @NonNull private final Map<String, long[]> members = new ConcurrentHashMap<>();
+    @NonNull private final Map<String, long[]> roles = new ConcurrentHashMap<>();
+    @NonNull private final ConcurrentLongMap<String[]> memberNames = new ConcurrentLongMap<>();
+    @NonNull private final ConcurrentLongMap<String[]> roleNames = new ConcurrentLongMap<>();
+
+    private static void add(@NonNull Map<String, long[]> map, @NonNull String name, long id) {
+      long[] ids = map.getOrDefault(name, NameIndex.NONE);
+      for (long current : ids) {
+        if (current == id) {
+          return;
+        }
+      }
+      long[] added = Arrays.copyOf(ids, ids.length + 1);
+      added[ids.length] = id;
+      map.put(name, added);
+    }
+
+    private static void remove(@NonNull Map<String, long[]> map, @NonNull String name, long id) {
+      long[] ids = map.get(name);
+      if (ids == null) {
+        return;
+      }
+      long[] removed = new long[ids.length];
+      int size = 0;
+      for (long current : ids) {
+        if (current != id) {
+          removed[size++] = current;
+        }
+      }
+      if (size == 0) {
+        map.remove(name);
+      } else if (size < ids.length) {
+        map.put(name, Arrays.copyOf(removed, size));
+      }
+    }
+
+    private static void index(
+        @NonNull Map<String, long[]> map,
+        @NonNull ConcurrentLongMap<String[]> names,
+        long id,
+        @NonNull String... keys) {
+      Names.unindex(map, names, id);
+      for (String key : keys) {
+        Names.add(map, key, id);
+      }
+      names.put(id, keys);
+    }
+
+    private static void unindex(
+        @NonNull Map<String, long[]> map, @NonNull ConcurrentLongMap<String[]> names, long id) {
+      String[] old = names.remove(id);
+      if (old != null) {
+        for (String key : old) {
+          Names.remove(map, key, id);
+        }
+      }
+    }
+
+    private void put(@NonNull Member member) {
+      String name = NameIndex.fold(member.getUser().getName());
+      String nickname = member.getNickname();
+      if (nickname == null || NameIndex.fold(nickname).equals(name)) {
+        Names.index(this.members, this.memberNames, member.getIdLong(), name);
+      } else {
+        Names.index(
+            this.members, this.memberNames, member.getIdLong(), name, NameIndex.fold(nickname));
+      }
+    }
+
+    private void put(@NonNull Role role) {
+      Names.index(this.roles, this.roleNames, role.getIdLong(), NameIndex.fold(role.getName()));
+    }
+
+    private void removeMember(long id) {
+      Names.unindex(this.members, this.memberNames, id);
+    }
+
+    private void removeRole(long id) {
+      Names.unindex(this.roles, this.roleNames, id);
+    }
+  }
+}
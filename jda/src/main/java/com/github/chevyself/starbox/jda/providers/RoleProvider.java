@@ -5,32 +5,51 @@ import com.github.chevyself.starbox.exceptions.ArgumentProviderException;
 import com.github.chevyself.starbox.jda.context.CommandContext;
 import com.github.chevyself.starbox.jda.messages.MessagesProvider;
 import com.github.chevyself.starbox.jda.providers.type.JdaArgumentProvider;
+import java.util.List;
 import lombok.NonNull;
+import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.Role;
 
 /** Provides the {@link StarboxCommandManager} with a {@link Role}. */
 public class RoleProvider implements JdaArgumentProvider<Role> {
 
   private final MessagesProvider messagesProvider;
+  private final NameIndex names;
 
   /**
    * Create an instance.
    *
    * @param messagesProvider to send the error message in case that the long could not be parsed
+   * @param names the index to find roles by name or null to scan the roles of the guild
    */
-  public RoleProvider(MessagesProvider messagesProvider) {
+  public RoleProvider(MessagesProvider messagesProvider, NameIndex names) {
     this.messagesProvider = messagesProvider;
+    this.names = names;
+  }
+
+  /**
+   * Create an instance that finds roles by name scanning the roles of the guild.
+   *
+   * @param messagesProvider to send the error message in case that the long could not be parsed
+   */
+  public RoleProvider(MessagesProvider messagesProvider) {
+    this(messagesProvider, null);
   }
 
   @NonNull
   @Override
   public Role fromString(@NonNull String string, @NonNull CommandContext context)
       throws ArgumentProviderException {
-    Role role;
-    try {
-      role = context.getJda().getRoleById(UserProvider.getIdFromMention(string));
-    } catch (NumberFormatException ignored) {
-      role = null;
+    Role role = null;
+    long id = UserProvider.parseSnowflake(string);
+    Guild guild = UserProvider.getGuild(context);
+    if (id >= 0) {
+      role = guild == null ? context.getJda().getRoleById(id) : guild.getRoleById(id);
+    } else if (guild != null && this.names != null) {
+      role = this.names.getRole(guild, string);
+    } else if (guild != null) {
+      List<Role> roles = guild.getRolesByName(string, true);
+      role = roles.isEmpty() ? null : roles.get(0);
     }
     if (role != null) {
       return role;
@@ -30,8 +30,8 @@ public class TextChannelProvider
   @Override
   public TextChannel fromString(@NonNull String string, @NonNull CommandContext context)
       throws ArgumentProviderException {
-    TextChannel channel =
-        context.getJda().getTextChannelById(UserProvider.getIdFromMention(string));
+    long id = UserProvider.parseSnowflake(string);
+    TextChannel channel = id < 0 ? null : context.getJda().getTextChannelById(id);
     if (channel != null) {
       return channel;
     }
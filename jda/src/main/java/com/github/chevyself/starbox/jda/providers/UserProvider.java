@@ -7,11 +7,31 @@ import com.github.chevyself.starbox.jda.providers.type.JdaArgumentProvider;
 import com.github.chevyself.starbox.jda.providers.type.JdaExtraArgumentProvider;
 import java.util.List;
 import lombok.NonNull;
+import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.User;
+import net.dv8tion.jda.api.entities.channel.middleman.GuildChannel;
+import net.dv8tion.jda.api.entities.channel.middleman.MessageChannel;
 
 /** Provides the {@link StarboxCommandManager} with a {@link User}. */
 public class UserProvider implements JdaArgumentProvider<User>, JdaExtraArgumentProvider<User> {
 
+  private final NameIndex names;
+
+  /**
+   * Create an instance.
+   *
+   * @param names the index to find users by name in the guild of the context or null to scan the
+   *     cache of users
+   */
+  public UserProvider(NameIndex names) {
+    this.names = names;
+  }
+
+  /** Create an instance that finds users by name scanning the cache of users. */
+  public UserProvider() {
+    this(null);
+  }
+
   /**
    * Returns the id from a user's mention. This will separate characters that are digits to get the
    * id of the {@link User}
@@ -24,13 +44,73 @@ public class UserProvider implements JdaArgumentProvider<User>, JdaExtraArgument
    * @throws NumberFormatException if the digits do not match a valid {@link Long}
    */
   public static long getIdFromMention(@NonNull String mention) {
-    StringBuilder builder = new StringBuilder();
-    for (char c : mention.toCharArray()) {
-      if (Character.isDigit(c)) {
-        builder.append(c);
+    long id = 0;
+    boolean digits = false;
+    for (int i = 0; i < mention.length(); i++) {
+      int digit = mention.charAt(i) - '0';
+      if (digit >= 0 && digit <= 9) {
+        if (id > (Long.MAX_VALUE - digit) / 10) {
+          throw new NumberFormatException("For input string: \"" + mention + "\"");
+        }
+        id = id * 10 + digit;
+        digits = true;
       }
     }
-    return Long.parseLong(builder.toString());
+    if (!digits) {
+      throw new NumberFormatException("For input string: \"" + mention + "\"");
+    }
+    return id;
+  }
+
+  /**
+   * Parse a snowflake id or a mention of a user, member, role or channel: '123', '&lt;@123&gt;',
+   * '&lt;@!123&gt;', '&lt;@&amp;123&gt;' or '&lt;#123&gt;'. Unlike {@link
+   * #getIdFromMention(String)} this does not throw an exception if the string is not an id, so it
+   * can be used to check whether an argument is an id or a name.
+   *
+   * @param string the string to parse
+   * @return the id or -1 if the string is not an id nor a mention
+   */
+  public static long parseSnowflake(@NonNull CharSequence string) {
+    int start = 0;
+    int end = string.length();
+    if (end > 2 && string.charAt(0) == '<' && string.charAt(end - 1) == '>') {
+      end--;
+      char type = string.charAt(1);
+      if (type == '#') {
+        start = 2;
+      } else if (type == '@') {
+        start = 2;
+        if (start < end && (string.charAt(start) == '!' || string.charAt(start) == '&')) {
+          start++;
+        }
+      } else {
+        return -1;
+      }
+    }
+    if (start == end || end - start > 20) {
+      return -1;
+    }
+    long id = 0;
+    for (int i = start; i < end; i++) {
+      int digit = string.charAt(i) - '0';
+      if (digit < 0 || digit > 9 || id > (Long.MAX_VALUE - digit) / 10) {
+        return -1;
+      }
+      id = id * 10 + digit;
+    }
+    return id;
+  }
+
+  /**
+   * Get the guild where a command was executed.
+   *
+   * @param context the context of the command
+   * @return the guild or null if the command was not executed in a guild
+   */
+  static Guild getGuild(@NonNull CommandContext context) {
+    MessageChannel channel = context.getChannel().orElse(null);
+    return channel instanceof GuildChannel ? ((GuildChannel) channel).getGuild() : null;
   }
 
   @Override
@@ -48,12 +128,18 @@ public class UserProvider implements JdaArgumentProvider<User>, JdaExtraArgument
   public User fromString(@NonNull String string, @NonNull CommandContext context)
       throws ArgumentProviderException {
     User user = null;
-    try {
-      user = context.getJda().getUserById(UserProvider.getIdFromMention(string));
-    } catch (NumberFormatException e) {
-      List<User> usersByName = context.getJda().getUsersByName(string, true);
-      if (!usersByName.isEmpty()) {
-        user = usersByName.get(0);
+    long id = UserProvider.parseSnowflake(string);
+    if (id >= 0) {
+      user = context.getJda().getUserById(id);
+    } else {
+      Guild guild = this.names == null ? null : UserProvider.getGuild(context);
+      if (guild != null) {
+        user = this.names.getUser(guild, string);
+      } else {
+        List<User> usersByName = context.getJda().getUsersByName(string, true);
+        if (!usersByName.isEmpty()) {
+          user = usersByName.get(0);
+        }
       }
     }
     if (user != null) {
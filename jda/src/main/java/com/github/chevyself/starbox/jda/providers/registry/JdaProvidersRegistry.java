@@ -7,6 +7,7 @@ import com.github.chevyself.starbox.jda.providers.GuildCommandContextProvider;
 import com.github.chevyself.starbox.jda.providers.GuildProvider;
 import com.github.chevyself.starbox.jda.providers.MemberProvider;
 import com.github.chevyself.starbox.jda.providers.MessageProvider;
+import com.github.chevyself.starbox.jda.providers.NameIndex;
 import com.github.chevyself.starbox.jda.providers.RoleProvider;
 import com.github.chevyself.starbox.jda.providers.TextChannelProvider;
 import com.github.chevyself.starbox.jda.providers.UserProvider;
@@ -22,14 +23,25 @@ public class JdaProvidersRegistry extends ProvidersRegistry<CommandContext> {
    * @param messages the messages' provider for the registry
    */
   public JdaProvidersRegistry(@NonNull MessagesProvider messages) {
+    this(messages, null);
+  }
+
+  /**
+   * Create the providers' registry for jda which finds users, members and roles by name using an
+   * index.
+   *
+   * @param messages the messages' provider for the registry
+   * @param names the index of names or null to scan the cache of JDA
+   */
+  public JdaProvidersRegistry(@NonNull MessagesProvider messages, NameIndex names) {
     super(messages);
     this.addProvider(new CommandContextProvider())
         .addProvider(new GuildCommandContextProvider(messages))
         .addProvider(new GuildProvider(messages))
-        .addProvider(new MemberProvider(messages))
+        .addProvider(new MemberProvider(messages, names))
         .addProvider(new MessageProvider())
-        .addProvider(new RoleProvider(messages))
+        .addProvider(new RoleProvider(messages, names))
         .addProvider(new TextChannelProvider(messages))
-        .addProvider(new UserProvider());
+        .addProvider(new UserProvider(names));
   }
 }
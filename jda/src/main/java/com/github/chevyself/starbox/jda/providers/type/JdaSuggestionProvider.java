@@ -0,0 +1,37 @@
+package com.github.chevyself.starbox.jda.providers.type;
+
+import com.github.chevyself.starbox.jda.autocomplete.SuggestionIndex;
+import com.github.chevyself.starbox.jda.context.AutoCompleteContext;
+import lombok.NonNull;
+
+/**
+ * Provides the suggestions that are shown to a user while typing a slash command option. The
+ * provider is used for the arguments of the same class, those arguments are registered with auto
+ * complete enabled.
+ *
+ * <p>The index is filtered by what the user has typed, providers should keep their index and only
+ * build a new one when the candidates change. The index returned for a user is cached for a short
+ * time so the provider is not called for each key the user types.
+ *
+ * @param <T> the type of object that the suggestions are for
+ */
+public interface JdaSuggestionProvider<T> {
+
+  /**
+   * Get the class of the object that the suggestions are for.
+   *
+   * @return the class of the object
+   */
+  @NonNull
+  Class<T> getClazz();
+
+  /**
+   * Get the suggestions for a context. This is not called in the event thread and if it does not
+   * finish in time the suggestions given in the argument annotation are used instead.
+   *
+   * @param context the context of the command that is being typed
+   * @return the index of suggestions
+   */
+  @NonNull
+  SuggestionIndex getSuggestions(@NonNull AutoCompleteContext context);
+}
@@ -0,0 +1,26 @@
+package com.github.chevyself.starbox.jda.result;
+
+import com.github.chevyself.starbox.result.StarboxFutureResult;
+import java.util.concurrent.CompletionStage;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * This is the implementation of {@link StarboxFutureResult} for the JDA module. It is created by
+ * {@link com.github.chevyself.starbox.jda.AnnotatedCommand} when the method of a command returns a
+ * {@link CompletionStage} of {@link Result} or {@link JdaResultBuilder}.
+ */
+public class FutureResult implements JdaResult, StarboxFutureResult<JdaResult> {
+
+  /** The stage that completes with the result of the command. */
+  @NonNull @Getter private final CompletionStage<? extends JdaResult> future;
+
+  /**
+   * Create the result.
+   *
+   * @param future the stage that completes with the result of the command
+   */
+  public FutureResult(@NonNull CompletionStage<? extends JdaResult> future) {
+    this.future = future;
+  }
+}
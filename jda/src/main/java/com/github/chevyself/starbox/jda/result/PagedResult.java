@@ -0,0 +1,65 @@
+package com.github.chevyself.starbox.jda.result;
+
+import com.github.chevyself.starbox.jda.middleware.ResultHandlingMiddleware;
+import com.github.chevyself.starbox.result.StarboxPagedResult;
+import java.util.Iterator;
+import java.util.Optional;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * This is the implementation of {@link StarboxPagedResult} for the JDA module. The {@link
+ * ResultHandlingMiddleware} divides the lines in pages that fit a message and sends each page after
+ * the previous one was sent, building one page at a time.
+ *
+ * <pre>{@code
+ * @Command(aliases = "leaderboard", description = "Shows the leaderboard")
+ * public PagedResult leaderboard() {
+ *   return new PagedResult(() -> scores.stream().map(Score::toString).iterator());
+ * }
+ * }</pre>
+ */
+public class PagedResult implements JdaResult, StarboxPagedResult {
+
+  /** The type of the result, which changes the title and color of the pages. */
+  @NonNull @Getter private final ResultType type;
+
+  @NonNull private final Iterable<? extends CharSequence> lines;
+  @Getter private boolean cooldown;
+
+  /**
+   * Create the result.
+   *
+   * @param type the type of the result
+   * @param lines the lines to send, they are iterated once when the result is sent
+   */
+  public PagedResult(@NonNull ResultType type, @NonNull Iterable<? extends CharSequence> lines) {
+    this.type = type;
+    this.lines = lines;
+  }
+
+  /**
+   * Create a result of type {@link ResultType#GENERIC}.
+   *
+   * @param lines the lines to send, they are iterated once when the result is sent
+   */
+  public PagedResult(@NonNull Iterable<? extends CharSequence> lines) {
+    this(ResultType.GENERIC, lines);
+  }
+
+  @Override
+  public @NonNull Iterator<? extends CharSequence> getLines() {
+    return this.lines.iterator();
+  }
+
+  @Override
+  public @NonNull Optional<String> getMessage() {
+    return Optional.empty();
+  }
+
+  @Override
+  public @NonNull PagedResult setCooldown(boolean apply) {
+    this.cooldown = apply;
+    return this;
+  }
+}
@@ -0,0 +1,217 @@
+package com.github.chevyself.starbox.jda.toggle;
+
+import com.github.chevyself.starbox.jda.CommandManager;
+import com.github.chevyself.starbox.jda.JdaCommand;
+import com.github.chevyself.starbox.util.ConcurrentLongMap;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * Allows the admins of a guild to disable commands. The {@link CommandManager} gives each
+ * registered command a dense id ({@link JdaCommand#getId()}) and the commands disabled in a guild
+ * are kept as a bitset of those ids, so checking whether a command is enabled is reading a bit.
+ * Guilds that disabled the same commands share the same bitset, and guilds that have all the
+ * commands enabled share the empty one.
+ *
+ * <p>The bitsets are kept in a bounded cache keyed by the id of the guild and the names of the
+ * disabled commands are written through to a {@link ToggleBackend} when they change, so the backend
+ * is only used when a guild is not cached. The listener checks the bitset right after the command
+ * is found, before the arguments are parsed.
+ *
+ * <pre>{@code
+ * CommandToggles toggles =
+ *     new CommandToggles(manager, new FileToggleBackend(Paths.get("toggles.properties")), 10_000);
+ * manager.setToggles(toggles);
+ * toggles.setEnabled(guild, manager.getCommand("ban"), false);
+ * }</pre>
+ */
+public class CommandToggles {
+
+  @NonNull private static final Bits NONE = new Bits(new long[0]);
+
+  @NonNull private final CommandManager manager;
+  @NonNull @Getter private final ToggleBackend backend;
+  @NonNull private final ConcurrentLongMap<Bits> cache;
+  @NonNull private final Map<Bits, WeakReference<Bits>> shared = new WeakHashMap<>();
+
+  /**
+   * Create the toggles.
+   *
+   * @param manager the manager of the commands, used to find the commands disabled in the backend
+   * @param backend the backend where the disabled commands are persisted
+   * @param maximumSize the maximum amount of guilds to keep in the cache or 0 if it is unbounded
+   */
+  public CommandToggles(
+      @NonNull CommandManager manager, @NonNull ToggleBackend backend, int maximumSize) {
+    this.manager = manager;
+    this.backend = backend;
+    this.cache = new ConcurrentLongMap<>(maximumSize);
+  }
+
+  @NonNull
+  private Bits getBits(long guild) {
+    Bits bits = this.cache.get(guild);
+    if (bits == null) {
+      bits = this.load(guild, this.backend.load(guild));
+      Bits current = this.cache.putIfAbsent(guild, bits);
+      if (current != null) {
+        bits = current;
+      }
+    }
+    return bits;
+  }
+
+  @NonNull
+  private Bits load(long guild, Set<String> disabled) {
+    if (disabled == null || disabled.isEmpty()) {
+      return CommandToggles.NONE;
+    }
+    long[] words = new long[0];
+    for (String name : disabled) {
+      JdaCommand command = this.manager.getCommand(guild, name);
+      if (command != null && command.getId() >= 0) {
+        int word = command.getId() >>> 6;
+        if (word >= words.length) {
+          words = Arrays.copyOf(words, word + 1);
+        }
+        words[word] |= 1L << command.getId();
+      }
+    }
+    return this.share(new Bits(words));
+  }
+
+  @NonNull
+  private Bits share(@NonNull Bits bits) {
+    if (bits.words.length == 0) {
+      return CommandToggles.NONE;
+    }
+    synchronized (this.shared) {
+      WeakReference<Bits> reference = this.shared.get(bits);
+      Bits shared = reference == null ? null : reference.get();
+      if (shared == null) {
+        this.shared.put(bits, new WeakReference<>(bits));
+        return bits;
+      }
+      return shared;
+    }
+  }
+
+  /**
+   * Check whether a command is enabled in a guild.
+   *
+   * @param guild the id of the guild, commands are always enabled in private messages
+   * @param command the command to check
+   * @return true if the command is enabled
+   */
+  public boolean isEnabled(long guild, @NonNull JdaCommand command) {
+    int id = command.getId();
+    if (guild <= 0 || id < 0) {
+      return true;
+    }
+    long[] words = this.getBits(guild).words;
+    int word = id >>> 6;
+    return word >= words.length || (words[word] & (1L << id)) == 0;
+  }
+
+  /**
+   * Enable or disable a command in a guild. The disabled commands are saved in the backend.
+   *
+   * @param guild the id of the guild
+   * @param command the command to enable or disable
+   * @param enabled whether the command should be enabled
+   */
+  public void setEnabled(long guild, @NonNull JdaCommand command, boolean enabled) {
+    synchronized (this.backend) {
+      Set<String> loaded = this.backend.load(guild);
+      Set<String> disabled = loaded == null ? new LinkedHashSet<>() : new LinkedHashSet<>(loaded);
+      boolean changed =
+          enabled ? disabled.remove(command.getName()) : disabled.add(command.getName());
+      if (!changed) {
+        return;
+      }
+      if (disabled.isEmpty()) {
+        this.backend.delete(guild);
+      } else {
+        this.backend.save(guild, Collections.unmodifiableSet(disabled));
+      }
+      this.cache.put(guild, this.load(guild, disabled));
+    }
+  }
+
+  /**
+   * Get the names of the commands disabled in a guild.
+   *
+   * @param guild the id of the guild
+   * @return an unmodifiable set with the names of the disabled commands
+   */
+  @NonNull
+  public Set<String> getDisabled(long guild) {
+    Set<String> disabled = this.backend.load(guild);
+    return disabled == null ? Collections.emptySet() : Collections.unmodifiableSet(disabled);
+  }
+
+  /**
+   * Remove a guild from the cache, the next time its commands are checked they will be loaded from
+   * the backend. Use this if the backend was changed by something other than these toggles.
+   *
+   * @param guild the id of the guild
+   */
+  public void invalidate(long guild) {
+    this.cache.remove(guild);
+  }
+
+  /**
+   * Remove every guild from the cache. The manager does this when a command is registered, so the
+   * names of the disabled commands are looked up again.
+   */
+  public void invalidateAll() {
+    this.cache.clear();
+  }
+
+  /**
+   * Get the amount of guilds in the cache.
+   *
+   * @return the amount of guilds cached
+   */
+  public int getCachedCount() {
+    return this.cache.size();
+  }
+
+  /**
+   * Get the amount of distinct bitsets used by the cached guilds, excluding the empty one.
+   *
+   * @return the amount of distinct bitsets
+   */
+  public int getSharedCount() {
+    synchronized (this.shared) {
+      return this.shared.size();
+    }
+  }
+
+  /** The ids of the disabled commands, immutable once shared. */
+  private static final class Bits {
+
+    @NonNull private final long[] words;
+
+    private Bits(@NonNull long[] words) {
+      this.words = words;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return this == o || (o instanceof Bits && Arrays.equals(this.words, ((Bits) o).words));
+    }
+
+    @Override
+    public int hashCode() {
+      return Arrays.hashCode(this.words);
+    }
+  }
+}
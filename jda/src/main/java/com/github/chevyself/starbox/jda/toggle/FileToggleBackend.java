@@ -0,0 +1,101 @@
+package com.github.chevyself.starbox.jda.toggle;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * A {@link ToggleBackend} that keeps the disabled commands in a properties file. Each line of the
+ * file is the id of a guild and the names of its disabled commands separated by spaces:
+ *
+ * <pre>{@code
+ * 123456789012345678=ban kick
+ * }</pre>
+ *
+ * <p>The file is read once when the backend is created and written again each time that a command
+ * is enabled or disabled. The file is first written to a temporary file which then replaces the old
+ * one, so it is never left half written.
+ */
+public class FileToggleBackend implements ToggleBackend {
+
+  @NonNull @Getter private final Path path;
+  @NonNull private final Map<Long, Set<String>> disabled = new ConcurrentHashMap<>();
+
+  /**
+   * Create the backend.
+   *
+   * @param path the path of the file, it will be created the first time a command is disabled
+   * @throws UncheckedIOException if the file exists but could not be read
+   */
+  public FileToggleBackend(@NonNull Path path) {
+    this.path = path;
+    if (Files.exists(path)) {
+      Properties properties = new Properties();
+      try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+        properties.load(reader);
+      } catch (IOException e) {
+        throw new UncheckedIOException("Could not read disabled commands from " + path, e);
+      }
+      for (String key : properties.stringPropertyNames()) {
+        String value = properties.getProperty(key).trim();
+        if (!value.isEmpty()) {
+          this.disabled.put(
+              Long.parseLong(key),
+              Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(value.split(" +")))));
+        }
+      }
+    }
+  }
+
+  @Override
+  public Set<String> load(long guild) {
+    return this.disabled.get(guild);
+  }
+
+  @Override
+  public void save(long guild, @NonNull Set<String> disabled) {
+    this.disabled.put(guild, disabled);
+    this.write();
+  }
+
+  @Override
+  public void delete(long guild) {
+    if (this.disabled.remove(guild) != null) {
+      this.write();
+    }
+  }
+
+  private synchronized void write() {
+    Properties properties = new Properties();
+    this.disabled.forEach(
+        (guild, disabled) ->
+            properties.setProperty(String.valueOf(guild), String.join(" ", disabled)));
+    try {
+      Path parent = this.path.toAbsolutePath().getParent();
+      if (parent != null) {
+        Files.createDirectories(parent);
+      }
+      Path temporary = this.path.resolveSibling(this.path.getFileName() + ".tmp");
+      try (Writer writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+        properties.store(writer, "Disabled commands of guilds");
+      }
+      Files.move(temporary, this.path, StandardCopyOption.REPLACE_EXISTING);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not write disabled commands to " + this.path, e);
+    }
+  }
+}
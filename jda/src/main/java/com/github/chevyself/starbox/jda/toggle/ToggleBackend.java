@@ -0,0 +1,40 @@
+package com.github.chevyself.starbox.jda.toggle;
+
+import java.util.Set;
+import lombok.NonNull;
+
+/**
+ * The storage where the commands disabled in each guild are persisted, such as a file or a
+ * database. The {@link CommandToggles} caches them so the backend is only used when a guild is not
+ * in the cache and when a command is enabled or disabled.
+ *
+ * <p>Commands are stored using their name, as the ids given to the commands change between
+ * restarts.
+ *
+ * <p>The default implementation is {@link FileToggleBackend}
+ */
+public interface ToggleBackend {
+
+  /**
+   * Load the names of the commands disabled in a guild.
+   *
+   * @param guild the id of the guild
+   * @return the names of the disabled commands or null if the guild has all the commands enabled
+   */
+  Set<String> load(long guild);
+
+  /**
+   * Save the names of the commands disabled in a guild.
+   *
+   * @param guild the id of the guild
+   * @param disabled the names of the disabled commands
+   */
+  void save(long guild, @NonNull Set<String> disabled);
+
+  /**
+   * Delete the disabled commands of a guild, all the commands will be enabled.
+   *
+   * @param guild the id of the guild
+   */
+  void delete(long guild);
+}
@@ -0,0 +1,137 @@
+package me.googas.testing;
+
+import com.github.chevyself.starbox.flags.CommandLineParser;
+import com.github.chevyself.starbox.jda.JdaCommand;
+import com.github.chevyself.starbox.jda.context.CommandContext;
+import com.github.chevyself.starbox.jda.messages.JdaMessagesProvider;
+import com.github.chevyself.starbox.jda.messages.MessagesProvider;
+import com.github.chevyself.starbox.jda.middleware.EmbedTemplateCache;
+import com.github.chevyself.starbox.jda.result.ResultType;
+import com.github.chevyself.starbox.providers.registry.ProvidersRegistry;
+import java.awt.Color;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import lombok.NonNull;
+import net.dv8tion.jda.api.EmbedBuilder;
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.User;
+import net.dv8tion.jda.api.entities.channel.middleman.MessageChannel;
+import net.dv8tion.jda.api.utils.messages.MessageCreateBuilder;
+import net.dv8tion.jda.api.utils.messages.MessageCreateData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares building the embed of a result with an {@link EmbedBuilder}, as the result handling
+ * middleware does without a cache, and rendering it from an {@link EmbedTemplateCache}. Run the
+ * main method to see the allocations per reply in the gc.alloc.rate.norm column.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmbedRenderBenchmark {
+
+  @NonNull private final MessagesProvider messages = new JdaMessagesProvider();
+  @NonNull private final CommandContext context = new BenchmarkContext(messages);
+  @NonNull private final EmbedTemplateCache cache = new EmbedTemplateCache(1000);
+  @NonNull private final Color color = new Color(0x02e9ff);
+  @NonNull private final String description = "The command was executed successfully";
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder()
+                .include(EmbedRenderBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+        .run();
+  }
+
+  @Benchmark
+  public MessageCreateData builder() {
+    String thumbnail = messages.thumbnailUrl(context);
+    EmbedBuilder embedBuilder =
+        new EmbedBuilder()
+            .setTitle(ResultType.GENERIC.getTitle(messages, context))
+            .setDescription(description)
+            .setThumbnail(thumbnail.isEmpty() ? null : thumbnail)
+            .setFooter(messages.footer(context))
+            .setColor(color);
+    return new MessageCreateBuilder().setEmbeds(embedBuilder.build()).build();
+  }
+
+  @Benchmark
+  public MessageCreateData template() {
+    return MessageCreateData.fromEmbeds(
+        cache.render(ResultType.GENERIC, context, color.getRGB(), description));
+  }
+
+  /** A context outside a guild, only the messages provider is used to render embeds. */
+  private static class BenchmarkContext implements CommandContext {
+
+    @NonNull private final MessagesProvider messagesProvider;
+
+    private BenchmarkContext(@NonNull MessagesProvider messagesProvider) {
+      this.messagesProvider = messagesProvider;
+    }
+
+    @Override
+    public JdaCommand getCommand() {
+      return null;
+    }
+
+    @Override
+    public @NonNull JDA getJda() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public @NonNull Optional<MessageChannel> getChannel() {
+      return Optional.empty();
+    }
+
+    @Override
+    public @NonNull Optional<Message> getMessage() {
+      return Optional.empty();
+    }
+
+    @Override
+    public @NonNull User getSender() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public @NonNull ProvidersRegistry<CommandContext> getProvidersRegistry() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public @NonNull MessagesProvider getMessagesProvider() {
+      return this.messagesProvider;
+    }
+
+    @Override
+    public @NonNull CommandContext getChildren(@NonNull JdaCommand command) {
+      return this;
+    }
+
+    @Override
+    public CommandLineParser getCommandLineParser() {
+      throw new UnsupportedOperationException();
+    }
+  }
+}
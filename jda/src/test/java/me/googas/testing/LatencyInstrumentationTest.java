@@ -0,0 +1,254 @@
+package me.googas.testing;
+
+import com.github.chevyself.starbox.flags.CommandLineParser;
+import com.github.chevyself.starbox.jda.CommandManager;
+import com.github.chevyself.starbox.jda.JdaCommand;
+import com.github.chevyself.starbox.jda.annotations.Command;
+import com.github.chevyself.starbox.jda.context.CommandContext;
+import com.github.chevyself.starbox.jda.latency.CommandTimings;
+import com.github.chevyself.starbox.jda.latency.DispatchPhase;
+import com.github.chevyself.starbox.jda.latency.LatencyHistogram;
+import com.github.chevyself.starbox.jda.latency.LatencyRecorder;
+import com.github.chevyself.starbox.jda.messages.JdaMessagesProvider;
+import com.github.chevyself.starbox.jda.messages.MessagesProvider;
+import com.github.chevyself.starbox.jda.middleware.ResultHandlingMiddleware;
+import com.github.chevyself.starbox.jda.providers.registry.JdaProvidersRegistry;
+import com.github.chevyself.starbox.jda.result.Result;
+import com.github.chevyself.starbox.providers.registry.ProvidersRegistry;
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import lombok.NonNull;
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.User;
+import net.dv8tion.jda.api.entities.channel.middleman.MessageChannel;
+import net.dv8tion.jda.api.requests.restaction.MessageCreateAction;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Checks the timings of an execution using stand-ins of JDA. The channel acknowledges the messages
+ * sent to it after {@link #REST_DELAY} milliseconds, as Discord would.
+ */
+public class LatencyInstrumentationTest {
+
+  private static final long REST_DELAY = 50;
+  private static final long COMMAND_DELAY = 10;
+
+  @NonNull
+  private final ScheduledExecutorService rest = Executors.newSingleThreadScheduledExecutor();
+
+  private CommandManager manager;
+  private JdaCommand command;
+
+  @SuppressWarnings("unchecked")
+  private static <T> T stub(@NonNull Class<T> clazz, @NonNull StubHandler handler) {
+    return (T)
+        Proxy.newProxyInstance(
+            clazz.getClassLoader(),
+            new Class<?>[] {clazz},
+            (proxy, method, args) -> {
+              switch (method.getName()) {
+                case "equals":
+                  return proxy == args[0];
+                case "hashCode":
+                  return System.identityHashCode(proxy);
+                case "toString":
+                  return clazz.getSimpleName() + " stand-in";
+                default:
+                  Object value = handler.invoke(method.getName(), args);
+                  if (value == null && method.getReturnType() == boolean.class) {
+                    return false;
+                  } else if (value == null && method.getReturnType() == long.class) {
+                    return 0L;
+                  } else if (value == null && method.getReturnType() == int.class) {
+                    return 0;
+                  }
+                  return value;
+              }
+            });
+  }
+
+  @Before
+  public void setUp() {
+    MessagesProvider messagesProvider = new JdaMessagesProvider();
+    JDA jda = LatencyInstrumentationTest.stub(JDA.class, (name, args) -> null);
+    this.manager =
+        new CommandManager(
+                new JdaProvidersRegistry(messagesProvider), messagesProvider, jda, guild -> "-")
+            .addGlobalMiddleware(new ResultHandlingMiddleware());
+    this.command = this.manager.getParser().parseCommands(new LatencyCommands()).get(0);
+  }
+
+  @After
+  public void tearDown() {
+    this.rest.shutdownNow();
+  }
+
+  @NonNull
+  private MessageChannel channel() {
+    Message message = LatencyInstrumentationTest.stub(Message.class, (name, args) -> null);
+    MessageCreateAction action =
+        LatencyInstrumentationTest.stub(
+            MessageCreateAction.class,
+            (name, args) -> {
+              if (name.equals("queue") && args != null && args.length == 2) {
+                @SuppressWarnings("unchecked")
+                Consumer<Message> success = (Consumer<Message>) args[0];
+                this.rest.schedule(
+                    () -> {
+                      if (success != null) {
+                        success.accept(message);
+                      }
+                    },
+                    LatencyInstrumentationTest.REST_DELAY,
+                    TimeUnit.MILLISECONDS);
+              }
+              return null;
+            });
+    return LatencyInstrumentationTest.stub(
+        MessageChannel.class, (name, args) -> name.equals("sendMessage") ? action : null);
+  }
+
+  @Test
+  public void recordsEveryPhaseOnceTheReplyIsAcknowledged() throws InterruptedException {
+    LatencyRecorder recorder = new LatencyRecorder();
+    CountDownLatch latch = new CountDownLatch(1);
+    this.manager.addLatencyListener(recorder).addLatencyListener(timings -> latch.countDown());
+    CommandTimings timings =
+        new CommandTimings(this.command, System.nanoTime(), this.manager.getLatencyListeners());
+    CommandContext context = new StubContext(this.command, this.manager, this.channel(), timings);
+
+    this.command.execute(context);
+    timings.release();
+    Assert.assertEquals("The reply is not acknowledged yet", -1, timings.getTotal());
+
+    Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+    Assert.assertTrue(
+        timings.get(DispatchPhase.REST)
+            >= TimeUnit.MILLISECONDS.toNanos(LatencyInstrumentationTest.REST_DELAY));
+    Assert.assertTrue(
+        timings.get(DispatchPhase.COMMAND)
+            >= TimeUnit.MILLISECONDS.toNanos(LatencyInstrumentationTest.COMMAND_DELAY));
+    Assert.assertTrue(timings.get(DispatchPhase.RENDER) > 0);
+    Assert.assertTrue(
+        timings.getTotal() >= timings.get(DispatchPhase.COMMAND) + timings.get(DispatchPhase.REST));
+    Assert.assertEquals(
+        1, recorder.getTotal(this.command).map(LatencyHistogram::getCount).orElse(0L).longValue());
+    Assert.assertEquals(
+        1,
+        recorder
+            .getHistogram(this.command, DispatchPhase.REST)
+            .map(LatencyHistogram::getCount)
+            .orElse(0L)
+            .longValue());
+  }
+
+  @Test
+  public void histogramPercentilesAreWithinTheBucketError() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (long micros = 1; micros <= 10_000; micros++) {
+      histogram.record(TimeUnit.MICROSECONDS.toNanos(micros));
+    }
+    Assert.assertEquals(10_000, histogram.getCount());
+    long median = histogram.getValueAtPercentile(50);
+    Assert.assertTrue(median >= 5_000_000 && median <= 5_000_000 * 1.0625);
+    long max = histogram.getValueAtPercentile(100);
+    Assert.assertTrue(max >= 10_000_000 && max <= 10_000_000 * 1.0625);
+    histogram.reset();
+    Assert.assertEquals(0, histogram.getValueAtPercentile(99));
+  }
+
+  private interface StubHandler {
+
+    Object invoke(@NonNull String name, Object[] args);
+  }
+
+  public static class LatencyCommands {
+
+    @Command(aliases = "slow", description = "Takes a while to answer")
+    public Result slow() throws InterruptedException {
+      Thread.sleep(LatencyInstrumentationTest.COMMAND_DELAY);
+      return Result.builder().setDescription("Done").build();
+    }
+  }
+
+  /** A context outside a guild, with a channel that simulates the REST acknowledgements. */
+  private static class StubContext implements CommandContext {
+
+    @NonNull private final JdaCommand command;
+    @NonNull private final CommandManager manager;
+    @NonNull private final MessageChannel channel;
+    @NonNull private final CommandTimings timings;
+    @NonNull private final CommandLineParser parser;
+
+    private StubContext(
+        @NonNull JdaCommand command,
+        @NonNull CommandManager manager,
+        @NonNull MessageChannel channel,
+        @NonNull CommandTimings timings) {
+      this.command = command;
+      this.manager = manager;
+      this.channel = channel;
+      this.timings = timings;
+      this.parser = CommandLineParser.parse(command.getOptions(), new String[0]);
+    }
+
+    @Override
+    public JdaCommand getCommand() {
+      return this.command;
+    }
+
+    @Override
+    public @NonNull JDA getJda() {
+      return this.manager.getJda();
+    }
+
+    @Override
+    public @NonNull Optional<MessageChannel> getChannel() {
+      return Optional.of(this.channel);
+    }
+
+    @Override
+    public @NonNull Optional<Message> getMessage() {
+      return Optional.empty();
+    }
+
+    @Override
+    public @NonNull User getSender() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public @NonNull ProvidersRegistry<CommandContext> getProvidersRegistry() {
+      return this.manager.getProvidersRegistry();
+    }
+
+    @Override
+    public @NonNull MessagesProvider getMessagesProvider() {
+      return this.manager.getMessagesProvider();
+    }
+
+    @Override
+    public @NonNull CommandContext getChildren(@NonNull JdaCommand command) {
+      return this;
+    }
+
+    @Override
+    public CommandLineParser getCommandLineParser() {
+      return this.parser;
+    }
+
+    @Override
+    public @NonNull Optional<CommandTimings> getTimings() {
+      return Optional.of(this.timings);
+    }
+  }
+}
@@ -3,9 +3,6 @@ package me.googas.testing;
 import com.github.chevyself.starbox.jda.CommandManager;
 import com.github.chevyself.starbox.jda.messages.JdaMessagesProvider;
 import com.github.chevyself.starbox.jda.messages.MessagesProvider;
-import com.github.chevyself.starbox.jda.middleware.CooldownMiddleware;
-import com.github.chevyself.starbox.jda.middleware.PermissionMiddleware;
-import com.github.chevyself.starbox.jda.middleware.ResultHandlingMiddleware;
 import com.github.chevyself.starbox.jda.providers.registry.JdaProvidersRegistry;
 import java.util.Arrays;
 import javax.security.auth.login.LoginException;
@@ -22,10 +19,7 @@ public class MainTest {
     MessagesProvider messages = new JdaMessagesProvider();
     CommandManager manager =
         new CommandManager(new JdaProvidersRegistry(messages), messages, jda, guild -> "-")
-            .addGlobalMiddlewares(
-                new CooldownMiddleware(),
-                new PermissionMiddleware(),
-                new ResultHandlingMiddleware())
+            .addDefaultMiddlewares()
             .parseAndRegister(new TestCommands());
   }
 
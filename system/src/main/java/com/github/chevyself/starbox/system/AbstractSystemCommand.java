@@ -18,6 +18,7 @@ public abstract class AbstractSystemCommand implements SystemCommand {
   @NonNull @Getter private final List<Middleware<CommandContext>> middlewares;
 
   private final CooldownManager cooldownManager;
+  private final RateLimiter rateLimiter;
 
   /**
    * Create the abstract command.
@@ -27,18 +28,39 @@ public abstract class AbstractSystemCommand implements SystemCommand {
    * @param options the options/flags of the command
    * @param middlewares the middlewares of the command
    * @param cooldownManager the cooldown manager of the command
+   * @param rateLimiter the limiter for the rate of executions of the command
    */
   public AbstractSystemCommand(
       @NonNull List<String> aliases,
       @NonNull List<SystemCommand> children,
       @NonNull List<Option> options,
       @NonNull List<Middleware<CommandContext>> middlewares,
-      CooldownManager cooldownManager) {
+      CooldownManager cooldownManager,
+      RateLimiter rateLimiter) {
     this.aliases = aliases;
     this.children = children;
     this.options = options;
     this.middlewares = middlewares;
     this.cooldownManager = cooldownManager;
+    this.rateLimiter = rateLimiter;
+  }
+
+  /**
+   * Create the abstract command.
+   *
+   * @param aliases the aliases of the command
+   * @param children the children of the command
+   * @param options the options/flags of the command
+   * @param middlewares the middlewares of the command
+   * @param cooldownManager the cooldown manager of the command
+   */
+  public AbstractSystemCommand(
+      @NonNull List<String> aliases,
+      @NonNull List<SystemCommand> children,
+      @NonNull List<Option> options,
+      @NonNull List<Middleware<CommandContext>> middlewares,
+      CooldownManager cooldownManager) {
+    this(aliases, children, options, middlewares, cooldownManager, null);
   }
 
   @Override
@@ -61,6 +83,11 @@ public abstract class AbstractSystemCommand implements SystemCommand {
     return Optional.ofNullable(this.cooldownManager);
   }
 
+  @Override
+  public @NonNull Optional<RateLimiter> getRateLimiter() {
+    return Optional.ofNullable(this.rateLimiter);
+  }
+
   @Override
   public @NonNull String getUsage() {
     return Strings.buildUsageAliases(this.aliases);
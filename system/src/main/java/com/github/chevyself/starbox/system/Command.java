@@ -1,6 +1,7 @@
 package com.github.chevyself.starbox.system;
 
 import com.github.chevyself.starbox.Middleware;
+import com.github.chevyself.starbox.annotations.RateLimit;
 import com.github.chevyself.starbox.flags.Flag;
 import com.github.chevyself.starbox.system.context.CommandContext;
 import com.github.chevyself.starbox.time.annotations.TimeAmount;
@@ -46,6 +47,24 @@ public @interface Command {
   @NonNull
   TimeAmount cooldown() default @TimeAmount();
 
+  /**
+   * Get the name of the cooldown group of the command. Commands in the same group share their
+   * cooldown, if the group is not registered in the manager it will be created using the time of
+   * the first command that references it.
+   *
+   * @return the name of the group or an empty string if the command does not have a group
+   */
+  @NonNull
+  String cooldownGroup() default "";
+
+  /**
+   * The rate in which the command can be executed.
+   *
+   * @return the rate limit
+   */
+  @NonNull
+  RateLimit rateLimit() default @RateLimit;
+
   /**
    * Get the middleware classes that should be included in the execution.
    *
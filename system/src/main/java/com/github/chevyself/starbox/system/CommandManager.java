@@ -6,7 +6,9 @@ import com.github.chevyself.starbox.arguments.Argument;
 import com.github.chevyself.starbox.flags.Option;
 import com.github.chevyself.starbox.providers.registry.ProvidersRegistry;
 import com.github.chevyself.starbox.system.context.CommandContext;
+import com.github.chevyself.starbox.system.middleware.BulkheadMiddleware;
 import com.github.chevyself.starbox.system.middleware.CooldownMiddleware;
+import com.github.chevyself.starbox.system.middleware.RateLimitMiddleware;
 import com.github.chevyself.starbox.system.middleware.ResultHandlingMiddleware;
 import com.github.chevyself.starbox.time.TimeUtil;
 import java.lang.reflect.Method;
@@ -15,7 +17,9 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import lombok.Getter;
 import lombok.NonNull;
 
@@ -44,6 +48,10 @@ public class CommandManager implements StarboxCommandManager<CommandContext, Sys
   @NonNull @Getter private final MessagesProvider messagesProvider;
   @NonNull @Getter private final List<Middleware<CommandContext>> globalMiddlewares;
   @NonNull @Getter private final List<Middleware<CommandContext>> middlewares;
+
+  @NonNull @Getter
+  private final Map<String, CooldownManager> cooldownGroups = new ConcurrentHashMap<>();
+
   @NonNull @Getter private final SystemCommandParser parser;
   @NonNull @Getter private final CommandListener listener;
 
@@ -108,7 +116,9 @@ public class CommandManager implements StarboxCommandManager<CommandContext, Sys
    * <p>The default middlewares are:
    *
    * <ul>
+   *   <li>{@link RateLimitMiddleware}
    *   <li>{@link CooldownMiddleware}
+   *   <li>{@link BulkheadMiddleware}
    *   <li>{@link ResultHandlingMiddleware}
    * </ul>
    *
@@ -116,7 +126,11 @@ public class CommandManager implements StarboxCommandManager<CommandContext, Sys
    */
   @NonNull
   public CommandManager addDefaultMiddlewares() {
-    this.addGlobalMiddlewares(new CooldownMiddleware(), new ResultHandlingMiddleware());
+    this.addGlobalMiddlewares(
+        new RateLimitMiddleware(),
+        new CooldownMiddleware(),
+        new BulkheadMiddleware(),
+        new ResultHandlingMiddleware());
     return this;
   }
 
@@ -187,4 +201,23 @@ public class CommandManager implements StarboxCommandManager<CommandContext, Sys
     this.middlewares.add(middleware);
     return this;
   }
+
+  /**
+   * Add a cooldown group to this manager. Commands that use the name of the group in their
+   * annotation will share the given cooldown manager.
+   *
+   * @param name the name of the group
+   * @param cooldown the cooldown manager of the group
+   * @return this same instance
+   */
+  @NonNull
+  public CommandManager addCooldownGroup(@NonNull String name, @NonNull CooldownManager cooldown) {
+    this.cooldownGroups.put(name, cooldown);
+    return this;
+  }
+
+  @Override
+  public @NonNull Optional<CooldownManager> getCooldownGroup(@NonNull String name) {
+    return Optional.ofNullable(this.cooldownGroups.get(name));
+  }
 }
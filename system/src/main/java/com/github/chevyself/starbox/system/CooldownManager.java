@@ -3,13 +3,25 @@ package com.github.chevyself.starbox.system;
 import com.github.chevyself.starbox.StarboxCooldownManager;
 import com.github.chevyself.starbox.system.context.CommandContext;
 import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import lombok.NonNull;
 
-/** Implementation of {@link CommandManager} for system commands. */
+/**
+ * Implementation of {@link StarboxCooldownManager} for system commands. The cooldown is applied to
+ * each {@link com.github.chevyself.starbox.system.context.sender.CommandSender} using its unique
+ * id.
+ */
 public class CooldownManager implements StarboxCooldownManager<CommandContext> {
 
+  /** The amount of refreshes between each removal of the cooldowns that ended. */
+  private static final int SWEEP_INTERVAL = 1024;
+
+  @NonNull private final Map<UUID, Long> map = new ConcurrentHashMap<>();
+  @NonNull private final AtomicInteger refreshes = new AtomicInteger();
   @NonNull private final Duration duration;
-  private long millis;
 
   /**
    * Create the manager.
@@ -20,18 +32,48 @@ public class CooldownManager implements StarboxCooldownManager<CommandContext> {
     this.duration = duration;
   }
 
+  /**
+   * Get the time in millis in which the cooldown of the sender ends. Cooldowns that already ended
+   * are removed, unless they were refreshed meanwhile, so the map does not keep every sender that
+   * ever used the command.
+   *
+   * @param context the context of the sender
+   * @return the time in which the cooldown ends or 0 if there is none
+   */
+  private long getMillis(@NonNull CommandContext context) {
+    UUID id = context.getSender().getUniqueId();
+    Long millis = map.get(id);
+    if (millis == null) {
+      return 0;
+    }
+    if (millis <= System.currentTimeMillis()) {
+      map.remove(id, millis);
+    }
+    return millis;
+  }
+
   @Override
   public boolean hasCooldown(@NonNull CommandContext context) {
-    return millis > System.currentTimeMillis();
+    return this.getMillis(context) > System.currentTimeMillis();
   }
 
   @Override
   public Duration getTimeLeft(@NonNull CommandContext context) {
-    return Duration.ofMillis(millis - System.currentTimeMillis());
+    long millis = this.getMillis(context) - System.currentTimeMillis();
+    return Duration.ofMillis(millis < 0 ? 0 : millis);
   }
 
   @Override
   public void refresh(@NonNull CommandContext context) {
-    this.millis = (System.currentTimeMillis() + duration.toMillis());
+    long now = System.currentTimeMillis();
+    map.put(context.getSender().getUniqueId(), now + duration.toMillis());
+    // Senders that do not use the command again are never read, so they are swept once in a while
+    if (this.refreshes.incrementAndGet() % CooldownManager.SWEEP_INTERVAL == 0) {
+      for (Map.Entry<UUID, Long> entry : map.entrySet()) {
+        if (entry.getValue() <= now) {
+          map.remove(entry.getKey(), entry.getValue());
+        }
+      }
+    }
   }
 }
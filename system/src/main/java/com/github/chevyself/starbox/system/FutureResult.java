@@ -0,0 +1,25 @@
+package com.github.chevyself.starbox.system;
+
+import com.github.chevyself.starbox.result.StarboxFutureResult;
+import java.util.concurrent.CompletionStage;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * This is the implementation of {@link StarboxFutureResult} for the system module. It is created
+ * when the method of a command returns a {@link CompletionStage} of {@link SystemResult}.
+ */
+public class FutureResult implements SystemResult, StarboxFutureResult<SystemResult> {
+
+  /** The stage that completes with the result of the command. */
+  @NonNull @Getter private final CompletionStage<? extends SystemResult> future;
+
+  /**
+   * Create the result.
+   *
+   * @param future the stage that completes with the result of the command
+   */
+  public FutureResult(@NonNull CompletionStage<? extends SystemResult> future) {
+    this.future = future;
+  }
+}
@@ -0,0 +1,42 @@
+package com.github.chevyself.starbox.system;
+
+import com.github.chevyself.starbox.result.StarboxPagedResult;
+import java.util.Iterator;
+import java.util.Optional;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * This is the implementation of {@link StarboxPagedResult} for the system module. The lines are
+ * printed one by one as they are produced, so they are never joined in memory.
+ */
+public class PagedResult implements SystemResult, StarboxPagedResult {
+
+  @NonNull private final Iterable<? extends CharSequence> lines;
+  @Getter private boolean cooldown;
+
+  /**
+   * Create a result with lines to print.
+   *
+   * @param lines the lines to print, they are iterated once when the result is printed
+   */
+  public PagedResult(@NonNull Iterable<? extends CharSequence> lines) {
+    this.lines = lines;
+  }
+
+  @Override
+  public @NonNull Iterator<? extends CharSequence> getLines() {
+    return this.lines.iterator();
+  }
+
+  @Override
+  public @NonNull Optional<String> getMessage() {
+    return Optional.empty();
+  }
+
+  @Override
+  public @NonNull PagedResult setCooldown(boolean apply) {
+    this.cooldown = apply;
+    return this;
+  }
+}
@@ -0,0 +1,52 @@
+package com.github.chevyself.starbox.system;
+
+import com.github.chevyself.starbox.annotations.RateLimit;
+import com.github.chevyself.starbox.ratelimit.AbstractRateLimiter;
+import com.github.chevyself.starbox.ratelimit.RateLimitScope;
+import com.github.chevyself.starbox.system.context.CommandContext;
+import com.github.chevyself.starbox.time.TimeUtil;
+import java.time.Duration;
+import java.util.Optional;
+import lombok.NonNull;
+
+/**
+ * Implementation of {@link com.github.chevyself.starbox.StarboxRateLimiter} for system commands.
+ * There are no guilds in the system so {@link RateLimitScope#GUILD} works as {@link
+ * RateLimitScope#SENDER}.
+ */
+public class RateLimiter extends AbstractRateLimiter<CommandContext> {
+
+  /**
+   * Create the limiter.
+   *
+   * @param capacity the amount of executions that can be made in a burst
+   * @param refill the time that it takes to get a new execution
+   * @param scope the scope in which the executions are shared
+   */
+  public RateLimiter(int capacity, @NonNull Duration refill, @NonNull RateLimitScope scope) {
+    super(capacity, refill, scope);
+  }
+
+  /**
+   * Create a limiter based on the annotation.
+   *
+   * @param annotation the annotation to provide the settings of the limiter
+   * @return if the capacity is lower than 1 an empty optional will be returned else a new limiter
+   *     will be created
+   */
+  @NonNull
+  public static Optional<RateLimiter> of(@NonNull RateLimit annotation) {
+    return Optional.ofNullable(
+        annotation.capacity() < 1
+            ? null
+            : new RateLimiter(
+                annotation.capacity(),
+                TimeUtil.durationOf(annotation.refill()),
+                annotation.scope()));
+  }
+
+  @Override
+  protected @NonNull Object getSenderKey(@NonNull CommandContext context) {
+    return context.getSender().getUniqueId();
+  }
+}
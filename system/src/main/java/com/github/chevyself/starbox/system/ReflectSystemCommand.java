@@ -13,9 +13,11 @@ import com.github.chevyself.starbox.providers.registry.ProvidersRegistry;
 import com.github.chevyself.starbox.system.context.CommandContext;
 import com.github.chevyself.starbox.system.context.sender.CommandSender;
 import com.github.chevyself.starbox.util.Strings;
+import com.github.chevyself.starbox.util.Throwables;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.List;
+import java.util.concurrent.CompletionStage;
 import lombok.Getter;
 import lombok.NonNull;
 
@@ -48,6 +50,7 @@ public class ReflectSystemCommand extends AbstractSystemCommand
    * @param children the list of children commands which can be used with this parent prefix. Learn
    *     more in {@link Parent}
    * @param cooldown the manager that handles the cooldown in this command
+   * @param rateLimiter the limiter for the rate of executions of this command
    */
   public ReflectSystemCommand(
       @NonNull CommandManager manager,
@@ -58,14 +61,54 @@ public class ReflectSystemCommand extends AbstractSystemCommand
       @NonNull Object object,
       @NonNull List<Argument<?>> arguments,
       @NonNull List<SystemCommand> children,
-      CooldownManager cooldown) {
-    super(aliases, children, options, middlewares, cooldown);
+      CooldownManager cooldown,
+      RateLimiter rateLimiter) {
+    super(aliases, children, options, middlewares, cooldown, rateLimiter);
     this.method = method;
     this.object = object;
     this.arguments = arguments;
     this.manager = manager;
   }
 
+  /**
+   * Create the command.
+   *
+   * @param manager the manager that parsed the command
+   * @param aliases the aliases that match the command for its execution
+   * @param options the flags that apply in this command
+   * @param middlewares the middlewares to run before and after this command is executed
+   * @param method the method to execute as the command see more in {@link #getMethod()}
+   * @param object the instance of the object used to invoke the method see more in {@link
+   *     #getObject()}
+   * @param arguments the list of arguments that are used to {@link
+   *     #getObjects(StarboxCommandContext)} and invoke the {@link #getMethod()}
+   * @param children the list of children commands which can be used with this parent prefix. Learn
+   *     more in {@link Parent}
+   * @param cooldown the manager that handles the cooldown in this command
+   */
+  public ReflectSystemCommand(
+      @NonNull CommandManager manager,
+      @NonNull List<String> aliases,
+      @NonNull List<Option> options,
+      @NonNull List<Middleware<CommandContext>> middlewares,
+      @NonNull Method method,
+      @NonNull Object object,
+      @NonNull List<Argument<?>> arguments,
+      @NonNull List<SystemCommand> children,
+      CooldownManager cooldown) {
+    this(
+        manager,
+        aliases,
+        options,
+        middlewares,
+        method,
+        object,
+        arguments,
+        children,
+        cooldown,
+        null);
+  }
+
   @Override
   public SystemResult execute(@NonNull CommandContext context) {
     return super.execute(context);
@@ -78,6 +121,19 @@ public class ReflectSystemCommand extends AbstractSystemCommand
       Object object = this.method.invoke(this.getObject(), this.getObjects(context));
       if (object instanceof SystemResult) {
         return (SystemResult) object;
+      } else if (object instanceof CompletionStage) {
+        return new FutureResult(
+            ((CompletionStage<?>) object)
+                .handle(
+                    (value, fail) -> {
+                      if (fail != null) {
+                        fail.printStackTrace();
+                        return new Result(
+                            Throwables.getMessage(fail)
+                                .orElseGet(() -> context.getMessagesProvider().failed(context)));
+                      }
+                      return value instanceof SystemResult ? (SystemResult) value : null;
+                    }));
       } else {
         return null;
       }
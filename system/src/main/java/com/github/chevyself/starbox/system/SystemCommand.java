@@ -1,11 +1,13 @@
 package com.github.chevyself.starbox.system;
 
 import com.github.chevyself.starbox.Middleware;
+import com.github.chevyself.starbox.MiddlewareChain;
 import com.github.chevyself.starbox.StarboxCommand;
 import com.github.chevyself.starbox.arguments.Argument;
 import com.github.chevyself.starbox.system.context.CommandContext;
 import com.github.chevyself.starbox.system.context.sender.CommandSender;
 import com.github.chevyself.starbox.util.Strings;
+import com.github.chevyself.starbox.util.Throwables;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
@@ -58,21 +60,49 @@ public interface SystemCommand extends StarboxCommand<CommandContext, SystemComm
                 context.getMessagesProvider()));
       }
     }
-    SystemResult result =
-        this.getMiddlewares().stream()
-            .map(middleware -> middleware.next(context))
-            .filter(Optional::isPresent)
-            .map(Optional::get)
-            .findFirst()
-            .map(
-                starboxResult -> {
-                  // Here maybe thrown an error because the wrong result was provided
-                  return starboxResult instanceof SystemResult
-                      ? (SystemResult) starboxResult
-                      : null;
-                })
-            .orElseGet(() -> this.run(context));
-    this.getMiddlewares().forEach(middleware -> middleware.next(context, result));
+    if (MiddlewareChain.isAsync(this.getMiddlewares())) {
+      FutureResult result =
+          new FutureResult(
+              MiddlewareChain.execute(
+                      this.getMiddlewares(),
+                      context,
+                      starboxResult ->
+                          starboxResult instanceof SystemResult
+                              ? (SystemResult) starboxResult
+                              : null,
+                      () -> this.run(context),
+                      Runnable::run)
+                  .exceptionally(
+                      fail -> {
+                        fail.printStackTrace();
+                        return new Result(
+                            Throwables.getMessage(fail)
+                                .orElseGet(() -> context.getMessagesProvider().failed(context)));
+                      }));
+      Middleware.finish(this.getMiddlewares(), context, result);
+      return result;
+    }
+    SystemResult result;
+    try {
+      result =
+          this.getMiddlewares().stream()
+              .map(middleware -> middleware.next(context))
+              .filter(Optional::isPresent)
+              .map(Optional::get)
+              .findFirst()
+              .map(
+                  starboxResult -> {
+                    // Here maybe thrown an error because the wrong result was provided
+                    return starboxResult instanceof SystemResult
+                        ? (SystemResult) starboxResult
+                        : null;
+                  })
+              .orElseGet(() -> this.run(context));
+    } catch (RuntimeException e) {
+      Middleware.complete(this.getMiddlewares(), context);
+      throw e;
+    }
+    Middleware.finish(this.getMiddlewares(), context, result);
     return result;
   }
 
@@ -84,6 +114,12 @@ public interface SystemCommand extends StarboxCommand<CommandContext, SystemComm
   @NonNull
   Optional<CooldownManager> getCooldownManager();
 
+  @Override
+  @NonNull
+  default Optional<RateLimiter> getRateLimiter() {
+    return Optional.empty();
+  }
+
   /**
    * Get the name of the command.
    *
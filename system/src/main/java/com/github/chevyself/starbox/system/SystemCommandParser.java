@@ -3,6 +3,7 @@ package com.github.chevyself.starbox.system;
 import com.github.chevyself.starbox.Middleware;
 import com.github.chevyself.starbox.StarboxCommandManager;
 import com.github.chevyself.starbox.arguments.Argument;
+import com.github.chevyself.starbox.exceptions.CommandRegistrationException;
 import com.github.chevyself.starbox.flags.Option;
 import com.github.chevyself.starbox.parsers.CommandParser;
 import com.github.chevyself.starbox.system.context.CommandContext;
@@ -12,6 +13,7 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 import java.util.function.Function;
 import lombok.Getter;
 import lombok.NonNull;
@@ -38,13 +40,13 @@ public class SystemCommandParser implements CommandParser<Command, CommandContex
   @Override
   public @NonNull Function<Command, SystemCommand> getParentCommandSupplier() {
     return command -> {
-      Duration duration = TimeUtil.durationOf(command.cooldown());
       return new AbstractSystemCommand(
           Arrays.asList(command.aliases()),
           new ArrayList<>(),
           Option.of(command.options()),
           this.getMiddlewares(command),
-          duration.isZero() ? null : new CooldownManager(duration)) {
+          this.getCooldown(command),
+          RateLimiter.of(command.rateLimit()).orElse(null)) {
         @Override
         public SystemResult run(@NonNull CommandContext context) {
           return new Result(
@@ -57,6 +59,24 @@ public class SystemCommandParser implements CommandParser<Command, CommandContex
     };
   }
 
+  private CooldownManager getCooldown(@NonNull Command annotation) {
+    Duration duration = TimeUtil.durationOf(annotation.cooldown());
+    Optional<CooldownManager> cooldown =
+        Optional.ofNullable(duration.isZero() ? null : new CooldownManager(duration));
+    if (annotation.cooldownGroup().isEmpty()) {
+      return cooldown.orElse(null);
+    }
+    return commandManager
+        .getCooldownGroups()
+        .computeIfAbsent(
+            annotation.cooldownGroup(),
+            group ->
+                cooldown.orElseThrow(
+                    () ->
+                        new CommandRegistrationException(
+                            "The cooldown group " + group + " is not registered")));
+  }
+
   @NonNull
   private List<Middleware<CommandContext>> getMiddlewares(@NonNull Command command) {
     return StarboxCommandManager.getMiddlewares(
@@ -72,7 +92,6 @@ public class SystemCommandParser implements CommandParser<Command, CommandContex
   @Override
   public SystemCommand parseCommand(
       @NonNull Object object, @NonNull Method method, @NonNull Command annotation) {
-    Duration duration = TimeUtil.durationOf(annotation.cooldown());
     return new ReflectSystemCommand(
         commandManager,
         Arrays.asList(annotation.aliases()),
@@ -82,6 +101,7 @@ public class SystemCommandParser implements CommandParser<Command, CommandContex
         object,
         Argument.parseArguments(method),
         new ArrayList<>(),
-        !duration.isZero() ? new CooldownManager(duration) : null);
+        this.getCooldown(annotation),
+        RateLimiter.of(annotation.rateLimit()).orElse(null));
   }
 }
@@ -45,6 +45,21 @@ public class SystemMessagesProvider implements MessagesProvider {
     return "You are not allowed to run this command for another " + TimeUtil.toString(timeLeft);
   }
 
+  @Override
+  public @NonNull String rateLimited(@NonNull CommandContext context, @NonNull Duration timeLeft) {
+    return "You are running this command too fast, try again in " + TimeUtil.toString(timeLeft);
+  }
+
+  @Override
+  public @NonNull String busy(@NonNull CommandContext context) {
+    return "The command is busy, try again later";
+  }
+
+  @Override
+  public @NonNull String failed(@NonNull CommandContext context) {
+    return "The command failed, try again later";
+  }
+
   @Override
   public @NonNull String commandHelp(
       @NonNull StarboxCommand<CommandContext, ?> command, CommandContext context) {
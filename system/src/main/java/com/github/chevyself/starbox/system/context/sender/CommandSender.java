@@ -3,9 +3,39 @@ package com.github.chevyself.starbox.system.context.sender;
 import com.github.chevyself.starbox.system.CommandManager;
 import com.github.chevyself.starbox.system.SystemCommand;
 import com.github.chevyself.starbox.system.context.CommandContext;
+import java.util.UUID;
+import lombok.NonNull;
 
 /**
  * This represents an entity which is allowed to use the {@link SystemCommand}. With the {@link
  * CommandContext} that is required by the {@link CommandManager}
+ *
+ * <p>Each sender must have its own identity as things such as the {@link
+ * com.github.chevyself.starbox.system.CooldownManager} are applied per sender.
  */
-public interface CommandSender {}
+public interface CommandSender {
+
+  /**
+   * Get the unique id of the sender. This identifies the sender across executions.
+   *
+   * <p>By default a random id is given to each sender the first time it is requested and kept while
+   * the sender is in memory, so senders that are equal share the same id. Senders that are created
+   * again for each execution should override this to return an id that does not change.
+   *
+   * @return the unique id
+   */
+  @NonNull
+  default UUID getUniqueId() {
+    return SenderIds.get(this);
+  }
+
+  /**
+   * Get the name of the sender. By default this is the simple name of its class.
+   *
+   * @return the name
+   */
+  @NonNull
+  default String getName() {
+    return this.getClass().getSimpleName();
+  }
+}
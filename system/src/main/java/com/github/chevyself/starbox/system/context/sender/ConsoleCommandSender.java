@@ -1,14 +1,27 @@
 package com.github.chevyself.starbox.system.context.sender;
 
+import java.util.UUID;
 import lombok.NonNull;
 
 /**
- * This is the only implementation of {@link CommandSender} to represent the command executor
- * through console. To use the static instance is provided {@link #INSTANCE}
+ * This is the implementation of {@link CommandSender} to represent the command executor through
+ * console. To use the static instance is provided {@link #INSTANCE}
  */
 public class ConsoleCommandSender implements CommandSender {
 
   @NonNull public static final ConsoleCommandSender INSTANCE = new ConsoleCommandSender();
 
+  @NonNull private static final UUID UNIQUE_ID = new UUID(0, 0);
+
   private ConsoleCommandSender() {}
+
+  @Override
+  public @NonNull UUID getUniqueId() {
+    return ConsoleCommandSender.UNIQUE_ID;
+  }
+
+  @Override
+  public @NonNull String getName() {
+    return "Console";
+  }
 }
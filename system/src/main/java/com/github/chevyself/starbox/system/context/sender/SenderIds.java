@@ -0,0 +1,26 @@
+package com.github.chevyself.starbox.system.context.sender;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+import java.util.WeakHashMap;
+import lombok.NonNull;
+
+/**
+ * Keeps the ids given to the senders that do not provide their own, see {@link
+ * CommandSender#getUniqueId()}. Senders are weakly referenced so they are removed once they are no
+ * longer used.
+ */
+final class SenderIds {
+
+  @NonNull
+  private static final Map<CommandSender, UUID> IDS =
+      Collections.synchronizedMap(new WeakHashMap<>());
+
+  private SenderIds() {}
+
+  @NonNull
+  static UUID get(@NonNull CommandSender sender) {
+    return SenderIds.IDS.computeIfAbsent(sender, key -> UUID.randomUUID());
+  }
+}
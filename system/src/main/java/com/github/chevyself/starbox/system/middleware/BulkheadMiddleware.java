@@ -0,0 +1,18 @@
+package com.github.chevyself.starbox.system.middleware;
+
+import com.github.chevyself.starbox.bulkhead.AbstractBulkheadMiddleware;
+import com.github.chevyself.starbox.system.Result;
+import com.github.chevyself.starbox.system.context.CommandContext;
+import lombok.NonNull;
+
+/**
+ * Middleware to limit how many executions of a command run at the same time. It should run after
+ * the middlewares that may stop a command, so stopped executions do not take a permit.
+ */
+public class BulkheadMiddleware extends AbstractBulkheadMiddleware<CommandContext> {
+
+  @Override
+  protected @NonNull Result busy(@NonNull CommandContext context) {
+    return new Result(context.getMessagesProvider().busy(context));
+  }
+}
@@ -0,0 +1,26 @@
+package com.github.chevyself.starbox.system.middleware;
+
+import com.github.chevyself.starbox.system.RateLimiter;
+import com.github.chevyself.starbox.system.Result;
+import com.github.chevyself.starbox.system.SystemResult;
+import com.github.chevyself.starbox.system.context.CommandContext;
+import java.util.Optional;
+import lombok.NonNull;
+
+/** Middleware to check the rate limit of commands. */
+public class RateLimitMiddleware implements SystemMiddleware {
+
+  @Override
+  public @NonNull Optional<SystemResult> next(@NonNull CommandContext context) {
+    Optional<RateLimiter> optional = context.getCommand().getRateLimiter();
+    if (optional.isPresent()) {
+      RateLimiter limiter = optional.get();
+      if (!limiter.tryAcquire(context)) {
+        return Optional.of(
+            new Result(
+                context.getMessagesProvider().rateLimited(context, limiter.getTimeLeft(context))));
+      }
+    }
+    return Optional.empty();
+  }
+}
@@ -1,16 +1,35 @@
 package com.github.chevyself.starbox.system.middleware;
 
+import com.github.chevyself.starbox.result.LinePager;
+import com.github.chevyself.starbox.result.StarboxPagedResult;
 import com.github.chevyself.starbox.result.StarboxResult;
 import com.github.chevyself.starbox.system.SystemResult;
 import com.github.chevyself.starbox.system.context.CommandContext;
+import java.util.Iterator;
 import lombok.NonNull;
 
-/** Middleware that handles the result of a command. */
+/**
+ * Middleware that handles the result of a command. The lines of {@link StarboxPagedResult} are
+ * streamed to the output as they are produced.
+ */
 public class ResultHandlingMiddleware implements SystemMiddleware {
 
+  private static void print(@NonNull StarboxPagedResult result) {
+    Iterator<? extends CharSequence> lines = result.getLines();
+    try {
+      while (lines.hasNext()) {
+        System.out.println(lines.next());
+      }
+    } finally {
+      LinePager.closeLines(lines);
+    }
+  }
+
   @Override
   public void next(@NonNull CommandContext context, StarboxResult result) {
-    if (result instanceof SystemResult) {
+    if (result instanceof SystemResult && result instanceof StarboxPagedResult) {
+      ResultHandlingMiddleware.print((StarboxPagedResult) result);
+    } else if (result instanceof SystemResult) {
       result.getMessage().ifPresent(System.out::println);
     }
   }
@@ -0,0 +1,149 @@
+package me.googas;
+
+import com.github.chevyself.starbox.AsyncMiddleware;
+import com.github.chevyself.starbox.Middleware;
+import com.github.chevyself.starbox.flags.CommandLineParser;
+import com.github.chevyself.starbox.providers.registry.ProvidersRegistry;
+import com.github.chevyself.starbox.result.StarboxResult;
+import com.github.chevyself.starbox.system.Command;
+import com.github.chevyself.starbox.system.CommandManager;
+import com.github.chevyself.starbox.system.FutureResult;
+import com.github.chevyself.starbox.system.Result;
+import com.github.chevyself.starbox.system.SystemCommand;
+import com.github.chevyself.starbox.system.SystemMessagesProvider;
+import com.github.chevyself.starbox.system.SystemResult;
+import com.github.chevyself.starbox.system.context.CommandContext;
+import com.github.chevyself.starbox.system.context.sender.ConsoleCommandSender;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.NonNull;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class AsyncMiddlewareTest {
+
+  @NonNull
+  private final ScheduledExecutorService database = Executors.newSingleThreadScheduledExecutor();
+
+  @NonNull private final AtomicReference<Thread> ranIn = new AtomicReference<>();
+  @NonNull private final AtomicInteger checks = new AtomicInteger();
+  private CommandManager manager;
+  private CompletionStage<Optional<Result>> ban;
+
+  @Before
+  public void setUp() {
+    SystemMessagesProvider messages = new SystemMessagesProvider();
+    this.manager =
+        new CommandManager("-", new ProvidersRegistry<>(messages), messages)
+            .addGlobalMiddleware(new BanMiddleware())
+            .addGlobalMiddleware(
+                new Middleware<CommandContext>() {
+                  @Override
+                  public @NonNull Optional<? extends StarboxResult> next(
+                      @NonNull CommandContext context) {
+                    AsyncMiddlewareTest.this.checks.incrementAndGet();
+                    return Optional.empty();
+                  }
+                });
+  }
+
+  @After
+  public void tearDown() {
+    this.manager.close();
+    this.database.shutdownNow();
+  }
+
+  @NonNull
+  private SystemResult execute() {
+    SystemCommand command =
+        (SystemCommand) this.manager.getParser().parseCommands(new GreetCommands()).get(0);
+    return command.execute(
+        new CommandContext(
+            CommandLineParser.parse(command.getOptions(), new String[0]),
+            command,
+            ConsoleCommandSender.INSTANCE,
+            this.manager.getProvidersRegistry(),
+            this.manager.getMessagesProvider()));
+  }
+
+  @NonNull
+  private static Optional<String> await(@NonNull SystemResult result) throws Exception {
+    Assert.assertTrue(result instanceof FutureResult);
+    return ((FutureResult) result)
+        .getFuture()
+        .toCompletableFuture()
+        .get(5, TimeUnit.SECONDS)
+        .getMessage();
+  }
+
+  @Test
+  public void completedStagesRunInline() throws Exception {
+    this.ban = CompletableFuture.completedFuture(Optional.empty());
+    SystemResult result = this.execute();
+    Assert.assertTrue(((FutureResult) result).getFuture().toCompletableFuture().isDone());
+    Assert.assertEquals(Thread.currentThread(), this.ranIn.get());
+    Assert.assertEquals(Optional.of("Hello"), AsyncMiddlewareTest.await(result));
+    Assert.assertEquals(1, this.checks.get());
+  }
+
+  @Test
+  public void pendingStagesDeferTheCommand() throws Exception {
+    CompletableFuture<Optional<Result>> ban = new CompletableFuture<>();
+    this.ban = ban;
+    SystemResult result = this.execute();
+    Assert.assertNull(this.ranIn.get());
+    Assert.assertEquals(0, this.checks.get());
+    this.database.schedule(() -> ban.complete(Optional.empty()), 50, TimeUnit.MILLISECONDS);
+    Assert.assertEquals(Optional.of("Hello"), AsyncMiddlewareTest.await(result));
+    Assert.assertNotEquals(Thread.currentThread(), this.ranIn.get());
+    Assert.assertEquals(1, this.checks.get());
+  }
+
+  @Test
+  public void rejectionsStopTheChain() throws Exception {
+    CompletableFuture<Optional<Result>> ban = new CompletableFuture<>();
+    this.ban = ban;
+    SystemResult result = this.execute();
+    this.database.schedule(
+        () -> ban.complete(Optional.of(new Result("Banned"))), 50, TimeUnit.MILLISECONDS);
+    Assert.assertEquals(Optional.of("Banned"), AsyncMiddlewareTest.await(result));
+    Assert.assertNull(this.ranIn.get());
+    Assert.assertEquals(0, this.checks.get());
+  }
+
+  @Test
+  public void failuresAreResults() throws Exception {
+    CompletableFuture<Optional<Result>> ban = new CompletableFuture<>();
+    ban.completeExceptionally(new IllegalStateException("Database is down"));
+    this.ban = ban;
+    Optional<String> message = AsyncMiddlewareTest.await(this.execute());
+    Assert.assertTrue(message.isPresent() && message.get().contains("Database is down"));
+    Assert.assertNull(this.ranIn.get());
+  }
+
+  public class GreetCommands {
+
+    @Command(aliases = "greet")
+    public Result greet() {
+      AsyncMiddlewareTest.this.ranIn.set(Thread.currentThread());
+      return new Result("Hello");
+    }
+  }
+
+  /** Checks whether the sender is banned with the stage of the test. */
+  private class BanMiddleware implements AsyncMiddleware<CommandContext> {
+
+    @Override
+    public @NonNull CompletionStage<Optional<Result>> nextAsync(@NonNull CommandContext context) {
+      return AsyncMiddlewareTest.this.ban;
+    }
+  }
+}
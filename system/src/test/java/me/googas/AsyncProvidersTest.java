@@ -0,0 +1,161 @@
+package me.googas;
+
+import com.github.chevyself.starbox.ReflectCommand;
+import com.github.chevyself.starbox.annotations.Required;
+import com.github.chevyself.starbox.exceptions.ArgumentProviderException;
+import com.github.chevyself.starbox.exceptions.MissingArgumentException;
+import com.github.chevyself.starbox.flags.CommandLineParser;
+import com.github.chevyself.starbox.providers.registry.ProvidersRegistry;
+import com.github.chevyself.starbox.providers.type.StarboxAsyncArgumentProvider;
+import com.github.chevyself.starbox.system.Command;
+import com.github.chevyself.starbox.system.CommandManager;
+import com.github.chevyself.starbox.system.Result;
+import com.github.chevyself.starbox.system.SystemCommand;
+import com.github.chevyself.starbox.system.SystemMessagesProvider;
+import com.github.chevyself.starbox.system.context.CommandContext;
+import com.github.chevyself.starbox.system.context.sender.ConsoleCommandSender;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.NonNull;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class AsyncProvidersTest {
+
+  private static final long LOOKUP = 200;
+
+  @NonNull
+  private final ScheduledExecutorService database = Executors.newSingleThreadScheduledExecutor();
+
+  @NonNull private final List<CompletableFuture<Profile>> lookups = new CopyOnWriteArrayList<>();
+  private CommandManager manager;
+  private ReflectCommand<CommandContext, SystemCommand> command;
+
+  @Before
+  @SuppressWarnings("unchecked")
+  public void setUp() {
+    SystemMessagesProvider messages = new SystemMessagesProvider();
+    ProvidersRegistry<CommandContext> registry =
+        new ProvidersRegistry<>(messages).addProvider(new ProfileProvider());
+    this.manager = new CommandManager("-", registry, messages);
+    this.command =
+        (ReflectCommand<CommandContext, SystemCommand>)
+            this.manager.getParser().parseCommands(new ProfileCommands()).get(0);
+  }
+
+  @After
+  public void tearDown() {
+    this.manager.close();
+    this.database.shutdownNow();
+  }
+
+  @NonNull
+  private CommandContext context(String... strings) {
+    SystemCommand command = (SystemCommand) this.command;
+    return new CommandContext(
+        CommandLineParser.parse(command.getOptions(), strings),
+        command,
+        ConsoleCommandSender.INSTANCE,
+        this.manager.getProvidersRegistry(),
+        this.manager.getMessagesProvider());
+  }
+
+  @Test
+  public void lookupsRunAtOnce() throws Exception {
+    long start = System.nanoTime();
+    Object[] objects = this.command.getObjects(this.context("a", "b", "c"));
+    long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    Assert.assertEquals("a", ((Profile) objects[0]).name);
+    Assert.assertEquals("b", ((Profile) objects[1]).name);
+    Assert.assertEquals("c", ((Profile) objects[2]).name);
+    Assert.assertTrue(
+        "Took " + elapsed + "ms", elapsed >= AsyncProvidersTest.LOOKUP && elapsed < 3 * LOOKUP);
+  }
+
+  @Test
+  public void aFailedLookupCancelsTheOthers() throws MissingArgumentException {
+    try {
+      this.command.getObjects(this.context("a", "fail", "c"));
+      Assert.fail();
+    } catch (ArgumentProviderException e) {
+      Assert.assertEquals("fail does not exist", e.getMessage());
+    }
+    Assert.assertEquals(3, this.lookups.size());
+    Assert.assertTrue(this.lookups.get(0).isCancelled());
+    Assert.assertTrue(this.lookups.get(2).isCancelled());
+  }
+
+  @Test
+  public void lookupsTimeOut() throws MissingArgumentException {
+    this.manager.getProvidersRegistry().setLookupTimeout(Duration.ofMillis(50));
+    try {
+      this.command.getObjects(this.context("a", "b", "c"));
+      Assert.fail();
+    } catch (ArgumentProviderException e) {
+      Assert.assertTrue(this.lookups.stream().allMatch(CompletableFuture::isCancelled));
+    }
+  }
+
+  @Test(expected = MissingArgumentException.class)
+  public void missingArgumentsAreStillRequired() throws Exception {
+    this.command.getObjects(this.context("a", "b"));
+  }
+
+  public static class Profile {
+
+    @NonNull private final String name;
+
+    private Profile(@NonNull String name) {
+      this.name = name;
+    }
+  }
+
+  public static class ProfileCommands {
+
+    @Command(aliases = "compare")
+    public Result compare(
+        @Required(name = "first") Profile first,
+        @Required(name = "second") Profile second,
+        @Required(name = "third") Profile third) {
+      return new Result();
+    }
+  }
+
+  /** Loads profiles from a simulated database, each lookup takes {@link #LOOKUP} milliseconds. */
+  private class ProfileProvider implements StarboxAsyncArgumentProvider<Profile, CommandContext> {
+
+    @Override
+    public @NonNull Class<Profile> getClazz() {
+      return Profile.class;
+    }
+
+    @Override
+    public @NonNull CompletionStage<Profile> fromStringAsync(
+        @NonNull String string, @NonNull CommandContext context) {
+      CompletableFuture<Profile> future = new CompletableFuture<>();
+      AsyncProvidersTest.this.lookups.add(future);
+      if (string.equals("fail")) {
+        AsyncProvidersTest.this.database.schedule(
+            () ->
+                future.completeExceptionally(
+                    new ArgumentProviderException(string + " does not exist")),
+            10,
+            TimeUnit.MILLISECONDS);
+      } else {
+        AsyncProvidersTest.this.database.schedule(
+            () -> future.complete(new Profile(string)),
+            AsyncProvidersTest.LOOKUP,
+            TimeUnit.MILLISECONDS);
+      }
+      return future;
+    }
+  }
+}
@@ -0,0 +1,192 @@
+package me.googas;
+
+import com.github.chevyself.starbox.Middleware;
+import com.github.chevyself.starbox.annotations.Bulkhead;
+import com.github.chevyself.starbox.bulkhead.CommandBulkhead;
+import com.github.chevyself.starbox.flags.CommandLineParser;
+import com.github.chevyself.starbox.providers.registry.ProvidersRegistry;
+import com.github.chevyself.starbox.system.AbstractSystemCommand;
+import com.github.chevyself.starbox.system.Command;
+import com.github.chevyself.starbox.system.CommandManager;
+import com.github.chevyself.starbox.system.Result;
+import com.github.chevyself.starbox.system.SystemCommand;
+import com.github.chevyself.starbox.system.SystemMessagesProvider;
+import com.github.chevyself.starbox.system.SystemResult;
+import com.github.chevyself.starbox.system.context.CommandContext;
+import com.github.chevyself.starbox.system.context.sender.ConsoleCommandSender;
+import com.github.chevyself.starbox.system.middleware.BulkheadMiddleware;
+import com.github.chevyself.starbox.system.middleware.SystemMiddleware;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import lombok.NonNull;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BulkheadTest {
+
+  @NonNull private final BulkheadMiddleware middleware = new BulkheadMiddleware();
+  @NonNull private final CompletableFuture<Result> stats = new CompletableFuture<>();
+  private CommandManager manager;
+  private SystemCommand command;
+
+  @Before
+  public void setUp() {
+    SystemMessagesProvider messages = new SystemMessagesProvider();
+    this.manager =
+        new CommandManager("-", new ProvidersRegistry<>(messages), messages)
+            .addGlobalMiddleware(this.middleware);
+    this.command =
+        (SystemCommand) this.manager.getParser().parseCommands(new StatsCommands()).get(0);
+  }
+
+  @After
+  public void tearDown() {
+    this.manager.close();
+  }
+
+  @NonNull
+  private CommandContext context() {
+    return this.context(this.command);
+  }
+
+  @NonNull
+  private CommandContext context(@NonNull SystemCommand command) {
+    return new CommandContext(
+        CommandLineParser.parse(command.getOptions(), new String[0]),
+        command,
+        ConsoleCommandSender.INSTANCE,
+        this.manager.getProvidersRegistry(),
+        this.manager.getMessagesProvider());
+  }
+
+  @NonNull
+  private SystemResult execute() {
+    return this.command.execute(this.context());
+  }
+
+  @Test
+  public void permitsAreHeldUntilTheResultCompletes() {
+    CommandBulkhead bulkhead = this.middleware.getGroup("database").orElse(null);
+    Assert.assertNull(bulkhead);
+    this.execute();
+    bulkhead = this.middleware.getGroup("database").orElseThrow(IllegalStateException::new);
+    Assert.assertEquals(1, bulkhead.getInFlight());
+    CommandContext context = this.context();
+    Assert.assertEquals(
+        Optional.of(this.manager.getMessagesProvider().busy(context)),
+        this.command.execute(context).getMessage());
+    Assert.assertEquals(1, bulkhead.getRejected());
+    this.stats.complete(new Result("Done"));
+    Assert.assertEquals(0, bulkhead.getInFlight());
+    Assert.assertFalse(this.execute().getMessage().isPresent());
+  }
+
+  @NonNull
+  private SystemCommand failing(@NonNull Middleware<CommandContext> after) {
+    SystemCommand failing =
+        new AbstractSystemCommand(
+            Collections.singletonList("failing"),
+            new ArrayList<>(),
+            new ArrayList<>(),
+            Arrays.asList(this.middleware, after),
+            null) {
+          @Override
+          public SystemResult run(@NonNull CommandContext context) {
+            throw new IllegalStateException("Failed");
+          }
+        };
+    this.middleware.setBulkhead(failing, new CommandBulkhead(1));
+    return failing;
+  }
+
+  @Test
+  public void permitsAreReleasedWhenTheCommandThrows() {
+    SystemCommand failing = this.failing(new SystemMiddleware() {});
+    try {
+      failing.execute(this.context(failing));
+      Assert.fail();
+    } catch (IllegalStateException e) {
+      Assert.assertEquals("Failed", e.getMessage());
+    }
+    Assert.assertEquals(
+        0,
+        this.middleware
+            .getBulkhead(failing)
+            .map(CommandBulkhead::getInFlight)
+            .orElse(-1)
+            .intValue());
+  }
+
+  @Test
+  public void permitsAreReleasedWhenALaterMiddlewareStops() {
+    SystemCommand failing =
+        this.failing(
+            new SystemMiddleware() {
+              @Override
+              public @NonNull Optional<Result> next(@NonNull CommandContext context) {
+                return Optional.of(new Result("Stopped"));
+              }
+            });
+    Assert.assertEquals(
+        Optional.of("Stopped"), failing.execute(this.context(failing)).getMessage());
+    Assert.assertEquals(
+        0,
+        this.middleware
+            .getBulkhead(failing)
+            .map(CommandBulkhead::getInFlight)
+            .orElse(-1)
+            .intValue());
+  }
+
+  @Test
+  public void queuedExecutionsWaitForAPermit() throws InterruptedException {
+    CommandBulkhead bulkhead = new CommandBulkhead(1, 1, Duration.ofSeconds(5));
+    Assert.assertTrue(bulkhead.tryAcquire());
+    Assert.assertFalse(bulkhead.acquire(false));
+    CountDownLatch acquired = new CountDownLatch(1);
+    Thread waiting =
+        new Thread(
+            () -> {
+              if (bulkhead.acquire(true)) {
+                acquired.countDown();
+              }
+            });
+    waiting.start();
+    while (bulkhead.getQueued() == 0) {
+      Thread.sleep(1);
+    }
+    Assert.assertFalse("The queue is full", bulkhead.acquire(true));
+    bulkhead.release();
+    Assert.assertTrue(acquired.await(5, TimeUnit.SECONDS));
+    Assert.assertEquals(1, bulkhead.getInFlight());
+    Assert.assertEquals(2, bulkhead.getRejected());
+  }
+
+  @Test
+  public void waitsAreBounded() {
+    CommandBulkhead bulkhead = new CommandBulkhead(1, 1, Duration.ofMillis(20));
+    Assert.assertTrue(bulkhead.tryAcquire());
+    long start = System.nanoTime();
+    Assert.assertFalse(bulkhead.acquire(true));
+    Assert.assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(20));
+    Assert.assertEquals(0, bulkhead.getQueued());
+  }
+
+  public class StatsCommands {
+
+    @Bulkhead(permits = 1, group = "database")
+    @Command(aliases = "stats")
+    public CompletionStage<Result> stats() {
+      return BulkheadTest.this.stats;
+    }
+  }
+}
@@ -0,0 +1,168 @@
+package me.googas;
+
+import com.github.chevyself.starbox.exceptions.ArgumentProviderException;
+import com.github.chevyself.starbox.flags.CommandLineParser;
+import com.github.chevyself.starbox.providers.CachedProvider;
+import com.github.chevyself.starbox.providers.registry.ProvidersRegistry;
+import com.github.chevyself.starbox.providers.type.StarboxArgumentProvider;
+import com.github.chevyself.starbox.system.Command;
+import com.github.chevyself.starbox.system.CommandManager;
+import com.github.chevyself.starbox.system.Result;
+import com.github.chevyself.starbox.system.SystemCommand;
+import com.github.chevyself.starbox.system.SystemMessagesProvider;
+import com.github.chevyself.starbox.system.context.CommandContext;
+import com.github.chevyself.starbox.system.context.sender.ConsoleCommandSender;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.NonNull;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CachedProviderTest {
+
+  @NonNull private final AtomicInteger lookups = new AtomicInteger();
+  private CommandManager manager;
+  private CommandContext context;
+  private String tenant = "a";
+
+  @Before
+  public void setUp() {
+    SystemMessagesProvider messages = new SystemMessagesProvider();
+    ProvidersRegistry<CommandContext> registry =
+        new ProvidersRegistry<>(messages).addProvider(new ProfileProvider());
+    this.manager = new CommandManager("-", registry, messages);
+    SystemCommand command =
+        (SystemCommand) this.manager.getParser().parseCommands(new ProfileCommands()).get(0);
+    this.context =
+        new CommandContext(
+            CommandLineParser.parse(command.getOptions(), new String[0]),
+            command,
+            ConsoleCommandSender.INSTANCE,
+            registry,
+            messages);
+  }
+
+  @After
+  public void tearDown() {
+    this.manager.close();
+  }
+
+  @NonNull
+  private CachedProvider<Profile, CommandContext> cache(int maximumSize, @NonNull Duration ttl) {
+    return new CachedProvider<>(
+        new ProfileProvider(), maximumSize, ttl, context -> CachedProviderTest.this.tenant);
+  }
+
+  @Test
+  public void repeatedLookupsHitTheCache() throws ArgumentProviderException {
+    CachedProvider<Profile, CommandContext> cache = this.cache(10, Duration.ZERO);
+    Profile profile = cache.fromString("Steve", this.context);
+    Assert.assertSame(profile, cache.fromString("Steve", this.context));
+    Assert.assertEquals(1, this.lookups.get());
+    Assert.assertEquals(1, cache.getHits());
+    Assert.assertEquals(1, cache.getMisses());
+  }
+
+  @Test
+  public void contextsDoNotShareObjects() throws ArgumentProviderException {
+    CachedProvider<Profile, CommandContext> cache = this.cache(10, Duration.ZERO);
+    Profile first = cache.fromString("Steve", this.context);
+    this.tenant = "b";
+    Assert.assertNotSame(first, cache.fromString("Steve", this.context));
+    Assert.assertEquals(2, this.lookups.get());
+    cache.invalidate("Steve");
+    Assert.assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void leastRecentlyUsedIsEvicted() throws ArgumentProviderException {
+    CachedProvider<Profile, CommandContext> cache = this.cache(2, Duration.ZERO);
+    cache.fromString("Steve", this.context);
+    cache.fromString("Alex", this.context);
+    cache.fromString("Steve", this.context);
+    cache.fromString("Herobrine", this.context);
+    Assert.assertEquals(2, cache.size());
+    cache.fromString("Steve", this.context);
+    Assert.assertEquals(3, this.lookups.get());
+    cache.fromString("Alex", this.context);
+    Assert.assertEquals(4, this.lookups.get());
+  }
+
+  @Test
+  public void objectsExpire() throws ArgumentProviderException, InterruptedException {
+    CachedProvider<Profile, CommandContext> cache = this.cache(10, Duration.ofMillis(20));
+    cache.fromString("Steve", this.context);
+    Thread.sleep(40);
+    cache.fromString("Steve", this.context);
+    Assert.assertEquals(2, this.lookups.get());
+  }
+
+  @Test
+  public void failuresAreNotCached() {
+    CachedProvider<Profile, CommandContext> cache = this.cache(10, Duration.ZERO);
+    for (int i = 0; i < 2; i++) {
+      try {
+        cache.fromString("", this.context);
+        Assert.fail();
+      } catch (ArgumentProviderException e) {
+        Assert.assertEquals("Names cannot be empty", e.getMessage());
+      }
+    }
+    Assert.assertEquals(2, this.lookups.get());
+    Assert.assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void registryReplacesTheProvider() throws ArgumentProviderException {
+    ProvidersRegistry<CommandContext> registry = this.manager.getProvidersRegistry();
+    Assert.assertFalse(registry.getCachedProvider(Profile.class).isPresent());
+    registry.cache(Profile.class, 10, Duration.ofMinutes(1));
+    Profile profile = registry.get("Steve", Profile.class, this.context);
+    Assert.assertSame(profile, registry.get("Steve", Profile.class, this.context));
+    Assert.assertEquals(
+        1,
+        registry
+            .getCachedProvider(Profile.class)
+            .map(CachedProvider::getHits)
+            .orElse(0L)
+            .longValue());
+  }
+
+  public static class ProfileCommands {
+
+    @Command(aliases = "profile")
+    public Result profile() {
+      return new Result();
+    }
+  }
+
+  public static class Profile {
+
+    @NonNull private final String name;
+
+    private Profile(@NonNull String name) {
+      this.name = name;
+    }
+  }
+
+  /** Counts the lookups of profiles. */
+  private class ProfileProvider implements StarboxArgumentProvider<Profile, CommandContext> {
+
+    @Override
+    public @NonNull Class<Profile> getClazz() {
+      return Profile.class;
+    }
+
+    @Override
+    public @NonNull Profile fromString(@NonNull String string, @NonNull CommandContext context)
+        throws ArgumentProviderException {
+      CachedProviderTest.this.lookups.incrementAndGet();
+      if (string.isEmpty()) {
+        throw new ArgumentProviderException("Names cannot be empty");
+      }
+      return new Profile(string);
+    }
+  }
+}
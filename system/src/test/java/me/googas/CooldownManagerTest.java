@@ -0,0 +1,158 @@
+package me.googas;
+
+import com.github.chevyself.starbox.flags.CommandLineParser;
+import com.github.chevyself.starbox.providers.registry.ProvidersRegistry;
+import com.github.chevyself.starbox.system.AbstractSystemCommand;
+import com.github.chevyself.starbox.system.CooldownManager;
+import com.github.chevyself.starbox.system.SystemCommand;
+import com.github.chevyself.starbox.system.SystemMessagesProvider;
+import com.github.chevyself.starbox.system.SystemResult;
+import com.github.chevyself.starbox.system.context.CommandContext;
+import com.github.chevyself.starbox.system.context.sender.CommandSender;
+import com.github.chevyself.starbox.system.context.sender.ConsoleCommandSender;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import lombok.NonNull;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CooldownManagerTest {
+
+  private static final int THREADS = 16;
+  private static final int SENDERS = 500;
+
+  @NonNull private final SystemMessagesProvider messages = new SystemMessagesProvider();
+
+  @NonNull
+  private final ProvidersRegistry<CommandContext> registry = new ProvidersRegistry<>(messages);
+
+  @NonNull
+  private final SystemCommand command =
+      new AbstractSystemCommand(
+          Collections.singletonList("test"),
+          new ArrayList<>(),
+          new ArrayList<>(),
+          new ArrayList<>(),
+          null) {
+        @Override
+        public SystemResult run(@NonNull CommandContext context) {
+          return null;
+        }
+      };
+
+  @NonNull
+  private CommandContext context(@NonNull CommandSender sender) {
+    return new CommandContext(
+        CommandLineParser.parse(command.getOptions()), command, sender, registry, messages);
+  }
+
+  @Test
+  public void cooldownIsAppliedPerSender() {
+    CooldownManager cooldown = new CooldownManager(Duration.ofMinutes(1));
+    CommandContext first = this.context(new TestSender("first"));
+    CommandContext second = this.context(new TestSender("second"));
+    cooldown.refresh(first);
+    Assert.assertTrue(cooldown.hasCooldown(first));
+    Assert.assertFalse(cooldown.hasCooldown(second));
+    Assert.assertFalse(cooldown.hasCooldown(this.context(ConsoleCommandSender.INSTANCE)));
+    Assert.assertEquals(Duration.ZERO, cooldown.getTimeLeft(second));
+  }
+
+  @Test
+  public void sendersWithoutIdsAreApplied() {
+    CooldownManager cooldown = new CooldownManager(Duration.ofMinutes(1));
+    CommandSender sender = new CommandSender() {};
+    CommandContext first = this.context(sender);
+    cooldown.refresh(first);
+    Assert.assertTrue(cooldown.hasCooldown(this.context(sender)));
+    Assert.assertFalse(cooldown.hasCooldown(this.context(new CommandSender() {})));
+  }
+
+  @Test
+  public void concurrentRefreshes() throws Exception {
+    CooldownManager cooldown = new CooldownManager(Duration.ofMinutes(1));
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<List<CommandContext>>> futures = new ArrayList<>();
+    for (int i = 0; i < THREADS; i++) {
+      int thread = i;
+      futures.add(
+          executor.submit(
+              () -> {
+                List<CommandContext> contexts = new ArrayList<>();
+                for (int j = 0; j < SENDERS; j++) {
+                  contexts.add(this.context(new TestSender(thread + "-" + j)));
+                }
+                start.await();
+                for (CommandContext context : contexts) {
+                  Assert.assertFalse(cooldown.hasCooldown(context));
+                  cooldown.refresh(context);
+                  Assert.assertTrue(cooldown.hasCooldown(context));
+                }
+                return contexts;
+              }));
+    }
+    start.countDown();
+    List<CommandContext> all = new ArrayList<>();
+    for (Future<List<CommandContext>> future : futures) {
+      all.addAll(future.get(30, TimeUnit.SECONDS));
+    }
+    executor.shutdown();
+    Assert.assertEquals(THREADS * SENDERS, all.size());
+    for (CommandContext context : all) {
+      Assert.assertTrue(cooldown.hasCooldown(context));
+    }
+    Assert.assertFalse(cooldown.hasCooldown(this.context(new TestSender("late"))));
+  }
+
+  @Test
+  public void concurrentChecksOfTheSameSender() throws Exception {
+    CooldownManager cooldown = new CooldownManager(Duration.ofMinutes(1));
+    CommandContext context = this.context(new TestSender("shared"));
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    CountDownLatch refreshed = new CountDownLatch(1);
+    List<Future<Boolean>> futures = new ArrayList<>();
+    for (int i = 0; i < THREADS; i++) {
+      futures.add(
+          executor.submit(
+              () -> {
+                refreshed.await();
+                return cooldown.hasCooldown(context);
+              }));
+    }
+    cooldown.refresh(context);
+    refreshed.countDown();
+    for (Future<Boolean> future : futures) {
+      Assert.assertTrue(future.get(30, TimeUnit.SECONDS));
+    }
+    executor.shutdown();
+  }
+
+  private static class TestSender implements CommandSender {
+
+    @NonNull private final UUID uniqueId = UUID.randomUUID();
+    @NonNull private final String name;
+
+    private TestSender(@NonNull String name) {
+      this.name = name;
+    }
+
+    @Override
+    public @NonNull UUID getUniqueId() {
+      return this.uniqueId;
+    }
+
+    @Override
+    public @NonNull String getName() {
+      return this.name;
+    }
+  }
+}
@@ -0,0 +1,144 @@
+package me.googas;
+
+import com.github.chevyself.starbox.Middleware;
+import com.github.chevyself.starbox.flags.CommandLineParser;
+import com.github.chevyself.starbox.providers.registry.ProvidersRegistry;
+import com.github.chevyself.starbox.result.StarboxFutureResult;
+import com.github.chevyself.starbox.result.StarboxResult;
+import com.github.chevyself.starbox.system.AbstractSystemCommand;
+import com.github.chevyself.starbox.system.Command;
+import com.github.chevyself.starbox.system.CommandManager;
+import com.github.chevyself.starbox.system.FutureResult;
+import com.github.chevyself.starbox.system.Result;
+import com.github.chevyself.starbox.system.SystemCommand;
+import com.github.chevyself.starbox.system.SystemMessagesProvider;
+import com.github.chevyself.starbox.system.SystemResult;
+import com.github.chevyself.starbox.system.context.CommandContext;
+import com.github.chevyself.starbox.system.context.sender.ConsoleCommandSender;
+import com.github.chevyself.starbox.system.middleware.SystemMiddleware;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import lombok.NonNull;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class FutureResultTest {
+
+  @NonNull private final SystemMessagesProvider messages = new SystemMessagesProvider();
+
+  @NonNull
+  private final ProvidersRegistry<CommandContext> registry = new ProvidersRegistry<>(messages);
+
+  public CompletionStage<Result> future() {
+    return null;
+  }
+
+  public CompletableFuture<? extends SystemResult> wildcard() {
+    return null;
+  }
+
+  public CompletionStage<String> strings() {
+    return null;
+  }
+
+  @Test
+  public void middlewaresRunOnceTheFutureCompletes() {
+    CompletableFuture<SystemResult> future = new CompletableFuture<>();
+    List<StarboxResult> handled = new ArrayList<>();
+    SystemMiddleware middleware =
+        new SystemMiddleware() {
+          @Override
+          public void next(@NonNull CommandContext context, StarboxResult result) {
+            handled.add(result);
+          }
+        };
+    SystemCommand command =
+        new AbstractSystemCommand(
+            Collections.singletonList("test"),
+            new ArrayList<>(),
+            new ArrayList<>(),
+            Collections.<Middleware<CommandContext>>singletonList(middleware),
+            null) {
+          @Override
+          public SystemResult run(@NonNull CommandContext context) {
+            return new FutureResult(future);
+          }
+        };
+    command.execute(
+        new CommandContext(
+            CommandLineParser.parse(command.getOptions()),
+            command,
+            ConsoleCommandSender.INSTANCE,
+            this.registry,
+            this.messages));
+    Assert.assertTrue(handled.isEmpty());
+    Result result = new Result("Done");
+    future.complete(result);
+    Assert.assertEquals(Collections.singletonList(result), handled);
+  }
+
+  @Test
+  public void failuresUseTheMessageOfTheCause() {
+    SystemMessagesProvider messages = this.messages;
+    CommandManager manager = new CommandManager("-", this.registry, messages);
+    try {
+      for (SystemCommand command : manager.getParser().parseCommands(new FailingCommands())) {
+        CommandContext context =
+            new CommandContext(
+                CommandLineParser.parse(command.getOptions()),
+                command,
+                ConsoleCommandSender.INSTANCE,
+                this.registry,
+                messages);
+        String expected = command.getName().equals("broken") ? "Broken" : messages.failed(context);
+        Assert.assertEquals(
+            Optional.of(expected),
+            ((FutureResult) command.execute(context))
+                .getFuture()
+                .toCompletableFuture()
+                .join()
+                .getMessage());
+      }
+    } finally {
+      manager.close();
+    }
+  }
+
+  @Test
+  public void checksTheTypeOfTheFuture() throws NoSuchMethodException {
+    Assert.assertTrue(
+        StarboxFutureResult.returnsFuture(
+            FutureResultTest.class.getMethod("future"), SystemResult.class));
+    Assert.assertTrue(
+        StarboxFutureResult.returnsFuture(
+            FutureResultTest.class.getMethod("wildcard"), SystemResult.class));
+    Assert.assertFalse(
+        StarboxFutureResult.returnsFuture(
+            FutureResultTest.class.getMethod("strings"), SystemResult.class));
+    Assert.assertFalse(
+        StarboxFutureResult.returnsFuture(
+            FutureResultTest.class.getMethod("toString"), SystemResult.class));
+  }
+
+  public static class FailingCommands {
+
+    @Command(aliases = "broken")
+    public CompletionStage<Result> broken() {
+      return CompletableFuture.supplyAsync(
+          () -> {
+            throw new IllegalStateException("Broken");
+          });
+    }
+
+    @Command(aliases = "silent")
+    public CompletionStage<Result> silent() {
+      CompletableFuture<Result> future = new CompletableFuture<>();
+      future.completeExceptionally(new IllegalStateException());
+      return future.thenApply(result -> result);
+    }
+  }
+}
@@ -0,0 +1,161 @@
+package me.googas;
+
+import com.github.chevyself.starbox.annotations.Priority;
+import com.github.chevyself.starbox.flags.CommandLineParser;
+import com.github.chevyself.starbox.providers.registry.ProvidersRegistry;
+import com.github.chevyself.starbox.scheduling.CommandPriority;
+import com.github.chevyself.starbox.scheduling.PriorityExecutor;
+import com.github.chevyself.starbox.scheduling.PriorityResolver;
+import com.github.chevyself.starbox.scheduling.QueueStatistics;
+import com.github.chevyself.starbox.system.Command;
+import com.github.chevyself.starbox.system.CommandManager;
+import com.github.chevyself.starbox.system.Result;
+import com.github.chevyself.starbox.system.SystemCommand;
+import com.github.chevyself.starbox.system.SystemMessagesProvider;
+import com.github.chevyself.starbox.system.context.CommandContext;
+import com.github.chevyself.starbox.system.context.sender.ConsoleCommandSender;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import lombok.NonNull;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PriorityTest {
+
+  @NonNull private final List<String> order = new CopyOnWriteArrayList<>();
+  @NonNull private final CountDownLatch started = new CountDownLatch(1);
+  @NonNull private final CountDownLatch release = new CountDownLatch(1);
+  private PriorityExecutor executor;
+
+  @After
+  public void tearDown() {
+    this.release.countDown();
+    if (this.executor != null) {
+      this.executor.close();
+    }
+  }
+
+  /** Take the only thread of the executor so the next executions wait in the queue. */
+  private void block(@NonNull Duration aging, int capacity) throws InterruptedException {
+    this.executor = new PriorityExecutor(1, capacity, aging);
+    this.executor.execute(
+        () -> {
+          this.started.countDown();
+          try {
+            this.release.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        });
+    Assert.assertTrue(this.started.await(5, TimeUnit.SECONDS));
+  }
+
+  private void queue(@NonNull CommandPriority priority, @NonNull String name) {
+    this.executor.execute(priority, () -> this.order.add(name));
+  }
+
+  private void await(int executions) throws InterruptedException {
+    CountDownLatch done = new CountDownLatch(1);
+    this.executor.execute(CommandPriority.LOW, done::countDown);
+    this.release.countDown();
+    Assert.assertTrue(done.await(5, TimeUnit.SECONDS));
+    Assert.assertEquals(executions, this.order.size());
+  }
+
+  @Test
+  public void higherPrioritiesRunFirst() throws InterruptedException {
+    this.block(Duration.ofMinutes(1), 8);
+    this.queue(CommandPriority.LOW, "stats");
+    this.queue(CommandPriority.NORMAL, "spawn");
+    this.queue(CommandPriority.NORMAL, "home");
+    this.queue(CommandPriority.CRITICAL, "stop");
+    this.queue(CommandPriority.HIGH, "kick");
+    Assert.assertEquals(2, this.executor.getQueued(CommandPriority.NORMAL));
+    this.await(5);
+    Assert.assertEquals(Arrays.asList("stop", "kick", "spawn", "home", "stats"), this.order);
+    QueueStatistics statistics = this.executor.getStatistics(CommandPriority.NORMAL);
+    // The execution that blocks the thread is also queued with the normal priority
+    Assert.assertEquals(3, statistics.getStarted());
+    Assert.assertTrue(statistics.getMaxWait().compareTo(statistics.getAverageWait()) >= 0);
+  }
+
+  @Test
+  public void waitingExecutionsAge() throws InterruptedException {
+    this.block(Duration.ofMillis(10), 8);
+    this.queue(CommandPriority.LOW, "stats");
+    Thread.sleep(50);
+    this.queue(CommandPriority.CRITICAL, "stop");
+    this.await(2);
+    Assert.assertEquals(Arrays.asList("stats", "stop"), this.order);
+  }
+
+  @Test
+  public void fullQueuesReject() throws InterruptedException {
+    this.block(Duration.ofSeconds(1), 1);
+    this.queue(CommandPriority.NORMAL, "spawn");
+    try {
+      this.queue(CommandPriority.HIGH, "kick");
+      Assert.fail();
+    } catch (RejectedExecutionException e) {
+      Assert.assertEquals(1, this.executor.getStatistics(CommandPriority.HIGH).getRejected());
+    }
+    Assert.assertEquals(1, this.executor.getQueued());
+  }
+
+  @Test
+  public void prioritiesAreResolved() {
+    SystemMessagesProvider messages = new SystemMessagesProvider();
+    CommandManager manager = new CommandManager("-", new ProvidersRegistry<>(messages), messages);
+    try {
+      PriorityResolver<CommandContext> resolver = new PriorityResolver<>();
+      List<CommandContext> contexts = new ArrayList<>();
+      for (SystemCommand command : manager.getParser().parseCommands(new ModerationCommands())) {
+        contexts.add(
+            new CommandContext(
+                CommandLineParser.parse(command.getOptions(), new String[0]),
+                command,
+                ConsoleCommandSender.INSTANCE,
+                manager.getProvidersRegistry(),
+                messages));
+      }
+      for (CommandContext context : contexts) {
+        Assert.assertEquals(
+            context.getCommand().getName().equals("kick")
+                ? CommandPriority.HIGH
+                : CommandPriority.NORMAL,
+            resolver.resolve(context));
+      }
+      resolver
+          .addRule(context -> true, CommandPriority.LOW)
+          .addRule(
+              context -> context.getSender() == ConsoleCommandSender.INSTANCE,
+              CommandPriority.CRITICAL);
+      for (CommandContext context : contexts) {
+        Assert.assertEquals(CommandPriority.CRITICAL, resolver.resolve(context));
+      }
+    } finally {
+      manager.close();
+    }
+  }
+
+  public static class ModerationCommands {
+
+    @Priority(CommandPriority.HIGH)
+    @Command(aliases = "kick")
+    public Result kick() {
+      return new Result();
+    }
+
+    @Command(aliases = "spawn")
+    public Result spawn() {
+      return new Result();
+    }
+  }
+}